@@ -0,0 +1,81 @@
+package com.bloxbean.cardano.dataprover.benchmark;
+
+import com.bloxbean.cardano.dataprover.config.DataProverProperties;
+import com.bloxbean.cardano.dataprover.dto.CreateMerkleRequest;
+import com.bloxbean.cardano.dataprover.dto.IngestRequest;
+import com.bloxbean.cardano.dataprover.service.IngestionService;
+import com.bloxbean.cardano.dataprover.service.MerkleManagementService;
+import com.bloxbean.cardano.dataprover.service.provider.DataProvider;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.persistence.autoconfigure.EntityScan;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Full service context for the service-level benchmarks: in-memory H2 metadata, RocksDB in a
+ * temporary directory, no web server, and the {@link SyntheticDataProvider}.
+ */
+@SpringBootApplication(scanBasePackages = "com.bloxbean.cardano.dataprover")
+@EnableConfigurationProperties(DataProverProperties.class)
+@EntityScan(basePackages = "com.bloxbean.cardano.dataprover.model")
+@EnableJpaRepositories(basePackages = "com.bloxbean.cardano.dataprover.repository")
+public class BenchmarkApplication {
+
+    @Bean
+    public DataProvider<SyntheticDataProvider.Item> syntheticDataProvider() {
+        return new SyntheticDataProvider();
+    }
+
+    static ConfigurableApplicationContext start(Map<String, Object> overrides) {
+        Map<String, Object> properties = new HashMap<>();
+        try {
+            properties.put("dataprover.storage.rocksdb-path",
+                    Files.createTempDirectory("dataprover-bench").resolve("rocksdb").toString());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        properties.put("spring.datasource.url",
+                "jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        properties.put("spring.flyway.enabled", "false");
+        properties.put("dataprover.ingestion.resume-on-startup", "false");
+        properties.put("dataprover.plugins.polyglot.enabled", "false");
+        properties.put("logging.level.com.bloxbean.cardano.dataprover", "WARN");
+        properties.putAll(overrides);
+
+        return new SpringApplicationBuilder(BenchmarkApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(properties)
+                .run();
+    }
+
+    /**
+     * Creates an MPF merkle and ingests {@code count} synthetic records into it.
+     */
+    static void createAndIngest(ConfigurableApplicationContext context, String identifier, long offset, int count) {
+        CreateMerkleRequest create = new CreateMerkleRequest();
+        create.setIdentifier(identifier);
+        create.setScheme("mpf");
+        context.getBean(MerkleManagementService.class).createMerkle(create);
+
+        context.getBean(IngestionService.class).ingestData(identifier, ingestRequest(offset, count));
+    }
+
+    static IngestRequest ingestRequest(long offset, int count) {
+        IngestRequest request = new IngestRequest();
+        request.setProvider(SyntheticDataProvider.NAME);
+        request.setConfig(new HashMap<>(Map.of("offset", offset, "count", count)));
+        return request;
+    }
+}
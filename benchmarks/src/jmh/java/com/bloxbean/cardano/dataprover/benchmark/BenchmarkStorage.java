@@ -0,0 +1,89 @@
+package com.bloxbean.cardano.dataprover.benchmark;
+
+import com.bloxbean.cardano.dataprover.config.DataProverProperties;
+import com.bloxbean.cardano.dataprover.service.merkle.MpfMerkleImplementation;
+import com.bloxbean.cardano.dataprover.service.storage.RocksDbManager;
+import com.bloxbean.cardano.vds.mpf.rocksdb.RocksDbNodeStore;
+import org.rocksdb.ColumnFamilyHandle;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * RocksDB and MPF fixtures shared by the benchmarks, opened in a temporary directory.
+ */
+final class BenchmarkStorage implements AutoCloseable {
+
+    private final Path directory;
+    private final DataProverProperties properties;
+    private RocksDbManager rocksDbManager;
+
+    private BenchmarkStorage(Path directory, DataProverProperties properties) {
+        this.directory = directory;
+        this.properties = properties;
+        reopen();
+    }
+
+    static BenchmarkStorage open() {
+        return open(new DataProverProperties().getStorage());
+    }
+
+    /**
+     * Opens storage with the given storage profile; its RocksDB path is replaced by a temporary one.
+     */
+    static BenchmarkStorage open(DataProverProperties.StorageProperties storage) {
+        try {
+            Path directory = Files.createTempDirectory("dataprover-bench");
+            DataProverProperties properties = new DataProverProperties();
+            storage.setRocksdbPath(directory.resolve("rocksdb").toString());
+            properties.setStorage(storage);
+            return new BenchmarkStorage(directory, properties);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Closes and reopens the database, discarding the block cache.
+     */
+    void reopen() {
+        if (rocksDbManager != null) {
+            rocksDbManager.close();
+        }
+        rocksDbManager = new RocksDbManager(properties);
+        rocksDbManager.initialize();
+    }
+
+    MpfMerkleImplementation openMpf(String identifier, String rootHashHex) {
+        ColumnFamilyHandle handle = rocksDbManager.getOrCreateColumnFamily(identifier);
+        RocksDbNodeStore nodeStore = new RocksDbNodeStore(rocksDbManager.getDb(identifier), handle);
+        return new MpfMerkleImplementation(identifier, nodeStore, rootHashHex);
+    }
+
+    RocksDbManager getRocksDbManager() {
+        return rocksDbManager;
+    }
+
+    @Override
+    public void close() {
+        rocksDbManager.close();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static byte[] key(long i) {
+        return ("key-" + i).getBytes(StandardCharsets.UTF_8);
+    }
+
+    static byte[] value(long i) {
+        return ("value-" + i + "-0123456789abcdef0123456789abcdef").getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,71 @@
+package com.bloxbean.cardano.dataprover.benchmark;
+
+import com.bloxbean.cardano.client.crypto.Blake2bUtil;
+import com.bloxbean.cardano.dataprover.service.merkle.hash.Blake2b256;
+import com.bloxbean.cardano.dataprover.service.merkle.hash.HashFunction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the optimised Blake2b-256 with the library digest on the input sizes of tree hashing:
+ * a 32-byte key, a 65-byte domain-separated node and a 1 KiB value.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HashFunctionBenchmark {
+
+    private static final byte NODE_DOMAIN = 0x01;
+
+    @Param({"32", "65", "1024"})
+    private int inputSize;
+
+    private final HashFunction optimised = Blake2b256.INSTANCE;
+    private byte[] data;
+    private byte[] left;
+    private byte[] right;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        data = new byte[inputSize];
+        left = new byte[32];
+        right = new byte[32];
+        random.nextBytes(data);
+        random.nextBytes(left);
+        random.nextBytes(right);
+    }
+
+    @Benchmark
+    public byte[] optimised() {
+        return optimised.hash(data);
+    }
+
+    @Benchmark
+    public byte[] library() {
+        return Blake2bUtil.blake2bHash256(data);
+    }
+
+    @Benchmark
+    public byte[] optimisedNode() {
+        return optimised.hash(NODE_DOMAIN, left, right);
+    }
+
+    @Benchmark
+    public byte[] libraryNode() {
+        byte[] preimage = new byte[1 + left.length + right.length];
+        preimage[0] = NODE_DOMAIN;
+        System.arraycopy(left, 0, preimage, 1, left.length);
+        System.arraycopy(right, 0, preimage, 1 + left.length, right.length);
+        return Blake2bUtil.blake2bHash256(preimage);
+    }
+}
@@ -0,0 +1,78 @@
+package com.bloxbean.cardano.dataprover.benchmark;
+
+import com.bloxbean.cardano.dataprover.dto.CreateMerkleRequest;
+import com.bloxbean.cardano.dataprover.dto.IngestRequest;
+import com.bloxbean.cardano.dataprover.dto.IngestResponse;
+import com.bloxbean.cardano.dataprover.service.IngestionService;
+import com.bloxbean.cardano.dataprover.service.MerkleManagementService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end {@link IngestionService#ingestData} from the {@link SyntheticDataProvider}: fetch,
+ * validation, serialisation, trie inserts and the metadata update. Each iteration ingests into a
+ * new merkle; scores are per record.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+public class IngestionBenchmark {
+
+    private static final int RECORDS = 20_000;
+
+    private ConfigurableApplicationContext context;
+    private IngestionService ingestionService;
+    private MerkleManagementService managementService;
+    private IngestRequest request;
+    private String identifier;
+    private int iteration;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkApplication.start(Map.of());
+        ingestionService = context.getBean(IngestionService.class);
+        managementService = context.getBean(MerkleManagementService.class);
+        request = BenchmarkApplication.ingestRequest(0, RECORDS);
+    }
+
+    @Setup(Level.Iteration)
+    public void createMerkle() {
+        identifier = "ingest-" + iteration++;
+        CreateMerkleRequest create = new CreateMerkleRequest();
+        create.setIdentifier(identifier);
+        create.setScheme("mpf");
+        managementService.createMerkle(create);
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteMerkle() {
+        managementService.deleteMerkle(identifier);
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public IngestResponse ingest() {
+        return ingestionService.ingestData(identifier, request);
+    }
+}
@@ -0,0 +1,135 @@
+package com.bloxbean.cardano.dataprover.benchmark;
+
+import com.bloxbean.cardano.dataprover.model.KeyValuePair;
+import com.bloxbean.cardano.dataprover.service.merkle.MpfMerkleImplementation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of {@code get} and {@code getProofWire} on a populated MPF trie.
+ * <p>
+ * Warm benchmarks cycle through a small hot set that stays in the block cache. Cold benchmarks
+ * reopen RocksDB before every iteration and time a single pass over fresh random keys, so every
+ * node read misses the block cache; the OS page cache is not dropped.
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MpfLookupBenchmark {
+
+    private static final int HOT_KEYS = 1024;
+    private static final int COLD_LOOKUPS = 1000;
+    private static final int LOAD_BATCH = 10_000;
+    private static final String IDENTIFIER = "lookup";
+
+    @Param({"10000", "100000"})
+    private int treeSize;
+
+    private BenchmarkStorage storage;
+    private MpfMerkleImplementation merkle;
+    private String rootHashHex;
+    private byte[][] hotKeys;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void populate() {
+        storage = BenchmarkStorage.open();
+        merkle = storage.openMpf(IDENTIFIER, null);
+        for (int from = 0; from < treeSize; from += LOAD_BATCH) {
+            List<KeyValuePair> entries = new ArrayList<>(LOAD_BATCH);
+            for (int k = from; k < Math.min(from + LOAD_BATCH, treeSize); k++) {
+                entries.add(new KeyValuePair(BenchmarkStorage.key(k), BenchmarkStorage.value(k)));
+            }
+            merkle.putAll(entries);
+        }
+        merkle.commit();
+        rootHashHex = HexFormat.of().formatHex(merkle.getRootHash());
+
+        SplittableRandom random = new SplittableRandom(42);
+        hotKeys = new byte[HOT_KEYS][];
+        for (int i = 0; i < HOT_KEYS; i++) {
+            hotKeys[i] = BenchmarkStorage.key(random.nextInt(treeSize));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void closeStorage() {
+        storage.close();
+    }
+
+    /**
+     * Reopens the database and draws the keys of the next cold pass.
+     */
+    @State(Scope.Thread)
+    public static class ColdStart {
+
+        private final SplittableRandom random = new SplittableRandom(7);
+        private byte[][] keys;
+
+        @Setup(Level.Iteration)
+        public void reopen(MpfLookupBenchmark benchmark) {
+            benchmark.storage.reopen();
+            benchmark.merkle = benchmark.storage.openMpf(IDENTIFIER, benchmark.rootHashHex);
+            keys = new byte[COLD_LOOKUPS][];
+            for (int i = 0; i < COLD_LOOKUPS; i++) {
+                keys[i] = BenchmarkStorage.key(random.nextInt(benchmark.treeSize));
+            }
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public Optional<byte[]> getWarm() {
+        return merkle.get(nextHotKey());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public Optional<byte[]> getProofWireWarm() {
+        return merkle.getProofWire(nextHotKey());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 10)
+    @OperationsPerInvocation(COLD_LOOKUPS)
+    public void getCold(ColdStart cold, Blackhole blackhole) {
+        for (byte[] key : cold.keys) {
+            blackhole.consume(merkle.get(key));
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 10)
+    @OperationsPerInvocation(COLD_LOOKUPS)
+    public void getProofWireCold(ColdStart cold, Blackhole blackhole) {
+        for (byte[] key : cold.keys) {
+            blackhole.consume(merkle.getProofWire(key));
+        }
+    }
+
+    private byte[] nextHotKey() {
+        return hotKeys[next++ & (HOT_KEYS - 1)];
+    }
+}
@@ -0,0 +1,74 @@
+package com.bloxbean.cardano.dataprover.benchmark;
+
+import com.bloxbean.cardano.dataprover.model.KeyValuePair;
+import com.bloxbean.cardano.dataprover.service.merkle.MpfMerkleImplementation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput of {@link MpfMerkleImplementation}, one put at a time and as a single batch.
+ * Every invocation inserts {@value #BATCH_SIZE} new keys into a trie that keeps growing over the
+ * iteration; scores are per inserted entry.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MpfPutBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private BenchmarkStorage storage;
+    private MpfMerkleImplementation merkle;
+    private long nextKey;
+    private int iteration;
+
+    @Setup(Level.Trial)
+    public void openStorage() {
+        storage = BenchmarkStorage.open();
+    }
+
+    @Setup(Level.Iteration)
+    public void newTrie() {
+        merkle = storage.openMpf("put-" + iteration++, null);
+        nextKey = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void closeStorage() {
+        storage.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public byte[] sequential() {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            long k = nextKey++;
+            merkle.put(BenchmarkStorage.key(k), BenchmarkStorage.value(k));
+        }
+        return merkle.getRootHash();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public byte[] batched() {
+        List<KeyValuePair> entries = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            long k = nextKey++;
+            entries.add(new KeyValuePair(BenchmarkStorage.key(k), BenchmarkStorage.value(k)));
+        }
+        merkle.putAll(entries);
+        return merkle.getRootHash();
+    }
+}
@@ -0,0 +1,79 @@
+package com.bloxbean.cardano.dataprover.benchmark;
+
+import com.bloxbean.cardano.dataprover.dto.ProofGenerationRequest;
+import com.bloxbean.cardano.dataprover.dto.ProofGenerationResponse;
+import com.bloxbean.cardano.dataprover.service.ProofService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ProofService#generateBatchProofs} over random keys of a populated merkle, with the proof
+ * cache disabled ({@code proofCacheSize = 0}) and large enough to hold every requested proof.
+ * Scores are per proof.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProofServiceBenchmark {
+
+    private static final String IDENTIFIER = "proof-bench";
+    private static final int BATCH_SIZE = 100;
+    private static final int BATCHES = 64;
+
+    @Param({"100000"})
+    private int treeSize;
+
+    @Param({"0", "10000"})
+    private int proofCacheSize;
+
+    private ConfigurableApplicationContext context;
+    private ProofService proofService;
+    private List<List<ProofGenerationRequest>> batches;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void populate() {
+        context = BenchmarkApplication.start(Map.of("dataprover.cache.proof-cache-size", proofCacheSize));
+        BenchmarkApplication.createAndIngest(context, IDENTIFIER, 0, treeSize);
+        proofService = context.getBean(ProofService.class);
+
+        HexFormat hex = HexFormat.of();
+        SplittableRandom random = new SplittableRandom(42);
+        batches = new ArrayList<>(BATCHES);
+        for (int b = 0; b < BATCHES; b++) {
+            List<ProofGenerationRequest> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                batch.add(new ProofGenerationRequest(hex.formatHex(BenchmarkStorage.key(random.nextInt(treeSize)))));
+            }
+            batches.add(batch);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<ProofGenerationResponse> generateBatchProofs() {
+        return proofService.generateBatchProofs(IDENTIFIER, batches.get(next++ % BATCHES));
+    }
+}
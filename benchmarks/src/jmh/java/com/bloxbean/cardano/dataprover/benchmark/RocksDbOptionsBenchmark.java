@@ -0,0 +1,89 @@
+package com.bloxbean.cardano.dataprover.benchmark;
+
+import com.bloxbean.cardano.dataprover.config.DataProverProperties;
+import com.bloxbean.cardano.dataprover.model.KeyValuePair;
+import com.bloxbean.cardano.dataprover.service.merkle.MpfMerkleImplementation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MPF write and read throughput under the storage profiles {@code RocksDbManager} is configured
+ * with ({@code dataprover.storage.*}): compression, block cache size and write buffer size.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RocksDbOptionsBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int PRELOADED = 50_000;
+
+    @Param({"NONE", "LZ4", "ZSTD"})
+    private String compression;
+
+    @Param({"32", "512"})
+    private int cacheSizeMb;
+
+    @Param({"16", "128"})
+    private int writeBufferSizeMb;
+
+    private BenchmarkStorage storage;
+    private MpfMerkleImplementation merkle;
+    private final SplittableRandom random = new SplittableRandom(42);
+    private long nextKey;
+
+    @Setup(Level.Trial)
+    public void openStorage() {
+        DataProverProperties.StorageProperties profile = new DataProverProperties.StorageProperties();
+        profile.setCompression(compression);
+        profile.setCacheSizeMb(cacheSizeMb);
+        profile.setWriteBufferSizeMb(writeBufferSizeMb);
+        storage = BenchmarkStorage.open(profile);
+
+        merkle = storage.openMpf("options", null);
+        while (nextKey < PRELOADED) {
+            merkle.putAll(nextBatch());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void closeStorage() {
+        storage.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public byte[] batchedPut() {
+        merkle.putAll(nextBatch());
+        return merkle.getRootHash();
+    }
+
+    @Benchmark
+    public Optional<byte[]> randomGet() {
+        return merkle.get(BenchmarkStorage.key(random.nextLong(nextKey)));
+    }
+
+    private List<KeyValuePair> nextBatch() {
+        List<KeyValuePair> entries = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            long k = nextKey++;
+            entries.add(new KeyValuePair(BenchmarkStorage.key(k), BenchmarkStorage.value(k)));
+        }
+        return entries;
+    }
+}
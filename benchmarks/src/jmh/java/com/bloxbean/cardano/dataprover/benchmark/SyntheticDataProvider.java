@@ -0,0 +1,59 @@
+package com.bloxbean.cardano.dataprover.benchmark;
+
+import com.bloxbean.cardano.dataprover.service.provider.DataProvider;
+import com.bloxbean.cardano.dataprover.service.provider.ValidationResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data provider generating {@code count} deterministic records, {@code offset} being the first index.
+ */
+public class SyntheticDataProvider implements DataProvider<SyntheticDataProvider.Item> {
+
+    public static final String NAME = "synthetic";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Deterministic synthetic records for benchmarks";
+    }
+
+    @Override
+    public List<Item> fetchData(Map<String, Object> config) {
+        long offset = ((Number) config.getOrDefault("offset", 0)).longValue();
+        int count = ((Number) config.getOrDefault("count", 1000)).intValue();
+        List<Item> items = new ArrayList<>(count);
+        for (long i = offset; i < offset + count; i++) {
+            items.add(new Item(BenchmarkStorage.key(i), BenchmarkStorage.value(i)));
+        }
+        return items;
+    }
+
+    @Override
+    public byte[] serializeKey(Item data) {
+        return data.key();
+    }
+
+    @Override
+    public byte[] serializeValue(Item data) {
+        return data.value();
+    }
+
+    @Override
+    public ValidationResult validate(Item data) {
+        return ValidationResult.success();
+    }
+
+    @Override
+    public Class<Item> getDataType() {
+        return Item.class;
+    }
+
+    public record Item(byte[] key, byte[] value) {}
+}
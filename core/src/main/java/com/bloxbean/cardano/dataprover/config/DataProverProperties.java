@@ -2,7 +2,9 @@ package com.bloxbean.cardano.dataprover.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -17,6 +19,7 @@ public class DataProverProperties {
     private CacheProperties cache = new CacheProperties();
     private RetentionProperties retention = new RetentionProperties();
     private PluginsProperties plugins = new PluginsProperties();
+    private IngestionProperties ingestion = new IngestionProperties();
 
     public StorageProperties getStorage() {
         return storage;
@@ -58,6 +61,14 @@ public class DataProverProperties {
         this.plugins = plugins;
     }
 
+    public IngestionProperties getIngestion() {
+        return ingestion;
+    }
+
+    public void setIngestion(IngestionProperties ingestion) {
+        this.ingestion = ingestion;
+    }
+
     public static class StorageProperties {
         private String rocksdbPath = "./data/rocksdb";
         private Integer cacheSizeMb = 512;
@@ -65,6 +76,19 @@ public class DataProverProperties {
         private String compression = "LZ4";
         private Integer maxOpenFiles = 1000;
         private Boolean createIfMissing = true;
+        private String backupPath = "./data/backups";
+        private String archivePath = "./data/archives";
+        private Boolean statisticsEnabled = true;
+        private Double perfSampleRate = 0.01;
+        private Long slowProofThresholdMs = 100L;
+        private Integer maxBackgroundJobs = 4;
+        private Integer maxSubcompactions = 2;
+        private Integer rateLimitMbPerSec = 0;
+        private Boolean disableCompactionDuringIngest = true;
+        private Integer bulkLoadThreshold = 100_000;
+        private List<StorageInstanceProperties> instances = new ArrayList<>();
+        private String placementPolicy = "hash";
+        private Map<String, String> placements = new HashMap<>();
 
         public String getRocksdbPath() {
             return rocksdbPath;
@@ -113,12 +137,178 @@ public class DataProverProperties {
         public void setCreateIfMissing(Boolean createIfMissing) {
             this.createIfMissing = createIfMissing;
         }
+
+        public String getBackupPath() {
+            return backupPath;
+        }
+
+        public void setBackupPath(String backupPath) {
+            this.backupPath = backupPath;
+        }
+
+        public String getArchivePath() {
+            return archivePath;
+        }
+
+        public void setArchivePath(String archivePath) {
+            this.archivePath = archivePath;
+        }
+
+        public Boolean getStatisticsEnabled() {
+            return statisticsEnabled;
+        }
+
+        public void setStatisticsEnabled(Boolean statisticsEnabled) {
+            this.statisticsEnabled = statisticsEnabled;
+        }
+
+        /**
+         * Fraction of proof requests whose RocksDB reads are profiled with the perf context.
+         */
+        public Double getPerfSampleRate() {
+            return perfSampleRate;
+        }
+
+        public void setPerfSampleRate(Double perfSampleRate) {
+            this.perfSampleRate = perfSampleRate;
+        }
+
+        /**
+         * Sampled proofs taking at least this long are logged with their read profile.
+         */
+        public Long getSlowProofThresholdMs() {
+            return slowProofThresholdMs;
+        }
+
+        public void setSlowProofThresholdMs(Long slowProofThresholdMs) {
+            this.slowProofThresholdMs = slowProofThresholdMs;
+        }
+
+        public Integer getMaxBackgroundJobs() {
+            return maxBackgroundJobs;
+        }
+
+        public void setMaxBackgroundJobs(Integer maxBackgroundJobs) {
+            this.maxBackgroundJobs = maxBackgroundJobs;
+        }
+
+        public Integer getMaxSubcompactions() {
+            return maxSubcompactions;
+        }
+
+        public void setMaxSubcompactions(Integer maxSubcompactions) {
+            this.maxSubcompactions = maxSubcompactions;
+        }
+
+        /**
+         * Upper bound for flush and compaction writes; 0 leaves background I/O unlimited.
+         */
+        public Integer getRateLimitMbPerSec() {
+            return rateLimitMbPerSec;
+        }
+
+        public void setRateLimitMbPerSec(Integer rateLimitMbPerSec) {
+            this.rateLimitMbPerSec = rateLimitMbPerSec;
+        }
+
+        /**
+         * Suspends automatic compaction of a merkle while it is bulk loaded and compacts it once afterwards.
+         */
+        public Boolean getDisableCompactionDuringIngest() {
+            return disableCompactionDuringIngest;
+        }
+
+        public void setDisableCompactionDuringIngest(Boolean disableCompactionDuringIngest) {
+            this.disableCompactionDuringIngest = disableCompactionDuringIngest;
+        }
+
+        /**
+         * Number of entries from which an ingestion is treated as a bulk load.
+         */
+        public Integer getBulkLoadThreshold() {
+            return bulkLoadThreshold;
+        }
+
+        public void setBulkLoadThreshold(Integer bulkLoadThreshold) {
+            this.bulkLoadThreshold = bulkLoadThreshold;
+        }
+
+        /**
+         * Additional RocksDB instances, typically one per disk. The instance at {@code rocksdbPath}
+         * is always present and named {@code primary}.
+         */
+        public List<StorageInstanceProperties> getInstances() {
+            return instances;
+        }
+
+        public void setInstances(List<StorageInstanceProperties> instances) {
+            this.instances = instances;
+        }
+
+        /**
+         * Instance chosen for a new merkle: {@code hash} of the identifier, the instance storing the
+         * least data ({@code size}), or {@code explicit} to use {@code placements} only, refusing to
+         * create merkles that have no placement.
+         */
+        public String getPlacementPolicy() {
+            return placementPolicy;
+        }
+
+        public void setPlacementPolicy(String placementPolicy) {
+            this.placementPolicy = placementPolicy;
+        }
+
+        /**
+         * Merkle identifier to instance name; takes precedence over the placement policy.
+         */
+        public Map<String, String> getPlacements() {
+            return placements;
+        }
+
+        public void setPlacements(Map<String, String> placements) {
+            this.placements = placements;
+        }
+    }
+
+    public static class StorageInstanceProperties {
+        private String name;
+        private String path;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
     }
 
     public static class CacheProperties {
         private Integer maxActiveMerkle = 50;
         private String evictionPolicy = "LRU";
         private Integer ttlMinutes = 60;
+        private Integer proofCacheSize = 10000;
+        /**
+         * Keeps a blocked Bloom filter of every merkle's hashed keys in memory, so lookups of absent
+         * keys are answered without reading the trie.
+         */
+        private Boolean membershipFilterEnabled = true;
+        /**
+         * Filter bits per key; 10 gives about 1% false positives.
+         */
+        private Integer membershipFilterBitsPerKey = 10;
+        /**
+         * Keys a new merkle's filter is sized for; filters are rebuilt larger once they overflow.
+         */
+        private Long membershipFilterInitialKeys = 1_000_000L;
 
         public Integer getMaxActiveMerkle() {
             return maxActiveMerkle;
@@ -143,12 +333,46 @@ public class DataProverProperties {
         public void setTtlMinutes(Integer ttlMinutes) {
             this.ttlMinutes = ttlMinutes;
         }
+
+        public Integer getProofCacheSize() {
+            return proofCacheSize;
+        }
+
+        public void setProofCacheSize(Integer proofCacheSize) {
+            this.proofCacheSize = proofCacheSize;
+        }
+
+        public Boolean getMembershipFilterEnabled() {
+            return membershipFilterEnabled;
+        }
+
+        public void setMembershipFilterEnabled(Boolean membershipFilterEnabled) {
+            this.membershipFilterEnabled = membershipFilterEnabled;
+        }
+
+        public Integer getMembershipFilterBitsPerKey() {
+            return membershipFilterBitsPerKey;
+        }
+
+        public void setMembershipFilterBitsPerKey(Integer membershipFilterBitsPerKey) {
+            this.membershipFilterBitsPerKey = membershipFilterBitsPerKey;
+        }
+
+        public Long getMembershipFilterInitialKeys() {
+            return membershipFilterInitialKeys;
+        }
+
+        public void setMembershipFilterInitialKeys(Long membershipFilterInitialKeys) {
+            this.membershipFilterInitialKeys = membershipFilterInitialKeys;
+        }
     }
 
     public static class RetentionProperties {
         private Integer maxMerkle = 100;
         private String archivePolicy = "oldest-first";
         private Integer autoArchiveThreshold = 90;
+        private Integer deletedGracePeriodHours = 24;
+        private Integer intervalMinutes = 60;
 
         public Integer getMaxMerkle() {
             return maxMerkle;
@@ -173,6 +397,81 @@ public class DataProverProperties {
         public void setAutoArchiveThreshold(Integer autoArchiveThreshold) {
             this.autoArchiveThreshold = autoArchiveThreshold;
         }
+
+        /**
+         * Time a deleted merkle keeps its storage before its column families are dropped.
+         */
+        public Integer getDeletedGracePeriodHours() {
+            return deletedGracePeriodHours;
+        }
+
+        public void setDeletedGracePeriodHours(Integer deletedGracePeriodHours) {
+            this.deletedGracePeriodHours = deletedGracePeriodHours;
+        }
+
+        /**
+         * Interval between scheduled retention runs; 0 disables them.
+         */
+        public Integer getIntervalMinutes() {
+            return intervalMinutes;
+        }
+
+        public void setIntervalMinutes(Integer intervalMinutes) {
+            this.intervalMinutes = intervalMinutes;
+        }
+    }
+
+    public static class IngestionProperties {
+        private Integer maxConcurrentJobs = 2;
+        private Integer checkpointInterval = 10000;
+        private Long progressIntervalMs = 1000L;
+        private Boolean resumeOnStartup = true;
+        private Boolean disableWal = false;
+
+        public Integer getMaxConcurrentJobs() {
+            return maxConcurrentJobs;
+        }
+
+        public void setMaxConcurrentJobs(Integer maxConcurrentJobs) {
+            this.maxConcurrentJobs = maxConcurrentJobs;
+        }
+
+        public Integer getCheckpointInterval() {
+            return checkpointInterval;
+        }
+
+        public void setCheckpointInterval(Integer checkpointInterval) {
+            this.checkpointInterval = checkpointInterval;
+        }
+
+        public Long getProgressIntervalMs() {
+            return progressIntervalMs;
+        }
+
+        public void setProgressIntervalMs(Long progressIntervalMs) {
+            this.progressIntervalMs = progressIntervalMs;
+        }
+
+        public Boolean getResumeOnStartup() {
+            return resumeOnStartup;
+        }
+
+        public void setResumeOnStartup(Boolean resumeOnStartup) {
+            this.resumeOnStartup = resumeOnStartup;
+        }
+
+        /**
+         * Writes trie nodes of bulk loads without the write-ahead log; they are flushed before each
+         * checkpoint and when the load ends. A crash loses the writes since the last flush, which a
+         * resumed job replays from its committed offset.
+         */
+        public Boolean getDisableWal() {
+            return disableWal;
+        }
+
+        public void setDisableWal(Boolean disableWal) {
+            this.disableWal = disableWal;
+        }
     }
 
     public static class PluginsProperties {
@@ -1,14 +1,30 @@
 package com.bloxbean.cardano.dataprover.controller;
 
+import com.bloxbean.cardano.dataprover.dto.BackupResponse;
+import com.bloxbean.cardano.dataprover.dto.RestoreBackupRequest;
+import com.bloxbean.cardano.dataprover.dto.RestoreBackupResponse;
+import com.bloxbean.cardano.dataprover.dto.RetentionRunResponse;
+import com.bloxbean.cardano.dataprover.service.backup.BackupService;
+import com.bloxbean.cardano.dataprover.service.filter.MembershipFilterService;
+import com.bloxbean.cardano.dataprover.service.retention.RetentionService;
+import com.bloxbean.cardano.dataprover.service.storage.CompactionService;
 import com.bloxbean.cardano.dataprover.service.storage.RocksDbManager;
 import com.bloxbean.cardano.dataprover.service.merkle.MerkleRegistry;
+import jakarta.validation.Valid;
+import org.rocksdb.HistogramData;
+import org.rocksdb.HistogramType;
+import org.rocksdb.Statistics;
+import org.rocksdb.TickerType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * REST controller for administrative operations.
@@ -21,10 +37,20 @@ public class AdminController {
 
     private final MerkleRegistry merkleRegistry;
     private final RocksDbManager rocksDbManager;
+    private final BackupService backupService;
+    private final CompactionService compactionService;
+    private final RetentionService retentionService;
+    private final MembershipFilterService membershipFilters;
 
-    public AdminController(MerkleRegistry merkleRegistry, RocksDbManager rocksDbManager) {
+    public AdminController(MerkleRegistry merkleRegistry, RocksDbManager rocksDbManager,
+                           BackupService backupService, CompactionService compactionService,
+                           RetentionService retentionService, MembershipFilterService membershipFilters) {
         this.merkleRegistry = merkleRegistry;
         this.rocksDbManager = rocksDbManager;
+        this.backupService = backupService;
+        this.compactionService = compactionService;
+        this.retentionService = retentionService;
+        this.membershipFilters = membershipFilters;
     }
 
     @GetMapping("/health")
@@ -51,12 +77,17 @@ public class AdminController {
         cacheMap.put("cacheHits", cacheStats.hits());
         cacheMap.put("cacheMisses", cacheStats.misses());
         cacheMap.put("hitRate", String.format("%.2f%%", cacheStats.hitRate() * 100));
+        cacheMap.put("membershipFilterBytes", membershipFilters.sizeBytes());
 
         stats.put("cache", cacheMap);
 
         Map<String, Object> rocksStats = new HashMap<>();
         rocksStats.put("isOpen", rocksDbManager.getDb() != null);
         rocksStats.put("columnFamilyCount", rocksDbManager.getActiveColumnFamilies().size());
+        rocksStats.put("memtableBytes", rocksDbManager.getLongProperty("rocksdb.cur-size-all-mem-tables", true));
+        rocksStats.put("pendingCompactionBytes",
+                rocksDbManager.getLongProperty("rocksdb.estimate-pending-compaction-bytes", true));
+        rocksStats.put("blockCacheUsageBytes", rocksDbManager.getLongProperty("rocksdb.block-cache-usage", false));
 
         stats.put("rocksdb", rocksStats);
 
@@ -120,7 +151,118 @@ public class AdminController {
         info.put("isOpen", rocksDbManager.getDb() != null);
         info.put("columnFamilies", columnFamilies);
         info.put("columnFamilyCount", columnFamilies.size());
+        info.put("instances", rocksDbManager.getInstances());
 
         return ResponseEntity.ok(info);
     }
+
+    /**
+     * Non-zero RocksDB statistics tickers and latency histograms (in microseconds) since startup.
+     */
+    @GetMapping("/storage/statistics")
+    public ResponseEntity<Map<String, Object>> getStorageStatistics() {
+        log.debug("Storage statistics requested");
+
+        Statistics statistics = rocksDbManager.getStatistics();
+        if (statistics == null) {
+            return ResponseEntity.ok(Map.of("enabled", false));
+        }
+
+        Map<String, Long> tickers = new TreeMap<>();
+        for (TickerType ticker : TickerType.values()) {
+            if (ticker == TickerType.TICKER_ENUM_MAX) {
+                continue;
+            }
+            long count = statistics.getTickerCount(ticker);
+            if (count > 0) {
+                tickers.put(ticker.name(), count);
+            }
+        }
+
+        Map<String, Object> histograms = new TreeMap<>();
+        for (HistogramType type : List.of(HistogramType.DB_GET, HistogramType.DB_WRITE,
+                HistogramType.SST_READ_MICROS, HistogramType.COMPACTION_TIME)) {
+            HistogramData data = statistics.getHistogramData(type);
+            Map<String, Object> histogram = new HashMap<>();
+            histogram.put("count", data.getCount());
+            histogram.put("average", data.getAverage());
+            histogram.put("median", data.getMedian());
+            histogram.put("p95", data.getPercentile95());
+            histogram.put("p99", data.getPercentile99());
+            histogram.put("max", data.getMax());
+            histograms.put(type.name(), histogram);
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("enabled", true);
+        response.put("tickers", tickers);
+        response.put("histograms", histograms);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Queues a full compaction of a merkle's column families. Compactions run one at a time in the
+     * background, within the storage rate limit.
+     */
+    @PostMapping("/compaction/{merkleId}")
+    public ResponseEntity<Map<String, Object>> compactMerkle(@PathVariable String merkleId) {
+        log.info("Compaction requested for merkle {}", merkleId);
+
+        boolean scheduled = compactionService.schedule(merkleId);
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of(
+                "message", scheduled ? "Compaction scheduled" : "Compaction already pending",
+                "merkleId", merkleId,
+                "columnFamilies", rocksDbManager.getMerkleColumnFamilies(merkleId)
+        ));
+    }
+
+    /**
+     * Runs the retention policy now: purges deleted merkles past their grace period and archives
+     * active merkles above the configured threshold.
+     */
+    @PostMapping("/retention/run")
+    public ResponseEntity<RetentionRunResponse> runRetention() {
+        log.info("Retention run requested");
+
+        return ResponseEntity.ok(retentionService.run());
+    }
+
+    @PostMapping("/backups")
+    public ResponseEntity<BackupResponse> createBackup() {
+        log.info("Creating checkpoint backup");
+
+        BackupResponse response = backupService.createCheckpointBackup();
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @PostMapping("/backups/merkle/{merkleId}")
+    public ResponseEntity<BackupResponse> exportMerkle(@PathVariable String merkleId) {
+        log.info("Exporting merkle {} to backup", merkleId);
+
+        BackupResponse response = backupService.exportMerkle(merkleId);
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @GetMapping("/backups")
+    public ResponseEntity<List<BackupResponse>> listBackups() {
+        log.debug("Listing backups");
+
+        return ResponseEntity.ok(backupService.listBackups());
+    }
+
+    @PostMapping("/backups/{backupId}/restore")
+    public ResponseEntity<RestoreBackupResponse> restoreBackup(
+            @PathVariable String backupId,
+            @Valid @RequestBody(required = false) RestoreBackupRequest request) {
+
+        log.info("Restoring backup {}", backupId);
+
+        RestoreBackupResponse response = backupService.restore(backupId,
+                request != null ? request : new RestoreBackupRequest());
+
+        return ResponseEntity.ok(response);
+    }
 }
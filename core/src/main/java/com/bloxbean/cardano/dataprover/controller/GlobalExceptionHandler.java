@@ -7,6 +7,7 @@ import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -14,6 +15,9 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 /**
  * Global exception handler for the application.
+ * <p>
+ * Errors always use an explicit JSON content type so that clients requesting binary
+ * responses still receive the error body instead of a 406.
  */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -29,7 +33,67 @@ public class GlobalExceptionHandler {
                 .message(ex.getMessage())
                 .build();
 
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON).body(error);
+    }
+
+    @ExceptionHandler(MerkleArchivedException.class)
+    public ResponseEntity<ErrorResponse> handleMerkleArchived(MerkleArchivedException ex) {
+        log.warn("Merkle archived: {}", ex.getMessage());
+
+        ErrorResponse error = ErrorResponse.builder()
+                .code("MERKLE_ARCHIVED")
+                .message(ex.getMessage())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).contentType(MediaType.APPLICATION_JSON).body(error);
+    }
+
+    @ExceptionHandler(MerkleBusyException.class)
+    public ResponseEntity<ErrorResponse> handleMerkleBusy(MerkleBusyException ex) {
+        log.warn("Merkle busy: {}", ex.getMessage());
+
+        ErrorResponse error = ErrorResponse.builder()
+                .code("MERKLE_BUSY")
+                .message(ex.getMessage())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).contentType(MediaType.APPLICATION_JSON).body(error);
+    }
+
+    @ExceptionHandler(BackupNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleBackupNotFound(BackupNotFoundException ex) {
+        log.warn("Backup not found: {}", ex.getMessage());
+
+        ErrorResponse error = ErrorResponse.builder()
+                .code("BACKUP_NOT_FOUND")
+                .message(ex.getMessage())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON).body(error);
+    }
+
+    @ExceptionHandler(IngestionJobNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleIngestionJobNotFound(IngestionJobNotFoundException ex) {
+        log.warn("Ingestion job not found: {}", ex.getMessage());
+
+        ErrorResponse error = ErrorResponse.builder()
+                .code("INGESTION_JOB_NOT_FOUND")
+                .message(ex.getMessage())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON).body(error);
+    }
+
+    @ExceptionHandler(IngestionJobConflictException.class)
+    public ResponseEntity<ErrorResponse> handleIngestionJobConflict(IngestionJobConflictException ex) {
+        log.warn("Ingestion job conflict: {}", ex.getMessage());
+
+        ErrorResponse error = ErrorResponse.builder()
+                .code("INGESTION_JOB_CONFLICT")
+                .message(ex.getMessage())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).contentType(MediaType.APPLICATION_JSON).body(error);
     }
 
     @ExceptionHandler(DuplicateMerkleException.class)
@@ -41,7 +105,7 @@ public class GlobalExceptionHandler {
                 .message(ex.getMessage())
                 .build();
 
-        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+        return ResponseEntity.status(HttpStatus.CONFLICT).contentType(MediaType.APPLICATION_JSON).body(error);
     }
 
     @ExceptionHandler(UnsupportedMerkleSchemeException.class)
@@ -53,7 +117,7 @@ public class GlobalExceptionHandler {
                 .message(ex.getMessage())
                 .build();
 
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).contentType(MediaType.APPLICATION_JSON).body(error);
     }
 
     @ExceptionHandler(ProviderNotFoundException.class)
@@ -65,7 +129,7 @@ public class GlobalExceptionHandler {
                 .message(ex.getMessage())
                 .build();
 
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON).body(error);
     }
 
     @ExceptionHandler(DataProviderException.class)
@@ -77,7 +141,7 @@ public class GlobalExceptionHandler {
                 .message(ex.getMessage())
                 .build();
 
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).contentType(MediaType.APPLICATION_JSON).body(error);
     }
 
     @ExceptionHandler(ProofGenerationException.class)
@@ -89,7 +153,7 @@ public class GlobalExceptionHandler {
                 .message(ex.getMessage())
                 .build();
 
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).contentType(MediaType.APPLICATION_JSON).body(error);
     }
 
     @ExceptionHandler(MerkleOperationException.class)
@@ -101,7 +165,7 @@ public class GlobalExceptionHandler {
                 .message(ex.getMessage())
                 .build();
 
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).contentType(MediaType.APPLICATION_JSON).body(error);
     }
 
     @ExceptionHandler(SerializationException.class)
@@ -113,7 +177,7 @@ public class GlobalExceptionHandler {
                 .message(ex.getMessage())
                 .build();
 
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).contentType(MediaType.APPLICATION_JSON).body(error);
     }
 
     @ExceptionHandler(ConstraintViolationException.class)
@@ -130,7 +194,7 @@ public class GlobalExceptionHandler {
             errorBuilder.fieldError(field, message);
         }
 
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorBuilder.build());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).contentType(MediaType.APPLICATION_JSON).body(errorBuilder.build());
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -145,7 +209,7 @@ public class GlobalExceptionHandler {
             errorBuilder.fieldError(fieldError.getField(), fieldError.getDefaultMessage());
         });
 
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorBuilder.build());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).contentType(MediaType.APPLICATION_JSON).body(errorBuilder.build());
     }
 
     @ExceptionHandler(IllegalArgumentException.class)
@@ -157,7 +221,7 @@ public class GlobalExceptionHandler {
                 .message(ex.getMessage())
                 .build();
 
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).contentType(MediaType.APPLICATION_JSON).body(error);
     }
 
     @ExceptionHandler(Exception.class)
@@ -169,6 +233,6 @@ public class GlobalExceptionHandler {
                 .message("An unexpected error occurred")
                 .build();
 
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).contentType(MediaType.APPLICATION_JSON).body(error);
     }
 }
@@ -4,14 +4,20 @@ import com.bloxbean.cardano.dataprover.dto.AddEntriesRequest;
 import com.bloxbean.cardano.dataprover.dto.AddEntriesResponse;
 import com.bloxbean.cardano.dataprover.dto.IngestRequest;
 import com.bloxbean.cardano.dataprover.dto.IngestResponse;
+import com.bloxbean.cardano.dataprover.dto.IngestionJobResponse;
 import com.bloxbean.cardano.dataprover.service.IngestionService;
+import com.bloxbean.cardano.dataprover.service.ingestion.EntryStreamReader;
+import com.bloxbean.cardano.dataprover.service.ingestion.IngestionJobService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
+
 /**
  * REST controller for data ingestion operations.
  */
@@ -22,9 +28,12 @@ public class IngestionController {
     private static final Logger log = LoggerFactory.getLogger(IngestionController.class);
 
     private final IngestionService ingestionService;
+    private final IngestionJobService ingestionJobService;
 
-    public IngestionController(IngestionService ingestionService) {
+    public IngestionController(IngestionService ingestionService,
+                               IngestionJobService ingestionJobService) {
         this.ingestionService = ingestionService;
+        this.ingestionJobService = ingestionJobService;
     }
 
     @PostMapping("/ingest")
@@ -40,6 +49,19 @@ public class IngestionController {
         return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
     }
 
+    @PostMapping("/ingest/jobs")
+    public ResponseEntity<IngestionJobResponse> submitIngestJob(
+            @PathVariable String merkleId,
+            @Valid @RequestBody IngestRequest request) {
+
+        log.info("Submitting ingestion job for merkle {} using provider {}",
+                merkleId, request.getProvider());
+
+        IngestionJobResponse response = ingestionJobService.submit(merkleId, request);
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
     @PostMapping("/entries")
     public ResponseEntity<AddEntriesResponse> addEntries(
             @PathVariable String merkleId,
@@ -51,4 +73,24 @@ public class IngestionController {
 
         return ResponseEntity.status(HttpStatus.OK).body(response);
     }
+
+    /**
+     * Streams entries from the request body without buffering it.
+     * Accepts NDJSON ({"key":"hex","value":"hex"} per line), a CBOR sequence of [key, value]
+     * byte-string arrays, or length-prefixed binary (u32 key length, key, u32 value length, value).
+     */
+    @PostMapping(value = "/entries/stream",
+            consumes = {EntryStreamReader.NDJSON, EntryStreamReader.CBOR, EntryStreamReader.OCTET_STREAM})
+    public ResponseEntity<AddEntriesResponse> streamEntries(
+            @PathVariable String merkleId,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+
+        log.info("Streaming entries into merkle {} ({})", merkleId, contentType);
+
+        AddEntriesResponse response = ingestionService.streamEntries(merkleId,
+                EntryStreamReader.forContentType(contentType, body));
+
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
 }
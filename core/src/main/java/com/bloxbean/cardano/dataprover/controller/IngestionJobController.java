@@ -0,0 +1,64 @@
+package com.bloxbean.cardano.dataprover.controller;
+
+import com.bloxbean.cardano.dataprover.dto.IngestionJobResponse;
+import com.bloxbean.cardano.dataprover.service.ingestion.IngestionJobService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST controller for tracking and controlling asynchronous ingestion jobs.
+ */
+@RestController
+@RequestMapping("/api/v1/ingestion/jobs")
+public class IngestionJobController {
+
+    private static final Logger log = LoggerFactory.getLogger(IngestionJobController.class);
+
+    private final IngestionJobService jobService;
+
+    public IngestionJobController(IngestionJobService jobService) {
+        this.jobService = jobService;
+    }
+
+    @GetMapping
+    public ResponseEntity<Page<IngestionJobResponse>> listJobs(
+            @RequestParam(required = false) String merkleId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+
+        log.debug("Listing ingestion jobs: merkleId={}, page={}, size={}", merkleId, page, size);
+        return ResponseEntity.ok(jobService.listJobs(merkleId, PageRequest.of(page, size)));
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<IngestionJobResponse> getJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(jobService.getJob(jobId));
+    }
+
+    /**
+     * Streams job progress as server-sent "progress" events until the job finishes.
+     */
+    @GetMapping(value = "/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamJob(@PathVariable String jobId) {
+        log.debug("Streaming progress of ingestion job {}", jobId);
+        return jobService.streamJob(jobId);
+    }
+
+    @PostMapping("/{jobId}/cancel")
+    public ResponseEntity<IngestionJobResponse> cancelJob(@PathVariable String jobId) {
+        log.info("Cancelling ingestion job {}", jobId);
+        return ResponseEntity.ok(jobService.cancel(jobId));
+    }
+
+    @PostMapping("/{jobId}/resume")
+    public ResponseEntity<IngestionJobResponse> resumeJob(@PathVariable String jobId) {
+        log.info("Resuming ingestion job {}", jobId);
+        return ResponseEntity.ok(jobService.resume(jobId));
+    }
+}
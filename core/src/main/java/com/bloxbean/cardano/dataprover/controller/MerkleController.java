@@ -1,20 +1,27 @@
 package com.bloxbean.cardano.dataprover.controller;
 
 import com.bloxbean.cardano.dataprover.dto.CreateMerkleRequest;
+import com.bloxbean.cardano.dataprover.dto.ImportMerkleArchiveRequest;
+import com.bloxbean.cardano.dataprover.dto.MerkleArchiveResponse;
 import com.bloxbean.cardano.dataprover.dto.MerkleEntriesResponse;
 import com.bloxbean.cardano.dataprover.dto.MerkleResponse;
 import com.bloxbean.cardano.dataprover.dto.MerkleSizeResponse;
+import com.bloxbean.cardano.dataprover.dto.TreeStatsResponse;
 import com.bloxbean.cardano.dataprover.dto.TreeStructureResponse;
 import com.bloxbean.cardano.dataprover.model.MerkleStatus;
 import com.bloxbean.cardano.dataprover.service.MerkleManagementService;
+import com.bloxbean.cardano.dataprover.service.archive.MerkleArchiveService;
+import com.bloxbean.cardano.dataprover.service.ingestion.EntryStreamReader;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * REST controller for merkle management operations.
@@ -26,9 +33,12 @@ public class MerkleController {
     private static final Logger log = LoggerFactory.getLogger(MerkleController.class);
 
     private final MerkleManagementService merkleService;
+    private final MerkleArchiveService archiveService;
 
-    public MerkleController(MerkleManagementService merkleService) {
+    public MerkleController(MerkleManagementService merkleService,
+                            MerkleArchiveService archiveService) {
         this.merkleService = merkleService;
+        this.archiveService = archiveService;
     }
 
     @PostMapping
@@ -82,6 +92,36 @@ public class MerkleController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Streams original keys in sorted order as NDJSON, selected by hex {@code prefix} or by the
+     * {@code from} (inclusive) / {@code to} (exclusive) range. Requires a merkle storing original keys.
+     */
+    @GetMapping(value = "/{identifier}/keys", produces = EntryStreamReader.NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamKeys(
+            @PathVariable String identifier,
+            @RequestParam(required = false) String prefix,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(defaultValue = "0") long limit,
+            @RequestParam(defaultValue = "false") boolean includeValues) {
+        log.info("Streaming keys of merkle: {} (prefix: {}, from: {}, to: {}, limit: {})",
+            identifier, prefix, from, to, limit);
+        StreamingResponseBody body = merkleService.streamKeys(identifier, prefix, from, to, limit, includeValues);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(EntryStreamReader.NDJSON))
+            .body(body);
+    }
+
+    /**
+     * Rebuilds the sorted original key index from the trie, for a merkle storing original keys.
+     */
+    @PostMapping("/{identifier}/keys/index")
+    public ResponseEntity<MerkleSizeResponse> rebuildKeyIndex(@PathVariable String identifier) {
+        log.info("Rebuilding original key index of merkle: {}", identifier);
+        MerkleSizeResponse response = merkleService.rebuildKeyIndex(identifier);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{identifier}/tree")
     public ResponseEntity<TreeStructureResponse> getTreeStructure(
             @PathVariable String identifier,
@@ -91,4 +131,44 @@ public class MerkleController {
         TreeStructureResponse response = merkleService.getTreeStructure(identifier, prefix, maxNodes);
         return ResponseEntity.ok(response);
     }
+
+    @GetMapping("/{identifier}/tree/stats")
+    public ResponseEntity<TreeStatsResponse> getTreeStats(
+            @PathVariable String identifier,
+            @RequestParam(defaultValue = "1000") int proofSamples) {
+        log.info("Computing tree statistics for merkle: {} (proofSamples: {})", identifier, proofSamples);
+        TreeStatsResponse response = merkleService.computeTreeStats(identifier, proofSamples);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/{identifier}/export")
+    public ResponseEntity<MerkleArchiveResponse> exportMerkle(
+            @PathVariable String identifier,
+            @RequestParam(defaultValue = "true") boolean includeNodes) {
+        log.info("Exporting merkle {} (includeNodes={})", identifier, includeNodes);
+        MerkleArchiveResponse response = archiveService.exportMerkle(identifier, includeNodes);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/import")
+    public ResponseEntity<MerkleArchiveResponse> importMerkle(
+            @Valid @RequestBody ImportMerkleArchiveRequest request) {
+        log.info("Importing merkle archive: {}", request.getFile());
+        MerkleArchiveResponse response = archiveService.importMerkle(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @PostMapping("/{identifier}/archive")
+    public ResponseEntity<MerkleArchiveResponse> archiveMerkle(@PathVariable String identifier) {
+        log.info("Archiving merkle: {}", identifier);
+        MerkleArchiveResponse response = archiveService.archiveMerkle(identifier);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/{identifier}/unarchive")
+    public ResponseEntity<MerkleArchiveResponse> unarchiveMerkle(@PathVariable String identifier) {
+        log.info("Restoring archived merkle: {}", identifier);
+        MerkleArchiveResponse response = archiveService.unarchiveMerkle(identifier);
+        return ResponseEntity.ok(response);
+    }
 }
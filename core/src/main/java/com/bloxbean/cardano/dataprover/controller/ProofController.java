@@ -1,24 +1,43 @@
 package com.bloxbean.cardano.dataprover.controller;
 
+import com.bloxbean.cardano.dataprover.dto.BatchExistsResponse;
+import com.bloxbean.cardano.dataprover.dto.BatchProofVerificationResponse;
 import com.bloxbean.cardano.dataprover.dto.BatchValueLookupRequest;
 import com.bloxbean.cardano.dataprover.dto.BatchValueLookupResponse;
+import com.bloxbean.cardano.dataprover.dto.ConsistencyProofResponse;
+import com.bloxbean.cardano.dataprover.dto.IngestionJobResponse;
 import com.bloxbean.cardano.dataprover.dto.ProofGenerationRequest;
 import com.bloxbean.cardano.dataprover.dto.ProofGenerationResponse;
+import com.bloxbean.cardano.dataprover.dto.ProofMaterializationResponse;
 import com.bloxbean.cardano.dataprover.dto.ProofVerificationRequest;
 import com.bloxbean.cardano.dataprover.dto.ProofVerificationResponse;
+import com.bloxbean.cardano.dataprover.dto.ValueIndexResponse;
 import com.bloxbean.cardano.dataprover.dto.ValueLookupResponse;
+import com.bloxbean.cardano.dataprover.model.RawProof;
+import com.bloxbean.cardano.dataprover.service.ProofMaterializationService;
 import com.bloxbean.cardano.dataprover.service.ProofService;
+import com.bloxbean.cardano.dataprover.service.ProofVerificationService;
+import com.bloxbean.cardano.dataprover.service.ValueIndexService;
+import com.bloxbean.cardano.dataprover.util.ProofWireCodec;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * REST controller for proof generation and verification operations.
+ * <p>
+ * Proof, root and value lookups also answer {@code Accept: application/cbor} and
+ * {@code application/octet-stream} with raw bytes instead of hex strings; see {@link ProofWireCodec}
+ * for the framing. Clients that accept any type keep getting JSON.
  */
 @RestController
 @RequestMapping("/api/v1/merkle/{merkleId}")
@@ -27,9 +46,17 @@ public class ProofController {
     private static final Logger log = LoggerFactory.getLogger(ProofController.class);
 
     private final ProofService proofService;
+    private final ProofVerificationService verificationService;
+    private final ProofMaterializationService materializationService;
+    private final ValueIndexService valueIndexService;
 
-    public ProofController(ProofService proofService) {
+    public ProofController(ProofService proofService, ProofVerificationService verificationService,
+                           ProofMaterializationService materializationService,
+                           ValueIndexService valueIndexService) {
         this.proofService = proofService;
+        this.verificationService = verificationService;
+        this.materializationService = materializationService;
+        this.valueIndexService = valueIndexService;
     }
 
     @PostMapping("/proofs")
@@ -44,6 +71,21 @@ public class ProofController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping(value = "/proofs", produces = {
+            MediaType.APPLICATION_CBOR_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<byte[]> generateProofBinary(
+            @PathVariable String merkleId,
+            @RequestHeader(HttpHeaders.ACCEPT) String accept,
+            @Valid @RequestBody ProofGenerationRequest request) {
+
+        log.info("Generating binary proof for key {} in merkle {}", request.getKey(), merkleId);
+
+        MediaType mediaType = ProofWireCodec.negotiate(accept);
+        RawProof proof = proofService.generateRawProof(merkleId, request);
+
+        return binary(mediaType, ProofWireCodec.encodeProof(proof, mediaType));
+    }
+
     @PostMapping("/proofs/batch")
     public ResponseEntity<List<ProofGenerationResponse>> generateBatchProofs(
             @PathVariable String merkleId,
@@ -56,6 +98,58 @@ public class ProofController {
         return ResponseEntity.ok(responses);
     }
 
+    @PostMapping(value = "/proofs/batch", produces = {
+            MediaType.APPLICATION_CBOR_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<byte[]> generateBatchProofsBinary(
+            @PathVariable String merkleId,
+            @RequestHeader(HttpHeaders.ACCEPT) String accept,
+            @Valid @RequestBody List<ProofGenerationRequest> requests) {
+
+        log.info("Generating binary batch proofs for {} keys in merkle {}", requests.size(), merkleId);
+
+        MediaType mediaType = ProofWireCodec.negotiate(accept);
+        List<RawProof> proofs = proofService.generateRawBatchProofs(merkleId, requests);
+
+        return binary(mediaType, ProofWireCodec.encodeProofs(proofs, mediaType));
+    }
+
+    /**
+     * Submits a job that precomputes the proofs of all leaves so they are served by a single point
+     * lookup until the merkle changes. Track it under {@code /api/v1/ingestion/jobs/{jobId}}.
+     */
+    @PostMapping("/proofs/materialize")
+    public ResponseEntity<IngestionJobResponse> materializeProofs(@PathVariable String merkleId) {
+        log.info("Submitting proof materialisation of merkle {}", merkleId);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(materializationService.materialize(merkleId));
+    }
+
+    @GetMapping("/proofs/materialized")
+    public ResponseEntity<ProofMaterializationResponse> getMaterializedProofs(@PathVariable String merkleId) {
+        return ResponseEntity.ok(materializationService.getStatus(merkleId));
+    }
+
+    @DeleteMapping("/proofs/materialized")
+    public ResponseEntity<Void> dropMaterializedProofs(@PathVariable String merkleId) {
+        log.info("Dropping materialised proofs of merkle {}", merkleId);
+        materializationService.drop(merkleId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Consistency proof between two sizes of an append-only log merkle; {@code to} defaults to the
+     * current size.
+     */
+    @GetMapping("/proofs/consistency")
+    public ResponseEntity<ConsistencyProofResponse> getConsistencyProof(
+            @PathVariable String merkleId,
+            @RequestParam long from,
+            @RequestParam(required = false) Long to) {
+
+        log.info("Generating consistency proof from size {} to {} in merkle {}", from, to, merkleId);
+
+        return ResponseEntity.ok(proofService.getConsistencyProof(merkleId, from, to));
+    }
+
     @PostMapping("/proofs/verify")
     public ResponseEntity<ProofVerificationResponse> verifyProof(
             @PathVariable String merkleId,
@@ -63,7 +157,21 @@ public class ProofController {
 
         log.info("Verifying proof for key {} in merkle {}", request.getKey(), merkleId);
 
-        ProofVerificationResponse response = proofService.verifyProof(merkleId, request);
+        ProofVerificationResponse response = verificationService.verifyProof(merkleId, request);
+
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/proofs/verify/batch")
+    public ResponseEntity<BatchProofVerificationResponse> verifyBatchProofs(
+            @PathVariable String merkleId,
+            @RequestParam(defaultValue = "false") boolean includeResults,
+            @Valid @RequestBody List<ProofVerificationRequest> requests) {
+
+        log.info("Verifying batch of {} proofs in merkle {}", requests.size(), merkleId);
+
+        BatchProofVerificationResponse response =
+                verificationService.verifyProofs(merkleId, requests, includeResults);
 
         return ResponseEntity.ok(response);
     }
@@ -83,6 +191,26 @@ public class ProofController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Returns the raw root hash; octet-stream answers 204 for an empty merkle tree.
+     */
+    @GetMapping(value = "/root", produces = {
+            MediaType.APPLICATION_CBOR_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<byte[]> getRootHashBinary(
+            @PathVariable String merkleId,
+            @RequestHeader(HttpHeaders.ACCEPT) String accept) {
+
+        log.debug("Getting binary root hash for merkle {}", merkleId);
+
+        MediaType mediaType = ProofWireCodec.negotiate(accept);
+        byte[] rootHash = proofService.getRawRootHash(merkleId);
+        if (rootHash == null && !MediaType.APPLICATION_CBOR.equals(mediaType)) {
+            return ResponseEntity.noContent().build();
+        }
+
+        return binary(mediaType, ProofWireCodec.encodeBytes(rootHash, mediaType));
+    }
+
     @GetMapping("/values")
     public ResponseEntity<ValueLookupResponse> getValue(
             @PathVariable String merkleId,
@@ -95,6 +223,27 @@ public class ProofController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Returns the raw value; octet-stream answers 404 when the key is not found.
+     */
+    @GetMapping(value = "/values", produces = {
+            MediaType.APPLICATION_CBOR_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<byte[]> getValueBinary(
+            @PathVariable String merkleId,
+            @RequestHeader(HttpHeaders.ACCEPT) String accept,
+            @RequestParam String key) {
+
+        log.info("Looking up binary value for key {} in merkle {}", key, merkleId);
+
+        MediaType mediaType = ProofWireCodec.negotiate(accept);
+        Optional<byte[]> value = proofService.getRawValue(merkleId, key);
+        if (value.isEmpty() && !MediaType.APPLICATION_CBOR.equals(mediaType)) {
+            return ResponseEntity.notFound().build();
+        }
+
+        return binary(mediaType, ProofWireCodec.encodeBytes(value.orElse(null), mediaType));
+    }
+
     @PostMapping("/values/batch")
     public ResponseEntity<BatchValueLookupResponse> getValuesBatch(
             @PathVariable String merkleId,
@@ -106,4 +255,59 @@ public class ProofController {
 
         return ResponseEntity.ok(new BatchValueLookupResponse(results));
     }
+
+    @PostMapping(value = "/values/batch", produces = {
+            MediaType.APPLICATION_CBOR_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<byte[]> getValuesBatchBinary(
+            @PathVariable String merkleId,
+            @RequestHeader(HttpHeaders.ACCEPT) String accept,
+            @Valid @RequestBody BatchValueLookupRequest request) {
+
+        log.info("Looking up {} binary values in merkle {}", request.getKeys().size(), merkleId);
+
+        MediaType mediaType = ProofWireCodec.negotiate(accept);
+        List<byte[]> values = proofService.getRawValues(merkleId, request.getKeys());
+
+        return binary(mediaType, ProofWireCodec.encodeBytesList(values, mediaType));
+    }
+
+    /**
+     * Builds the leaf value index from the trie so value lookups take a single point lookup;
+     * the index is then kept up to date by every write.
+     */
+    @PostMapping("/values/index")
+    public ResponseEntity<ValueIndexResponse> buildValueIndex(@PathVariable String merkleId) {
+        log.info("Building value index of merkle {}", merkleId);
+        return ResponseEntity.ok(valueIndexService.build(merkleId));
+    }
+
+    @GetMapping("/values/index")
+    public ResponseEntity<ValueIndexResponse> getValueIndex(@PathVariable String merkleId) {
+        return ResponseEntity.ok(valueIndexService.getStatus(merkleId));
+    }
+
+    @DeleteMapping("/values/index")
+    public ResponseEntity<Void> dropValueIndex(@PathVariable String merkleId) {
+        log.info("Dropping value index of merkle {}", merkleId);
+        valueIndexService.drop(merkleId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Checks which keys exist without returning values; keys ruled out by the membership filter
+     * never touch the trie.
+     */
+    @PostMapping("/exists/batch")
+    public ResponseEntity<BatchExistsResponse> existsBatch(
+            @PathVariable String merkleId,
+            @Valid @RequestBody BatchValueLookupRequest request) {
+
+        log.info("Checking existence of {} keys in merkle {}", request.getKeys().size(), merkleId);
+
+        return ResponseEntity.ok(proofService.exists(merkleId, request.getKeys()));
+    }
+
+    private ResponseEntity<byte[]> binary(MediaType mediaType, byte[] body) {
+        return ResponseEntity.ok().contentType(mediaType).body(body);
+    }
 }
@@ -3,6 +3,7 @@ package com.bloxbean.cardano.dataprover.controller;
 import com.bloxbean.cardano.dataprover.dto.*;
 import com.bloxbean.cardano.dataprover.service.IngestionService;
 import com.bloxbean.cardano.dataprover.service.ProviderConfigurationService;
+import com.bloxbean.cardano.dataprover.service.ingestion.IngestionJobService;
 import com.bloxbean.cardano.dataprover.service.provider.ConfigTestResult;
 import com.bloxbean.cardano.dataprover.service.provider.DataProvider;
 import com.bloxbean.cardano.dataprover.service.provider.DataProviderRegistry;
@@ -30,13 +31,16 @@ public class ProviderController {
     private final DataProviderRegistry providerRegistry;
     private final IngestionService ingestionService;
     private final ProviderConfigurationService configurationService;
+    private final IngestionJobService ingestionJobService;
 
     public ProviderController(DataProviderRegistry providerRegistry,
                               IngestionService ingestionService,
-                              ProviderConfigurationService configurationService) {
+                              ProviderConfigurationService configurationService,
+                              IngestionJobService ingestionJobService) {
         this.providerRegistry = providerRegistry;
         this.ingestionService = ingestionService;
         this.configurationService = configurationService;
+        this.ingestionJobService = ingestionJobService;
     }
 
     /**
@@ -107,6 +111,22 @@ public class ProviderController {
         return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
     }
 
+    /**
+     * Submit a provider ingestion as a background job with optional auto-create merkle.
+     * Track it via /api/v1/ingestion/jobs/{jobId}.
+     */
+    @PostMapping("/ingest/jobs")
+    public ResponseEntity<IngestionJobResponse> submitIngestJob(
+            @Valid @RequestBody ProviderIngestRequest request) {
+
+        log.info("Provider ingest job request: merkle={}, provider={}, createIfNotExists={}",
+                request.getMerkleName(), request.getProvider(), request.isCreateIfNotExists());
+
+        IngestionJobResponse response = ingestionJobService.submit(request);
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
     /**
      * Get current configuration for a provider (masked passwords).
      */
@@ -0,0 +1,123 @@
+package com.bloxbean.cardano.dataprover.dto;
+
+import java.util.List;
+
+/**
+ * Response DTO describing a RocksDB backup.
+ */
+public class BackupResponse {
+
+    private String backupId;
+    private String type;
+    private String path;
+    private String createdAt;
+    private List<String> merkles;
+    private Long sizeBytes;
+    private Long durationMs;
+
+    public BackupResponse() {
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public String getBackupId() {
+        return backupId;
+    }
+
+    public void setBackupId(String backupId) {
+        this.backupId = backupId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public String getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(String createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public List<String> getMerkles() {
+        return merkles;
+    }
+
+    public void setMerkles(List<String> merkles) {
+        this.merkles = merkles;
+    }
+
+    public Long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(Long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    public Long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(Long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public static class Builder {
+        private final BackupResponse response = new BackupResponse();
+
+        public Builder backupId(String backupId) {
+            response.setBackupId(backupId);
+            return this;
+        }
+
+        public Builder type(String type) {
+            response.setType(type);
+            return this;
+        }
+
+        public Builder path(String path) {
+            response.setPath(path);
+            return this;
+        }
+
+        public Builder createdAt(String createdAt) {
+            response.setCreatedAt(createdAt);
+            return this;
+        }
+
+        public Builder merkles(List<String> merkles) {
+            response.setMerkles(merkles);
+            return this;
+        }
+
+        public Builder sizeBytes(Long sizeBytes) {
+            response.setSizeBytes(sizeBytes);
+            return this;
+        }
+
+        public Builder durationMs(Long durationMs) {
+            response.setDurationMs(durationMs);
+            return this;
+        }
+
+        public BackupResponse build() {
+            return response;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.bloxbean.cardano.dataprover.dto;
+
+import java.util.List;
+
+/**
+ * Response DTO for batch key existence checks.
+ * <p>
+ * {@code exists} is in request order. {@code filteredCount} counts the keys the membership filter
+ * ruled out without reading the trie.
+ */
+public class BatchExistsResponse {
+
+    private String merkleIdentifier;
+    private Integer total;
+    private Integer foundCount;
+    private Integer filteredCount;
+    private List<Boolean> exists;
+
+    public BatchExistsResponse() {
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public String getMerkleIdentifier() {
+        return merkleIdentifier;
+    }
+
+    public void setMerkleIdentifier(String merkleIdentifier) {
+        this.merkleIdentifier = merkleIdentifier;
+    }
+
+    public Integer getTotal() {
+        return total;
+    }
+
+    public void setTotal(Integer total) {
+        this.total = total;
+    }
+
+    public Integer getFoundCount() {
+        return foundCount;
+    }
+
+    public void setFoundCount(Integer foundCount) {
+        this.foundCount = foundCount;
+    }
+
+    public Integer getFilteredCount() {
+        return filteredCount;
+    }
+
+    public void setFilteredCount(Integer filteredCount) {
+        this.filteredCount = filteredCount;
+    }
+
+    public List<Boolean> getExists() {
+        return exists;
+    }
+
+    public void setExists(List<Boolean> exists) {
+        this.exists = exists;
+    }
+
+    public static class Builder {
+        private final BatchExistsResponse response = new BatchExistsResponse();
+
+        public Builder merkleIdentifier(String merkleIdentifier) {
+            response.setMerkleIdentifier(merkleIdentifier);
+            return this;
+        }
+
+        public Builder total(Integer total) {
+            response.setTotal(total);
+            return this;
+        }
+
+        public Builder foundCount(Integer foundCount) {
+            response.setFoundCount(foundCount);
+            return this;
+        }
+
+        public Builder filteredCount(Integer filteredCount) {
+            response.setFilteredCount(filteredCount);
+            return this;
+        }
+
+        public Builder exists(List<Boolean> exists) {
+            response.setExists(exists);
+            return this;
+        }
+
+        public BatchExistsResponse build() {
+            return response;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.bloxbean.cardano.dataprover.dto;
+
+import java.util.List;
+
+/**
+ * Response DTO for batch proof verification.
+ * <p>
+ * {@code bitmap} is hex encoded with bit {@code i} (LSB first within each byte) set when proof {@code i}
+ * verified. Per-proof {@code results} are only included on request.
+ */
+public class BatchProofVerificationResponse {
+
+    private String merkleIdentifier;
+    private Integer total;
+    private Integer verifiedCount;
+    private Integer failedCount;
+    private String bitmap;
+    private List<Integer> failedIndices;
+    private List<ProofVerificationResponse> results;
+
+    public BatchProofVerificationResponse() {
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public String getMerkleIdentifier() {
+        return merkleIdentifier;
+    }
+
+    public void setMerkleIdentifier(String merkleIdentifier) {
+        this.merkleIdentifier = merkleIdentifier;
+    }
+
+    public Integer getTotal() {
+        return total;
+    }
+
+    public void setTotal(Integer total) {
+        this.total = total;
+    }
+
+    public Integer getVerifiedCount() {
+        return verifiedCount;
+    }
+
+    public void setVerifiedCount(Integer verifiedCount) {
+        this.verifiedCount = verifiedCount;
+    }
+
+    public Integer getFailedCount() {
+        return failedCount;
+    }
+
+    public void setFailedCount(Integer failedCount) {
+        this.failedCount = failedCount;
+    }
+
+    public String getBitmap() {
+        return bitmap;
+    }
+
+    public void setBitmap(String bitmap) {
+        this.bitmap = bitmap;
+    }
+
+    public List<Integer> getFailedIndices() {
+        return failedIndices;
+    }
+
+    public void setFailedIndices(List<Integer> failedIndices) {
+        this.failedIndices = failedIndices;
+    }
+
+    public List<ProofVerificationResponse> getResults() {
+        return results;
+    }
+
+    public void setResults(List<ProofVerificationResponse> results) {
+        this.results = results;
+    }
+
+    public static class Builder {
+        private final BatchProofVerificationResponse response = new BatchProofVerificationResponse();
+
+        public Builder merkleIdentifier(String merkleIdentifier) {
+            response.setMerkleIdentifier(merkleIdentifier);
+            return this;
+        }
+
+        public Builder total(Integer total) {
+            response.setTotal(total);
+            return this;
+        }
+
+        public Builder verifiedCount(Integer verifiedCount) {
+            response.setVerifiedCount(verifiedCount);
+            return this;
+        }
+
+        public Builder failedCount(Integer failedCount) {
+            response.setFailedCount(failedCount);
+            return this;
+        }
+
+        public Builder bitmap(String bitmap) {
+            response.setBitmap(bitmap);
+            return this;
+        }
+
+        public Builder failedIndices(List<Integer> failedIndices) {
+            response.setFailedIndices(failedIndices);
+            return this;
+        }
+
+        public Builder results(List<ProofVerificationResponse> results) {
+            response.setResults(results);
+            return this;
+        }
+
+        public BatchProofVerificationResponse build() {
+            return response;
+        }
+    }
+}
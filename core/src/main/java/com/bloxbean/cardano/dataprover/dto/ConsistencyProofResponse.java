@@ -0,0 +1,77 @@
+package com.bloxbean.cardano.dataprover.dto;
+
+import java.util.List;
+
+/**
+ * Response DTO for a consistency proof between two sizes of an append-only merkle log.
+ */
+public class ConsistencyProofResponse {
+
+    private String merkleIdentifier;
+    private long fromSize;
+    private long toSize;
+    private String fromRoot;
+    private String toRoot;
+    private List<String> proof;
+
+    public ConsistencyProofResponse() {
+    }
+
+    public ConsistencyProofResponse(String merkleIdentifier, long fromSize, long toSize,
+                                    String fromRoot, String toRoot, List<String> proof) {
+        this.merkleIdentifier = merkleIdentifier;
+        this.fromSize = fromSize;
+        this.toSize = toSize;
+        this.fromRoot = fromRoot;
+        this.toRoot = toRoot;
+        this.proof = proof;
+    }
+
+    public String getMerkleIdentifier() {
+        return merkleIdentifier;
+    }
+
+    public void setMerkleIdentifier(String merkleIdentifier) {
+        this.merkleIdentifier = merkleIdentifier;
+    }
+
+    public long getFromSize() {
+        return fromSize;
+    }
+
+    public void setFromSize(long fromSize) {
+        this.fromSize = fromSize;
+    }
+
+    public long getToSize() {
+        return toSize;
+    }
+
+    public void setToSize(long toSize) {
+        this.toSize = toSize;
+    }
+
+    public String getFromRoot() {
+        return fromRoot;
+    }
+
+    public void setFromRoot(String fromRoot) {
+        this.fromRoot = fromRoot;
+    }
+
+    public String getToRoot() {
+        return toRoot;
+    }
+
+    public void setToRoot(String toRoot) {
+        this.toRoot = toRoot;
+    }
+
+    public List<String> getProof() {
+        return proof;
+    }
+
+    public void setProof(List<String> proof) {
+        this.proof = proof;
+    }
+}
@@ -24,6 +24,8 @@ public class CreateMerkleRequest {
 
     private Boolean storeOriginalKeys;
 
+    private Boolean indexValues;
+
     public CreateMerkleRequest() {
     }
 
@@ -66,4 +68,12 @@ public class CreateMerkleRequest {
     public void setStoreOriginalKeys(Boolean storeOriginalKeys) {
         this.storeOriginalKeys = storeOriginalKeys;
     }
+
+    public Boolean getIndexValues() {
+        return indexValues;
+    }
+
+    public void setIndexValues(Boolean indexValues) {
+        this.indexValues = indexValues;
+    }
 }
@@ -0,0 +1,38 @@
+package com.bloxbean.cardano.dataprover.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+
+/**
+ * Request DTO for importing a merkle archive file.
+ * The file is resolved inside the configured archive directory.
+ * Without a target identifier the identifier recorded in the archive is used.
+ */
+public class ImportMerkleArchiveRequest {
+
+    @NotBlank(message = "Archive file is required")
+    private String file;
+
+    @Pattern(regexp = "^[a-z0-9]([a-z0-9-]{1,62}[a-z0-9])?$",
+             message = "Identifier must be 3-64 chars, lowercase letters/numbers/hyphens only")
+    private String targetIdentifier;
+
+    public ImportMerkleArchiveRequest() {
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    public String getTargetIdentifier() {
+        return targetIdentifier;
+    }
+
+    public void setTargetIdentifier(String targetIdentifier) {
+        this.targetIdentifier = targetIdentifier;
+    }
+}
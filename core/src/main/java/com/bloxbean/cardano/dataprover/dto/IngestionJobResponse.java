@@ -0,0 +1,292 @@
+package com.bloxbean.cardano.dataprover.dto;
+
+import java.util.List;
+
+/**
+ * Response DTO describing an ingestion job and its progress.
+ * Rate and ETA are only reported while the job is running.
+ */
+public class IngestionJobResponse {
+
+    private String jobId;
+    private String merkleIdentifier;
+    private String provider;
+    private String status;
+    private Long totalRecords;
+    private Long recordsProcessed;
+    private Long recordsSkipped;
+    private Long committedOffset;
+    private Long currentOffset;
+    private String rootHash;
+    private Double recordsPerSecond;
+    private Long etaSeconds;
+    private Boolean cancelRequested;
+    private String errorMessage;
+    private List<String> errors;
+    private String createdAt;
+    private String startedAt;
+    private String finishedAt;
+    private String lastCheckpointAt;
+
+    public IngestionJobResponse() {
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getMerkleIdentifier() {
+        return merkleIdentifier;
+    }
+
+    public void setMerkleIdentifier(String merkleIdentifier) {
+        this.merkleIdentifier = merkleIdentifier;
+    }
+
+    public String getProvider() {
+        return provider;
+    }
+
+    public void setProvider(String provider) {
+        this.provider = provider;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getTotalRecords() {
+        return totalRecords;
+    }
+
+    public void setTotalRecords(Long totalRecords) {
+        this.totalRecords = totalRecords;
+    }
+
+    public Long getRecordsProcessed() {
+        return recordsProcessed;
+    }
+
+    public void setRecordsProcessed(Long recordsProcessed) {
+        this.recordsProcessed = recordsProcessed;
+    }
+
+    public Long getRecordsSkipped() {
+        return recordsSkipped;
+    }
+
+    public void setRecordsSkipped(Long recordsSkipped) {
+        this.recordsSkipped = recordsSkipped;
+    }
+
+    public Long getCommittedOffset() {
+        return committedOffset;
+    }
+
+    public void setCommittedOffset(Long committedOffset) {
+        this.committedOffset = committedOffset;
+    }
+
+    public Long getCurrentOffset() {
+        return currentOffset;
+    }
+
+    public void setCurrentOffset(Long currentOffset) {
+        this.currentOffset = currentOffset;
+    }
+
+    public String getRootHash() {
+        return rootHash;
+    }
+
+    public void setRootHash(String rootHash) {
+        this.rootHash = rootHash;
+    }
+
+    public Double getRecordsPerSecond() {
+        return recordsPerSecond;
+    }
+
+    public void setRecordsPerSecond(Double recordsPerSecond) {
+        this.recordsPerSecond = recordsPerSecond;
+    }
+
+    public Long getEtaSeconds() {
+        return etaSeconds;
+    }
+
+    public void setEtaSeconds(Long etaSeconds) {
+        this.etaSeconds = etaSeconds;
+    }
+
+    public Boolean getCancelRequested() {
+        return cancelRequested;
+    }
+
+    public void setCancelRequested(Boolean cancelRequested) {
+        this.cancelRequested = cancelRequested;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+
+    public String getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(String createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public String getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(String startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public String getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(String finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getLastCheckpointAt() {
+        return lastCheckpointAt;
+    }
+
+    public void setLastCheckpointAt(String lastCheckpointAt) {
+        this.lastCheckpointAt = lastCheckpointAt;
+    }
+
+    public static class Builder {
+        private final IngestionJobResponse response = new IngestionJobResponse();
+
+        public Builder jobId(String jobId) {
+            response.setJobId(jobId);
+            return this;
+        }
+
+        public Builder merkleIdentifier(String merkleIdentifier) {
+            response.setMerkleIdentifier(merkleIdentifier);
+            return this;
+        }
+
+        public Builder provider(String provider) {
+            response.setProvider(provider);
+            return this;
+        }
+
+        public Builder status(String status) {
+            response.setStatus(status);
+            return this;
+        }
+
+        public Builder totalRecords(Long totalRecords) {
+            response.setTotalRecords(totalRecords);
+            return this;
+        }
+
+        public Builder recordsProcessed(Long recordsProcessed) {
+            response.setRecordsProcessed(recordsProcessed);
+            return this;
+        }
+
+        public Builder recordsSkipped(Long recordsSkipped) {
+            response.setRecordsSkipped(recordsSkipped);
+            return this;
+        }
+
+        public Builder committedOffset(Long committedOffset) {
+            response.setCommittedOffset(committedOffset);
+            return this;
+        }
+
+        public Builder currentOffset(Long currentOffset) {
+            response.setCurrentOffset(currentOffset);
+            return this;
+        }
+
+        public Builder rootHash(String rootHash) {
+            response.setRootHash(rootHash);
+            return this;
+        }
+
+        public Builder recordsPerSecond(Double recordsPerSecond) {
+            response.setRecordsPerSecond(recordsPerSecond);
+            return this;
+        }
+
+        public Builder etaSeconds(Long etaSeconds) {
+            response.setEtaSeconds(etaSeconds);
+            return this;
+        }
+
+        public Builder cancelRequested(Boolean cancelRequested) {
+            response.setCancelRequested(cancelRequested);
+            return this;
+        }
+
+        public Builder errorMessage(String errorMessage) {
+            response.setErrorMessage(errorMessage);
+            return this;
+        }
+
+        public Builder errors(List<String> errors) {
+            response.setErrors(errors);
+            return this;
+        }
+
+        public Builder createdAt(String createdAt) {
+            response.setCreatedAt(createdAt);
+            return this;
+        }
+
+        public Builder startedAt(String startedAt) {
+            response.setStartedAt(startedAt);
+            return this;
+        }
+
+        public Builder finishedAt(String finishedAt) {
+            response.setFinishedAt(finishedAt);
+            return this;
+        }
+
+        public Builder lastCheckpointAt(String lastCheckpointAt) {
+            response.setLastCheckpointAt(lastCheckpointAt);
+            return this;
+        }
+
+        public IngestionJobResponse build() {
+            return response;
+        }
+    }
+}
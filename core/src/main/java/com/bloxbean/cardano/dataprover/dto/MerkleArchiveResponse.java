@@ -0,0 +1,149 @@
+package com.bloxbean.cardano.dataprover.dto;
+
+/**
+ * Response DTO for merkle archive export, import and cold-storage operations.
+ */
+public class MerkleArchiveResponse {
+
+    private String merkleIdentifier;
+    private String scheme;
+    private String status;
+    private String file;
+    private String rootHash;
+    private Long leafCount;
+    private Long nodeCount;
+    private Long sizeBytes;
+    private Long durationMs;
+
+    public MerkleArchiveResponse() {
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public String getMerkleIdentifier() {
+        return merkleIdentifier;
+    }
+
+    public void setMerkleIdentifier(String merkleIdentifier) {
+        this.merkleIdentifier = merkleIdentifier;
+    }
+
+    public String getScheme() {
+        return scheme;
+    }
+
+    public void setScheme(String scheme) {
+        this.scheme = scheme;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    public String getRootHash() {
+        return rootHash;
+    }
+
+    public void setRootHash(String rootHash) {
+        this.rootHash = rootHash;
+    }
+
+    public Long getLeafCount() {
+        return leafCount;
+    }
+
+    public void setLeafCount(Long leafCount) {
+        this.leafCount = leafCount;
+    }
+
+    public Long getNodeCount() {
+        return nodeCount;
+    }
+
+    public void setNodeCount(Long nodeCount) {
+        this.nodeCount = nodeCount;
+    }
+
+    public Long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(Long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    public Long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(Long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public static class Builder {
+        private final MerkleArchiveResponse response = new MerkleArchiveResponse();
+
+        public Builder merkleIdentifier(String merkleIdentifier) {
+            response.setMerkleIdentifier(merkleIdentifier);
+            return this;
+        }
+
+        public Builder scheme(String scheme) {
+            response.setScheme(scheme);
+            return this;
+        }
+
+        public Builder status(String status) {
+            response.setStatus(status);
+            return this;
+        }
+
+        public Builder file(String file) {
+            response.setFile(file);
+            return this;
+        }
+
+        public Builder rootHash(String rootHash) {
+            response.setRootHash(rootHash);
+            return this;
+        }
+
+        public Builder leafCount(Long leafCount) {
+            response.setLeafCount(leafCount);
+            return this;
+        }
+
+        public Builder nodeCount(Long nodeCount) {
+            response.setNodeCount(nodeCount);
+            return this;
+        }
+
+        public Builder sizeBytes(Long sizeBytes) {
+            response.setSizeBytes(sizeBytes);
+            return this;
+        }
+
+        public Builder durationMs(Long durationMs) {
+            response.setDurationMs(durationMs);
+            return this;
+        }
+
+        public MerkleArchiveResponse build() {
+            return response;
+        }
+    }
+}
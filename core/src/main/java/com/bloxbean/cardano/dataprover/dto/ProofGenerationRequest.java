@@ -12,6 +12,11 @@ public class ProofGenerationRequest {
 
     private String format = "wire";
 
+    /**
+     * Optional tree version to prove against; only supported by versioned schemes such as JMT.
+     */
+    private Long version;
+
     public ProofGenerationRequest() {
     }
 
@@ -34,4 +39,12 @@ public class ProofGenerationRequest {
     public void setFormat(String format) {
         this.format = format;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,124 @@
+package com.bloxbean.cardano.dataprover.dto;
+
+/**
+ * Response DTO for materialised proofs of a merkle.
+ * <p>
+ * {@code status} is MATERIALIZED when the proofs match the current root, STALE when the merkle has
+ * changed since, and NONE when no proofs are materialised.
+ */
+public class ProofMaterializationResponse {
+
+    private String merkleIdentifier;
+    private String status;
+    private String rootHash;
+    private Long entries;
+    private Long proofBytes;
+    private Long averageProofBytes;
+    private Long storageBytes;
+
+    public ProofMaterializationResponse() {
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public String getMerkleIdentifier() {
+        return merkleIdentifier;
+    }
+
+    public void setMerkleIdentifier(String merkleIdentifier) {
+        this.merkleIdentifier = merkleIdentifier;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getRootHash() {
+        return rootHash;
+    }
+
+    public void setRootHash(String rootHash) {
+        this.rootHash = rootHash;
+    }
+
+    public Long getEntries() {
+        return entries;
+    }
+
+    public void setEntries(Long entries) {
+        this.entries = entries;
+    }
+
+    public Long getProofBytes() {
+        return proofBytes;
+    }
+
+    public void setProofBytes(Long proofBytes) {
+        this.proofBytes = proofBytes;
+    }
+
+    public Long getAverageProofBytes() {
+        return averageProofBytes;
+    }
+
+    public void setAverageProofBytes(Long averageProofBytes) {
+        this.averageProofBytes = averageProofBytes;
+    }
+
+    public Long getStorageBytes() {
+        return storageBytes;
+    }
+
+    public void setStorageBytes(Long storageBytes) {
+        this.storageBytes = storageBytes;
+    }
+
+    public static class Builder {
+        private final ProofMaterializationResponse response = new ProofMaterializationResponse();
+
+        public Builder merkleIdentifier(String merkleIdentifier) {
+            response.setMerkleIdentifier(merkleIdentifier);
+            return this;
+        }
+
+        public Builder status(String status) {
+            response.setStatus(status);
+            return this;
+        }
+
+        public Builder rootHash(String rootHash) {
+            response.setRootHash(rootHash);
+            return this;
+        }
+
+        public Builder entries(Long entries) {
+            response.setEntries(entries);
+            return this;
+        }
+
+        public Builder proofBytes(Long proofBytes) {
+            response.setProofBytes(proofBytes);
+            return this;
+        }
+
+        public Builder averageProofBytes(Long averageProofBytes) {
+            response.setAverageProofBytes(averageProofBytes);
+            return this;
+        }
+
+        public Builder storageBytes(Long storageBytes) {
+            response.setStorageBytes(storageBytes);
+            return this;
+        }
+
+        public ProofMaterializationResponse build() {
+            return response;
+        }
+    }
+}
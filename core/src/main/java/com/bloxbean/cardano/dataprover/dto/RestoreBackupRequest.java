@@ -0,0 +1,36 @@
+package com.bloxbean.cardano.dataprover.dto;
+
+import jakarta.validation.constraints.Pattern;
+
+/**
+ * Request DTO for restoring merkles from a backup.
+ * Without a merkle identifier every merkle in the backup is restored.
+ * A target identifier restores a single merkle under a new name (environment cloning).
+ */
+public class RestoreBackupRequest {
+
+    private String merkleIdentifier;
+
+    @Pattern(regexp = "^[a-z0-9]([a-z0-9-]{1,62}[a-z0-9])?$",
+             message = "Identifier must be 3-64 chars, lowercase letters/numbers/hyphens only")
+    private String targetIdentifier;
+
+    public RestoreBackupRequest() {
+    }
+
+    public String getMerkleIdentifier() {
+        return merkleIdentifier;
+    }
+
+    public void setMerkleIdentifier(String merkleIdentifier) {
+        this.merkleIdentifier = merkleIdentifier;
+    }
+
+    public String getTargetIdentifier() {
+        return targetIdentifier;
+    }
+
+    public void setTargetIdentifier(String targetIdentifier) {
+        this.targetIdentifier = targetIdentifier;
+    }
+}
@@ -0,0 +1,81 @@
+package com.bloxbean.cardano.dataprover.dto;
+
+import java.util.List;
+
+/**
+ * Response DTO for a backup restore.
+ */
+public class RestoreBackupResponse {
+
+    private String backupId;
+    private List<String> restoredMerkles;
+    private Long entriesImported;
+    private Long durationMs;
+
+    public RestoreBackupResponse() {
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public String getBackupId() {
+        return backupId;
+    }
+
+    public void setBackupId(String backupId) {
+        this.backupId = backupId;
+    }
+
+    public List<String> getRestoredMerkles() {
+        return restoredMerkles;
+    }
+
+    public void setRestoredMerkles(List<String> restoredMerkles) {
+        this.restoredMerkles = restoredMerkles;
+    }
+
+    public Long getEntriesImported() {
+        return entriesImported;
+    }
+
+    public void setEntriesImported(Long entriesImported) {
+        this.entriesImported = entriesImported;
+    }
+
+    public Long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(Long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public static class Builder {
+        private final RestoreBackupResponse response = new RestoreBackupResponse();
+
+        public Builder backupId(String backupId) {
+            response.setBackupId(backupId);
+            return this;
+        }
+
+        public Builder restoredMerkles(List<String> restoredMerkles) {
+            response.setRestoredMerkles(restoredMerkles);
+            return this;
+        }
+
+        public Builder entriesImported(Long entriesImported) {
+            response.setEntriesImported(entriesImported);
+            return this;
+        }
+
+        public Builder durationMs(Long durationMs) {
+            response.setDurationMs(durationMs);
+            return this;
+        }
+
+        public RestoreBackupResponse build() {
+            return response;
+        }
+    }
+}
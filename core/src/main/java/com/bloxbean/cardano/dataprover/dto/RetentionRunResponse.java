@@ -0,0 +1,109 @@
+package com.bloxbean.cardano.dataprover.dto;
+
+import java.util.List;
+
+/**
+ * Response DTO describing a retention run: merkles purged or archived and the space reclaimed.
+ */
+public class RetentionRunResponse {
+
+    private List<String> purgedMerkles;
+    private List<String> archivedMerkles;
+    private List<String> archiveFiles;
+    private List<String> errors;
+    private Long reclaimedBytes;
+    private Long durationMs;
+
+    public RetentionRunResponse() {
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public List<String> getPurgedMerkles() {
+        return purgedMerkles;
+    }
+
+    public void setPurgedMerkles(List<String> purgedMerkles) {
+        this.purgedMerkles = purgedMerkles;
+    }
+
+    public List<String> getArchivedMerkles() {
+        return archivedMerkles;
+    }
+
+    public void setArchivedMerkles(List<String> archivedMerkles) {
+        this.archivedMerkles = archivedMerkles;
+    }
+
+    public List<String> getArchiveFiles() {
+        return archiveFiles;
+    }
+
+    public void setArchiveFiles(List<String> archiveFiles) {
+        this.archiveFiles = archiveFiles;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+
+    public Long getReclaimedBytes() {
+        return reclaimedBytes;
+    }
+
+    public void setReclaimedBytes(Long reclaimedBytes) {
+        this.reclaimedBytes = reclaimedBytes;
+    }
+
+    public Long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(Long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public static class Builder {
+        private final RetentionRunResponse response = new RetentionRunResponse();
+
+        public Builder purgedMerkles(List<String> purgedMerkles) {
+            response.setPurgedMerkles(purgedMerkles);
+            return this;
+        }
+
+        public Builder archivedMerkles(List<String> archivedMerkles) {
+            response.setArchivedMerkles(archivedMerkles);
+            return this;
+        }
+
+        public Builder archiveFiles(List<String> archiveFiles) {
+            response.setArchiveFiles(archiveFiles);
+            return this;
+        }
+
+        public Builder errors(List<String> errors) {
+            response.setErrors(errors);
+            return this;
+        }
+
+        public Builder reclaimedBytes(Long reclaimedBytes) {
+            response.setReclaimedBytes(reclaimedBytes);
+            return this;
+        }
+
+        public Builder durationMs(Long durationMs) {
+            response.setDurationMs(durationMs);
+            return this;
+        }
+
+        public RetentionRunResponse build() {
+            return response;
+        }
+    }
+}
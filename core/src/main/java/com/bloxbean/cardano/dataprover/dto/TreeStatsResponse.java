@@ -0,0 +1,268 @@
+package com.bloxbean.cardano.dataprover.dto;
+
+import java.util.Map;
+
+/**
+ * Response DTO for the shape statistics of a merkle trie.
+ * <p>
+ * Leaf depths are given both in nibbles of the key path and in branch levels; the latter equals the
+ * number of steps in the leaf's proof. Proof sizes are measured on a sample of leaves only.
+ */
+public class TreeStatsResponse {
+
+    private String merkleIdentifier;
+    private String rootHash;
+    private long leafCount;
+    private long branchCount;
+    private long extensionCount;
+    private boolean truncated;
+    private Histogram leafDepthNibbles;
+    private Histogram leafDepthBranches;
+    private Histogram branchFanOut;
+    private Histogram extensionLength;
+    private Histogram proofWireSize;
+    private long computationTimeMs;
+
+    public TreeStatsResponse() {
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public String getMerkleIdentifier() {
+        return merkleIdentifier;
+    }
+
+    public void setMerkleIdentifier(String merkleIdentifier) {
+        this.merkleIdentifier = merkleIdentifier;
+    }
+
+    public String getRootHash() {
+        return rootHash;
+    }
+
+    public void setRootHash(String rootHash) {
+        this.rootHash = rootHash;
+    }
+
+    public long getLeafCount() {
+        return leafCount;
+    }
+
+    public void setLeafCount(long leafCount) {
+        this.leafCount = leafCount;
+    }
+
+    public long getBranchCount() {
+        return branchCount;
+    }
+
+    public void setBranchCount(long branchCount) {
+        this.branchCount = branchCount;
+    }
+
+    public long getExtensionCount() {
+        return extensionCount;
+    }
+
+    public void setExtensionCount(long extensionCount) {
+        this.extensionCount = extensionCount;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+
+    public Histogram getLeafDepthNibbles() {
+        return leafDepthNibbles;
+    }
+
+    public void setLeafDepthNibbles(Histogram leafDepthNibbles) {
+        this.leafDepthNibbles = leafDepthNibbles;
+    }
+
+    public Histogram getLeafDepthBranches() {
+        return leafDepthBranches;
+    }
+
+    public void setLeafDepthBranches(Histogram leafDepthBranches) {
+        this.leafDepthBranches = leafDepthBranches;
+    }
+
+    public Histogram getBranchFanOut() {
+        return branchFanOut;
+    }
+
+    public void setBranchFanOut(Histogram branchFanOut) {
+        this.branchFanOut = branchFanOut;
+    }
+
+    public Histogram getExtensionLength() {
+        return extensionLength;
+    }
+
+    public void setExtensionLength(Histogram extensionLength) {
+        this.extensionLength = extensionLength;
+    }
+
+    public Histogram getProofWireSize() {
+        return proofWireSize;
+    }
+
+    public void setProofWireSize(Histogram proofWireSize) {
+        this.proofWireSize = proofWireSize;
+    }
+
+    public long getComputationTimeMs() {
+        return computationTimeMs;
+    }
+
+    public void setComputationTimeMs(long computationTimeMs) {
+        this.computationTimeMs = computationTimeMs;
+    }
+
+    public static class Builder {
+        private final TreeStatsResponse response = new TreeStatsResponse();
+
+        public Builder merkleIdentifier(String merkleIdentifier) {
+            response.merkleIdentifier = merkleIdentifier;
+            return this;
+        }
+
+        public Builder rootHash(String rootHash) {
+            response.rootHash = rootHash;
+            return this;
+        }
+
+        public Builder leafCount(long leafCount) {
+            response.leafCount = leafCount;
+            return this;
+        }
+
+        public Builder branchCount(long branchCount) {
+            response.branchCount = branchCount;
+            return this;
+        }
+
+        public Builder extensionCount(long extensionCount) {
+            response.extensionCount = extensionCount;
+            return this;
+        }
+
+        public Builder truncated(boolean truncated) {
+            response.truncated = truncated;
+            return this;
+        }
+
+        public Builder leafDepthNibbles(Histogram leafDepthNibbles) {
+            response.leafDepthNibbles = leafDepthNibbles;
+            return this;
+        }
+
+        public Builder leafDepthBranches(Histogram leafDepthBranches) {
+            response.leafDepthBranches = leafDepthBranches;
+            return this;
+        }
+
+        public Builder branchFanOut(Histogram branchFanOut) {
+            response.branchFanOut = branchFanOut;
+            return this;
+        }
+
+        public Builder extensionLength(Histogram extensionLength) {
+            response.extensionLength = extensionLength;
+            return this;
+        }
+
+        public Builder proofWireSize(Histogram proofWireSize) {
+            response.proofWireSize = proofWireSize;
+            return this;
+        }
+
+        public Builder computationTimeMs(long computationTimeMs) {
+            response.computationTimeMs = computationTimeMs;
+            return this;
+        }
+
+        public TreeStatsResponse build() {
+            return response;
+        }
+    }
+
+    /**
+     * Distribution of one measure. Bucket keys are the lower bound of each bucket.
+     */
+    public static class Histogram {
+        private long count;
+        private long min;
+        private long max;
+        private double mean;
+        private int bucketWidth;
+        private Map<Long, Long> buckets;
+
+        public Histogram() {
+        }
+
+        public Histogram(long count, long min, long max, double mean, int bucketWidth, Map<Long, Long> buckets) {
+            this.count = count;
+            this.min = min;
+            this.max = max;
+            this.mean = mean;
+            this.bucketWidth = bucketWidth;
+            this.buckets = buckets;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public void setCount(long count) {
+            this.count = count;
+        }
+
+        public long getMin() {
+            return min;
+        }
+
+        public void setMin(long min) {
+            this.min = min;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        public void setMax(long max) {
+            this.max = max;
+        }
+
+        public double getMean() {
+            return mean;
+        }
+
+        public void setMean(double mean) {
+            this.mean = mean;
+        }
+
+        public int getBucketWidth() {
+            return bucketWidth;
+        }
+
+        public void setBucketWidth(int bucketWidth) {
+            this.bucketWidth = bucketWidth;
+        }
+
+        public Map<Long, Long> getBuckets() {
+            return buckets;
+        }
+
+        public void setBuckets(Map<Long, Long> buckets) {
+            this.buckets = buckets;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.bloxbean.cardano.dataprover.dto;
+
+/**
+ * Response DTO for the leaf value index of a merkle.
+ * <p>
+ * {@code status} is COMPLETE when value lookups are served from the index, BUILDING while it is
+ * backfilled from the trie, INCOMPLETE when a build was interrupted, and NONE when there is no index.
+ */
+public class ValueIndexResponse {
+
+    private String merkleIdentifier;
+    private String status;
+    private Long entries;
+    private Long storageBytes;
+    private Long durationMs;
+
+    public ValueIndexResponse() {
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public String getMerkleIdentifier() {
+        return merkleIdentifier;
+    }
+
+    public void setMerkleIdentifier(String merkleIdentifier) {
+        this.merkleIdentifier = merkleIdentifier;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getEntries() {
+        return entries;
+    }
+
+    public void setEntries(Long entries) {
+        this.entries = entries;
+    }
+
+    public Long getStorageBytes() {
+        return storageBytes;
+    }
+
+    public void setStorageBytes(Long storageBytes) {
+        this.storageBytes = storageBytes;
+    }
+
+    public Long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(Long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public static class Builder {
+        private final ValueIndexResponse response = new ValueIndexResponse();
+
+        public Builder merkleIdentifier(String merkleIdentifier) {
+            response.setMerkleIdentifier(merkleIdentifier);
+            return this;
+        }
+
+        public Builder status(String status) {
+            response.setStatus(status);
+            return this;
+        }
+
+        public Builder entries(Long entries) {
+            response.setEntries(entries);
+            return this;
+        }
+
+        public Builder storageBytes(Long storageBytes) {
+            response.setStorageBytes(storageBytes);
+            return this;
+        }
+
+        public Builder durationMs(Long durationMs) {
+            response.setDurationMs(durationMs);
+            return this;
+        }
+
+        public ValueIndexResponse build() {
+            return response;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.bloxbean.cardano.dataprover.exception;
+
+/**
+ * Exception thrown when a backup cannot be found in the backup directory.
+ */
+public class BackupNotFoundException extends RuntimeException {
+
+    private final String backupId;
+
+    public BackupNotFoundException(String backupId) {
+        super("Backup not found: " + backupId);
+        this.backupId = backupId;
+    }
+
+    public String getBackupId() {
+        return backupId;
+    }
+}
@@ -0,0 +1,12 @@
+package com.bloxbean.cardano.dataprover.exception;
+
+/**
+ * Exception thrown when an ingestion job request conflicts with the current job state,
+ * e.g. a second job for a merkle that already has an active one.
+ */
+public class IngestionJobConflictException extends RuntimeException {
+
+    public IngestionJobConflictException(String message) {
+        super(message);
+    }
+}
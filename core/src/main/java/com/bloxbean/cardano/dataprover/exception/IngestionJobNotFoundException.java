@@ -0,0 +1,18 @@
+package com.bloxbean.cardano.dataprover.exception;
+
+/**
+ * Exception thrown when an ingestion job cannot be found.
+ */
+public class IngestionJobNotFoundException extends RuntimeException {
+
+    private final String jobId;
+
+    public IngestionJobNotFoundException(String jobId) {
+        super("Ingestion job not found: " + jobId);
+        this.jobId = jobId;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+}
@@ -0,0 +1,18 @@
+package com.bloxbean.cardano.dataprover.exception;
+
+/**
+ * Exception thrown when an operation needs the trie data of a merkle that has been moved to cold storage.
+ */
+public class MerkleArchivedException extends RuntimeException {
+
+    private final String identifier;
+
+    public MerkleArchivedException(String identifier) {
+        super("Merkle is archived, restore it first: " + identifier);
+        this.identifier = identifier;
+    }
+
+    public String getIdentifier() {
+        return identifier;
+    }
+}
@@ -0,0 +1,18 @@
+package com.bloxbean.cardano.dataprover.exception;
+
+/**
+ * Exception thrown when a maintenance operation is already running for a merkle.
+ */
+public class MerkleBusyException extends RuntimeException {
+
+    private final String identifier;
+
+    public MerkleBusyException(String identifier, String operation) {
+        super("Merkle is busy with " + operation + ": " + identifier);
+        this.identifier = identifier;
+    }
+
+    public String getIdentifier() {
+        return identifier;
+    }
+}
@@ -0,0 +1,205 @@
+package com.bloxbean.cardano.dataprover.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Entity representing an asynchronous ingestion job.
+ * The committed offset is the number of source records whose writes are covered by the
+ * checkpointed root hash; a resumed job continues from there.
+ */
+@Entity
+@Table(name = "ingestion_job")
+public class IngestionJob {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "merkle_identifier", nullable = false, length = 64)
+    private String merkleIdentifier;
+
+    @Column(nullable = false, length = 64)
+    private String provider;
+
+    @Convert(converter = JsonMapConverter.class)
+    @Column(name = "config", columnDefinition = "TEXT")
+    private Map<String, Object> config;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private IngestionJobStatus status;
+
+    @Column(name = "total_records")
+    private Long totalRecords;
+
+    @Column(name = "records_processed", nullable = false)
+    private Long recordsProcessed;
+
+    @Column(name = "records_skipped", nullable = false)
+    private Long recordsSkipped;
+
+    @Column(name = "committed_offset", nullable = false)
+    private Long committedOffset;
+
+    @Column(name = "root_hash", length = 128)
+    private String rootHash;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "started_at")
+    private Instant startedAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    @Column(name = "last_checkpoint_at")
+    private Instant lastCheckpointAt;
+
+    @Version
+    private Long version;
+
+    public IngestionJob() {
+        this.status = IngestionJobStatus.QUEUED;
+        this.config = new HashMap<>();
+        this.recordsProcessed = 0L;
+        this.recordsSkipped = 0L;
+        this.committedOffset = 0L;
+        this.createdAt = Instant.now();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getMerkleIdentifier() {
+        return merkleIdentifier;
+    }
+
+    public void setMerkleIdentifier(String merkleIdentifier) {
+        this.merkleIdentifier = merkleIdentifier;
+    }
+
+    public String getProvider() {
+        return provider;
+    }
+
+    public void setProvider(String provider) {
+        this.provider = provider;
+    }
+
+    public Map<String, Object> getConfig() {
+        return config;
+    }
+
+    public void setConfig(Map<String, Object> config) {
+        this.config = config;
+    }
+
+    public IngestionJobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(IngestionJobStatus status) {
+        this.status = status;
+    }
+
+    public Long getTotalRecords() {
+        return totalRecords;
+    }
+
+    public void setTotalRecords(Long totalRecords) {
+        this.totalRecords = totalRecords;
+    }
+
+    public Long getRecordsProcessed() {
+        return recordsProcessed;
+    }
+
+    public void setRecordsProcessed(Long recordsProcessed) {
+        this.recordsProcessed = recordsProcessed;
+    }
+
+    public Long getRecordsSkipped() {
+        return recordsSkipped;
+    }
+
+    public void setRecordsSkipped(Long recordsSkipped) {
+        this.recordsSkipped = recordsSkipped;
+    }
+
+    public Long getCommittedOffset() {
+        return committedOffset;
+    }
+
+    public void setCommittedOffset(Long committedOffset) {
+        this.committedOffset = committedOffset;
+    }
+
+    public String getRootHash() {
+        return rootHash;
+    }
+
+    public void setRootHash(String rootHash) {
+        this.rootHash = rootHash;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public Instant getLastCheckpointAt() {
+        return lastCheckpointAt;
+    }
+
+    public void setLastCheckpointAt(Instant lastCheckpointAt) {
+        this.lastCheckpointAt = lastCheckpointAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
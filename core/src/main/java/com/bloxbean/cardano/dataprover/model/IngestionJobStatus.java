@@ -0,0 +1,16 @@
+package com.bloxbean.cardano.dataprover.model;
+
+/**
+ * Lifecycle status of an ingestion job.
+ */
+public enum IngestionJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    CANCELLED;
+
+    public boolean isTerminal() {
+        return this == COMPLETED || this == FAILED || this == CANCELLED;
+    }
+}
@@ -0,0 +1,8 @@
+package com.bloxbean.cardano.dataprover.model;
+
+/**
+ * A proof with its value and root hash as raw bytes, for binary API responses. {@code value} is
+ * null when the key is absent.
+ */
+public record RawProof(byte[] value, byte[] proof, byte[] rootHash, String format) {
+}
@@ -0,0 +1,41 @@
+package com.bloxbean.cardano.dataprover.repository;
+
+import com.bloxbean.cardano.dataprover.model.IngestionJob;
+import com.bloxbean.cardano.dataprover.model.IngestionJobStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for accessing ingestion jobs.
+ */
+@Repository
+public interface IngestionJobRepository extends JpaRepository<IngestionJob, String> {
+
+    List<IngestionJob> findByStatusIn(Collection<IngestionJobStatus> statuses);
+
+    boolean existsByMerkleIdentifierAndStatusIn(String merkleIdentifier, Collection<IngestionJobStatus> statuses);
+
+    Page<IngestionJob> findAllByOrderByCreatedAtDesc(Pageable pageable);
+
+    Page<IngestionJob> findByMerkleIdentifierOrderByCreatedAtDesc(String merkleIdentifier, Pageable pageable);
+
+    /**
+     * Moves a job to a new status only if it is still in the expected one, so two racing transitions
+     * never both succeed.
+     *
+     * @return 1 if the job was moved, 0 if it was no longer in the expected status
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE IngestionJob j SET j.status = :to, j.version = j.version + 1 WHERE j.id = :id AND j.status = :from")
+    int transition(@Param("id") String id, @Param("from") IngestionJobStatus from, @Param("to") IngestionJobStatus to);
+}
@@ -3,9 +3,11 @@ package com.bloxbean.cardano.dataprover.service;
 import com.bloxbean.cardano.dataprover.dto.*;
 import com.bloxbean.cardano.dataprover.exception.DataProviderException;
 import com.bloxbean.cardano.dataprover.exception.MerkleNotFoundException;
+import com.bloxbean.cardano.dataprover.model.KeyValuePair;
 import com.bloxbean.cardano.dataprover.model.MerkleMetadata;
 import com.bloxbean.cardano.dataprover.model.MerkleStatus;
 import com.bloxbean.cardano.dataprover.repository.MerkleMetadataRepository;
+import com.bloxbean.cardano.dataprover.service.ingestion.EntryStreamReader;
 import com.bloxbean.cardano.dataprover.service.provider.DataProvider;
 import com.bloxbean.cardano.dataprover.service.provider.DataProviderRegistry;
 import com.bloxbean.cardano.dataprover.service.provider.ValidationResult;
@@ -13,11 +15,15 @@ import com.bloxbean.cardano.dataprover.service.merkle.MerkleConfiguration;
 import com.bloxbean.cardano.dataprover.service.merkle.MerkleFactory;
 import com.bloxbean.cardano.dataprover.service.merkle.MerkleImplementation;
 import com.bloxbean.cardano.dataprover.service.merkle.MerkleRegistry;
+import com.bloxbean.cardano.dataprover.service.metrics.DataProverMetrics;
+import com.bloxbean.cardano.dataprover.service.storage.CompactionService;
+import io.micrometer.core.instrument.Counter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HexFormat;
@@ -32,25 +38,34 @@ public class IngestionService {
 
     private static final Logger log = LoggerFactory.getLogger(IngestionService.class);
     private static final HexFormat HEX = HexFormat.of();
+    private static final int STREAM_BATCH_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 100;
 
     private final MerkleRegistry merkleRegistry;
     private final MerkleFactory merkleFactory;
     private final DataProviderRegistry providerRegistry;
     private final MerkleMetadataRepository metadataRepository;
+    private final DataProverMetrics metrics;
+    private final CompactionService compactionService;
 
     public IngestionService(MerkleRegistry merkleRegistry,
                            MerkleFactory merkleFactory,
                            DataProviderRegistry providerRegistry,
-                           MerkleMetadataRepository metadataRepository) {
+                           MerkleMetadataRepository metadataRepository,
+                           DataProverMetrics metrics,
+                           CompactionService compactionService) {
         this.merkleRegistry = merkleRegistry;
         this.merkleFactory = merkleFactory;
         this.providerRegistry = providerRegistry;
         this.metadataRepository = metadataRepository;
+        this.metrics = metrics;
+        this.compactionService = compactionService;
     }
 
     @Transactional
     public IngestResponse ingestData(String merkleIdentifier, IngestRequest request) {
         long startTime = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
 
         log.info("Starting ingestion for merkle {} using provider {}",
                 merkleIdentifier, request.getProvider());
@@ -66,6 +81,7 @@ public class IngestionService {
 
         // Update the root hash in the metadata
         if (response.getRecordsProcessed() > 0) {
+            merkle.commit();
             MerkleMetadata metadata = metadataRepository.findByIdentifier(merkleIdentifier)
                     .orElseThrow(() -> new MerkleNotFoundException(merkleIdentifier));
             metadata.setRootHash(response.getRootHash());
@@ -75,6 +91,8 @@ public class IngestionService {
 
         long duration = System.currentTimeMillis() - startTime;
         response.setDurationMs(duration);
+        metrics.entriesWritten(merkleIdentifier).increment(response.getRecordsProcessed());
+        metrics.recordIngestion(merkleIdentifier, "provider", System.nanoTime() - startNanos);
 
         log.info("Completed ingestion for merkle {} using provider {}: {} records processed, {} skipped in {}ms",
                 merkleIdentifier, request.getProvider(),
@@ -102,31 +120,34 @@ public class IngestionService {
 
             log.info("Fetched {} records from provider {}", dataList.size(), provider.getName());
 
-            for (T data : dataList) {
-                try {
-                    ValidationResult validation = typedProvider.validate(data);
-                    if (!validation.isValid()) {
-                        log.warn("Skipping invalid record: {}", validation.getErrorMessage());
-                        recordsSkipped++;
-                        errors.add(validation.getErrorMessage());
-                        continue;
-                    }
+            // Suspends automatic compaction of the merkle for large loads
+            try (CompactionService.BulkLoad bulkLoad = compactionService.beginBulkLoad(merkleIdentifier, dataList.size())) {
+                for (T data : dataList) {
+                    try {
+                        ValidationResult validation = typedProvider.validate(data);
+                        if (!validation.isValid()) {
+                            log.warn("Skipping invalid record: {}", validation.getErrorMessage());
+                            recordsSkipped++;
+                            errors.add(validation.getErrorMessage());
+                            continue;
+                        }
 
-                    byte[] key = typedProvider.serializeKey(data);
-                    byte[] value = typedProvider.serializeValue(data);
+                        byte[] key = typedProvider.serializeKey(data);
+                        byte[] value = typedProvider.serializeValue(data);
 
-                    merkle.put(key, value);
+                        merkle.put(key, value);
 
-                    recordsProcessed++;
+                        recordsProcessed++;
 
-                    if (recordsProcessed % 1000 == 0) {
-                        log.debug("Processed {} records...", recordsProcessed);
-                    }
+                        if (recordsProcessed % 1000 == 0) {
+                            log.debug("Processed {} records...", recordsProcessed);
+                        }
 
-                } catch (Exception e) {
-                    log.warn("Error processing record: {}", e.getMessage());
-                    recordsSkipped++;
-                    errors.add("Error processing record: " + e.getMessage());
+                    } catch (Exception e) {
+                        log.warn("Error processing record: {}", e.getMessage());
+                        recordsSkipped++;
+                        errors.add("Error processing record: " + e.getMessage());
+                    }
                 }
             }
 
@@ -161,6 +182,7 @@ public class IngestionService {
     @Transactional
     public AddEntriesResponse addEntries(String merkleIdentifier, AddEntriesRequest request) {
         long startTime = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
 
         log.info("Adding {} entries directly to merkle {}",
                 request.getEntries().size(), merkleIdentifier);
@@ -198,6 +220,7 @@ public class IngestionService {
 
         // Update the root hash in the metadata
         if (entriesAdded > 0) {
+            merkle.commit();
             MerkleMetadata metadata = metadataRepository.findByIdentifier(merkleIdentifier)
                     .orElseThrow(() -> new MerkleNotFoundException(merkleIdentifier));
             metadata.setRootHash(rootHashHex);
@@ -206,6 +229,8 @@ public class IngestionService {
         }
 
         long duration = System.currentTimeMillis() - startTime;
+        metrics.entriesWritten(merkleIdentifier).increment(entriesAdded);
+        metrics.recordIngestion(merkleIdentifier, "entries", System.nanoTime() - startNanos);
 
         log.info("Completed adding entries to merkle {}: {} added, {} skipped, root hash: {} in {}ms",
                 merkleIdentifier, entriesAdded, entriesSkipped, rootHashHex, duration);
@@ -220,6 +245,110 @@ public class IngestionService {
                 .build();
     }
 
+    /**
+     * Adds entries read incrementally from a request body without materialising it.
+     * Entries are applied in batches of {@value #STREAM_BATCH_SIZE}; malformed entries are skipped,
+     * while a broken stream stops reading after recording the root hash of everything applied so far.
+     *
+     * @param merkleIdentifier the merkle identifier
+     * @param reader the entry stream reader for the request body
+     * @return response with results
+     */
+    public AddEntriesResponse streamEntries(String merkleIdentifier, EntryStreamReader reader) {
+        long startTime = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+
+        MerkleImplementation merkle = merkleRegistry.getOrLoadMerkle(merkleIdentifier);
+        Counter entriesWritten = metrics.entriesWritten(merkleIdentifier);
+
+        int entriesAdded = 0;
+        int entriesSkipped = 0;
+        List<String> errors = new ArrayList<>();
+        List<KeyValuePair> batch = new ArrayList<>(STREAM_BATCH_SIZE);
+        IOException streamError = null;
+        // The stream length is unknown, so a bulk load starts once enough entries have arrived
+        CompactionService.BulkLoad bulkLoad = null;
+
+        try {
+            try (reader) {
+                while (true) {
+                    KeyValuePair entry;
+                    try {
+                        entry = reader.next();
+                    } catch (IllegalArgumentException e) {
+                        addError(errors, "Entry " + (entriesAdded + batch.size() + entriesSkipped) + ": " + e.getMessage());
+                        entriesSkipped++;
+                        continue;
+                    }
+                    if (entry == null) {
+                        break;
+                    }
+
+                    batch.add(entry);
+                    if (batch.size() == STREAM_BATCH_SIZE) {
+                        merkle.putAll(batch);
+                        entriesAdded += batch.size();
+                        entriesWritten.increment(batch.size());
+                        batch.clear();
+                        if (bulkLoad == null && compactionService.isBulkLoad(entriesAdded)) {
+                            bulkLoad = compactionService.beginBulkLoad(merkleIdentifier, entriesAdded);
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                streamError = e;
+            }
+
+            if (!batch.isEmpty()) {
+                merkle.putAll(batch);
+                entriesAdded += batch.size();
+                entriesWritten.increment(batch.size());
+            }
+        } finally {
+            if (bulkLoad != null) {
+                bulkLoad.close();
+            }
+        }
+
+        byte[] rootHash = merkle.getRootHash();
+        String rootHashHex = rootHash != null ? HEX.formatHex(rootHash) : null;
+        if (entriesAdded > 0) {
+            merkle.commit();
+            MerkleMetadata metadata = metadataRepository.findByIdentifier(merkleIdentifier)
+                    .orElseThrow(() -> new MerkleNotFoundException(merkleIdentifier));
+            metadata.setRootHash(rootHashHex);
+            metadata.touch();
+            metadataRepository.save(metadata);
+        }
+
+        if (streamError != null) {
+            log.warn("Entry stream for merkle {} broken after {} entries: {}",
+                    merkleIdentifier, entriesAdded, streamError.getMessage());
+            throw new IllegalArgumentException("Malformed entry stream after " + entriesAdded
+                    + " applied entries (root hash " + rootHashHex + "): " + streamError.getMessage(), streamError);
+        }
+
+        long duration = System.currentTimeMillis() - startTime;
+        metrics.recordIngestion(merkleIdentifier, "stream", System.nanoTime() - startNanos);
+        log.info("Completed streaming entries into merkle {}: {} added, {} skipped, root hash: {} in {}ms",
+                merkleIdentifier, entriesAdded, entriesSkipped, rootHashHex, duration);
+
+        return AddEntriesResponse.builder()
+                .merkleIdentifier(merkleIdentifier)
+                .entriesAdded(entriesAdded)
+                .entriesSkipped(entriesSkipped)
+                .rootHash(rootHashHex)
+                .durationMs(duration)
+                .errors(errors.isEmpty() ? null : errors)
+                .build();
+    }
+
+    private void addError(List<String> errors, String error) {
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(error);
+        }
+    }
+
     /**
      * Ingests data using a provider with optional auto-create merkle support.
      *
@@ -230,11 +359,48 @@ public class IngestionService {
     public ProviderIngestResponse ingestWithProvider(ProviderIngestRequest request) {
         long startTime = System.currentTimeMillis();
         String merkleIdentifier = request.getMerkleName();
-        boolean merkleCreated = false;
 
         log.info("Starting provider ingestion for merkle {} using provider {}",
                 merkleIdentifier, request.getProvider());
 
+        boolean merkleCreated = ensureMerkle(request);
+
+        // Create IngestRequest and delegate to existing method
+        IngestRequest ingestRequest = new IngestRequest();
+        ingestRequest.setProvider(request.getProvider());
+        ingestRequest.setConfig(request.getConfig());
+
+        IngestResponse ingestResponse = ingestData(merkleIdentifier, ingestRequest);
+
+        long duration = System.currentTimeMillis() - startTime;
+
+        log.info("Completed provider ingestion for merkle {}: {} records processed, {} skipped in {}ms",
+                merkleIdentifier, ingestResponse.getRecordsProcessed(),
+                ingestResponse.getRecordsSkipped(), duration);
+
+        return ProviderIngestResponse.builder()
+                .merkleIdentifier(merkleIdentifier)
+                .merkleCreated(merkleCreated)
+                .provider(request.getProvider())
+                .recordsProcessed(ingestResponse.getRecordsProcessed())
+                .recordsSkipped(ingestResponse.getRecordsSkipped())
+                .rootHash(ingestResponse.getRootHash())
+                .durationMs(duration)
+                .errors(ingestResponse.getErrors())
+                .build();
+    }
+
+    /**
+     * Makes sure the target merkle of a provider ingest request exists,
+     * creating it when the request allows.
+     *
+     * @param request the provider ingest request
+     * @return true if the merkle was created
+     */
+    @Transactional
+    public boolean ensureMerkle(ProviderIngestRequest request) {
+        String merkleIdentifier = request.getMerkleName();
+
         // Check if merkle exists
         boolean exists = metadataRepository.existsByIdentifier(merkleIdentifier);
 
@@ -269,35 +435,12 @@ public class IngestionService {
                     .build();
 
             metadataRepository.save(merkleMetadata);
-            merkleCreated = true;
 
             log.info("Created merkle: {} (scheme: {})", merkleIdentifier, scheme);
+            return true;
         } else if (!exists) {
             throw new MerkleNotFoundException(merkleIdentifier);
         }
-
-        // Create IngestRequest and delegate to existing method
-        IngestRequest ingestRequest = new IngestRequest();
-        ingestRequest.setProvider(request.getProvider());
-        ingestRequest.setConfig(request.getConfig());
-
-        IngestResponse ingestResponse = ingestData(merkleIdentifier, ingestRequest);
-
-        long duration = System.currentTimeMillis() - startTime;
-
-        log.info("Completed provider ingestion for merkle {}: {} records processed, {} skipped in {}ms",
-                merkleIdentifier, ingestResponse.getRecordsProcessed(),
-                ingestResponse.getRecordsSkipped(), duration);
-
-        return ProviderIngestResponse.builder()
-                .merkleIdentifier(merkleIdentifier)
-                .merkleCreated(merkleCreated)
-                .provider(request.getProvider())
-                .recordsProcessed(ingestResponse.getRecordsProcessed())
-                .recordsSkipped(ingestResponse.getRecordsSkipped())
-                .rootHash(ingestResponse.getRootHash())
-                .durationMs(duration)
-                .errors(ingestResponse.getErrors())
-                .build();
+        return false;
     }
 }
@@ -6,6 +6,7 @@ import com.bloxbean.cardano.dataprover.dto.MerkleEntriesResponse;
 import com.bloxbean.cardano.dataprover.dto.MerkleEntryResponse;
 import com.bloxbean.cardano.dataprover.dto.MerkleResponse;
 import com.bloxbean.cardano.dataprover.dto.MerkleSizeResponse;
+import com.bloxbean.cardano.dataprover.dto.TreeStatsResponse;
 import com.bloxbean.cardano.dataprover.dto.TreeStructureResponse;
 import com.bloxbean.cardano.dataprover.exception.DuplicateMerkleException;
 import com.bloxbean.cardano.dataprover.exception.MerkleNotFoundException;
@@ -13,22 +14,37 @@ import com.bloxbean.cardano.dataprover.model.MerkleIdentifier;
 import com.bloxbean.cardano.dataprover.model.MerkleMetadata;
 import com.bloxbean.cardano.dataprover.model.MerkleStatus;
 import com.bloxbean.cardano.dataprover.repository.MerkleMetadataRepository;
+import com.bloxbean.cardano.dataprover.service.filter.MembershipFilterService;
 import com.bloxbean.cardano.dataprover.service.merkle.MerkleConfiguration;
 import com.bloxbean.cardano.dataprover.service.merkle.MerkleFactory;
 import com.bloxbean.cardano.dataprover.service.merkle.MerkleImplementation;
 import com.bloxbean.cardano.dataprover.service.merkle.MerkleRegistry;
 import com.bloxbean.cardano.dataprover.service.merkle.MpfMerkleImplementation;
+import com.bloxbean.cardano.dataprover.service.storage.LeafValueIndex;
+import com.bloxbean.cardano.dataprover.service.storage.OriginalKeyIndex;
+import com.bloxbean.cardano.dataprover.service.storage.RocksDbManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Service for managing merkle lifecycle operations.
@@ -39,18 +55,34 @@ public class MerkleManagementService {
     private static final Logger log = LoggerFactory.getLogger(MerkleManagementService.class);
     private static final int MAX_ENTRIES_LIMIT = 1000;
     private static final int MAX_TREE_NODES = 2000;
+    private static final int MAX_PROOF_SAMPLES = 100_000;
+    private static final int PROOF_SIZE_BUCKET_WIDTH = 32;
+    private static final int KEY_INDEX_BATCH_SIZE = 1000;
     private static final HexFormat HEX = HexFormat.of();
+    private static final ObjectMapper MAPPER = new ObjectMapper();
 
     private final MerkleMetadataRepository metadataRepository;
     private final MerkleFactory merkleFactory;
     private final MerkleRegistry merkleRegistry;
+    private final OriginalKeyIndex keyIndex;
+    private final MembershipFilterService membershipFilters;
+    private final LeafValueIndex valueIndex;
+    private final RocksDbManager rocksDbManager;
 
     public MerkleManagementService(MerkleMetadataRepository metadataRepository,
                                   MerkleFactory merkleFactory,
-                                  MerkleRegistry merkleRegistry) {
+                                  MerkleRegistry merkleRegistry,
+                                  OriginalKeyIndex keyIndex,
+                                  MembershipFilterService membershipFilters,
+                                  LeafValueIndex valueIndex,
+                                  RocksDbManager rocksDbManager) {
         this.metadataRepository = metadataRepository;
         this.merkleFactory = merkleFactory;
         this.merkleRegistry = merkleRegistry;
+        this.keyIndex = keyIndex;
+        this.membershipFilters = membershipFilters;
+        this.valueIndex = valueIndex;
+        this.rocksDbManager = rocksDbManager;
     }
 
     @Transactional
@@ -64,6 +96,10 @@ public class MerkleManagementService {
         log.info("Creating new merkle: {}", identifier.getValue());
 
         boolean storeOriginalKeys = request.getStoreOriginalKeys() != null && request.getStoreOriginalKeys();
+        boolean indexValues = Boolean.TRUE.equals(request.getIndexValues());
+        if (indexValues && !merkleFactory.getProvider(request.getScheme()).supportsValueIndex()) {
+            throw new IllegalArgumentException("Merkle scheme " + request.getScheme() + " does not support a value index");
+        }
 
         MerkleConfiguration config = MerkleConfiguration.builder()
             .identifier(identifier.getValue())
@@ -71,30 +107,58 @@ public class MerkleManagementService {
             .storeOriginalKeys(storeOriginalKeys)
             .build();
 
-        MerkleImplementation merkle = merkleFactory.createMerkle(request.getScheme(), config);
+        MerkleMetadata merkleMetadata;
+        try {
+            MerkleImplementation merkle = merkleFactory.createMerkle(request.getScheme(), config);
 
-        merkleRegistry.registerMerkle(identifier.getValue(), merkle);
+            if (storeOriginalKeys) {
+                // Created empty with the merkle, the index never needs a backfill
+                keyIndex.create(identifier.getValue());
+            }
+            if (indexValues) {
+                valueIndex.create(identifier.getValue());
+            }
+            membershipFilters.create(identifier.getValue());
 
-        Map<String, Object> metadata = new HashMap<>(request.getMetadata());
-        if (request.getDescription() != null) {
-            metadata.put("description", request.getDescription());
-        }
+            merkleRegistry.registerMerkle(identifier.getValue(), merkle);
 
-        MerkleMetadata merkleMetadata = MerkleMetadata.builder()
-            .identifier(identifier.getValue())
-            .scheme(request.getScheme())
-            .status(MerkleStatus.ACTIVE)
-            .customMetadata(metadata)
-            .storeOriginalKeys(storeOriginalKeys)
-            .build();
+            Map<String, Object> metadata = new HashMap<>(request.getMetadata());
+            if (request.getDescription() != null) {
+                metadata.put("description", request.getDescription());
+            }
 
-        merkleMetadata = metadataRepository.save(merkleMetadata);
+            merkleMetadata = metadataRepository.save(MerkleMetadata.builder()
+                .identifier(identifier.getValue())
+                .scheme(request.getScheme())
+                .status(MerkleStatus.ACTIVE)
+                .customMetadata(metadata)
+                .storeOriginalKeys(storeOriginalKeys)
+                .build());
+        } catch (RuntimeException e) {
+            // Indexes left without a merkle would be taken up by the next merkle of the same name
+            discardMerkle(identifier.getValue(), e);
+            throw e;
+        }
 
         log.info("Created merkle: {} (scheme: {})", identifier.getValue(), request.getScheme());
 
         return MerkleResponse.from(merkleMetadata);
     }
 
+    private void discardMerkle(String identifier, RuntimeException failure) {
+        try {
+            merkleRegistry.unloadMerkle(identifier);
+            if (rocksDbManager.getActiveColumnFamilies().contains(identifier)) {
+                rocksDbManager.deleteColumnFamily(identifier);
+            }
+            keyIndex.drop(identifier);
+            valueIndex.drop(identifier);
+            membershipFilters.drop(identifier);
+        } catch (RuntimeException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
     public MerkleResponse getMerkle(String identifier) {
         MerkleMetadata metadata = metadataRepository.findByIdentifier(identifier)
             .orElseThrow(() -> new MerkleNotFoundException(identifier));
@@ -128,6 +192,7 @@ public class MerkleManagementService {
         log.info("Deleting merkle: {}", identifier);
 
         merkleRegistry.unloadMerkle(identifier);
+        membershipFilters.drop(identifier);
 
         metadataRepository.softDeleteByIdentifier(identifier);
 
@@ -208,6 +273,148 @@ public class MerkleManagementService {
             .build();
     }
 
+    /**
+     * Streams original keys in unsigned lexicographic order as NDJSON lines of
+     * {@link MerkleEntryResponse}, from the merkle's sorted key index. A merkle without a complete
+     * index, written before it had one or interrupted while building it, has it rebuilt first.
+     *
+     * @param prefix        hex prefix of the keys to return; excludes {@code from} and {@code to}
+     * @param from          first hex key, inclusive
+     * @param to            last hex key, exclusive
+     * @param limit         maximum number of keys; 0 for no limit
+     * @param includeValues whether to look up and include the current value of every key
+     */
+    public StreamingResponseBody streamKeys(String identifier, String prefix, String from, String to,
+                                            long limit, boolean includeValues) {
+        MerkleMetadata metadata = metadataRepository.findByIdentifier(identifier)
+            .orElseThrow(() -> new MerkleNotFoundException(identifier));
+
+        if (metadata.getStatus() == MerkleStatus.DELETED) {
+            throw new MerkleNotFoundException(identifier);
+        }
+        if (!Boolean.TRUE.equals(metadata.getStoreOriginalKeys())) {
+            throw new IllegalArgumentException("Merkle does not store original keys: " + identifier);
+        }
+        if (prefix != null && (from != null || to != null)) {
+            throw new IllegalArgumentException("prefix cannot be combined with from or to");
+        }
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must not be negative");
+        }
+
+        byte[] start = prefix != null ? parseKey(prefix) : from != null ? parseKey(from) : null;
+        byte[] end = prefix != null ? OriginalKeyIndex.prefixEnd(start) : to != null ? parseKey(to) : null;
+
+        MerkleImplementation merkle = merkleRegistry.getOrLoadMerkle(identifier);
+        ensureKeyIndex(identifier, merkle);
+
+        log.info("Streaming keys of merkle {} (prefix: {}, from: {}, to: {}, limit: {})",
+            identifier, prefix, from, to, limit);
+
+        return out -> {
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            // Scans hold the index lock, so keys are read a page at a time and written after each scan;
+            // a slow client then never blocks index writes
+            List<OriginalKeyIndex.Key> page = new ArrayList<>(KEY_INDEX_BATCH_SIZE);
+            byte[] cursor = start;
+            long streamed = 0;
+            while (limit == 0 || streamed < limit) {
+                int pageSize = (int) (limit == 0 ? KEY_INDEX_BATCH_SIZE : Math.min(KEY_INDEX_BATCH_SIZE, limit - streamed));
+                page.clear();
+                keyIndex.scan(identifier, cursor, end, pageSize,
+                    (originalKey, hashedKey) -> page.add(new OriginalKeyIndex.Key(originalKey, hashedKey)));
+                for (OriginalKeyIndex.Key key : page) {
+                    byte[] value = includeValues ? merkle.get(key.originalKey()).orElse(null) : null;
+                    writer.write(MAPPER.writeValueAsString(MerkleEntryResponse.of(key.originalKey(), key.keyHash(), value)));
+                    writer.newLine();
+                }
+                streamed += page.size();
+                if (page.size() < pageSize) {
+                    break;
+                }
+                // Appending a zero byte gives the smallest key after the last one
+                byte[] last = page.get(page.size() - 1).originalKey();
+                cursor = Arrays.copyOf(last, last.length + 1);
+            }
+            writer.flush();
+            log.debug("Streamed {} keys of merkle {}", streamed, identifier);
+        };
+    }
+
+    /**
+     * Rebuilds the original key index of a merkle from its trie, replacing any existing one. Writes may
+     * continue meanwhile; the keys they write are indexed by the writes themselves.
+     *
+     * @return the number of keys indexed from the trie, with timing information
+     */
+    public MerkleSizeResponse rebuildKeyIndex(String identifier) {
+        MerkleMetadata metadata = metadataRepository.findByIdentifier(identifier)
+            .orElseThrow(() -> new MerkleNotFoundException(identifier));
+
+        if (metadata.getStatus() == MerkleStatus.DELETED) {
+            throw new MerkleNotFoundException(identifier);
+        }
+        if (!Boolean.TRUE.equals(metadata.getStoreOriginalKeys())) {
+            throw new IllegalArgumentException("Merkle does not store original keys: " + identifier);
+        }
+
+        MerkleImplementation merkle = merkleRegistry.getOrLoadMerkle(identifier);
+        long startTime = System.currentTimeMillis();
+        long indexed = buildKeyIndex(identifier, merkle);
+        return MerkleSizeResponse.of(identifier, indexed, System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * Builds the key index of a merkle that has no complete one, such as a merkle written before it
+     * had an index or one whose build was interrupted.
+     */
+    private synchronized void ensureKeyIndex(String identifier, MerkleImplementation merkle) {
+        if (!keyIndex.isComplete(identifier)) {
+            buildKeyIndex(identifier, merkle);
+        }
+    }
+
+    /**
+     * Backfills the index from the trie after {@link OriginalKeyIndex#begin}, so keys written meanwhile
+     * are indexed either way, and marks it complete.
+     *
+     * @return the number of keys indexed from the trie
+     */
+    private synchronized long buildKeyIndex(String identifier, MerkleImplementation merkle) {
+        long startTime = System.currentTimeMillis();
+        keyIndex.begin(identifier);
+
+        List<OriginalKeyIndex.Key> batch = new ArrayList<>(KEY_INDEX_BATCH_SIZE);
+        long[] indexed = {0};
+        try {
+            merkle.forEachEntry(entry -> {
+                if (entry.originalKey() == null) {
+                    return;
+                }
+                batch.add(new OriginalKeyIndex.Key(entry.originalKey(), entry.hashedKey()));
+                if (batch.size() == KEY_INDEX_BATCH_SIZE) {
+                    keyIndex.backfill(identifier, batch);
+                    indexed[0] += batch.size();
+                    batch.clear();
+                }
+            });
+            keyIndex.backfill(identifier, batch);
+            indexed[0] += batch.size();
+            keyIndex.complete(identifier);
+        } catch (RuntimeException e) {
+            keyIndex.drop(identifier);
+            throw e;
+        }
+
+        log.info("Built original key index of merkle {} with {} keys in {} ms",
+            identifier, indexed[0], System.currentTimeMillis() - startTime);
+        return indexed[0];
+    }
+
+    private static byte[] parseKey(String hex) {
+        return HEX.parseHex(hex.startsWith("0x") ? hex.substring(2) : hex);
+    }
+
     /**
      * Returns the tree structure of a merkle tree for visualization.
      *
@@ -268,6 +475,67 @@ public class MerkleManagementService {
         return TreeStructureResponse.of(identifier, root, totalNodes, truncated, computationTimeMs);
     }
 
+    /**
+     * Walks the whole trie once, in chunks of at most {@code MAX_TREE_NODES} nodes, and collects
+     * histograms of leaf depth, branch fan-out and extension length. Wire proofs are generated for a uniform random sample of leaves to measure proof sizes;
+     * this needs original keys, so proof sizes stay empty for merkles that do not store them.
+     *
+     * @param identifier   the merkle identifier
+     * @param proofSamples maximum number of leaves whose proof size is measured
+     * @return the trie statistics
+     */
+    public TreeStatsResponse computeTreeStats(String identifier, int proofSamples) {
+        MerkleMetadata metadata = metadataRepository.findByIdentifier(identifier)
+            .orElseThrow(() -> new MerkleNotFoundException(identifier));
+
+        if (metadata.getStatus() == MerkleStatus.DELETED) {
+            throw new MerkleNotFoundException(identifier);
+        }
+
+        int effectiveSamples = Math.min(Math.max(proofSamples, 0), MAX_PROOF_SAMPLES);
+
+        log.info("Computing tree statistics for merkle: {} (proofSamples: {})", identifier, effectiveSamples);
+
+        MerkleImplementation merkle = merkleRegistry.getOrLoadMerkle(identifier);
+
+        if (!(merkle instanceof MpfMerkleImplementation mpfMerkle)) {
+            throw new UnsupportedOperationException("Tree statistics are only supported for MPF scheme merkles");
+        }
+
+        long startTime = System.currentTimeMillis();
+        TreeStatsCollector collector = new TreeStatsCollector(effectiveSamples);
+
+        byte[] rootHash = mpfMerkle.getRootHash();
+        if (rootHash != null && rootHash.length > 0) {
+            collector.walk(mpfMerkle.getTrie());
+
+            for (byte[] key : collector.sampledKeys) {
+                merkle.getProofWire(key).ifPresent(proof -> collector.proofWireSize.add(proof.length));
+            }
+        }
+
+        long computationTimeMs = System.currentTimeMillis() - startTime;
+
+        log.info("Computed tree statistics for merkle {}: {} leaves, {} branches, {} proofs sampled in {} ms",
+            identifier, collector.leafDepthNibbles.count, collector.branchFanOut.count,
+            collector.proofWireSize.count, computationTimeMs);
+
+        return TreeStatsResponse.builder()
+            .merkleIdentifier(identifier)
+            .rootHash(rootHash != null ? HEX.formatHex(rootHash) : null)
+            .leafCount(collector.leafDepthNibbles.count)
+            .branchCount(collector.branchFanOut.count)
+            .extensionCount(collector.extensionLength.count)
+            .truncated(collector.truncated)
+            .leafDepthNibbles(collector.leafDepthNibbles.toResponse())
+            .leafDepthBranches(collector.leafDepthBranches.toResponse())
+            .branchFanOut(collector.branchFanOut.toResponse())
+            .extensionLength(collector.extensionLength.toResponse())
+            .proofWireSize(collector.proofWireSize.toResponse())
+            .computationTimeMs(computationTimeMs)
+            .build();
+    }
+
     /**
      * Parse a hex string prefix into nibbles.
      */
@@ -361,4 +629,126 @@ public class MerkleManagementService {
         }
         return false;
     }
+
+    /**
+     * Accumulates trie statistics during a single depth-first walk.
+     * <p>
+     * The library builds a requested structure in memory, so the trie is requested one chunk of
+     * {@code MAX_TREE_NODES} nodes at a time. The subtrees cut off from a chunk are requested again
+     * from their nibble prefix, so only one chunk and the prefixes still to expand are held.
+     */
+    private static final class TreeStatsCollector {
+
+        private final Distribution leafDepthNibbles = new Distribution(1);
+        private final Distribution leafDepthBranches = new Distribution(1);
+        private final Distribution branchFanOut = new Distribution(1);
+        private final Distribution extensionLength = new Distribution(1);
+        private final Distribution proofWireSize = new Distribution(PROOF_SIZE_BUCKET_WIDTH);
+        private final List<byte[]> sampledKeys = new ArrayList<>();
+        private final int sampleLimit;
+        private long keyedLeaves;
+        private boolean truncated;
+
+        TreeStatsCollector(int sampleLimit) {
+            this.sampleLimit = sampleLimit;
+        }
+
+        void walk(com.bloxbean.cardano.vds.mpf.MpfTrie trie) {
+            Deque<Subtree> pending = new ArrayDeque<>();
+            pending.push(new Subtree(new int[0], 0));
+            while (!pending.isEmpty()) {
+                Subtree subtree = pending.pop();
+                var node = trie.getTreeStructure(subtree.prefix(), MAX_TREE_NODES);
+                if (node instanceof com.bloxbean.cardano.vds.mpf.TreeNode.TruncatedTreeNode) {
+                    // Expanding it again would not progress; report the statistics as partial
+                    truncated = true;
+                    continue;
+                }
+                visit(node, subtree.prefix(), subtree.branches(), pending);
+            }
+        }
+
+        private void visit(com.bloxbean.cardano.vds.mpf.TreeNode node, int[] prefix, int branches,
+                           Deque<Subtree> pending) {
+            if (node instanceof com.bloxbean.cardano.vds.mpf.TreeNode.BranchTreeNode branch) {
+                branchFanOut.add(branch.getChildren().size());
+                for (var child : branch.getChildren().entrySet()) {
+                    int nibble = Character.digit(child.getKey().charAt(0), 16);
+                    visit(child.getValue(), append(prefix, new int[]{nibble}), branches + 1, pending);
+                }
+            } else if (node instanceof com.bloxbean.cardano.vds.mpf.TreeNode.ExtensionTreeNode ext) {
+                int[] path = ext.getPath() != null ? ext.getPath() : new int[0];
+                extensionLength.add(path.length);
+                visit(ext.getChild(), append(prefix, path), branches, pending);
+            } else if (node instanceof com.bloxbean.cardano.vds.mpf.TreeNode.LeafTreeNode leaf) {
+                leafDepthNibbles.add(prefix.length);
+                leafDepthBranches.add(branches);
+                sample(leaf.getKey());
+            } else if (node instanceof com.bloxbean.cardano.vds.mpf.TreeNode.TruncatedTreeNode) {
+                pending.push(new Subtree(prefix, branches));
+            }
+        }
+
+        private static int[] append(int[] prefix, int[] nibbles) {
+            int[] path = Arrays.copyOf(prefix, prefix.length + nibbles.length);
+            System.arraycopy(nibbles, 0, path, prefix.length, nibbles.length);
+            return path;
+        }
+
+        /**
+         * Reservoir sampling, so the sample is spread over the whole key space.
+         */
+        private void sample(String key) {
+            if (key == null || key.isEmpty() || sampleLimit == 0) {
+                return;
+            }
+            keyedLeaves++;
+            byte[] keyBytes = HEX.parseHex(key.startsWith("0x") ? key.substring(2) : key);
+            if (sampledKeys.size() < sampleLimit) {
+                sampledKeys.add(keyBytes);
+            } else {
+                long slot = ThreadLocalRandom.current().nextLong(keyedLeaves);
+                if (slot < sampleLimit) {
+                    sampledKeys.set((int) slot, keyBytes);
+                }
+            }
+        }
+    }
+
+    /**
+     * A subtree still to walk: its nibble prefix and the branches above it.
+     */
+    private record Subtree(int[] prefix, int branches) {}
+
+    /**
+     * Count, range, mean and fixed-width buckets of one measure.
+     */
+    private static final class Distribution {
+
+        private final int bucketWidth;
+        private final Map<Long, Long> buckets = new TreeMap<>();
+        private long count;
+        private long sum;
+        private long min = Long.MAX_VALUE;
+        private long max = Long.MIN_VALUE;
+
+        Distribution(int bucketWidth) {
+            this.bucketWidth = bucketWidth;
+        }
+
+        void add(long value) {
+            count++;
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+            buckets.merge(value - value % bucketWidth, 1L, Long::sum);
+        }
+
+        TreeStatsResponse.Histogram toResponse() {
+            if (count == 0) {
+                return new TreeStatsResponse.Histogram(0, 0, 0, 0, bucketWidth, Map.of());
+            }
+            return new TreeStatsResponse.Histogram(count, min, max, (double) sum / count, bucketWidth, buckets);
+        }
+    }
 }
@@ -0,0 +1,99 @@
+package com.bloxbean.cardano.dataprover.service;
+
+import com.bloxbean.cardano.dataprover.config.DataProverProperties;
+import com.bloxbean.cardano.dataprover.util.ProofUtilsService;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.HexFormat;
+
+/**
+ * Bounded cache of generated proofs, keyed by merkle, root hash and key.
+ * <p>
+ * Because the root hash is part of the key, an entry can never describe a different tree state
+ * and needs no invalidation on writes; stale roots simply age out. Each entry also keeps the
+ * Aiken rendering of its proof once it has been requested, so repeated Aiken requests skip the
+ * formatter entirely.
+ */
+@Component
+public class ProofCache {
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final ProofUtilsService proofUtils;
+    private final Cache<Key, Entry> cache;
+
+    public ProofCache(DataProverProperties properties, ProofUtilsService proofUtils) {
+        this.proofUtils = proofUtils;
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(properties.getCache().getProofCacheSize())
+                .build();
+    }
+
+    public Entry get(String merkleIdentifier, byte[] rootHash, byte[] key) {
+        if (rootHash == null) {
+            return null;
+        }
+        return cache.getIfPresent(new Key(merkleIdentifier, ByteBuffer.wrap(rootHash), ByteBuffer.wrap(key)));
+    }
+
+    public Entry put(String merkleIdentifier, byte[] rootHash, byte[] key, byte[] value, byte[] proof) {
+        Entry entry = new Entry(value, proof);
+        if (rootHash != null) {
+            cache.put(new Key(merkleIdentifier, ByteBuffer.wrap(rootHash.clone()), ByteBuffer.wrap(key.clone())), entry);
+        }
+        return entry;
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    private record Key(String merkleIdentifier, ByteBuffer rootHash, ByteBuffer key) {}
+
+    /**
+     * A cached proof with its value; the Aiken rendering is computed on first use.
+     */
+    public final class Entry {
+
+        private final byte[] value;
+        private final byte[] proof;
+        private volatile String aikenHex;
+        private volatile byte[] aikenBytes;
+
+        private Entry(byte[] value, byte[] proof) {
+            this.value = value;
+            this.proof = proof;
+        }
+
+        public byte[] getValue() {
+            return value;
+        }
+
+        public byte[] getProof() {
+            return proof;
+        }
+
+        public String getAikenHex() {
+            String hex = aikenHex;
+            if (hex == null) {
+                // Concurrent first calls may both format; the results are identical
+                hex = proofUtils.toAikenFormat(proof);
+                aikenHex = hex;
+            }
+            return hex;
+        }
+
+        public byte[] getAikenBytes() {
+            byte[] bytes = aikenBytes;
+            if (bytes == null) {
+                String hex = getAikenHex();
+                bytes = HEX.parseHex(hex.startsWith("0x") ? hex.substring(2) : hex);
+                aikenBytes = bytes;
+            }
+            return bytes;
+        }
+    }
+}
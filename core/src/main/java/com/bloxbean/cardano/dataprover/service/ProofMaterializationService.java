@@ -0,0 +1,141 @@
+package com.bloxbean.cardano.dataprover.service;
+
+import com.bloxbean.cardano.dataprover.dto.IngestionJobResponse;
+import com.bloxbean.cardano.dataprover.dto.ProofMaterializationResponse;
+import com.bloxbean.cardano.dataprover.exception.IngestionJobConflictException;
+import com.bloxbean.cardano.dataprover.exception.MerkleArchivedException;
+import com.bloxbean.cardano.dataprover.exception.MerkleBusyException;
+import com.bloxbean.cardano.dataprover.exception.MerkleNotFoundException;
+import com.bloxbean.cardano.dataprover.model.IngestionJob;
+import com.bloxbean.cardano.dataprover.model.IngestionJobStatus;
+import com.bloxbean.cardano.dataprover.model.MerkleMetadata;
+import com.bloxbean.cardano.dataprover.model.MerkleStatus;
+import com.bloxbean.cardano.dataprover.repository.IngestionJobRepository;
+import com.bloxbean.cardano.dataprover.repository.MerkleMetadataRepository;
+import com.bloxbean.cardano.dataprover.service.ingestion.IngestionJobService;
+import com.bloxbean.cardano.dataprover.service.ingestion.ProofMaterializationExecutor;
+import com.bloxbean.cardano.dataprover.service.merkle.MerkleRegistry;
+import com.bloxbean.cardano.dataprover.service.storage.MaterializedProofStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumSet;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Service that precomputes every wire proof of a merkle.
+ * <p>
+ * Materialisation runs as a background job (see {@link ProofMaterializationExecutor}) for the root
+ * the merkle has when it is submitted. Materialised proofs are served by {@link ProofService} with a
+ * single RocksDB point lookup for as long as the merkle's root hash stays that root. Any later write
+ * makes them stale; they are then ignored until materialised again.
+ */
+@Service
+public class ProofMaterializationService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProofMaterializationService.class);
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final MerkleMetadataRepository metadataRepository;
+    private final MerkleRegistry merkleRegistry;
+    private final MaterializedProofStore proofStore;
+    private final IngestionJobRepository jobRepository;
+    private final ProofMaterializationExecutor materializationExecutor;
+    private final IngestionJobService jobService;
+
+    public ProofMaterializationService(MerkleMetadataRepository metadataRepository,
+                                       MerkleRegistry merkleRegistry,
+                                       MaterializedProofStore proofStore,
+                                       IngestionJobRepository jobRepository,
+                                       ProofMaterializationExecutor materializationExecutor,
+                                       IngestionJobService jobService) {
+        this.metadataRepository = metadataRepository;
+        this.merkleRegistry = merkleRegistry;
+        this.proofStore = proofStore;
+        this.jobRepository = jobRepository;
+        this.materializationExecutor = materializationExecutor;
+        this.jobService = jobService;
+    }
+
+    /**
+     * Submits a job that generates and stores the proof of every leaf for the current root,
+     * replacing earlier materialised proofs. The job fails if the merkle changes before it completes.
+     */
+    public IngestionJobResponse materialize(String identifier) {
+        MerkleMetadata metadata = findMerkle(identifier);
+        if (metadata.getStatus() == MerkleStatus.ARCHIVED) {
+            throw new MerkleArchivedException(identifier);
+        }
+        if (!Boolean.TRUE.equals(metadata.getStoreOriginalKeys())) {
+            throw new IllegalArgumentException(
+                    "Proofs can only be materialised for merkles that store original keys: " + identifier);
+        }
+        byte[] rootHash = merkleRegistry.getOrLoadMerkle(identifier).getRootHash();
+        if (rootHash == null) {
+            throw new IllegalArgumentException("Merkle is empty: " + identifier);
+        }
+        // Ingestion jobs would change the root under the materialisation, so they exclude each other
+        if (jobRepository.existsByMerkleIdentifierAndStatusIn(identifier,
+                EnumSet.of(IngestionJobStatus.QUEUED, IngestionJobStatus.RUNNING))) {
+            throw new IngestionJobConflictException("Merkle already has an active job: " + identifier);
+        }
+
+        IngestionJob job = new IngestionJob();
+        job.setId(UUID.randomUUID().toString());
+        job.setMerkleIdentifier(identifier);
+        job.setProvider(ProofMaterializationExecutor.PROVIDER);
+        job.setRootHash(HEX.formatHex(rootHash));
+        jobRepository.save(job);
+
+        materializationExecutor.submit(job.getId());
+        log.info("Submitted proof materialisation job {} for merkle {} at root {}",
+                job.getId(), identifier, job.getRootHash());
+        return jobService.getJob(job.getId());
+    }
+
+    public ProofMaterializationResponse getStatus(String identifier) {
+        MerkleMetadata metadata = findMerkle(identifier);
+        MaterializedProofStore.Marker marker = proofStore.marker(identifier);
+
+        if (marker.rootHash() == null) {
+            return ProofMaterializationResponse.builder()
+                    .merkleIdentifier(identifier)
+                    .status("NONE")
+                    .entries(0L)
+                    .proofBytes(0L)
+                    .storageBytes(0L)
+                    .build();
+        }
+
+        String rootHash = HEX.formatHex(marker.rootHash());
+        boolean current = rootHash.equalsIgnoreCase(metadata.getRootHash());
+        return ProofMaterializationResponse.builder()
+                .merkleIdentifier(identifier)
+                .status(current ? "MATERIALIZED" : "STALE")
+                .rootHash(rootHash)
+                .entries(marker.entries())
+                .proofBytes(marker.proofBytes())
+                .averageProofBytes(marker.entries() > 0 ? marker.proofBytes() / marker.entries() : 0L)
+                .storageBytes(proofStore.storageBytes(identifier))
+                .build();
+    }
+
+    public void drop(String identifier) {
+        findMerkle(identifier);
+        if (materializationExecutor.isRunning(identifier)) {
+            throw new MerkleBusyException(identifier, "proof materialisation");
+        }
+        proofStore.drop(identifier);
+    }
+
+    private MerkleMetadata findMerkle(String identifier) {
+        MerkleMetadata metadata = metadataRepository.findByIdentifier(identifier)
+                .orElseThrow(() -> new MerkleNotFoundException(identifier));
+        if (metadata.getStatus() == MerkleStatus.DELETED) {
+            throw new MerkleNotFoundException(identifier);
+        }
+        return metadata;
+    }
+}
@@ -1,39 +1,65 @@
 package com.bloxbean.cardano.dataprover.service;
 
+import com.bloxbean.cardano.dataprover.dto.BatchExistsResponse;
+import com.bloxbean.cardano.dataprover.dto.ConsistencyProofResponse;
 import com.bloxbean.cardano.dataprover.dto.ProofGenerationRequest;
 import com.bloxbean.cardano.dataprover.dto.ProofGenerationResponse;
-import com.bloxbean.cardano.dataprover.dto.ProofVerificationRequest;
-import com.bloxbean.cardano.dataprover.dto.ProofVerificationResponse;
 import com.bloxbean.cardano.dataprover.dto.ValueLookupResponse;
 import com.bloxbean.cardano.dataprover.exception.ProofGenerationException;
 import com.bloxbean.cardano.dataprover.exception.MerkleNotFoundException;
+import com.bloxbean.cardano.dataprover.model.RawProof;
+import com.bloxbean.cardano.dataprover.service.filter.MembershipFilterService;
+import com.bloxbean.cardano.dataprover.service.merkle.LogMerkleImplementation;
 import com.bloxbean.cardano.dataprover.service.merkle.MerkleImplementation;
 import com.bloxbean.cardano.dataprover.service.merkle.MerkleRegistry;
-import com.bloxbean.cardano.dataprover.util.ProofUtilsService;
+import com.bloxbean.cardano.dataprover.service.merkle.VersionedMerkleImplementation;
+import com.bloxbean.cardano.dataprover.service.metrics.DataProverMetrics;
+import com.bloxbean.cardano.dataprover.service.storage.LeafValueIndex;
+import com.bloxbean.cardano.dataprover.service.storage.MaterializedProofStore;
+import com.bloxbean.cardano.dataprover.service.storage.MaterializedProofStore.StoredProof;
+import com.bloxbean.cardano.dataprover.service.storage.ReadProfiler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HexFormat;
 import java.util.List;
 import java.util.Optional;
 
 /**
- * Service for proof generation and verification operations.
+ * Service for proof generation and value lookup operations.
+ * Verification is handled by {@link ProofVerificationService}.
  */
 @Service
 public class ProofService {
 
     private static final Logger log = LoggerFactory.getLogger(ProofService.class);
     private static final HexFormat HEX = HexFormat.of();
+    private static final String SOURCE_CACHE = "cache";
+    private static final String SOURCE_MATERIALIZED = "materialized";
+    private static final String SOURCE_GENERATED = "generated";
 
     private final MerkleRegistry merkleRegistry;
-    private final ProofUtilsService proofUtils;
-
-    public ProofService(MerkleRegistry merkleRegistry, ProofUtilsService proofUtils) {
+    private final ProofCache proofCache;
+    private final MaterializedProofStore materializedProofs;
+    private final DataProverMetrics metrics;
+    private final ReadProfiler readProfiler;
+    private final MembershipFilterService membershipFilters;
+    private final LeafValueIndex valueIndex;
+
+    public ProofService(MerkleRegistry merkleRegistry, ProofCache proofCache,
+                        MaterializedProofStore materializedProofs, DataProverMetrics metrics,
+                        ReadProfiler readProfiler, MembershipFilterService membershipFilters,
+                        LeafValueIndex valueIndex) {
         this.merkleRegistry = merkleRegistry;
-        this.proofUtils = proofUtils;
+        this.proofCache = proofCache;
+        this.materializedProofs = materializedProofs;
+        this.metrics = metrics;
+        this.readProfiler = readProfiler;
+        this.membershipFilters = membershipFilters;
+        this.valueIndex = valueIndex;
     }
 
     /**
@@ -47,7 +73,72 @@ public class ProofService {
     }
 
     public ProofGenerationResponse generateProof(String merkleIdentifier, ProofGenerationRequest request) {
-        log.debug("Generating proof for key {} in merkle {}", request.getKey(), merkleIdentifier);
+        ProofLookup proof = lookupProof(merkleIdentifier, request.getKey(), request.getVersion());
+
+        String proofHex;
+        String format;
+
+        if ("aiken".equalsIgnoreCase(request.getFormat())) {
+            proofHex = toAikenFormat(proof.entry(), request.getKey());
+            format = "aiken";
+        } else {
+            proofHex = HEX.formatHex(proof.entry().getProof());
+            format = "wire";
+        }
+
+        log.debug("Generated proof for key {} in merkle {} (format: {})",
+                request.getKey(), merkleIdentifier, format);
+
+        byte[] value = proof.entry().getValue();
+        return ProofGenerationResponse.builder()
+                .key(request.getKey())
+                .value(value != null ? HEX.formatHex(value) : null)
+                .proof(proofHex)
+                .rootHash(HEX.formatHex(proof.rootHash()))
+                .proofFormat(format)
+                .build();
+    }
+
+    /**
+     * Generates a proof without hex encoding, for binary responses. The "aiken" format yields the
+     * decoded Plutus data bytes instead of the wire proof.
+     */
+    public RawProof generateRawProof(String merkleIdentifier, ProofGenerationRequest request) {
+        ProofLookup proof = lookupProof(merkleIdentifier, request.getKey(), request.getVersion());
+        ProofCache.Entry entry = proof.entry();
+
+        if ("aiken".equalsIgnoreCase(request.getFormat())) {
+            try {
+                return new RawProof(entry.getValue(), entry.getAikenBytes(), proof.rootHash(), "aiken");
+            } catch (IllegalArgumentException e) {
+                throw new ProofGenerationException(
+                        "Failed to convert proof to Aiken format for key: " + request.getKey(), e);
+            }
+        }
+        return new RawProof(entry.getValue(), entry.getProof(), proof.rootHash(), "wire");
+    }
+
+    private ProofLookup lookupProof(String merkleIdentifier, String hexKey, Long version) {
+        try (ReadProfiler.Sample sample = readProfiler.start()) {
+            long start = System.nanoTime();
+            ProofLookup proof = findProof(merkleIdentifier, hexKey, version);
+            long elapsed = System.nanoTime() - start;
+
+            metrics.recordProof(merkleIdentifier, proof.source(), elapsed);
+            if (sample != null && readProfiler.isSlow(elapsed)) {
+                log.warn("Slow proof for key {} in merkle {} ({}): {}ms, {}", hexKey, merkleIdentifier,
+                        proof.source(), elapsed / 1_000_000, sample.stats(merkleIdentifier));
+            }
+            return proof;
+        }
+    }
+
+    /**
+     * Returns the proof from the cache or the materialised proofs when one exists for the current
+     * root, generating it otherwise. A non-null version proves against that historical version.
+     */
+    private ProofLookup findProof(String merkleIdentifier, String hexKey, Long version) {
+        log.debug("Generating proof for key {} in merkle {}", hexKey, merkleIdentifier);
 
         MerkleImplementation merkle = merkleRegistry.getOrLoadMerkle(merkleIdentifier);
         if (merkle == null) {
@@ -55,52 +146,80 @@ public class ProofService {
         }
 
         try {
-            byte[] keyBytes = HEX.parseHex(stripHexPrefix(request.getKey()));
+            byte[] keyBytes = HEX.parseHex(stripHexPrefix(hexKey));
 
-            Optional<byte[]> proofOpt = merkle.getProofWire(keyBytes);
-            if (proofOpt.isEmpty()) {
-                throw new ProofGenerationException("Failed to generate proof for key: " + request.getKey());
+            if (version != null) {
+                return lookupVersionedProof(merkleIdentifier, merkle, keyBytes, version);
             }
 
-            byte[] proof = proofOpt.get();
-
-            Optional<byte[]> valueOpt = merkle.get(keyBytes);
-            String valueHex = valueOpt.map(HEX::formatHex).orElse(null);
-
             byte[] rootHash = merkle.getRootHash();
-            String rootHashHex = HEX.formatHex(rootHash);
+            ProofCache.Entry cached = proofCache.get(merkleIdentifier, rootHash, keyBytes);
+            if (cached != null) {
+                return new ProofLookup(cached, rootHash, SOURCE_CACHE);
+            }
 
-            String proofHex;
-            String format = request.getFormat();
+            StoredProof stored = materializedProofs.get(merkleIdentifier, rootHash, keyBytes);
+            if (stored != null) {
+                return new ProofLookup(
+                        proofCache.put(merkleIdentifier, rootHash, keyBytes, stored.value(), stored.proof()),
+                        rootHash, SOURCE_MATERIALIZED);
+            }
 
-            if ("aiken".equalsIgnoreCase(format)) {
-                String aikenProof = proofUtils.toAikenFormat(proof);
-                proofHex = aikenProof;
-                format = "aiken";
-            } else {
-                proofHex = HEX.formatHex(proof);
-                format = "wire";
+            Optional<byte[]> proofOpt = merkle.getProofWire(keyBytes);
+            if (proofOpt.isEmpty()) {
+                throw new ProofGenerationException("Failed to generate proof for key: " + hexKey);
             }
 
-            log.debug("Generated proof for key {} in merkle {} (format: {})",
-                    request.getKey(), merkleIdentifier, format);
+            byte[] value = merkle.get(keyBytes).orElse(null);
+            byte[] currentRoot = merkle.getRootHash();
+
+            // A write between the two root reads means the proof may not match either root
+            ProofCache.Entry entry = Arrays.equals(rootHash, currentRoot)
+                    ? proofCache.put(merkleIdentifier, currentRoot, keyBytes, value, proofOpt.get())
+                    : proofCache.put(merkleIdentifier, null, keyBytes, value, proofOpt.get());
 
-            return ProofGenerationResponse.builder()
-                    .key(request.getKey())
-                    .value(valueHex)
-                    .proof(proofHex)
-                    .rootHash(rootHashHex)
-                    .proofFormat(format)
-                    .build();
+            return new ProofLookup(entry, currentRoot, SOURCE_GENERATED);
 
         } catch (IllegalArgumentException e) {
-            throw new ProofGenerationException("Invalid hex key: " + request.getKey(), e);
+            throw new ProofGenerationException("Invalid hex key: " + hexKey, e);
         } catch (Exception e) {
-            log.error("Error generating proof for key {} in merkle {}", request.getKey(), merkleIdentifier, e);
+            log.error("Error generating proof for key {} in merkle {}", hexKey, merkleIdentifier, e);
             throw new ProofGenerationException("Failed to generate proof: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Versions are immutable, so their proofs are cached under the version's root like current ones.
+     */
+    private ProofLookup lookupVersionedProof(String merkleIdentifier, MerkleImplementation merkle,
+                                             byte[] keyBytes, long version) {
+        if (!(merkle instanceof VersionedMerkleImplementation versioned)) {
+            throw new ProofGenerationException(
+                    "Merkle scheme " + merkle.getScheme() + " does not keep historical versions");
+        }
+        byte[] rootHash = versioned.getRootHash(version)
+                .orElseThrow(() -> new ProofGenerationException("Unknown version " + version + " of merkle " + merkleIdentifier));
+
+        ProofCache.Entry cached = proofCache.get(merkleIdentifier, rootHash, keyBytes);
+        if (cached != null) {
+            return new ProofLookup(cached, rootHash, SOURCE_CACHE);
+        }
+
+        byte[] proof = versioned.getProofWire(keyBytes, version)
+                .orElseThrow(() -> new ProofGenerationException("Unknown version " + version + " of merkle " + merkleIdentifier));
+        byte[] value = versioned.get(keyBytes, version).orElse(null);
+        return new ProofLookup(proofCache.put(merkleIdentifier, rootHash, keyBytes, value, proof), rootHash,
+                SOURCE_GENERATED);
+    }
+
+    private String toAikenFormat(ProofCache.Entry entry, String hexKey) {
+        try {
+            return entry.getAikenHex();
+        } catch (IllegalArgumentException e) {
+            throw new ProofGenerationException("Failed to convert proof to Aiken format for key: " + hexKey, e);
+        }
+    }
+
     public List<ProofGenerationResponse> generateBatchProofs(String merkleIdentifier, List<ProofGenerationRequest> requests) {
         log.info("Generating batch proofs for {} keys in merkle {}", requests.size(), merkleIdentifier);
 
@@ -127,50 +246,44 @@ public class ProofService {
         return responses;
     }
 
-    public ProofVerificationResponse verifyProof(String merkleIdentifier, ProofVerificationRequest request) {
-        log.debug("Verifying proof for key {} in merkle {}", request.getKey(), merkleIdentifier);
+    /**
+     * Generates proofs without hex encoding, in request order. Failed keys yield {@code null}.
+     */
+    public List<RawProof> generateRawBatchProofs(String merkleIdentifier, List<ProofGenerationRequest> requests) {
+        log.info("Generating batch proofs for {} keys in merkle {}", requests.size(), merkleIdentifier);
 
-        MerkleImplementation merkle = merkleRegistry.getOrLoadMerkle(merkleIdentifier);
-        if (merkle == null) {
-            throw new MerkleNotFoundException(merkleIdentifier);
+        List<RawProof> proofs = new ArrayList<>(requests.size());
+
+        for (ProofGenerationRequest request : requests) {
+            try {
+                proofs.add(generateRawProof(merkleIdentifier, request));
+            } catch (Exception e) {
+                log.warn("Failed to generate proof for key {} in merkle {}: {}",
+                        request.getKey(), merkleIdentifier, e.getMessage());
+                proofs.add(null);
+            }
         }
 
-        try {
-            byte[] keyBytes = HEX.parseHex(stripHexPrefix(request.getKey()));
-            byte[] proofBytes = HEX.parseHex(stripHexPrefix(request.getProof()));
-            byte[] valueBytes = request.getValue() != null ? HEX.parseHex(stripHexPrefix(request.getValue())) : null;
-            byte[] rootHashBytes = HEX.parseHex(stripHexPrefix(request.getRootHash()));
-
-            boolean expectedPresence = valueBytes != null;
-            Optional<byte[]> proofOpt = Optional.of(proofBytes);
-
-            boolean verified = merkle.verifyProofWire(
-                    rootHashBytes,
-                    keyBytes,
-                    valueBytes,
-                    expectedPresence,
-                    proofOpt
-            );
-
-            log.debug("Proof verification for key {} in merkle {}: {}",
-                    request.getKey(), merkleIdentifier, verified ? "VALID" : "INVALID");
-
-            return ProofVerificationResponse.builder()
-                    .key(request.getKey())
-                    .value(request.getValue())
-                    .rootHash(request.getRootHash())
-                    .verified(verified)
-                    .build();
+        return proofs;
+    }
 
-        } catch (IllegalArgumentException e) {
-            throw new ProofGenerationException("Invalid hex input: " + e.getMessage(), e);
-        } catch (Exception e) {
-            log.error("Error verifying proof for key {} in merkle {}", request.getKey(), merkleIdentifier, e);
-            throw new ProofGenerationException("Failed to verify proof: " + e.getMessage(), e);
+    public String getRootHash(String merkleIdentifier) {
+        byte[] rootHash = getRawRootHash(merkleIdentifier);
+        if (rootHash == null) {
+            return null;
         }
+
+        String rootHashHex = HEX.formatHex(rootHash);
+
+        log.debug("Root hash for merkle {}: {}", merkleIdentifier, rootHashHex);
+
+        return rootHashHex;
     }
 
-    public String getRootHash(String merkleIdentifier) {
+    /**
+     * @return the root hash bytes, or null for an empty merkle tree
+     */
+    public byte[] getRawRootHash(String merkleIdentifier) {
         log.debug("Getting root hash for merkle {}", merkleIdentifier);
 
         MerkleImplementation merkle = merkleRegistry.getOrLoadMerkle(merkleIdentifier);
@@ -181,14 +294,37 @@ public class ProofService {
         byte[] rootHash = merkle.getRootHash();
         if (rootHash == null) {
             log.debug("Root hash for merkle {} is null (empty merkle tree)", merkleIdentifier);
-            return null;
         }
+        return rootHash;
+    }
 
-        String rootHashHex = HEX.formatHex(rootHash);
+    /**
+     * Proves that the log of {@code toSize} entries extends the log of {@code fromSize} entries.
+     * A null {@code toSize} proves against the current size.
+     */
+    public ConsistencyProofResponse getConsistencyProof(String merkleIdentifier, long fromSize, Long toSize) {
+        MerkleImplementation merkle = merkleRegistry.getOrLoadMerkle(merkleIdentifier);
+        if (merkle == null) {
+            throw new MerkleNotFoundException(merkleIdentifier);
+        }
+        if (!(merkle instanceof LogMerkleImplementation logMerkle)) {
+            throw new ProofGenerationException(
+                    "Merkle scheme " + merkle.getScheme() + " does not support consistency proofs");
+        }
 
-        log.debug("Root hash for merkle {}: {}", merkleIdentifier, rootHashHex);
+        long secondSize = toSize != null ? toSize : logMerkle.size();
+        if (fromSize <= 0 || fromSize > secondSize || secondSize > logMerkle.size()) {
+            throw new ProofGenerationException("Invalid tree sizes for consistency proof: from " + fromSize
+                    + ", to " + secondSize + " (log size " + logMerkle.size() + ")");
+        }
 
-        return rootHashHex;
+        List<String> proof = logMerkle.getConsistencyProof(fromSize, secondSize).stream()
+                .map(HEX::formatHex)
+                .toList();
+        String fromRoot = HEX.formatHex(logMerkle.getRootHash(fromSize - 1).orElseThrow());
+        String toRoot = HEX.formatHex(logMerkle.getRootHash(secondSize - 1).orElseThrow());
+
+        return new ConsistencyProofResponse(merkleIdentifier, fromSize, secondSize, fromRoot, toRoot, proof);
     }
 
     public ValueLookupResponse getValue(String merkleIdentifier, String hexKey) {
@@ -203,7 +339,7 @@ public class ProofService {
             String normalizedKey = normalizeHexKey(hexKey);
             byte[] keyBytes = HEX.parseHex(stripHexPrefix(normalizedKey));
 
-            Optional<byte[]> valueOpt = merkle.get(keyBytes);
+            Optional<byte[]> valueOpt = lookup(merkleIdentifier, merkle, keyBytes);
 
             if (valueOpt.isPresent()) {
                 String valueHex = HEX.formatHex(valueOpt.get());
@@ -255,10 +391,108 @@ public class ProofService {
         return responses;
     }
 
+    /**
+     * Looks up a value without hex encoding it.
+     */
+    public Optional<byte[]> getRawValue(String merkleIdentifier, String hexKey) {
+        log.debug("Looking up value for key {} in merkle {}", hexKey, merkleIdentifier);
+
+        MerkleImplementation merkle = merkleRegistry.getOrLoadMerkle(merkleIdentifier);
+        if (merkle == null) {
+            throw new MerkleNotFoundException(merkleIdentifier);
+        }
+
+        try {
+            return lookup(merkleIdentifier, merkle, HEX.parseHex(normalizeHexKey(hexKey)));
+        } catch (IllegalArgumentException e) {
+            throw new ProofGenerationException("Invalid hex key: " + hexKey, e);
+        }
+    }
+
+    /**
+     * Looks up values without hex encoding, in request order. Missing or invalid keys yield {@code null}.
+     */
+    public List<byte[]> getRawValues(String merkleIdentifier, List<String> hexKeys) {
+        log.info("Looking up {} keys in merkle {}", hexKeys.size(), merkleIdentifier);
+
+        List<byte[]> values = new ArrayList<>(hexKeys.size());
+
+        for (String hexKey : hexKeys) {
+            try {
+                values.add(getRawValue(merkleIdentifier, hexKey).orElse(null));
+            } catch (MerkleNotFoundException e) {
+                throw e;
+            } catch (Exception e) {
+                log.warn("Failed to lookup value for key {} in merkle {}: {}",
+                        hexKey, merkleIdentifier, e.getMessage());
+                values.add(null);
+            }
+        }
+
+        return values;
+    }
+
+    /**
+     * Checks which keys are in a merkle, in request order. Keys the membership filter rules out are
+     * answered without reading the trie; invalid keys are reported as absent.
+     */
+    public BatchExistsResponse exists(String merkleIdentifier, List<String> hexKeys) {
+        MerkleImplementation merkle = merkleRegistry.getOrLoadMerkle(merkleIdentifier);
+        if (merkle == null) {
+            throw new MerkleNotFoundException(merkleIdentifier);
+        }
+
+        List<Boolean> exists = new ArrayList<>(hexKeys.size());
+        int found = 0;
+        int filtered = 0;
+        for (String hexKey : hexKeys) {
+            boolean present = false;
+            try {
+                byte[] keyBytes = HEX.parseHex(normalizeHexKey(hexKey));
+                if (!membershipFilters.mightContain(merkleIdentifier, merkle, keyBytes)) {
+                    filtered++;
+                } else {
+                    present = valueIndex.get(merkleIdentifier, keyBytes, () -> merkle.get(keyBytes)).isPresent();
+                }
+            } catch (IllegalArgumentException e) {
+                log.warn("Invalid hex key {} in existence check on merkle {}", hexKey, merkleIdentifier);
+            }
+            exists.add(present);
+            if (present) {
+                found++;
+            }
+        }
+
+        log.debug("Checked {} keys in merkle {}: {} found, {} ruled out by the membership filter",
+                hexKeys.size(), merkleIdentifier, found, filtered);
+
+        return BatchExistsResponse.builder()
+                .merkleIdentifier(merkleIdentifier)
+                .exists(exists)
+                .total(hexKeys.size())
+                .foundCount(found)
+                .filteredCount(filtered)
+                .build();
+    }
+
+    /**
+     * Reads a value unless the membership filter rules the key out: from the value index when the
+     * merkle has a complete one, from the trie otherwise.
+     */
+    private Optional<byte[]> lookup(String merkleIdentifier, MerkleImplementation merkle, byte[] keyBytes) {
+        if (!membershipFilters.mightContain(merkleIdentifier, merkle, keyBytes)) {
+            return Optional.empty();
+        }
+        return valueIndex.get(merkleIdentifier, keyBytes, () -> merkle.get(keyBytes));
+    }
+
     private String normalizeHexKey(String hexKey) {
         if (hexKey != null && hexKey.startsWith("0x")) {
             return hexKey.substring(2);
         }
         return hexKey;
     }
+
+    private record ProofLookup(ProofCache.Entry entry, byte[] rootHash, String source) {
+    }
 }
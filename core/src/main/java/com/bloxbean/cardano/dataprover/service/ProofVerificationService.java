@@ -0,0 +1,161 @@
+package com.bloxbean.cardano.dataprover.service;
+
+import com.bloxbean.cardano.dataprover.dto.BatchProofVerificationResponse;
+import com.bloxbean.cardano.dataprover.dto.ProofVerificationRequest;
+import com.bloxbean.cardano.dataprover.dto.ProofVerificationResponse;
+import com.bloxbean.cardano.dataprover.exception.MerkleNotFoundException;
+import com.bloxbean.cardano.dataprover.exception.ProofGenerationException;
+import com.bloxbean.cardano.dataprover.model.MerkleMetadata;
+import com.bloxbean.cardano.dataprover.model.MerkleStatus;
+import com.bloxbean.cardano.dataprover.repository.MerkleMetadataRepository;
+import com.bloxbean.cardano.dataprover.service.merkle.MerkleFactory;
+import com.bloxbean.cardano.dataprover.service.merkle.MerkleProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Service for stateless proof verification.
+ * <p>
+ * A proof is checked against the root hash supplied by the caller, so verification never loads
+ * the merkle into the registry or reads RocksDB; only the merkle's scheme is looked up. This
+ * also works for archived merkles.
+ */
+@Service
+public class ProofVerificationService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProofVerificationService.class);
+    private static final HexFormat HEX = HexFormat.of();
+
+    /**
+     * Below this size a batch is verified sequentially; fork/join overhead outweighs the gain.
+     */
+    private static final int PARALLEL_THRESHOLD = 64;
+
+    private final MerkleMetadataRepository metadataRepository;
+    private final MerkleFactory merkleFactory;
+
+    public ProofVerificationService(MerkleMetadataRepository metadataRepository, MerkleFactory merkleFactory) {
+        this.metadataRepository = metadataRepository;
+        this.merkleFactory = merkleFactory;
+    }
+
+    public ProofVerificationResponse verifyProof(String merkleIdentifier, ProofVerificationRequest request) {
+        log.debug("Verifying proof for key {} in merkle {}", request.getKey(), merkleIdentifier);
+
+        MerkleProvider provider = resolveProvider(merkleIdentifier);
+
+        try {
+            boolean verified = verify(provider, request);
+
+            log.debug("Proof verification for key {} in merkle {}: {}",
+                    request.getKey(), merkleIdentifier, verified ? "VALID" : "INVALID");
+
+            return toResponse(request, verified);
+
+        } catch (IllegalArgumentException e) {
+            throw new ProofGenerationException("Invalid hex input: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Verifies proofs in parallel across the common fork/join pool. The outcome is reported as a
+     * bitmap plus the failing indices, in request order; entries with malformed hex input count as
+     * failed.
+     *
+     * @param includeResults also return a per-proof result list
+     */
+    public BatchProofVerificationResponse verifyProofs(String merkleIdentifier,
+                                                       List<ProofVerificationRequest> requests,
+                                                       boolean includeResults) {
+        log.info("Verifying {} proofs in merkle {}", requests.size(), merkleIdentifier);
+
+        MerkleProvider provider = resolveProvider(merkleIdentifier);
+
+        int total = requests.size();
+        boolean[] verified = new boolean[total];
+
+        IntStream indices = IntStream.range(0, total);
+        if (total >= PARALLEL_THRESHOLD) {
+            indices = indices.parallel();
+        }
+        // Each task writes only its own slot, so the array needs no synchronization
+        indices.forEach(i -> verified[i] = verifyQuietly(provider, requests.get(i), i));
+
+        byte[] bitmap = new byte[(total + 7) / 8];
+        List<Integer> failedIndices = new ArrayList<>();
+        for (int i = 0; i < total; i++) {
+            if (verified[i]) {
+                bitmap[i >>> 3] |= (byte) (1 << (i & 7));
+            } else {
+                failedIndices.add(i);
+            }
+        }
+        int verifiedCount = total - failedIndices.size();
+
+        log.info("Verified {} of {} proofs in merkle {}", verifiedCount, total, merkleIdentifier);
+
+        BatchProofVerificationResponse.Builder builder = BatchProofVerificationResponse.builder()
+                .merkleIdentifier(merkleIdentifier)
+                .total(total)
+                .verifiedCount(verifiedCount)
+                .failedCount(failedIndices.size())
+                .bitmap(HEX.formatHex(bitmap))
+                .failedIndices(failedIndices);
+
+        if (includeResults) {
+            List<ProofVerificationResponse> results = new ArrayList<>(total);
+            for (int i = 0; i < total; i++) {
+                results.add(toResponse(requests.get(i), verified[i]));
+            }
+            builder.results(results);
+        }
+        return builder.build();
+    }
+
+    private MerkleProvider resolveProvider(String merkleIdentifier) {
+        MerkleMetadata metadata = metadataRepository.findByIdentifier(merkleIdentifier)
+                .filter(m -> m.getStatus() != MerkleStatus.DELETED)
+                .orElseThrow(() -> new MerkleNotFoundException(merkleIdentifier));
+        return merkleFactory.getProvider(metadata.getScheme());
+    }
+
+    private boolean verify(MerkleProvider provider, ProofVerificationRequest request) {
+        byte[] keyBytes = HEX.parseHex(stripHexPrefix(request.getKey()));
+        byte[] proofBytes = HEX.parseHex(stripHexPrefix(request.getProof()));
+        byte[] valueBytes = request.getValue() != null ? HEX.parseHex(stripHexPrefix(request.getValue())) : null;
+        byte[] rootHashBytes = HEX.parseHex(stripHexPrefix(request.getRootHash()));
+
+        return provider.verifyProofWire(rootHashBytes, keyBytes, valueBytes, valueBytes != null, proofBytes);
+    }
+
+    private boolean verifyQuietly(MerkleProvider provider, ProofVerificationRequest request, int index) {
+        try {
+            return verify(provider, request);
+        } catch (RuntimeException e) {
+            log.debug("Proof {} (key {}) could not be verified: {}", index, request.getKey(), e.getMessage());
+            return false;
+        }
+    }
+
+    private ProofVerificationResponse toResponse(ProofVerificationRequest request, boolean verified) {
+        return ProofVerificationResponse.builder()
+                .key(request.getKey())
+                .value(request.getValue())
+                .rootHash(request.getRootHash())
+                .verified(verified)
+                .build();
+    }
+
+    private String stripHexPrefix(String hex) {
+        if (hex != null && hex.startsWith("0x")) {
+            return hex.substring(2);
+        }
+        return hex;
+    }
+}
@@ -0,0 +1,138 @@
+package com.bloxbean.cardano.dataprover.service;
+
+import com.bloxbean.cardano.dataprover.dto.ValueIndexResponse;
+import com.bloxbean.cardano.dataprover.exception.MerkleArchivedException;
+import com.bloxbean.cardano.dataprover.exception.MerkleBusyException;
+import com.bloxbean.cardano.dataprover.exception.MerkleNotFoundException;
+import com.bloxbean.cardano.dataprover.model.MerkleMetadata;
+import com.bloxbean.cardano.dataprover.model.MerkleStatus;
+import com.bloxbean.cardano.dataprover.repository.MerkleMetadataRepository;
+import com.bloxbean.cardano.dataprover.service.merkle.MerkleFactory;
+import com.bloxbean.cardano.dataprover.service.merkle.MerkleImplementation;
+import com.bloxbean.cardano.dataprover.service.merkle.MerkleRegistry;
+import com.bloxbean.cardano.dataprover.service.storage.LeafValueIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service that builds the leaf value index of an existing merkle from its trie.
+ * <p>
+ * Once complete, the index is kept up to date by every write and serves value lookups in
+ * {@link ProofService} with one RocksDB point read. Proofs are always generated from the trie.
+ */
+@Service
+public class ValueIndexService {
+
+    private static final Logger log = LoggerFactory.getLogger(ValueIndexService.class);
+    private static final int BATCH_SIZE = 1000;
+
+    private final MerkleMetadataRepository metadataRepository;
+    private final MerkleFactory merkleFactory;
+    private final MerkleRegistry merkleRegistry;
+    private final LeafValueIndex valueIndex;
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+
+    public ValueIndexService(MerkleMetadataRepository metadataRepository,
+                             MerkleFactory merkleFactory,
+                             MerkleRegistry merkleRegistry,
+                             LeafValueIndex valueIndex) {
+        this.metadataRepository = metadataRepository;
+        this.merkleFactory = merkleFactory;
+        this.merkleRegistry = merkleRegistry;
+        this.valueIndex = valueIndex;
+    }
+
+    /**
+     * Rebuilds the index from the trie, replacing any existing one. Writes may continue meanwhile.
+     */
+    public ValueIndexResponse build(String identifier) {
+        MerkleMetadata metadata = findMerkle(identifier);
+        if (metadata.getStatus() == MerkleStatus.ARCHIVED) {
+            throw new MerkleArchivedException(identifier);
+        }
+        if (!merkleFactory.getProvider(metadata.getScheme()).supportsValueIndex()) {
+            throw new IllegalArgumentException(
+                    "Merkle scheme " + metadata.getScheme() + " does not support a value index");
+        }
+        if (!running.add(identifier)) {
+            throw new MerkleBusyException(identifier, "value index build");
+        }
+
+        long startTime = System.currentTimeMillis();
+        try {
+            MerkleImplementation merkle = merkleRegistry.getOrLoadMerkle(identifier);
+
+            // Leaves written after begin are indexed by the write itself, so the snapshot can follow it
+            valueIndex.begin(identifier);
+            long entries = 0;
+            try {
+                List<LeafValueIndex.Leaf> batch = new ArrayList<>(BATCH_SIZE);
+                for (MerkleImplementation.Entry entry : merkle.getEntries(Integer.MAX_VALUE)) {
+                    batch.add(new LeafValueIndex.Leaf(entry.hashedKey(), entry.value()));
+                    if (batch.size() == BATCH_SIZE) {
+                        valueIndex.backfill(identifier, batch);
+                        entries += batch.size();
+                        batch.clear();
+                    }
+                }
+                valueIndex.backfill(identifier, batch);
+                entries += batch.size();
+                valueIndex.complete(identifier);
+            } catch (RuntimeException e) {
+                valueIndex.drop(identifier);
+                throw e;
+            }
+
+            long duration = System.currentTimeMillis() - startTime;
+            log.info("Built value index of merkle {} from {} leaves in {}ms", identifier, entries, duration);
+
+            ValueIndexResponse response = getStatus(identifier);
+            response.setEntries(entries);
+            response.setDurationMs(duration);
+            return response;
+        } finally {
+            running.remove(identifier);
+        }
+    }
+
+    public ValueIndexResponse getStatus(String identifier) {
+        findMerkle(identifier);
+
+        String status;
+        if (!valueIndex.exists(identifier)) {
+            status = "NONE";
+        } else if (valueIndex.isComplete(identifier)) {
+            status = "COMPLETE";
+        } else {
+            status = valueIndex.isBackfilling(identifier) ? "BUILDING" : "INCOMPLETE";
+        }
+        return ValueIndexResponse.builder()
+                .merkleIdentifier(identifier)
+                .status(status)
+                .storageBytes(valueIndex.storageBytes(identifier))
+                .build();
+    }
+
+    public void drop(String identifier) {
+        findMerkle(identifier);
+        if (running.contains(identifier)) {
+            throw new MerkleBusyException(identifier, "value index build");
+        }
+        valueIndex.drop(identifier);
+    }
+
+    private MerkleMetadata findMerkle(String identifier) {
+        MerkleMetadata metadata = metadataRepository.findByIdentifier(identifier)
+                .orElseThrow(() -> new MerkleNotFoundException(identifier));
+        if (metadata.getStatus() == MerkleStatus.DELETED) {
+            throw new MerkleNotFoundException(identifier);
+        }
+        return metadata;
+    }
+}
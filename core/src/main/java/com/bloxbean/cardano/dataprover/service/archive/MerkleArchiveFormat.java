@@ -0,0 +1,73 @@
+package com.bloxbean.cardano.dataprover.service.archive;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Constants and helpers for the portable merkle archive format ({@code .dpmx}).
+ * <p>
+ * Layout (all integers big-endian):
+ * <pre>
+ * header   : magic "DPMX" | version u16 | flags u16 | scheme (u8 len + utf8) | identifier (u8 len + utf8)
+ * leaves   : blocks of entries sorted by hashed key, terminated by an empty block
+ * nodes    : optional raw storage nodes in storage order, terminated by an empty block
+ * footer   : leafCount u64 | nodeCount u64 | leafOffset u64 | nodeOffset u64 (-1 = none)
+ *            | rootLength u32 | root (32 bytes, zero padded) | crc32c u32 | magic "DPMX"
+ * block    : uncompressedLength u32 | compressedLength u32 | entryCount u32 | deflate data
+ * leaf     : varint keyLen | hashedKey | varint (originalKeyLen + 1, 0 = absent) | originalKey | varint valueLen | value
+ * node     : varint keyLen | key | varint valueLen | value
+ * </pre>
+ * The CRC32C covers every byte before the checksum field.
+ * The format has no dependency on Spring or RocksDB so offline verifiers can read it directly.
+ */
+public final class MerkleArchiveFormat {
+
+    public static final String FILE_EXTENSION = ".dpmx";
+
+    static final byte[] MAGIC = "DPMX".getBytes(StandardCharsets.US_ASCII);
+    static final short VERSION = 1;
+
+    static final short FLAG_ORIGINAL_KEYS = 0x1;
+
+    static final int BLOCK_HEADER_SIZE = 12;
+    static final int MAX_ROOT_LENGTH = 32;
+    static final int FOOTER_SIZE = 8 + 8 + 8 + 8 + 4 + MAX_ROOT_LENGTH + 4 + 4;
+    static final int TARGET_BLOCK_SIZE = 256 * 1024;
+
+    private MerkleArchiveFormat() {
+        // Utility class
+    }
+
+    static void putVarint(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    static int getVarint(ByteBuffer buffer) {
+        int value = 0;
+        int shift = 0;
+        while (true) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+            shift += 7;
+            if (shift > 28) {
+                throw new IllegalStateException("Malformed varint in merkle archive");
+            }
+        }
+    }
+
+    static int varintSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            size++;
+            value >>>= 7;
+        }
+        return size;
+    }
+}
@@ -0,0 +1,286 @@
+package com.bloxbean.cardano.dataprover.service.archive;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.EOFException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static com.bloxbean.cardano.dataprover.service.archive.MerkleArchiveFormat.*;
+
+/**
+ * Reads a portable merkle archive with positional reads into reused buffers, so neither large files
+ * nor many blocks leave mappings behind.
+ * <p>
+ * {@link #open(Path)} validates the magic, version and CRC32C before any entry is returned,
+ * so a truncated or corrupted file is rejected up front.
+ */
+public final class MerkleArchiveReader implements Closeable {
+
+    private static final int CHECKSUM_WINDOW = 1024 * 1024;
+
+    private final FileChannel channel;
+    private final String scheme;
+    private final String identifier;
+    private final boolean originalKeys;
+    private final long leafCount;
+    private final long nodeCount;
+    private final long leafOffset;
+    private final long nodeOffset;
+    private final byte[] rootHash;
+
+    /**
+     * Visitor for leaf entries.
+     */
+    @FunctionalInterface
+    public interface LeafVisitor {
+        void visit(byte[] hashedKey, byte[] originalKey, byte[] value) throws IOException;
+    }
+
+    /**
+     * Visitor for raw storage nodes.
+     */
+    @FunctionalInterface
+    public interface NodeVisitor {
+        void visit(byte[] key, byte[] value) throws IOException;
+    }
+
+    private MerkleArchiveReader(FileChannel channel) throws IOException {
+        this.channel = channel;
+        long size = channel.size();
+        if (size < MAGIC.length + 6 + FOOTER_SIZE) {
+            throw new IOException("File too small to be a merkle archive");
+        }
+
+        ByteBuffer footer = read(ByteBuffer.allocate(FOOTER_SIZE), size - FOOTER_SIZE);
+        this.leafCount = footer.getLong();
+        this.nodeCount = footer.getLong();
+        this.leafOffset = footer.getLong();
+        this.nodeOffset = footer.getLong();
+        int rootLength = footer.getInt();
+        byte[] paddedRoot = new byte[MAX_ROOT_LENGTH];
+        footer.get(paddedRoot);
+        int expectedCrc = footer.getInt();
+        byte[] trailerMagic = new byte[MAGIC.length];
+        footer.get(trailerMagic);
+        if (!Arrays.equals(MAGIC, trailerMagic)) {
+            throw new IOException("Missing merkle archive footer (truncated file?)");
+        }
+        if (rootLength < 0 || rootLength > MAX_ROOT_LENGTH) {
+            throw new IOException("Invalid root hash length in archive footer: " + rootLength);
+        }
+        this.rootHash = rootLength == 0 ? null : Arrays.copyOf(paddedRoot, rootLength);
+
+        int actualCrc = computeCrc(size - 8);
+        if (actualCrc != expectedCrc) {
+            throw new IOException("Merkle archive checksum mismatch");
+        }
+
+        if (leafOffset < 0 || leafOffset > size - FOOTER_SIZE) {
+            throw new IOException("Invalid leaf section offset in archive footer: " + leafOffset);
+        }
+        ByteBuffer header = read(ByteBuffer.allocate((int) leafOffset), 0);
+        byte[] magic = new byte[MAGIC.length];
+        header.get(magic);
+        if (!Arrays.equals(MAGIC, magic)) {
+            throw new IOException("Not a merkle archive");
+        }
+        short version = header.getShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported merkle archive version: " + version);
+        }
+        short flags = header.getShort();
+        this.originalKeys = (flags & FLAG_ORIGINAL_KEYS) != 0;
+        this.scheme = readShortString(header);
+        this.identifier = readShortString(header);
+    }
+
+    /**
+     * Opens and validates an archive.
+     *
+     * @throws IOException if the file is not a valid archive or fails its checksum
+     */
+    public static MerkleArchiveReader open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new MerkleArchiveReader(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public String getScheme() {
+        return scheme;
+    }
+
+    public String getIdentifier() {
+        return identifier;
+    }
+
+    public boolean hasOriginalKeys() {
+        return originalKeys;
+    }
+
+    public boolean hasNodes() {
+        return nodeOffset >= 0;
+    }
+
+    public long getLeafCount() {
+        return leafCount;
+    }
+
+    public long getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * @return root hash recorded in the footer, or null for an empty merkle
+     */
+    public byte[] getRootHash() {
+        return rootHash != null ? rootHash.clone() : null;
+    }
+
+    /**
+     * Streams every leaf in hashed key order.
+     */
+    public void forEachLeaf(LeafVisitor visitor) throws IOException {
+        readSection(leafOffset, block -> {
+            byte[] hashedKey = readBytes(block, getVarint(block));
+            int originalLength = getVarint(block);
+            byte[] originalKey = originalLength == 0 ? null : readBytes(block, originalLength - 1);
+            byte[] value = readBytes(block, getVarint(block));
+            visitor.visit(hashedKey, originalKey, value);
+        });
+    }
+
+    /**
+     * Streams every raw storage node in storage order.
+     *
+     * @throws IllegalStateException if the archive has no node section
+     */
+    public void forEachNode(NodeVisitor visitor) throws IOException {
+        if (!hasNodes()) {
+            throw new IllegalStateException("Archive has no node section");
+        }
+        readSection(nodeOffset, block -> {
+            byte[] key = readBytes(block, getVarint(block));
+            byte[] value = readBytes(block, getVarint(block));
+            visitor.visit(key, value);
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    @FunctionalInterface
+    private interface EntryDecoder {
+        void decode(ByteBuffer block) throws IOException;
+    }
+
+    private void readSection(long offset, EntryDecoder decoder) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            long position = offset;
+            ByteBuffer blockHeader = ByteBuffer.allocate(BLOCK_HEADER_SIZE);
+            byte[] compressed = new byte[TARGET_BLOCK_SIZE];
+            byte[] uncompressed = new byte[TARGET_BLOCK_SIZE];
+            while (true) {
+                read(blockHeader.clear(), position);
+                int uncompressedLength = blockHeader.getInt();
+                int compressedLength = blockHeader.getInt();
+                int entryCount = blockHeader.getInt();
+                position += BLOCK_HEADER_SIZE;
+                if (entryCount == 0) {
+                    return;
+                }
+
+                if (uncompressedLength < 0 || compressedLength < 0) {
+                    throw new IOException("Invalid block header in merkle archive");
+                }
+                if (uncompressed.length < uncompressedLength) {
+                    uncompressed = new byte[uncompressedLength];
+                }
+                if (compressed.length < compressedLength) {
+                    compressed = new byte[compressedLength];
+                }
+                read(ByteBuffer.wrap(compressed, 0, compressedLength), position);
+                inflater.reset();
+                inflater.setInput(compressed, 0, compressedLength);
+                int read = 0;
+                try {
+                    while (read < uncompressedLength && !inflater.finished()) {
+                        int n = inflater.inflate(uncompressed, read, uncompressedLength - read);
+                        if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                            break;
+                        }
+                        read += n;
+                    }
+                } catch (DataFormatException e) {
+                    throw new IOException("Corrupted block in merkle archive", e);
+                }
+                if (read != uncompressedLength) {
+                    throw new IOException("Short block in merkle archive");
+                }
+                position += compressedLength;
+
+                ByteBuffer block = ByteBuffer.wrap(uncompressed, 0, uncompressedLength);
+                for (int i = 0; i < entryCount; i++) {
+                    decoder.decode(block);
+                }
+            }
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private int computeCrc(long length) throws IOException {
+        CRC32C crc = new CRC32C();
+        ByteBuffer window = ByteBuffer.allocateDirect(CHECKSUM_WINDOW);
+        long position = 0;
+        while (position < length) {
+            window.clear().limit((int) Math.min(CHECKSUM_WINDOW, length - position));
+            read(window, position);
+            position += window.remaining();
+            crc.update(window);
+        }
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Fills the buffer from its position to its limit with the bytes at {@code position} of the file.
+     *
+     * @return the buffer, flipped for reading
+     */
+    private ByteBuffer read(ByteBuffer buffer, long position) throws IOException {
+        long at = position;
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, at);
+            if (n < 0) {
+                throw new EOFException("Unexpected end of merkle archive");
+            }
+            at += n;
+        }
+        return buffer.flip();
+    }
+
+    private static String readShortString(ByteBuffer buffer) {
+        int length = buffer.get() & 0xFF;
+        return new String(readBytes(buffer, length), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] readBytes(ByteBuffer buffer, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
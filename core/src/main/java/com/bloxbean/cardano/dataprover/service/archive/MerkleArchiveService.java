@@ -0,0 +1,493 @@
+package com.bloxbean.cardano.dataprover.service.archive;
+
+import com.bloxbean.cardano.dataprover.config.DataProverProperties;
+import com.bloxbean.cardano.dataprover.dto.ImportMerkleArchiveRequest;
+import com.bloxbean.cardano.dataprover.dto.MerkleArchiveResponse;
+import com.bloxbean.cardano.dataprover.exception.DuplicateMerkleException;
+import com.bloxbean.cardano.dataprover.exception.MerkleArchivedException;
+import com.bloxbean.cardano.dataprover.exception.MerkleNotFoundException;
+import com.bloxbean.cardano.dataprover.exception.MerkleOperationException;
+import com.bloxbean.cardano.dataprover.model.MerkleIdentifier;
+import com.bloxbean.cardano.dataprover.model.MerkleMetadata;
+import com.bloxbean.cardano.dataprover.model.MerkleStatus;
+import com.bloxbean.cardano.dataprover.repository.MerkleMetadataRepository;
+import com.bloxbean.cardano.dataprover.service.filter.MembershipFilterService;
+import com.bloxbean.cardano.dataprover.service.merkle.MerkleConfiguration;
+import com.bloxbean.cardano.dataprover.service.merkle.MerkleFactory;
+import com.bloxbean.cardano.dataprover.service.merkle.LogMerkleImplementation;
+import com.bloxbean.cardano.dataprover.service.merkle.MerkleImplementation;
+import com.bloxbean.cardano.dataprover.service.merkle.MerkleRegistry;
+import com.bloxbean.cardano.dataprover.service.merkle.hash.HashFunctions;
+import com.bloxbean.cardano.dataprover.service.storage.LeafValueIndex;
+import com.bloxbean.cardano.dataprover.service.storage.MaterializedProofStore;
+import com.bloxbean.cardano.dataprover.service.storage.OriginalKeyIndex;
+import com.bloxbean.cardano.dataprover.service.storage.RocksDbManager;
+import com.bloxbean.cardano.dataprover.service.storage.SstBulkWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+
+/**
+ * Service for exporting merkles to portable archive files and importing them back.
+ * <p>
+ * Archives carry the sorted leaves and, optionally, the raw storage nodes of a merkle.
+ * Imports with a node section bulk-load the nodes into a fresh column family through an SST file;
+ * leaf-only archives are replayed through the merkle implementation. Either way the result is checked
+ * against the recorded root and leaves, and a failed import leaves no column family behind.
+ * The same format backs cold storage: archiving a merkle writes its archive and drops its column family.
+ * Leaves are streamed through {@link MerkleImplementation#forEachEntry}, so exporting, archiving or
+ * verifying an MPF merkle needs heap for all of its leaves; the other schemes are read incrementally.
+ */
+@Service
+public class MerkleArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(MerkleArchiveService.class);
+    private static final HexFormat HEX = HexFormat.of();
+    private static final String ARCHIVE_FILE_KEY = "archiveFile";
+    private static final DateTimeFormatter ARCHIVE_TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS").withZone(ZoneOffset.UTC);
+
+    private final DataProverProperties properties;
+    private final RocksDbManager rocksDbManager;
+    private final MerkleMetadataRepository metadataRepository;
+    private final MerkleFactory merkleFactory;
+    private final MerkleRegistry merkleRegistry;
+    private final MaterializedProofStore materializedProofs;
+    private final OriginalKeyIndex keyIndex;
+    private final MembershipFilterService membershipFilters;
+    private final LeafValueIndex valueIndex;
+
+    public MerkleArchiveService(DataProverProperties properties,
+                                RocksDbManager rocksDbManager,
+                                MerkleMetadataRepository metadataRepository,
+                                MerkleFactory merkleFactory,
+                                MerkleRegistry merkleRegistry,
+                                MaterializedProofStore materializedProofs,
+                                OriginalKeyIndex keyIndex,
+                                MembershipFilterService membershipFilters,
+                                LeafValueIndex valueIndex) {
+        this.properties = properties;
+        this.rocksDbManager = rocksDbManager;
+        this.metadataRepository = metadataRepository;
+        this.merkleFactory = merkleFactory;
+        this.merkleRegistry = merkleRegistry;
+        this.materializedProofs = materializedProofs;
+        this.keyIndex = keyIndex;
+        this.membershipFilters = membershipFilters;
+        this.valueIndex = valueIndex;
+    }
+
+    /**
+     * Exports a merkle to an archive file in the archive directory.
+     * The node section is always written when original keys are not stored,
+     * since the leaves alone cannot rebuild such a merkle.
+     *
+     * @param identifier   the merkle identifier
+     * @param includeNodes whether to include the raw storage nodes for the bulk import path
+     */
+    public MerkleArchiveResponse exportMerkle(String identifier, boolean includeNodes) {
+        long startTime = System.currentTimeMillis();
+        MerkleMetadata metadata = findMerkle(identifier);
+        if (metadata.getStatus() == MerkleStatus.ARCHIVED) {
+            throw new MerkleArchivedException(identifier);
+        }
+
+        Path file = archiveRoot().resolve(identifier + "-" + ARCHIVE_TIMESTAMP.format(Instant.now())
+                + MerkleArchiveFormat.FILE_EXTENSION);
+        MerkleArchiveWriter.Summary summary = writeArchive(metadata, file, includeNodes);
+
+        long duration = System.currentTimeMillis() - startTime;
+        log.info("Exported merkle {} to {} ({} leaves, {} nodes, {} bytes) in {}ms",
+                identifier, file, summary.leafCount(), summary.nodeCount(), summary.sizeBytes(), duration);
+
+        return toResponse(metadata, file, summary, duration);
+    }
+
+    /**
+     * Imports an archive file as a new merkle.
+     */
+    @Transactional
+    public MerkleArchiveResponse importMerkle(ImportMerkleArchiveRequest request) {
+        long startTime = System.currentTimeMillis();
+        Path file = resolveArchiveFile(request.getFile());
+
+        try (MerkleArchiveReader reader = MerkleArchiveReader.open(file)) {
+            String target = MerkleIdentifier.of(request.getTargetIdentifier() != null
+                    ? request.getTargetIdentifier() : reader.getIdentifier()).getValue();
+            if (metadataRepository.existsByIdentifier(target)) {
+                throw new DuplicateMerkleException(target);
+            }
+
+            log.info("Importing merkle {} from {} as {}", reader.getIdentifier(), file, target);
+
+            byte[] rootHash = reader.getRootHash();
+            MerkleMetadata metadata;
+            try {
+                if (reader.hasNodes()) {
+                    importNodes(reader, target);
+                    verifyImport(reader, target);
+                } else {
+                    replayLeaves(reader, target);
+                }
+
+                rocksDbManager.persistRootHash(target, rootHash);
+                Map<String, Object> customMetadata = new HashMap<>();
+                customMetadata.put("importedFrom", file.getFileName().toString());
+
+                metadata = MerkleMetadata.builder()
+                        .identifier(target)
+                        .scheme(reader.getScheme())
+                        .rootHash(rootHash != null ? HEX.formatHex(rootHash) : null)
+                        .status(MerkleStatus.ACTIVE)
+                        .customMetadata(customMetadata)
+                        .storeOriginalKeys(reader.hasOriginalKeys())
+                        .build();
+                metadata.touch();
+                metadataRepository.save(metadata);
+            } catch (IOException | RuntimeException e) {
+                discardImport(target, e);
+                throw e;
+            }
+
+            long duration = System.currentTimeMillis() - startTime;
+            log.info("Imported merkle {} ({} leaves) in {}ms", target, reader.getLeafCount(), duration);
+
+            return toResponse(metadata, file, new MerkleArchiveWriter.Summary(
+                    reader.getLeafCount(), reader.getNodeCount(), Files.size(file)), duration);
+        } catch (IOException e) {
+            throw new MerkleOperationException("Failed to import merkle archive: " + file.getFileName(), e);
+        }
+    }
+
+    /**
+     * Moves an active merkle to cold storage: writes a full archive, marks the merkle ARCHIVED
+     * and drops its column family. The merkle must not receive writes while it is archived.
+     */
+    @Transactional
+    public MerkleArchiveResponse archiveMerkle(String identifier) {
+        long startTime = System.currentTimeMillis();
+        MerkleMetadata metadata = findMerkle(identifier);
+        if (metadata.getStatus() == MerkleStatus.ARCHIVED) {
+            throw new MerkleArchivedException(identifier);
+        }
+        if (metadata.getStatus() != MerkleStatus.ACTIVE) {
+            throw new IllegalArgumentException("Only ACTIVE merkles can be archived: " + identifier);
+        }
+
+        Path file = archiveRoot().resolve(identifier + "-archived-" + ARCHIVE_TIMESTAMP.format(Instant.now())
+                + MerkleArchiveFormat.FILE_EXTENSION);
+        MerkleArchiveWriter.Summary summary = writeArchive(metadata, file, true);
+
+        // Re-read the archive before dropping anything: the column family is the only other copy
+        try (MerkleArchiveReader reader = MerkleArchiveReader.open(file)) {
+            if (reader.getLeafCount() != summary.leafCount()) {
+                throw new MerkleOperationException("Archive verification failed for merkle: " + identifier);
+            }
+        } catch (IOException e) {
+            throw new MerkleOperationException("Archive verification failed for merkle: " + identifier, e);
+        }
+
+        merkleRegistry.unloadMerkle(identifier);
+
+        Map<String, Object> customMetadata = customMetadata(metadata);
+        customMetadata.put(ARCHIVE_FILE_KEY, file.getFileName().toString());
+        metadata.setMetadata(customMetadata);
+        metadata.setStatus(MerkleStatus.ARCHIVED);
+        metadata.touch();
+        metadataRepository.saveAndFlush(metadata);
+
+        rocksDbManager.deleteColumnFamily(identifier);
+        materializedProofs.drop(identifier);
+        keyIndex.drop(identifier);
+        membershipFilters.drop(identifier);
+        valueIndex.drop(identifier);
+
+        long duration = System.currentTimeMillis() - startTime;
+        log.info("Archived merkle {} to {} in {}ms", identifier, file, duration);
+
+        return toResponse(metadata, file, summary, duration);
+    }
+
+    /**
+     * Brings an archived merkle back from its archive file under the same identifier.
+     */
+    @Transactional
+    public MerkleArchiveResponse unarchiveMerkle(String identifier) {
+        long startTime = System.currentTimeMillis();
+        MerkleMetadata metadata = findMerkle(identifier);
+        if (metadata.getStatus() != MerkleStatus.ARCHIVED) {
+            throw new IllegalArgumentException("Merkle is not archived: " + identifier);
+        }
+        Object archiveFile = customMetadata(metadata).get(ARCHIVE_FILE_KEY);
+        if (archiveFile == null) {
+            throw new MerkleOperationException("No archive file recorded for merkle: " + identifier);
+        }
+        Path file = resolveArchiveFile(archiveFile.toString());
+
+        try (MerkleArchiveReader reader = MerkleArchiveReader.open(file)) {
+            byte[] rootHash = reader.getRootHash();
+            String rootHex = rootHash != null ? HEX.formatHex(rootHash) : null;
+            if (metadata.getRootHash() != null && !metadata.getRootHash().equals(rootHex)) {
+                throw new MerkleOperationException("Archive root hash does not match metadata for merkle: " + identifier);
+            }
+
+            // A column family left behind by an interrupted archive run is stale by definition
+            if (rocksDbManager.getActiveColumnFamilies().contains(identifier)) {
+                rocksDbManager.deleteColumnFamily(identifier);
+            }
+            try {
+                importNodes(reader, identifier);
+                verifyImport(reader, identifier);
+                rocksDbManager.persistRootHash(identifier, rootHash);
+
+                Map<String, Object> customMetadata = customMetadata(metadata);
+                customMetadata.remove(ARCHIVE_FILE_KEY);
+                metadata.setMetadata(customMetadata);
+                metadata.setStatus(MerkleStatus.ACTIVE);
+                metadata.touch();
+                metadataRepository.save(metadata);
+            } catch (IOException | RuntimeException e) {
+                // The merkle stays ARCHIVED with its archive file, so the restore can be retried
+                discardImport(identifier, e);
+                throw e;
+            }
+
+            long duration = System.currentTimeMillis() - startTime;
+            log.info("Restored archived merkle {} from {} in {}ms", identifier, file, duration);
+
+            return toResponse(metadata, file, new MerkleArchiveWriter.Summary(
+                    reader.getLeafCount(), reader.getNodeCount(), Files.size(file)), duration);
+        } catch (IOException e) {
+            throw new MerkleOperationException("Failed to restore archived merkle: " + identifier, e);
+        }
+    }
+
+    private MerkleArchiveWriter.Summary writeArchive(MerkleMetadata metadata, Path file, boolean includeNodes) {
+        String identifier = metadata.getIdentifier();
+        boolean originalKeys = Boolean.TRUE.equals(metadata.getStoreOriginalKeys());
+        MerkleImplementation merkle = merkleRegistry.getOrLoadMerkle(identifier);
+        // A log's root covers every append, which its latest leaf per key cannot replay
+        boolean withNodes = includeNodes || !originalKeys || merkle instanceof LogMerkleImplementation;
+        byte[] rootHash = merkle.getRootHash();
+
+        createDirectory(file.getParent());
+        try (MerkleArchiveWriter writer = new MerkleArchiveWriter(file, metadata.getScheme(), identifier, originalKeys)) {
+            // Leaves are streamed in hashed key order, which the writer requires
+            merkle.forEachEntry(entry -> {
+                try {
+                    writer.writeLeaf(entry.hashedKey(), entry.originalKey(), entry.value());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            if (withNodes) {
+                writer.beginNodes();
+                rocksDbManager.forEachEntry(identifier, writer::writeNode);
+            }
+            return writer.finish(rootHash);
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(file);
+            if (e instanceof MerkleOperationException moe) {
+                throw moe;
+            }
+            throw new MerkleOperationException("Failed to write merkle archive for: " + identifier, e);
+        }
+    }
+
+    private void importNodes(MerkleArchiveReader reader, String target) throws IOException {
+        Path staging = archiveRoot().resolve("import-" + target + "-" + System.currentTimeMillis() + ".sst");
+        try (SstBulkWriter sstWriter = rocksDbManager.openSstWriter(staging)) {
+            // Nodes were exported in column family order, which is what the SST writer requires
+            reader.forEachNode(sstWriter::put);
+            rocksDbManager.importColumnFamily(target, sstWriter.finish());
+        } finally {
+            deleteQuietly(staging);
+        }
+    }
+
+    private void replayLeaves(MerkleArchiveReader reader, String target) throws IOException {
+        if (!reader.hasOriginalKeys()) {
+            throw new MerkleOperationException("Archive has neither nodes nor original keys and cannot be imported");
+        }
+
+        MerkleConfiguration config = MerkleConfiguration.builder()
+                .identifier(target)
+                .scheme(reader.getScheme())
+                .storeOriginalKeys(true)
+                .build();
+        MerkleImplementation merkle = merkleFactory.createMerkle(reader.getScheme(), config);
+        try {
+            reader.forEachLeaf((hashedKey, originalKey, value) -> merkle.put(originalKey, value));
+            merkle.commit();
+
+            if (reader.getLeafCount() > 0 && !Arrays.equals(reader.getRootHash(), merkle.getRootHash())) {
+                throw new MerkleOperationException("Rebuilt root hash does not match archive for merkle: " + target);
+            }
+        } finally {
+            merkle.close();
+        }
+    }
+
+    /**
+     * Opens the imported nodes at the archive's root and reads every leaf back, rejecting nodes that
+     * do not yield that root or exactly the archive's leaves.
+     */
+    private void verifyImport(MerkleArchiveReader reader, String target) throws IOException {
+        byte[] rootHash = reader.getRootHash();
+        MerkleConfiguration config = MerkleConfiguration.builder()
+                .identifier(target)
+                .scheme(reader.getScheme())
+                .storagePath(properties.getStorage().getRocksdbPath())
+                .hashFunction(HashFunctions.DEFAULT)
+                .rootHash(rootHash != null ? HEX.formatHex(rootHash) : null)
+                .storeOriginalKeys(reader.hasOriginalKeys())
+                .build();
+        MerkleImplementation merkle = merkleFactory.createMerkle(reader.getScheme(), config);
+        try {
+            if (!Arrays.equals(rootHash, merkle.getRootHash())) {
+                throw new MerkleOperationException("Imported root hash does not match archive for merkle: " + target);
+            }
+            LeafDigest imported = new LeafDigest();
+            merkle.forEachEntry(entry -> imported.add(entry.hashedKey(), entry.value()));
+            LeafDigest archived = new LeafDigest();
+            reader.forEachLeaf((hashedKey, originalKey, value) -> archived.add(hashedKey, value));
+            if (imported.count() != reader.getLeafCount() || !imported.matches(archived)) {
+                throw new MerkleOperationException("Imported nodes do not match the archived leaves of merkle: " + target);
+            }
+        } finally {
+            merkle.close();
+        }
+    }
+
+    /**
+     * Drops what a failed import left behind, so the identifier is free again.
+     */
+    private void discardImport(String target, Exception failure) {
+        try {
+            if (rocksDbManager.getActiveColumnFamilies().contains(target)) {
+                rocksDbManager.deleteColumnFamily(target);
+            }
+            keyIndex.drop(target);
+            membershipFilters.drop(target);
+            valueIndex.drop(target);
+            materializedProofs.drop(target);
+        } catch (RuntimeException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    private MerkleMetadata findMerkle(String identifier) {
+        MerkleMetadata metadata = metadataRepository.findByIdentifier(identifier)
+                .orElseThrow(() -> new MerkleNotFoundException(identifier));
+        if (metadata.getStatus() == MerkleStatus.DELETED) {
+            throw new MerkleNotFoundException(identifier);
+        }
+        return metadata;
+    }
+
+    private Map<String, Object> customMetadata(MerkleMetadata metadata) {
+        return metadata.getMetadata() != null ? new HashMap<>(metadata.getMetadata()) : new HashMap<>();
+    }
+
+    private Path archiveRoot() {
+        return Paths.get(properties.getStorage().getArchivePath()).toAbsolutePath().normalize();
+    }
+
+    private Path resolveArchiveFile(String name) {
+        Path root = archiveRoot();
+        Path file = root.resolve(name).normalize();
+        if (!file.startsWith(root) || !file.getFileName().toString().endsWith(MerkleArchiveFormat.FILE_EXTENSION)) {
+            throw new IllegalArgumentException("Invalid archive file: " + name);
+        }
+        if (!Files.isRegularFile(file)) {
+            throw new IllegalArgumentException("Archive file not found: " + name);
+        }
+        return file;
+    }
+
+    private void createDirectory(Path dir) {
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            throw new MerkleOperationException("Failed to create archive directory: " + dir, e);
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete file {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Order-sensitive digest of leaves, to compare two streams of the same leaves in hashed key order.
+     */
+    private static final class LeafDigest {
+
+        private final MessageDigest digest;
+        private long count;
+
+        LeafDigest() {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+
+        void add(byte[] hashedKey, byte[] value) {
+            update(hashedKey);
+            update(value);
+            count++;
+        }
+
+        long count() {
+            return count;
+        }
+
+        boolean matches(LeafDigest other) {
+            return count == other.count && MessageDigest.isEqual(digest.digest(), other.digest.digest());
+        }
+
+        private void update(byte[] bytes) {
+            int length = bytes != null ? bytes.length : -1;
+            digest.update(new byte[]{(byte) (length >>> 24), (byte) (length >>> 16), (byte) (length >>> 8), (byte) length});
+            if (bytes != null) {
+                digest.update(bytes);
+            }
+        }
+    }
+
+    private MerkleArchiveResponse toResponse(MerkleMetadata metadata, Path file,
+                                             MerkleArchiveWriter.Summary summary, long durationMs) {
+        return MerkleArchiveResponse.builder()
+                .merkleIdentifier(metadata.getIdentifier())
+                .scheme(metadata.getScheme())
+                .status(metadata.getStatus().name())
+                .file(file.getFileName().toString())
+                .rootHash(metadata.getRootHash())
+                .leafCount(summary.leafCount())
+                .nodeCount(summary.nodeCount())
+                .sizeBytes(summary.sizeBytes())
+                .durationMs(durationMs)
+                .build();
+    }
+}
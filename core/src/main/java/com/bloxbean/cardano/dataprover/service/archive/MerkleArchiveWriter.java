@@ -0,0 +1,249 @@
+package com.bloxbean.cardano.dataprover.service.archive;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+import java.util.zip.Deflater;
+
+import static com.bloxbean.cardano.dataprover.service.archive.MerkleArchiveFormat.*;
+
+/**
+ * Streams a merkle into the portable archive format.
+ * <p>
+ * Leaves must be written first, in ascending unsigned order of their hashed key,
+ * followed optionally by the raw storage nodes. {@link #finish(byte[])} writes the footer.
+ * Output goes through a single {@link FileChannel}; the checksum is computed on the fly.
+ */
+public final class MerkleArchiveWriter implements Closeable {
+
+    private enum Section { LEAVES, NODES, FINISHED }
+
+    private final FileChannel channel;
+    private final CRC32C crc = new CRC32C();
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+    private final boolean originalKeys;
+
+    private ByteBuffer block = ByteBuffer.allocate(TARGET_BLOCK_SIZE);
+    private byte[] compressed = new byte[TARGET_BLOCK_SIZE];
+    private int blockEntries;
+    private Section section = Section.LEAVES;
+    private byte[] previousKey;
+
+    private long position;
+    private long leafCount;
+    private long nodeCount;
+    private long leafOffset;
+    private long nodeOffset = -1;
+
+    public MerkleArchiveWriter(Path file, String scheme, String identifier, boolean originalKeys) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        this.originalKeys = originalKeys;
+        try {
+            writeHeader(scheme, identifier);
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+        this.leafOffset = position;
+    }
+
+    /**
+     * Appends a leaf. Leaves must arrive sorted by hashed key.
+     *
+     * @param hashedKey   the key as stored in the trie
+     * @param originalKey the original key, or null when not stored
+     * @param value       the leaf value
+     */
+    public void writeLeaf(byte[] hashedKey, byte[] originalKey, byte[] value) throws IOException {
+        requireSection(Section.LEAVES);
+        if (previousKey != null && Arrays.compareUnsigned(previousKey, hashedKey) >= 0) {
+            throw new IllegalStateException("Leaves must be written in strictly ascending hashed key order");
+        }
+        if (originalKeys && originalKey == null) {
+            throw new IllegalArgumentException("Original key required: archive was opened with original keys");
+        }
+        previousKey = hashedKey;
+
+        byte[] storedOriginal = originalKeys ? originalKey : null;
+        int size = varintSize(hashedKey.length) + hashedKey.length
+                + varintSize(storedOriginal != null ? storedOriginal.length + 1 : 0)
+                + (storedOriginal != null ? storedOriginal.length : 0)
+                + varintSize(value.length) + value.length;
+        ensureBlockCapacity(size);
+
+        putVarint(block, hashedKey.length);
+        block.put(hashedKey);
+        if (storedOriginal != null) {
+            putVarint(block, storedOriginal.length + 1);
+            block.put(storedOriginal);
+        } else {
+            putVarint(block, 0);
+        }
+        putVarint(block, value.length);
+        block.put(value);
+        blockEntries++;
+        leafCount++;
+    }
+
+    /**
+     * Closes the leaf section and starts the node section.
+     */
+    public void beginNodes() throws IOException {
+        requireSection(Section.LEAVES);
+        endSection();
+        nodeOffset = position;
+        section = Section.NODES;
+    }
+
+    /**
+     * Appends a raw storage node (key/value pair of the merkle column family).
+     */
+    public void writeNode(byte[] key, byte[] value) throws IOException {
+        requireSection(Section.NODES);
+        int size = varintSize(key.length) + key.length + varintSize(value.length) + value.length;
+        ensureBlockCapacity(size);
+        putVarint(block, key.length);
+        block.put(key);
+        putVarint(block, value.length);
+        block.put(value);
+        blockEntries++;
+        nodeCount++;
+    }
+
+    /**
+     * Terminates the open section and writes the footer.
+     *
+     * @param rootHash root hash of the exported merkle, or null for an empty merkle
+     * @return summary of the written archive
+     */
+    public Summary finish(byte[] rootHash) throws IOException {
+        if (section == Section.FINISHED) {
+            throw new IllegalStateException("Archive already finished");
+        }
+        if (rootHash != null && rootHash.length > MAX_ROOT_LENGTH) {
+            throw new IllegalArgumentException("Root hash longer than " + MAX_ROOT_LENGTH + " bytes");
+        }
+        endSection();
+        section = Section.FINISHED;
+
+        ByteBuffer footer = ByteBuffer.allocate(FOOTER_SIZE);
+        footer.putLong(leafCount);
+        footer.putLong(nodeCount);
+        footer.putLong(leafOffset);
+        footer.putLong(nodeOffset);
+        footer.putInt(rootHash != null ? rootHash.length : 0);
+        byte[] paddedRoot = new byte[MAX_ROOT_LENGTH];
+        if (rootHash != null) {
+            System.arraycopy(rootHash, 0, paddedRoot, 0, rootHash.length);
+        }
+        footer.put(paddedRoot);
+        footer.flip();
+        write(footer);
+
+        ByteBuffer trailer = ByteBuffer.allocate(8);
+        trailer.putInt((int) crc.getValue());
+        trailer.put(MAGIC);
+        trailer.flip();
+        write(trailer);
+        channel.force(true);
+
+        return new Summary(leafCount, nodeCount, position);
+    }
+
+    @Override
+    public void close() throws IOException {
+        deflater.end();
+        channel.close();
+    }
+
+    private void writeHeader(String scheme, String identifier) throws IOException {
+        byte[] schemeBytes = scheme.getBytes(StandardCharsets.UTF_8);
+        byte[] identifierBytes = identifier.getBytes(StandardCharsets.UTF_8);
+        if (schemeBytes.length > 255 || identifierBytes.length > 255) {
+            throw new IllegalArgumentException("Scheme and identifier must fit in 255 bytes");
+        }
+        ByteBuffer header = ByteBuffer.allocate(MAGIC.length + 4 + 2 + schemeBytes.length + identifierBytes.length);
+        header.put(MAGIC);
+        header.putShort(VERSION);
+        header.putShort(originalKeys ? FLAG_ORIGINAL_KEYS : 0);
+        header.put((byte) schemeBytes.length);
+        header.put(schemeBytes);
+        header.put((byte) identifierBytes.length);
+        header.put(identifierBytes);
+        header.flip();
+        write(header);
+    }
+
+    private void requireSection(Section expected) {
+        if (section != expected) {
+            throw new IllegalStateException("Cannot write " + expected + " while in section " + section);
+        }
+    }
+
+    private void ensureBlockCapacity(int entrySize) throws IOException {
+        if (block.position() > 0 && block.remaining() < entrySize) {
+            flushBlock();
+        }
+        if (block.remaining() < entrySize) {
+            // Single entry larger than the target block size
+            block = ByteBuffer.allocate(entrySize);
+        }
+    }
+
+    private void endSection() throws IOException {
+        if (block.position() > 0) {
+            flushBlock();
+        }
+        write(ByteBuffer.allocate(BLOCK_HEADER_SIZE));
+    }
+
+    private void flushBlock() throws IOException {
+        int uncompressedLength = block.position();
+        block.flip();
+
+        deflater.reset();
+        deflater.setInput(block);
+        deflater.finish();
+        int compressedLength = 0;
+        while (!deflater.finished()) {
+            if (compressedLength == compressed.length) {
+                compressed = Arrays.copyOf(compressed, compressed.length * 2);
+            }
+            compressedLength += deflater.deflate(compressed, compressedLength, compressed.length - compressedLength);
+        }
+
+        ByteBuffer blockHeader = ByteBuffer.allocate(BLOCK_HEADER_SIZE);
+        blockHeader.putInt(uncompressedLength);
+        blockHeader.putInt(compressedLength);
+        blockHeader.putInt(blockEntries);
+        blockHeader.flip();
+        write(blockHeader);
+        write(ByteBuffer.wrap(compressed, 0, compressedLength));
+
+        if (block.capacity() > TARGET_BLOCK_SIZE) {
+            block = ByteBuffer.allocate(TARGET_BLOCK_SIZE);
+        } else {
+            block.clear();
+        }
+        blockEntries = 0;
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        crc.update(buffer.duplicate());
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer);
+        }
+    }
+
+    /**
+     * Counts and size of a finished archive.
+     */
+    public record Summary(long leafCount, long nodeCount, long sizeBytes) {
+    }
+}
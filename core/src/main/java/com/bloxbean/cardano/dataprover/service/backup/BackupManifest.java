@@ -0,0 +1,230 @@
+package com.bloxbean.cardano.dataprover.service.backup;
+
+import com.bloxbean.cardano.dataprover.model.MerkleMetadata;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Manifest stored next to every backup.
+ * Carries the merkle_metadata rows captured with the backup so a restore
+ * does not depend on the metadata table of the source environment.
+ */
+public class BackupManifest {
+
+    /**
+     * Kind of backup.
+     */
+    public enum Type {
+        /** Hard-linked checkpoint of the whole RocksDB instance. */
+        CHECKPOINT,
+        /** Single column family exported to an SST file. */
+        COLUMN_FAMILY
+    }
+
+    private String backupId;
+    private Type type;
+    private String createdAt;
+    private List<MerkleSnapshot> merkles = new ArrayList<>();
+
+    public BackupManifest() {
+    }
+
+    public String getBackupId() {
+        return backupId;
+    }
+
+    public void setBackupId(String backupId) {
+        this.backupId = backupId;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public String getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(String createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public List<MerkleSnapshot> getMerkles() {
+        return merkles;
+    }
+
+    public void setMerkles(List<MerkleSnapshot> merkles) {
+        this.merkles = merkles;
+    }
+
+    /**
+     * Snapshot of a merkle_metadata row at backup time.
+     */
+    public static class MerkleSnapshot {
+        private String identifier;
+        private String scheme;
+        private String rootHash;
+        private String status;
+        private Boolean storeOriginalKeys;
+        private Map<String, Object> metadata = new HashMap<>();
+        private String createdAt;
+        private String file;
+        private Long entryCount;
+        private List<AuxiliarySnapshot> auxiliary = new ArrayList<>();
+
+        public MerkleSnapshot() {
+        }
+
+        public static MerkleSnapshot from(MerkleMetadata metadata) {
+            MerkleSnapshot snapshot = new MerkleSnapshot();
+            snapshot.setIdentifier(metadata.getIdentifier());
+            snapshot.setScheme(metadata.getScheme());
+            snapshot.setRootHash(metadata.getRootHash());
+            snapshot.setStatus(metadata.getStatus().name());
+            snapshot.setStoreOriginalKeys(metadata.getStoreOriginalKeys());
+            snapshot.setMetadata(metadata.getMetadata() != null ? new HashMap<>(metadata.getMetadata()) : new HashMap<>());
+            snapshot.setCreatedAt(metadata.getCreatedAt() != null ? metadata.getCreatedAt().toString() : null);
+            return snapshot;
+        }
+
+        public String getIdentifier() {
+            return identifier;
+        }
+
+        public void setIdentifier(String identifier) {
+            this.identifier = identifier;
+        }
+
+        public String getScheme() {
+            return scheme;
+        }
+
+        public void setScheme(String scheme) {
+            this.scheme = scheme;
+        }
+
+        public String getRootHash() {
+            return rootHash;
+        }
+
+        public void setRootHash(String rootHash) {
+            this.rootHash = rootHash;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public void setStatus(String status) {
+            this.status = status;
+        }
+
+        public Boolean getStoreOriginalKeys() {
+            return storeOriginalKeys;
+        }
+
+        public void setStoreOriginalKeys(Boolean storeOriginalKeys) {
+            this.storeOriginalKeys = storeOriginalKeys;
+        }
+
+        public Map<String, Object> getMetadata() {
+            return metadata;
+        }
+
+        public void setMetadata(Map<String, Object> metadata) {
+            this.metadata = metadata;
+        }
+
+        public String getCreatedAt() {
+            return createdAt;
+        }
+
+        public void setCreatedAt(String createdAt) {
+            this.createdAt = createdAt;
+        }
+
+        /**
+         * SST file name relative to the backup directory (column family exports only).
+         */
+        public String getFile() {
+            return file;
+        }
+
+        public void setFile(String file) {
+            this.file = file;
+        }
+
+        public Long getEntryCount() {
+            return entryCount;
+        }
+
+        public void setEntryCount(Long entryCount) {
+            this.entryCount = entryCount;
+        }
+
+        /**
+         * Auxiliary column families exported with the merkle (column family exports only): original
+         * keys, leaf values, membership filters and materialised proofs.
+         */
+        public List<AuxiliarySnapshot> getAuxiliary() {
+            return auxiliary;
+        }
+
+        public void setAuxiliary(List<AuxiliarySnapshot> auxiliary) {
+            this.auxiliary = auxiliary;
+        }
+    }
+
+    /**
+     * An auxiliary column family of an exported merkle, named by its suffix after the identifier.
+     */
+    public static class AuxiliarySnapshot {
+
+        private String suffix;
+        private String file;
+        private Long entryCount;
+
+        public AuxiliarySnapshot() {
+        }
+
+        public AuxiliarySnapshot(String suffix, String file, Long entryCount) {
+            this.suffix = suffix;
+            this.file = file;
+            this.entryCount = entryCount;
+        }
+
+        public String getSuffix() {
+            return suffix;
+        }
+
+        public void setSuffix(String suffix) {
+            this.suffix = suffix;
+        }
+
+        /**
+         * SST file name relative to the backup directory, or null for an empty column family.
+         */
+        public String getFile() {
+            return file;
+        }
+
+        public void setFile(String file) {
+            this.file = file;
+        }
+
+        public Long getEntryCount() {
+            return entryCount;
+        }
+
+        public void setEntryCount(Long entryCount) {
+            this.entryCount = entryCount;
+        }
+    }
+}
@@ -0,0 +1,381 @@
+package com.bloxbean.cardano.dataprover.service.backup;
+
+import com.bloxbean.cardano.dataprover.config.DataProverProperties;
+import com.bloxbean.cardano.dataprover.dto.BackupResponse;
+import com.bloxbean.cardano.dataprover.dto.RestoreBackupRequest;
+import com.bloxbean.cardano.dataprover.dto.RestoreBackupResponse;
+import com.bloxbean.cardano.dataprover.exception.BackupNotFoundException;
+import com.bloxbean.cardano.dataprover.exception.DuplicateMerkleException;
+import com.bloxbean.cardano.dataprover.exception.MerkleNotFoundException;
+import com.bloxbean.cardano.dataprover.exception.MerkleOperationException;
+import com.bloxbean.cardano.dataprover.model.MerkleMetadata;
+import com.bloxbean.cardano.dataprover.model.MerkleStatus;
+import com.bloxbean.cardano.dataprover.repository.MerkleMetadataRepository;
+import com.bloxbean.cardano.dataprover.service.storage.RocksDbManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Service for hot backup and restore of merkles.
+ * <p>
+ * Full backups are RocksDB checkpoints (hard links, near-instant); single merkles are exported
+ * as one SST file per column family, their auxiliary column families (key and value indexes,
+ * membership filters, materialised proofs) included. Every backup carries a manifest with the
+ * matching merkle_metadata rows. Restores ingest SST files into new column families of the running
+ * instance, and drop them again if the restore fails.
+ */
+@Service
+public class BackupService {
+
+    private static final Logger log = LoggerFactory.getLogger(BackupService.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final HexFormat HEX = HexFormat.of();
+    private static final String MANIFEST_FILE = "manifest.json";
+    private static final String CHECKPOINT_DIR = "checkpoint";
+    private static final Pattern BACKUP_ID_PATTERN = Pattern.compile("^[a-z0-9][a-z0-9-]{0,127}$");
+    private static final DateTimeFormatter BACKUP_TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS").withZone(ZoneOffset.UTC);
+
+    private final DataProverProperties properties;
+    private final RocksDbManager rocksDbManager;
+    private final MerkleMetadataRepository metadataRepository;
+
+    public BackupService(DataProverProperties properties,
+                         RocksDbManager rocksDbManager,
+                         MerkleMetadataRepository metadataRepository) {
+        this.properties = properties;
+        this.rocksDbManager = rocksDbManager;
+        this.metadataRepository = metadataRepository;
+    }
+
+    /**
+     * Creates a checkpoint of the whole RocksDB instance together with all non-deleted metadata rows.
+     */
+    public BackupResponse createCheckpointBackup() {
+        long startTime = System.currentTimeMillis();
+        Instant now = Instant.now();
+        String backupId = "checkpoint-" + BACKUP_TIMESTAMP.format(now);
+        Path backupDir = backupRoot().resolve(backupId);
+
+        log.info("Creating checkpoint backup: {}", backupId);
+
+        // Metadata is captured before the checkpoint: root hashes are only written after the
+        // trie nodes, so every captured root is guaranteed to be contained in the checkpoint.
+        List<BackupManifest.MerkleSnapshot> snapshots = metadataRepository.findAll().stream()
+                .filter(m -> m.getStatus() != MerkleStatus.DELETED)
+                .map(BackupManifest.MerkleSnapshot::from)
+                .toList();
+
+        createDirectory(backupDir);
+        rocksDbManager.createCheckpoint(backupDir.resolve(CHECKPOINT_DIR));
+
+        BackupManifest manifest = new BackupManifest();
+        manifest.setBackupId(backupId);
+        manifest.setType(BackupManifest.Type.CHECKPOINT);
+        manifest.setCreatedAt(now.toString());
+        manifest.setMerkles(new ArrayList<>(snapshots));
+        writeManifest(backupDir, manifest);
+
+        long duration = System.currentTimeMillis() - startTime;
+        log.info("Created checkpoint backup {} with {} merkles in {}ms", backupId, snapshots.size(), duration);
+
+        return toResponse(backupDir, manifest, duration);
+    }
+
+    /**
+     * Exports the column families of a single merkle to SST files together with its metadata row.
+     */
+    public BackupResponse exportMerkle(String identifier) {
+        long startTime = System.currentTimeMillis();
+
+        MerkleMetadata metadata = metadataRepository.findByIdentifier(identifier)
+                .orElseThrow(() -> new MerkleNotFoundException(identifier));
+        if (metadata.getStatus() == MerkleStatus.DELETED) {
+            throw new MerkleNotFoundException(identifier);
+        }
+
+        Instant now = Instant.now();
+        String backupId = identifier + "-" + BACKUP_TIMESTAMP.format(now);
+        Path backupDir = backupRoot().resolve(backupId);
+
+        log.info("Exporting merkle {} to backup {}", identifier, backupId);
+
+        BackupManifest.MerkleSnapshot snapshot = BackupManifest.MerkleSnapshot.from(metadata);
+
+        createDirectory(backupDir);
+        Map<String, Long> exported = rocksDbManager.exportMerkleColumnFamilies(identifier,
+                columnFamily -> backupDir.resolve(columnFamily + ".sst"));
+        long entries = exported.getOrDefault(identifier, 0L);
+        snapshot.setFile(entries > 0 ? identifier + ".sst" : null);
+        snapshot.setEntryCount(entries);
+        exported.forEach((columnFamily, count) -> {
+            if (!columnFamily.equals(identifier)) {
+                snapshot.getAuxiliary().add(new BackupManifest.AuxiliarySnapshot(
+                        auxiliarySuffix(identifier, columnFamily), count > 0 ? columnFamily + ".sst" : null, count));
+            }
+        });
+
+        BackupManifest manifest = new BackupManifest();
+        manifest.setBackupId(backupId);
+        manifest.setType(BackupManifest.Type.COLUMN_FAMILY);
+        manifest.setCreatedAt(now.toString());
+        manifest.setMerkles(new ArrayList<>(List.of(snapshot)));
+        writeManifest(backupDir, manifest);
+
+        long duration = System.currentTimeMillis() - startTime;
+        log.info("Exported merkle {} ({} entries) in {}ms", identifier, entries, duration);
+
+        return toResponse(backupDir, manifest, duration);
+    }
+
+    public List<BackupResponse> listBackups() {
+        Path root = backupRoot();
+        if (!Files.isDirectory(root)) {
+            return List.of();
+        }
+
+        try (Stream<Path> dirs = Files.list(root)) {
+            return dirs.filter(dir -> Files.exists(dir.resolve(MANIFEST_FILE)))
+                    .map(dir -> toResponse(dir, readManifest(dir), null))
+                    .sorted(Comparator.comparing(BackupResponse::getCreatedAt).reversed())
+                    .toList();
+        } catch (IOException e) {
+            throw new MerkleOperationException("Failed to list backups in " + root, e);
+        }
+    }
+
+    /**
+     * Restores merkles from a backup into the running instance.
+     * Existing merkles are never overwritten; use a target identifier to clone under a new name.
+     */
+    @Transactional
+    public RestoreBackupResponse restore(String backupId, RestoreBackupRequest request) {
+        long startTime = System.currentTimeMillis();
+        Path backupDir = resolveBackupDir(backupId);
+        BackupManifest manifest = readManifest(backupDir);
+
+        List<BackupManifest.MerkleSnapshot> selected = manifest.getMerkles().stream()
+                .filter(s -> request.getMerkleIdentifier() == null
+                        || s.getIdentifier().equals(request.getMerkleIdentifier()))
+                .toList();
+
+        if (request.getMerkleIdentifier() != null && selected.isEmpty()) {
+            throw new MerkleNotFoundException(request.getMerkleIdentifier());
+        }
+        if (request.getTargetIdentifier() != null && selected.size() != 1) {
+            throw new IllegalArgumentException("A target identifier requires exactly one merkle to restore");
+        }
+
+        // Check every target up front so a conflict does not leave half-imported column families behind
+        for (BackupManifest.MerkleSnapshot snapshot : selected) {
+            String target = targetIdentifier(request, snapshot);
+            if (metadataRepository.existsByIdentifier(target)) {
+                throw new DuplicateMerkleException(target);
+            }
+        }
+
+        List<String> restored = new ArrayList<>();
+        List<String> imported = new ArrayList<>();
+        long entriesImported = 0;
+
+        try {
+            for (BackupManifest.MerkleSnapshot snapshot : selected) {
+                String target = targetIdentifier(request, snapshot);
+
+                log.info("Restoring merkle {} from backup {} as {}", snapshot.getIdentifier(), backupId, target);
+
+                entriesImported += importColumnFamilies(backupDir, manifest, snapshot, target, imported);
+                rocksDbManager.persistRootHash(target,
+                        snapshot.getRootHash() != null ? HEX.parseHex(snapshot.getRootHash()) : null);
+
+                Map<String, Object> customMetadata = new HashMap<>(snapshot.getMetadata());
+                customMetadata.put("restoredFrom", backupId);
+
+                MerkleMetadata metadata = MerkleMetadata.builder()
+                        .identifier(target)
+                        .scheme(snapshot.getScheme())
+                        .rootHash(snapshot.getRootHash())
+                        .status(MerkleStatus.valueOf(snapshot.getStatus()))
+                        .customMetadata(customMetadata)
+                        .storeOriginalKeys(snapshot.getStoreOriginalKeys())
+                        .build();
+                metadata.touch();
+                metadataRepository.save(metadata);
+
+                restored.add(target);
+            }
+        } catch (RuntimeException e) {
+            // The metadata rows roll back with the transaction; the column families have to be dropped
+            discardColumnFamilies(imported, e);
+            throw e;
+        }
+
+        long duration = System.currentTimeMillis() - startTime;
+        log.info("Restored {} merkles from backup {} ({} entries) in {}ms",
+                restored.size(), backupId, entriesImported, duration);
+
+        return RestoreBackupResponse.builder()
+                .backupId(backupId)
+                .restoredMerkles(restored)
+                .entriesImported(entriesImported)
+                .durationMs(duration)
+                .build();
+    }
+
+    private String targetIdentifier(RestoreBackupRequest request, BackupManifest.MerkleSnapshot snapshot) {
+        return request.getTargetIdentifier() != null ? request.getTargetIdentifier() : snapshot.getIdentifier();
+    }
+
+    /**
+     * Imports the column family of a merkle and its auxiliary column families under the target
+     * identifier, adding each created column family to {@code imported}.
+     *
+     * @return number of entries imported into the merkle's own column family
+     */
+    private long importColumnFamilies(Path backupDir, BackupManifest manifest,
+                                      BackupManifest.MerkleSnapshot snapshot, String target, List<String> imported) {
+        if (manifest.getType() == BackupManifest.Type.COLUMN_FAMILY) {
+            importColumnFamily(target, snapshot.getFile() != null ? backupDir.resolve(snapshot.getFile()) : null,
+                    imported);
+            for (BackupManifest.AuxiliarySnapshot auxiliary : snapshot.getAuxiliary()) {
+                importColumnFamily(RocksDbManager.auxiliaryColumnFamily(target, auxiliary.getSuffix()),
+                        auxiliary.getFile() != null ? backupDir.resolve(auxiliary.getFile()) : null, imported);
+            }
+            return snapshot.getEntryCount() != null ? snapshot.getEntryCount() : 0;
+        }
+
+        Path checkpoint = backupDir.resolve(CHECKPOINT_DIR);
+        long entries = 0;
+        for (String columnFamily : rocksDbManager.getCheckpointMerkleColumnFamilies(checkpoint, snapshot.getIdentifier())) {
+            String targetColumnFamily = columnFamily.equals(snapshot.getIdentifier()) ? target
+                    : RocksDbManager.auxiliaryColumnFamily(target, auxiliarySuffix(snapshot.getIdentifier(), columnFamily));
+            long count = importFromCheckpoint(backupDir, checkpoint, columnFamily, targetColumnFamily, imported);
+            if (targetColumnFamily.equals(target)) {
+                entries = count;
+            }
+        }
+        return entries;
+    }
+
+    private void importColumnFamily(String columnFamily, Path sstFile, List<String> imported) {
+        rocksDbManager.importColumnFamily(columnFamily, sstFile);
+        imported.add(columnFamily);
+    }
+
+    private long importFromCheckpoint(Path backupDir, Path checkpoint, String columnFamily,
+                                      String targetColumnFamily, List<String> imported) {
+        // Checkpoints hold many column families: stage the requested one as an SST file first
+        Path staging = backupDir.resolve("restore-" + targetColumnFamily + "-" + System.currentTimeMillis() + ".sst");
+        try {
+            long entries = rocksDbManager.exportColumnFamilyFromCheckpoint(checkpoint, columnFamily, staging);
+            importColumnFamily(targetColumnFamily, entries > 0 ? staging : null, imported);
+            return entries;
+        } finally {
+            try {
+                Files.deleteIfExists(staging);
+            } catch (IOException e) {
+                log.warn("Failed to delete staging file {}: {}", staging, e.getMessage());
+            }
+        }
+    }
+
+    private void discardColumnFamilies(List<String> columnFamilies, RuntimeException failure) {
+        for (String columnFamily : columnFamilies) {
+            try {
+                rocksDbManager.deleteColumnFamily(columnFamily);
+            } catch (RuntimeException e) {
+                failure.addSuppressed(e);
+            }
+        }
+    }
+
+    private static String auxiliarySuffix(String identifier, String columnFamily) {
+        return columnFamily.substring(RocksDbManager.auxiliaryColumnFamily(identifier, "").length());
+    }
+
+    private Path backupRoot() {
+        return Paths.get(properties.getStorage().getBackupPath());
+    }
+
+    private Path resolveBackupDir(String backupId) {
+        if (backupId == null || !BACKUP_ID_PATTERN.matcher(backupId).matches()) {
+            throw new IllegalArgumentException("Invalid backup id: " + backupId);
+        }
+        Path dir = backupRoot().resolve(backupId);
+        if (!Files.exists(dir.resolve(MANIFEST_FILE))) {
+            throw new BackupNotFoundException(backupId);
+        }
+        return dir;
+    }
+
+    private void createDirectory(Path dir) {
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            throw new MerkleOperationException("Failed to create backup directory: " + dir, e);
+        }
+    }
+
+    private void writeManifest(Path backupDir, BackupManifest manifest) {
+        try {
+            MAPPER.writerWithDefaultPrettyPrinter().writeValue(backupDir.resolve(MANIFEST_FILE).toFile(), manifest);
+        } catch (IOException e) {
+            throw new MerkleOperationException("Failed to write backup manifest in " + backupDir, e);
+        }
+    }
+
+    private BackupManifest readManifest(Path backupDir) {
+        try {
+            return MAPPER.readValue(backupDir.resolve(MANIFEST_FILE).toFile(), BackupManifest.class);
+        } catch (IOException e) {
+            throw new MerkleOperationException("Failed to read backup manifest in " + backupDir, e);
+        }
+    }
+
+    private BackupResponse toResponse(Path backupDir, BackupManifest manifest, Long durationMs) {
+        return BackupResponse.builder()
+                .backupId(manifest.getBackupId())
+                .type(manifest.getType().name())
+                .path(backupDir.toAbsolutePath().toString())
+                .createdAt(manifest.getCreatedAt())
+                .merkles(manifest.getMerkles().stream().map(BackupManifest.MerkleSnapshot::getIdentifier).toList())
+                .sizeBytes(directorySize(backupDir))
+                .durationMs(durationMs)
+                .build();
+    }
+
+    private long directorySize(Path dir) {
+        try (Stream<Path> files = Files.walk(dir)) {
+            return files.filter(Files::isRegularFile)
+                    .mapToLong(file -> {
+                        try {
+                            return Files.size(file);
+                        } catch (IOException e) {
+                            return 0;
+                        }
+                    })
+                    .sum();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.bloxbean.cardano.dataprover.service.filter;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Blocked Bloom filter over 32-byte key hashes.
+ * <p>
+ * Each key sets all of its bits within one 512-bit block, so a lookup touches a single cache line.
+ * Key hashes are already uniform (Blake2b-256), so their first 24 bytes are used directly: one word
+ * picks the block and two derive the probe positions. Safe for concurrent adds and lookups; a key
+ * is reported as present from the moment its add returns.
+ */
+public final class BlockedBloomFilter {
+
+    private static final int BLOCK_BITS = 512;
+    private static final int BLOCK_WORDS = BLOCK_BITS / Long.SIZE;
+
+    private final AtomicLongArray words;
+    private final int blocks;
+    private final int probes;
+    private final long capacity;
+    private final AtomicLong insertions = new AtomicLong();
+
+    /**
+     * @param capacity   number of keys the filter is sized for
+     * @param bitsPerKey bits spent per key at capacity
+     */
+    public BlockedBloomFilter(long capacity, int bitsPerKey) {
+        if (capacity < 1 || bitsPerKey < 1) {
+            throw new IllegalArgumentException("capacity and bitsPerKey must be positive");
+        }
+        long bits = Math.multiplyExact(capacity, bitsPerKey);
+        long blockCount = Math.max(1, (bits + BLOCK_BITS - 1) / BLOCK_BITS);
+        if (blockCount * BLOCK_WORDS > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Filter too large: " + capacity + " keys");
+        }
+        this.blocks = (int) blockCount;
+        this.words = new AtomicLongArray(blocks * BLOCK_WORDS);
+        this.probes = (int) Math.max(1, Math.min(16, Math.round(bitsPerKey * Math.log(2))));
+        this.capacity = capacity;
+    }
+
+    public void put(byte[] keyHash) {
+        ByteBuffer buffer = ByteBuffer.wrap(keyHash);
+        int base = block(buffer.getLong()) * BLOCK_WORDS;
+        long h1 = buffer.getLong();
+        long h2 = buffer.getLong() | 1;
+        for (int i = 0; i < probes; i++) {
+            int bit = (int) ((h1 + i * h2) >>> 55);
+            long mask = 1L << bit;
+            int index = base + (bit >>> 6);
+            if ((words.get(index) & mask) == 0) {
+                words.getAndAccumulate(index, mask, (current, update) -> current | update);
+            }
+        }
+        insertions.incrementAndGet();
+    }
+
+    /**
+     * @return false if the key was definitely never added
+     */
+    public boolean mightContain(byte[] keyHash) {
+        ByteBuffer buffer = ByteBuffer.wrap(keyHash);
+        int base = block(buffer.getLong()) * BLOCK_WORDS;
+        long h1 = buffer.getLong();
+        long h2 = buffer.getLong() | 1;
+        for (int i = 0; i < probes; i++) {
+            int bit = (int) ((h1 + i * h2) >>> 55);
+            if ((words.get(base + (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long capacity() {
+        return capacity;
+    }
+
+    /**
+     * @return keys added so far, counting repeated keys every time
+     */
+    public long insertions() {
+        return insertions.get();
+    }
+
+    public long sizeBytes() {
+        return (long) words.length() * Long.BYTES;
+    }
+
+    private int block(long word) {
+        return (int) Long.remainderUnsigned(word, blocks);
+    }
+}
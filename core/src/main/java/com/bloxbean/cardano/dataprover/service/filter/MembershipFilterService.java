@@ -0,0 +1,222 @@
+package com.bloxbean.cardano.dataprover.service.filter;
+
+import com.bloxbean.cardano.dataprover.config.DataProverProperties;
+import com.bloxbean.cardano.dataprover.exception.MerkleOperationException;
+import com.bloxbean.cardano.dataprover.service.merkle.MerkleImplementation;
+import com.bloxbean.cardano.dataprover.service.merkle.hash.HashFunctions;
+import com.bloxbean.cardano.dataprover.service.storage.LeafValueIndex;
+import com.bloxbean.cardano.dataprover.service.storage.OriginalKeyIndex;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Memory-resident membership filters answering "definitely absent" for merkle keys without reading
+ * the trie.
+ * <p>
+ * A filter holds the Blake2b-256 hashes of a merkle's keys. New merkles start with an empty filter
+ * that every write feeds. A merkle without one (created before, restored, imported or after a restart)
+ * gets it built in the background on the first lookup, from the key hashes of its complete value or
+ * original key index, else from a streaming traversal of its trie, so the build never holds the
+ * merkle's entries; until it is ready, lookups fall through to the trie. Writes made during a build are replayed into the new filter before it
+ * replaces the old one, so a filter never misses a written key. Filters that grow past twice their
+ * capacity keep serving while a larger one is built.
+ */
+@Service
+public class MembershipFilterService {
+
+    private static final Logger log = LoggerFactory.getLogger(MembershipFilterService.class);
+
+    private final DataProverProperties properties;
+    private final LeafValueIndex valueIndex;
+    private final OriginalKeyIndex keyIndex;
+    private final Map<String, State> filters = new ConcurrentHashMap<>();
+    private final ExecutorService builder;
+
+    public MembershipFilterService(DataProverProperties properties, LeafValueIndex valueIndex,
+                                   OriginalKeyIndex keyIndex) {
+        this.properties = properties;
+        this.valueIndex = valueIndex;
+        this.keyIndex = keyIndex;
+        this.builder = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "membership-filter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static byte[] hashKey(byte[] key) {
+        return HashFunctions.blake2b256().hash(key);
+    }
+
+    /**
+     * Starts an empty filter for a new merkle.
+     */
+    public void create(String identifier) {
+        if (isEnabled()) {
+            filters.put(identifier, new State(newFilter(initialKeys())));
+        }
+    }
+
+    /**
+     * @return a callback adding the keys written to a merkle, for its implementation
+     */
+    public Consumer<List<byte[]>> indexer(String identifier) {
+        return keys -> add(identifier, keys);
+    }
+
+    /**
+     * Adds original keys to the merkle's filter and to any filter being built for it.
+     */
+    public void add(String identifier, List<byte[]> keys) {
+        State state = filters.get(identifier);
+        if (state == null || keys.isEmpty()) {
+            return;
+        }
+        List<byte[]> hashes = new ArrayList<>(keys.size());
+        for (byte[] key : keys) {
+            hashes.add(hashKey(key));
+        }
+        synchronized (state) {
+            for (byte[] hash : hashes) {
+                if (state.active != null) {
+                    state.active.put(hash);
+                }
+                if (state.pending != null) {
+                    state.pending.add(hash);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return false if the key is definitely not in the merkle; true if it may be, or no filter is ready
+     */
+    public boolean mightContain(String identifier, MerkleImplementation merkle, byte[] key) {
+        if (!isEnabled()) {
+            return true;
+        }
+        State state = filters.computeIfAbsent(identifier, id -> new State(null));
+        BlockedBloomFilter filter = state.active;
+        if (filter == null || filter.insertions() > 2 * filter.capacity()) {
+            scheduleBuild(identifier, merkle, state);
+        }
+        return filter == null || filter.mightContain(hashKey(key));
+    }
+
+    /**
+     * Forgets a merkle's filter, for merkles whose keys are gone.
+     */
+    public void drop(String identifier) {
+        filters.remove(identifier);
+    }
+
+    /**
+     * @return memory held by all filters, in bytes
+     */
+    public long sizeBytes() {
+        return filters.values().stream()
+            .map(state -> state.active)
+            .filter(filter -> filter != null)
+            .mapToLong(BlockedBloomFilter::sizeBytes)
+            .sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        builder.shutdownNow();
+        try {
+            builder.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void scheduleBuild(String identifier, MerkleImplementation merkle, State state) {
+        synchronized (state) {
+            if (state.pending != null) {
+                return;
+            }
+            state.pending = new ArrayList<>();
+        }
+        builder.execute(() -> build(identifier, merkle, state));
+    }
+
+    private void build(String identifier, MerkleImplementation merkle, State state) {
+        long startTime = System.currentTimeMillis();
+        try {
+            BlockedBloomFilter filter = newFilter(Math.max(initialKeys(), 2L * merkle.size()));
+            long keys = putKeyHashes(identifier, merkle, filter);
+            synchronized (state) {
+                for (byte[] hash : state.pending) {
+                    filter.put(hash);
+                }
+                state.active = filter;
+                state.pending = null;
+            }
+            log.info("Built membership filter of merkle {}: {} keys, {} KiB in {} ms",
+                identifier, keys, filter.sizeBytes() / 1024, System.currentTimeMillis() - startTime);
+        } catch (RuntimeException e) {
+            synchronized (state) {
+                state.pending = null;
+            }
+            log.warn("Failed to build membership filter of merkle {}: {}", identifier, e.getMessage());
+        }
+    }
+
+    /**
+     * Adds the key hashes of a merkle to a filter, from an index when one is complete.
+     *
+     * @return the number of key hashes added
+     */
+    private long putKeyHashes(String identifier, MerkleImplementation merkle, BlockedBloomFilter filter) {
+        if (valueIndex.isComplete(identifier)) {
+            return valueIndex.forEachKeyHash(identifier, filter::put);
+        }
+        if (keyIndex.isComplete(identifier)) {
+            try {
+                return keyIndex.scan(identifier, null, null, 0, (key, hashedKey) -> filter.put(hashedKey));
+            } catch (IOException e) {
+                throw new MerkleOperationException("Failed to scan original keys of merkle: " + identifier, e);
+            }
+        }
+        long before = filter.insertions();
+        merkle.forEachEntry(entry -> filter.put(entry.hashedKey()));
+        return filter.insertions() - before;
+    }
+
+    private BlockedBloomFilter newFilter(long capacity) {
+        return new BlockedBloomFilter(capacity, properties.getCache().getMembershipFilterBitsPerKey());
+    }
+
+    private long initialKeys() {
+        return properties.getCache().getMembershipFilterInitialKeys();
+    }
+
+    private boolean isEnabled() {
+        return Boolean.TRUE.equals(properties.getCache().getMembershipFilterEnabled());
+    }
+
+    /**
+     * The filter serving lookups, and the hashes written while a replacement is being built.
+     */
+    private static final class State {
+        private volatile BlockedBloomFilter active;
+        private List<byte[]> pending;
+
+        private State(BlockedBloomFilter active) {
+            this.active = active;
+        }
+    }
+}
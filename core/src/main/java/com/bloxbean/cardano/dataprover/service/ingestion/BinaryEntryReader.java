@@ -0,0 +1,56 @@
+package com.bloxbean.cardano.dataprover.service.ingestion;
+
+import com.bloxbean.cardano.dataprover.model.KeyValuePair;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads raw length-prefixed entries: {@code u32 keyLength | key | u32 valueLength | value},
+ * big-endian, repeated until the end of the stream.
+ */
+class BinaryEntryReader implements EntryStreamReader {
+
+    static final int MAX_KEY_LENGTH = 64 * 1024;
+    static final int MAX_VALUE_LENGTH = 16 * 1024 * 1024;
+
+    private final DataInputStream in;
+
+    BinaryEntryReader(InputStream in) {
+        this.in = new DataInputStream(new BufferedInputStream(in, 64 * 1024));
+    }
+
+    @Override
+    public KeyValuePair next() throws IOException {
+        int first = in.read();
+        if (first < 0) {
+            return null;
+        }
+        int keyLength = (first << 24) | (in.readUnsignedByte() << 16)
+                | (in.readUnsignedByte() << 8) | in.readUnsignedByte();
+        byte[] key = readField(keyLength, MAX_KEY_LENGTH, "key");
+        byte[] value = readField(in.readInt(), MAX_VALUE_LENGTH, "value");
+        return new KeyValuePair(key, value);
+    }
+
+    private byte[] readField(int length, int maxLength, String name) throws IOException {
+        if (length < 0 || length > maxLength) {
+            throw new IOException("Invalid " + name + " length " + length + " (max " + maxLength + ")");
+        }
+        byte[] bytes = new byte[length];
+        try {
+            in.readFully(bytes);
+        } catch (EOFException e) {
+            throw new IOException("Unexpected end of stream inside an entry " + name, e);
+        }
+        return bytes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
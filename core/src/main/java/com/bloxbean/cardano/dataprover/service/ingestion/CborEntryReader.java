@@ -0,0 +1,54 @@
+package com.bloxbean.cardano.dataprover.service.ingestion;
+
+import co.nstant.in.cbor.CborDecoder;
+import co.nstant.in.cbor.CborException;
+import co.nstant.in.cbor.model.Array;
+import co.nstant.in.cbor.model.ByteString;
+import co.nstant.in.cbor.model.DataItem;
+import com.bloxbean.cardano.dataprover.model.KeyValuePair;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Reads a CBOR sequence of two-element arrays {@code [key: bytes, value: bytes]}, one item at a time.
+ */
+class CborEntryReader implements EntryStreamReader {
+
+    private final InputStream in;
+    private final CborDecoder decoder;
+
+    CborEntryReader(InputStream in) {
+        this.in = new BufferedInputStream(in, 64 * 1024);
+        this.decoder = new CborDecoder(this.in);
+    }
+
+    @Override
+    public KeyValuePair next() throws IOException {
+        DataItem item;
+        try {
+            item = decoder.decodeNext();
+        } catch (CborException e) {
+            throw new IOException("Malformed CBOR entry stream", e);
+        }
+        if (item == null) {
+            return null;
+        }
+
+        if (item instanceof Array array) {
+            List<DataItem> items = array.getDataItems();
+            if (items.size() == 2 && items.get(0) instanceof ByteString key
+                    && items.get(1) instanceof ByteString value) {
+                return new KeyValuePair(key.getBytes(), value.getBytes());
+            }
+        }
+        throw new IllegalArgumentException("CBOR entry must be an array of two byte strings [key, value]");
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
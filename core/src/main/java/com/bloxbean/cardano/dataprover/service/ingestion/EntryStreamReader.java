@@ -0,0 +1,45 @@
+package com.bloxbean.cardano.dataprover.service.ingestion;
+
+import com.bloxbean.cardano.dataprover.model.KeyValuePair;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+
+/**
+ * Incremental reader of key/value entries from a request body.
+ * <p>
+ * An {@link IllegalArgumentException} from {@link #next()} rejects a single entry that was fully
+ * consumed, so reading can continue. An {@link IOException} means the stream framing is broken
+ * and reading must stop.
+ */
+public interface EntryStreamReader extends Closeable {
+
+    String NDJSON = "application/x-ndjson";
+    String CBOR = "application/cbor";
+    String OCTET_STREAM = "application/octet-stream";
+
+    /**
+     * @return the next entry, or null at the end of the stream
+     */
+    KeyValuePair next() throws IOException;
+
+    /**
+     * Creates a reader for the given content type.
+     *
+     * @param contentType NDJSON, CBOR sequence or length-prefixed binary
+     * @param in          the request body
+     */
+    static EntryStreamReader forContentType(String contentType, InputStream in) {
+        String mediaType = contentType != null
+                ? contentType.split(";")[0].trim().toLowerCase(Locale.ROOT) : "";
+        return switch (mediaType) {
+            case NDJSON -> new NdjsonEntryReader(in);
+            case CBOR -> new CborEntryReader(in);
+            case OCTET_STREAM -> new BinaryEntryReader(in);
+            default -> throw new IllegalArgumentException("Unsupported entry stream content type: " + contentType
+                    + " (expected " + NDJSON + ", " + CBOR + " or " + OCTET_STREAM + ")");
+        };
+    }
+}
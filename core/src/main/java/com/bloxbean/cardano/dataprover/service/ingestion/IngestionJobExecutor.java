@@ -0,0 +1,258 @@
+package com.bloxbean.cardano.dataprover.service.ingestion;
+
+import com.bloxbean.cardano.dataprover.config.DataProverProperties;
+import com.bloxbean.cardano.dataprover.model.IngestionJob;
+import com.bloxbean.cardano.dataprover.model.IngestionJobStatus;
+import com.bloxbean.cardano.dataprover.service.merkle.MerkleImplementation;
+import com.bloxbean.cardano.dataprover.service.merkle.MerkleRegistry;
+import com.bloxbean.cardano.dataprover.service.metrics.DataProverMetrics;
+import com.bloxbean.cardano.dataprover.service.provider.DataProvider;
+import com.bloxbean.cardano.dataprover.service.provider.DataProviderRegistry;
+import com.bloxbean.cardano.dataprover.service.provider.ValidationResult;
+import com.bloxbean.cardano.dataprover.service.storage.CompactionService;
+import io.micrometer.core.instrument.Counter;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs ingestion jobs on a bounded thread pool.
+ * <p>
+ * A job fetches the provider data, skips the records covered by its committed offset and writes
+ * the rest into the merkle. Every {@code checkpointInterval} records the merkle is committed and
+ * the offset is stored together with the root hash, so a crashed or cancelled job resumes from
+ * the last checkpoint. Providers must return records in a stable order for resumption to be exact.
+ * When bulk loads skip the write-ahead log, the merkle is flushed before each checkpoint is recorded.
+ */
+@Component
+public class IngestionJobExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(IngestionJobExecutor.class);
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final DataProverProperties properties;
+    private final IngestionJobStore jobStore;
+    private final MerkleRegistry merkleRegistry;
+    private final DataProviderRegistry providerRegistry;
+    private final DataProverMetrics metrics;
+    private final CompactionService compactionService;
+    private final ExecutorService executor;
+    private final Map<String, JobProgress> running = new ConcurrentHashMap<>();
+    private final Set<String> busyMerkles = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean shuttingDown;
+
+    public IngestionJobExecutor(DataProverProperties properties,
+                                IngestionJobStore jobStore,
+                                MerkleRegistry merkleRegistry,
+                                DataProviderRegistry providerRegistry,
+                                DataProverMetrics metrics,
+                                CompactionService compactionService) {
+        this.properties = properties;
+        this.jobStore = jobStore;
+        this.merkleRegistry = merkleRegistry;
+        this.providerRegistry = providerRegistry;
+        this.metrics = metrics;
+        this.compactionService = compactionService;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(properties.getIngestion().getMaxConcurrentJobs(), r -> {
+            Thread thread = new Thread(r, "ingestion-job-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void submit(String jobId) {
+        executor.submit(() -> run(jobId));
+    }
+
+    /**
+     * @return progress of the job if it is currently running on this instance
+     */
+    JobProgress getProgress(String jobId) {
+        return running.get(jobId);
+    }
+
+    /**
+     * Asks a running job to stop at the next record. The job checkpoints before stopping.
+     *
+     * @return true if the job was running
+     */
+    public boolean requestCancel(String jobId) {
+        JobProgress progress = running.get(jobId);
+        if (progress == null) {
+            return false;
+        }
+        progress.requestCancel();
+        return true;
+    }
+
+    private void run(String jobId) {
+        IngestionJob job = jobStore.get(jobId);
+        if (job.getStatus() != IngestionJobStatus.QUEUED) {
+            log.debug("Skipping ingestion job {} in status {}", jobId, job.getStatus());
+            return;
+        }
+
+        if (!busyMerkles.add(job.getMerkleIdentifier())) {
+            jobStore.finish(jobId, IngestionJobStatus.FAILED,
+                    "Another ingestion job is running for merkle: " + job.getMerkleIdentifier());
+            return;
+        }
+
+        JobProgress progress = new JobProgress(job.getCommittedOffset(),
+                job.getRecordsProcessed(), job.getRecordsSkipped());
+        // Registered before the job leaves QUEUED, so a cancel either reaches it here or cancels it
+        // while still queued, and then the job is not started
+        running.put(jobId, progress);
+        boolean started = false;
+        try {
+            started = jobStore.markRunning(jobId);
+        } finally {
+            if (!started) {
+                running.remove(jobId);
+                busyMerkles.remove(job.getMerkleIdentifier());
+            }
+        }
+        if (!started) {
+            log.info("Skipping ingestion job {}, no longer queued", jobId);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            log.info("Starting ingestion job {} for merkle {} using provider {} (offset {})",
+                    jobId, job.getMerkleIdentifier(), job.getProvider(), job.getCommittedOffset());
+
+            DataProvider<?> provider = providerRegistry.getProvider(job.getProvider());
+            IngestionJobStatus result = process(job, provider, progress);
+
+            if (result == IngestionJobStatus.QUEUED) {
+                jobStore.requeue(jobId);
+                log.info("Ingestion job {} interrupted by shutdown at offset {}, will resume on restart",
+                        jobId, progress.getOffset());
+                return;
+            }
+            jobStore.finish(jobId, result, null);
+            log.info("Ingestion job {} {}: {} processed, {} skipped",
+                    jobId, result, progress.getProcessed(), progress.getSkipped());
+        } catch (Exception e) {
+            log.error("Ingestion job {} failed at offset {}", jobId, progress.getOffset(), e);
+            jobStore.finish(jobId, IngestionJobStatus.FAILED, e.getMessage());
+        } finally {
+            metrics.recordIngestion(job.getMerkleIdentifier(), "job", System.nanoTime() - start);
+            running.remove(jobId);
+            busyMerkles.remove(job.getMerkleIdentifier());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> IngestionJobStatus process(IngestionJob job, DataProvider<?> provider, JobProgress progress) {
+        DataProvider<T> typedProvider = (DataProvider<T>) provider;
+        String jobId = job.getId();
+
+        MerkleImplementation merkle = merkleRegistry.getOrLoadMerkle(job.getMerkleIdentifier());
+        Counter entriesWritten = metrics.entriesWritten(job.getMerkleIdentifier());
+        List<T> dataList = typedProvider.fetchData(job.getConfig());
+        progress.setTotal(dataList.size());
+        jobStore.recordTotal(jobId, dataList.size());
+
+        long startOffset = job.getCommittedOffset();
+        if (startOffset > dataList.size()) {
+            throw new IllegalStateException("Provider returned " + dataList.size()
+                    + " records, fewer than the committed offset " + startOffset);
+        }
+        warnOnUncommittedWrites(job, merkle);
+
+        int checkpointInterval = properties.getIngestion().getCheckpointInterval();
+        long lastCheckpoint = startOffset;
+
+        try (CompactionService.BulkLoad bulkLoad =
+                     compactionService.beginBulkLoad(job.getMerkleIdentifier(), dataList.size() - startOffset)) {
+            for (int i = (int) startOffset; i < dataList.size(); i++) {
+                if (progress.isCancelRequested() || shuttingDown) {
+                    checkpoint(jobId, merkle, progress, bulkLoad);
+                    return progress.isCancelRequested() ? IngestionJobStatus.CANCELLED : IngestionJobStatus.QUEUED;
+                }
+
+                T data = dataList.get(i);
+                try {
+                    ValidationResult validation = typedProvider.validate(data);
+                    if (!validation.isValid()) {
+                        progress.recordSkipped(validation.getErrorMessage());
+                    } else {
+                        merkle.put(typedProvider.serializeKey(data), typedProvider.serializeValue(data));
+                        progress.recordProcessed();
+                        entriesWritten.increment();
+                    }
+                } catch (Exception e) {
+                    log.warn("Error processing record {} of job {}: {}", i, jobId, e.getMessage());
+                    progress.recordSkipped("Record " + i + ": " + e.getMessage());
+                }
+
+                if (progress.getOffset() - lastCheckpoint >= checkpointInterval) {
+                    checkpoint(jobId, merkle, progress, bulkLoad);
+                    lastCheckpoint = progress.getOffset();
+                }
+            }
+
+            checkpoint(jobId, merkle, progress, bulkLoad);
+            return IngestionJobStatus.COMPLETED;
+        }
+    }
+
+    private void checkpoint(String jobId, MerkleImplementation merkle, JobProgress progress,
+                            CompactionService.BulkLoad bulkLoad) {
+        // Trie nodes must be durable before the offset that covers them is recorded
+        merkle.commit();
+        bulkLoad.flush();
+        byte[] rootHash = merkle.getRootHash();
+        jobStore.checkpoint(jobId, progress.getOffset(), progress.getProcessed(), progress.getSkipped(),
+                rootHash != null ? HEX.formatHex(rootHash) : null);
+        log.debug("Checkpointed ingestion job {} at offset {}", jobId, progress.getOffset());
+    }
+
+    /**
+     * A resumed job whose merkle root differs from its last checkpoint crashed after writing past the
+     * committed offset. Those records are applied again; schemes that update nodes in place (SMT, log)
+     * may then hold them twice or in a different order than a clean run.
+     */
+    private void warnOnUncommittedWrites(IngestionJob job, MerkleImplementation merkle) {
+        if (job.getRootHash() == null) {
+            return;
+        }
+        byte[] rootHash = merkle.getRootHash();
+        String current = rootHash != null ? HEX.formatHex(rootHash) : null;
+        if (!job.getRootHash().equalsIgnoreCase(String.valueOf(current))) {
+            log.warn("Merkle {} root {} differs from the root {} checkpointed by job {}; records after offset {} are replayed",
+                    job.getMerkleIdentifier(), current, job.getRootHash(), job.getId(), job.getCommittedOffset());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Running jobs stop at their next record and checkpoint; they are resumed on restart
+        shuttingDown = true;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
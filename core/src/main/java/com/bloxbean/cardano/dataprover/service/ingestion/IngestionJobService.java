@@ -0,0 +1,315 @@
+package com.bloxbean.cardano.dataprover.service.ingestion;
+
+import com.bloxbean.cardano.dataprover.config.DataProverProperties;
+import com.bloxbean.cardano.dataprover.dto.IngestRequest;
+import com.bloxbean.cardano.dataprover.dto.IngestionJobResponse;
+import com.bloxbean.cardano.dataprover.dto.ProviderIngestRequest;
+import com.bloxbean.cardano.dataprover.exception.IngestionJobConflictException;
+import com.bloxbean.cardano.dataprover.exception.MerkleArchivedException;
+import com.bloxbean.cardano.dataprover.exception.MerkleNotFoundException;
+import com.bloxbean.cardano.dataprover.model.IngestionJob;
+import com.bloxbean.cardano.dataprover.model.IngestionJobStatus;
+import com.bloxbean.cardano.dataprover.model.MerkleMetadata;
+import com.bloxbean.cardano.dataprover.model.MerkleStatus;
+import com.bloxbean.cardano.dataprover.repository.IngestionJobRepository;
+import com.bloxbean.cardano.dataprover.repository.MerkleMetadataRepository;
+import com.bloxbean.cardano.dataprover.service.IngestionService;
+import com.bloxbean.cardano.dataprover.service.provider.DataProviderRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Service for submitting and tracking asynchronous ingestion jobs.
+ * <p>
+ * Submission only validates the request and persists a QUEUED job; the work itself runs on
+ * {@link IngestionJobExecutor}, or on {@link ProofMaterializationExecutor} for proof materialisation
+ * jobs, which are tracked, cancelled and resumed here too. Jobs left QUEUED or RUNNING by a previous
+ * process are resumed from their last checkpoint when the application starts.
+ */
+@Service
+public class IngestionJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(IngestionJobService.class);
+    private static final Set<IngestionJobStatus> ACTIVE_STATUSES =
+            EnumSet.of(IngestionJobStatus.QUEUED, IngestionJobStatus.RUNNING);
+    private static final long SSE_TIMEOUT_MS = TimeUnit.HOURS.toMillis(1);
+
+    private final DataProverProperties properties;
+    private final IngestionJobRepository jobRepository;
+    private final IngestionJobStore jobStore;
+    private final IngestionJobExecutor jobExecutor;
+    private final ProofMaterializationExecutor materializationExecutor;
+    private final IngestionService ingestionService;
+    private final DataProviderRegistry providerRegistry;
+    private final MerkleMetadataRepository metadataRepository;
+    private final ScheduledExecutorService progressScheduler;
+
+    public IngestionJobService(DataProverProperties properties,
+                               IngestionJobRepository jobRepository,
+                               IngestionJobStore jobStore,
+                               IngestionJobExecutor jobExecutor,
+                               ProofMaterializationExecutor materializationExecutor,
+                               IngestionService ingestionService,
+                               DataProviderRegistry providerRegistry,
+                               MerkleMetadataRepository metadataRepository) {
+        this.properties = properties;
+        this.jobRepository = jobRepository;
+        this.jobStore = jobStore;
+        this.jobExecutor = jobExecutor;
+        this.materializationExecutor = materializationExecutor;
+        this.ingestionService = ingestionService;
+        this.providerRegistry = providerRegistry;
+        this.metadataRepository = metadataRepository;
+        this.progressScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "ingestion-progress");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Submits a provider ingestion into an existing merkle.
+     */
+    public IngestionJobResponse submit(String merkleIdentifier, IngestRequest request) {
+        MerkleMetadata metadata = metadataRepository.findByIdentifier(merkleIdentifier)
+                .orElseThrow(() -> new MerkleNotFoundException(merkleIdentifier));
+        if (metadata.getStatus() == MerkleStatus.DELETED) {
+            throw new MerkleNotFoundException(merkleIdentifier);
+        }
+        if (metadata.getStatus() == MerkleStatus.ARCHIVED) {
+            throw new MerkleArchivedException(merkleIdentifier);
+        }
+        return enqueue(merkleIdentifier, request.getProvider(), request.getConfig());
+    }
+
+    /**
+     * Submits a provider ingestion, creating the merkle first when the request allows.
+     */
+    public IngestionJobResponse submit(ProviderIngestRequest request) {
+        // Fail on an unknown provider before anything is created
+        providerRegistry.getProvider(request.getProvider());
+        ingestionService.ensureMerkle(request);
+        return submit(request.getMerkleName(), toIngestRequest(request));
+    }
+
+    public IngestionJobResponse getJob(String jobId) {
+        return toResponse(jobStore.get(jobId));
+    }
+
+    public Page<IngestionJobResponse> listJobs(String merkleIdentifier, Pageable pageable) {
+        Page<IngestionJob> jobs = merkleIdentifier != null
+                ? jobRepository.findByMerkleIdentifierOrderByCreatedAtDesc(merkleIdentifier, pageable)
+                : jobRepository.findAllByOrderByCreatedAtDesc(pageable);
+        return jobs.map(this::toResponse);
+    }
+
+    /**
+     * Cancels a job. Queued jobs are cancelled immediately; running jobs stop at the next record
+     * after checkpointing, so their work so far stays in the merkle. Proof materialisations drop
+     * their partial proofs instead.
+     */
+    public IngestionJobResponse cancel(String jobId) {
+        IngestionJob job = jobStore.get(jobId);
+        if (job.getStatus().isTerminal()) {
+            throw new IngestionJobConflictException("Ingestion job already " + job.getStatus() + ": " + jobId);
+        }
+
+        // A job being started moves from queued to running on this instance, so one of the first two
+        // checks sees it; the third catches it if it started in between
+        if (!requestCancel(job) && !jobStore.cancelQueued(jobId) && !requestCancel(job)) {
+            IngestionJob current = jobStore.get(jobId);
+            if (current.getStatus().isTerminal()) {
+                throw new IngestionJobConflictException("Ingestion job already " + current.getStatus() + ": " + jobId);
+            }
+            // Left RUNNING by a process that no longer runs it
+            jobStore.finish(jobId, IngestionJobStatus.CANCELLED, null);
+        }
+        log.info("Cancellation requested for ingestion job {}", jobId);
+        return getJob(jobId);
+    }
+
+    /**
+     * Resumes a failed or cancelled job from its last checkpoint. A proof materialisation runs again
+     * for the root it was submitted for.
+     */
+    public IngestionJobResponse resume(String jobId) {
+        IngestionJob job = jobStore.get(jobId);
+        if (job.getStatus() != IngestionJobStatus.FAILED && job.getStatus() != IngestionJobStatus.CANCELLED) {
+            throw new IngestionJobConflictException(
+                    "Only FAILED or CANCELLED jobs can be resumed, job " + jobId + " is " + job.getStatus());
+        }
+        if (jobRepository.existsByMerkleIdentifierAndStatusIn(job.getMerkleIdentifier(), ACTIVE_STATUSES)) {
+            throw new IngestionJobConflictException(
+                    "Merkle already has an active ingestion job: " + job.getMerkleIdentifier());
+        }
+
+        jobStore.requeue(jobId);
+        run(job);
+        log.info("Resuming ingestion job {} from offset {}", jobId, job.getCommittedOffset());
+        return getJob(jobId);
+    }
+
+    /**
+     * Streams job progress as server-sent events until the job reaches a terminal state.
+     */
+    public SseEmitter streamJob(String jobId) {
+        jobStore.get(jobId);
+
+        SseEmitter emitter = new SseEmitter(SSE_TIMEOUT_MS);
+        AtomicReference<ScheduledFuture<?>> task = new AtomicReference<>();
+        Runnable stop = () -> {
+            ScheduledFuture<?> future = task.get();
+            if (future != null) {
+                future.cancel(false);
+            }
+        };
+        emitter.onCompletion(stop);
+        emitter.onTimeout(stop);
+        emitter.onError(e -> stop.run());
+
+        task.set(progressScheduler.scheduleAtFixedRate(() -> {
+            try {
+                IngestionJobResponse response = getJob(jobId);
+                emitter.send(SseEmitter.event().name("progress").data(response));
+                if (IngestionJobStatus.valueOf(response.getStatus()).isTerminal()) {
+                    emitter.complete();
+                    stop.run();
+                }
+            } catch (IOException | RuntimeException e) {
+                emitter.completeWithError(e);
+                stop.run();
+            }
+        }, 0, properties.getIngestion().getProgressIntervalMs(), TimeUnit.MILLISECONDS));
+
+        return emitter;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJobs() {
+        if (!Boolean.TRUE.equals(properties.getIngestion().getResumeOnStartup())) {
+            return;
+        }
+
+        List<IngestionJob> interrupted = jobRepository.findByStatusIn(ACTIVE_STATUSES);
+        for (IngestionJob job : interrupted) {
+            log.info("Resuming interrupted ingestion job {} for merkle {} from offset {}",
+                    job.getId(), job.getMerkleIdentifier(), job.getCommittedOffset());
+            jobStore.requeue(job.getId());
+            run(job);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        progressScheduler.shutdownNow();
+    }
+
+    private IngestionJobResponse enqueue(String merkleIdentifier, String providerName,
+                                         Map<String, Object> config) {
+        providerRegistry.getProvider(providerName);
+
+        // Racing submissions that both pass this check are caught by the executor's per-merkle guard
+        if (jobRepository.existsByMerkleIdentifierAndStatusIn(merkleIdentifier, ACTIVE_STATUSES)) {
+            throw new IngestionJobConflictException(
+                    "Merkle already has an active ingestion job: " + merkleIdentifier);
+        }
+
+        IngestionJob job = new IngestionJob();
+        job.setId(UUID.randomUUID().toString());
+        job.setMerkleIdentifier(merkleIdentifier);
+        job.setProvider(providerName);
+        job.setConfig(config != null ? new HashMap<>(config) : new HashMap<>());
+        jobRepository.save(job);
+
+        jobExecutor.submit(job.getId());
+        log.info("Submitted ingestion job {} for merkle {} using provider {}",
+                job.getId(), merkleIdentifier, providerName);
+        return toResponse(job);
+    }
+
+    private IngestRequest toIngestRequest(ProviderIngestRequest request) {
+        IngestRequest ingestRequest = new IngestRequest();
+        ingestRequest.setProvider(request.getProvider());
+        ingestRequest.setConfig(request.getConfig());
+        return ingestRequest;
+    }
+
+    private static boolean isMaterialization(IngestionJob job) {
+        return ProofMaterializationExecutor.PROVIDER.equals(job.getProvider());
+    }
+
+    private void run(IngestionJob job) {
+        if (isMaterialization(job)) {
+            materializationExecutor.submit(job.getId());
+        } else {
+            jobExecutor.submit(job.getId());
+        }
+    }
+
+    private boolean requestCancel(IngestionJob job) {
+        return isMaterialization(job)
+                ? materializationExecutor.requestCancel(job.getId())
+                : jobExecutor.requestCancel(job.getId());
+    }
+
+    private IngestionJobResponse toResponse(IngestionJob job) {
+        IngestionJobResponse.Builder builder = IngestionJobResponse.builder()
+                .jobId(job.getId())
+                .merkleIdentifier(job.getMerkleIdentifier())
+                .provider(job.getProvider())
+                .status(job.getStatus().name())
+                .totalRecords(job.getTotalRecords())
+                .recordsProcessed(job.getRecordsProcessed())
+                .recordsSkipped(job.getRecordsSkipped())
+                .committedOffset(job.getCommittedOffset())
+                .currentOffset(job.getCommittedOffset())
+                .rootHash(job.getRootHash())
+                .errorMessage(job.getErrorMessage())
+                .createdAt(format(job.getCreatedAt()))
+                .startedAt(format(job.getStartedAt()))
+                .finishedAt(format(job.getFinishedAt()))
+                .lastCheckpointAt(format(job.getLastCheckpointAt()));
+
+        JobProgress progress = isMaterialization(job)
+                ? materializationExecutor.getProgress(job.getId())
+                : jobExecutor.getProgress(job.getId());
+        if (progress != null) {
+            if (progress.getTotal() != null) {
+                builder.totalRecords(progress.getTotal());
+            }
+            builder.recordsProcessed(progress.getProcessed())
+                    .recordsSkipped(progress.getSkipped())
+                    .currentOffset(progress.getOffset())
+                    .recordsPerSecond(progress.getRate())
+                    .etaSeconds(progress.getEtaSeconds())
+                    .cancelRequested(progress.isCancelRequested())
+                    .errors(progress.getErrors());
+        }
+        return builder.build();
+    }
+
+    private String format(Instant instant) {
+        return instant != null ? instant.toString() : null;
+    }
+}
@@ -0,0 +1,120 @@
+package com.bloxbean.cardano.dataprover.service.ingestion;
+
+import com.bloxbean.cardano.dataprover.exception.IngestionJobNotFoundException;
+import com.bloxbean.cardano.dataprover.exception.MerkleNotFoundException;
+import com.bloxbean.cardano.dataprover.model.IngestionJob;
+import com.bloxbean.cardano.dataprover.model.IngestionJobStatus;
+import com.bloxbean.cardano.dataprover.model.MerkleMetadata;
+import com.bloxbean.cardano.dataprover.repository.IngestionJobRepository;
+import com.bloxbean.cardano.dataprover.repository.MerkleMetadataRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Short transactional state transitions of ingestion jobs.
+ * Each call is its own transaction so a running job never holds a database connection
+ * between checkpoints.
+ */
+@Component
+public class IngestionJobStore {
+
+    private final IngestionJobRepository jobRepository;
+    private final MerkleMetadataRepository metadataRepository;
+
+    public IngestionJobStore(IngestionJobRepository jobRepository,
+                             MerkleMetadataRepository metadataRepository) {
+        this.jobRepository = jobRepository;
+        this.metadataRepository = metadataRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public IngestionJob get(String jobId) {
+        return jobRepository.findById(jobId)
+                .orElseThrow(() -> new IngestionJobNotFoundException(jobId));
+    }
+
+    /**
+     * Starts a queued job.
+     *
+     * @return false if the job is no longer queued, e.g. cancelled since it was dequeued
+     */
+    @Transactional
+    public boolean markRunning(String jobId) {
+        if (jobRepository.transition(jobId, IngestionJobStatus.QUEUED, IngestionJobStatus.RUNNING) == 0) {
+            return false;
+        }
+        IngestionJob job = get(jobId);
+        if (job.getStartedAt() == null) {
+            job.setStartedAt(Instant.now());
+        }
+        job.setFinishedAt(null);
+        job.setErrorMessage(null);
+        jobRepository.save(job);
+        return true;
+    }
+
+    /**
+     * Cancels a job that has not started.
+     *
+     * @return false if the job is no longer queued
+     */
+    @Transactional
+    public boolean cancelQueued(String jobId) {
+        if (jobRepository.transition(jobId, IngestionJobStatus.QUEUED, IngestionJobStatus.CANCELLED) == 0) {
+            return false;
+        }
+        IngestionJob job = get(jobId);
+        job.setFinishedAt(Instant.now());
+        jobRepository.save(job);
+        return true;
+    }
+
+    @Transactional
+    public void recordTotal(String jobId, long totalRecords) {
+        IngestionJob job = get(jobId);
+        job.setTotalRecords(totalRecords);
+        jobRepository.save(job);
+    }
+
+    /**
+     * Records a checkpoint: the job offset and counters together with the merkle root hash,
+     * in one transaction so the metadata root always matches a committed offset.
+     */
+    @Transactional
+    public void checkpoint(String jobId, long offset, long processed, long skipped, String rootHash) {
+        IngestionJob job = get(jobId);
+        job.setCommittedOffset(offset);
+        job.setRecordsProcessed(processed);
+        job.setRecordsSkipped(skipped);
+        job.setLastCheckpointAt(Instant.now());
+
+        if (rootHash != null && !rootHash.equals(job.getRootHash())) {
+            MerkleMetadata metadata = metadataRepository.findByIdentifier(job.getMerkleIdentifier())
+                    .orElseThrow(() -> new MerkleNotFoundException(job.getMerkleIdentifier()));
+            metadata.setRootHash(rootHash);
+            metadata.touch();
+            metadataRepository.save(metadata);
+        }
+        job.setRootHash(rootHash);
+        jobRepository.save(job);
+    }
+
+    @Transactional
+    public void finish(String jobId, IngestionJobStatus status, String errorMessage) {
+        IngestionJob job = get(jobId);
+        job.setStatus(status);
+        job.setErrorMessage(errorMessage);
+        job.setFinishedAt(Instant.now());
+        jobRepository.save(job);
+    }
+
+    @Transactional
+    public IngestionJob requeue(String jobId) {
+        IngestionJob job = get(jobId);
+        job.setStatus(IngestionJobStatus.QUEUED);
+        job.setFinishedAt(null);
+        return jobRepository.save(job);
+    }
+}
@@ -0,0 +1,104 @@
+package com.bloxbean.cardano.dataprover.service.ingestion;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-memory progress of a running ingestion or proof materialisation job.
+ * Updated by the job thread and read by status queries; counters are cumulative across resumes.
+ */
+final class JobProgress {
+
+    private static final int MAX_ERRORS = 100;
+
+    private final long startNanos = System.nanoTime();
+    private final long startOffset;
+    private final List<String> errors = new ArrayList<>();
+
+    private volatile long offset;
+    private volatile long processed;
+    private volatile long skipped;
+    private volatile Long total;
+    private volatile boolean cancelRequested;
+
+    JobProgress(long startOffset, long processed, long skipped) {
+        this.startOffset = startOffset;
+        this.offset = startOffset;
+        this.processed = processed;
+        this.skipped = skipped;
+    }
+
+    void recordProcessed() {
+        processed++;
+        offset++;
+    }
+
+    void recordProcessed(long count) {
+        processed += count;
+        offset += count;
+    }
+
+    void recordSkipped(String error) {
+        skipped++;
+        offset++;
+        synchronized (errors) {
+            if (errors.size() < MAX_ERRORS) {
+                errors.add(error);
+            }
+        }
+    }
+
+    void setTotal(long total) {
+        this.total = total;
+    }
+
+    void requestCancel() {
+        this.cancelRequested = true;
+    }
+
+    boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    long getOffset() {
+        return offset;
+    }
+
+    long getProcessed() {
+        return processed;
+    }
+
+    long getSkipped() {
+        return skipped;
+    }
+
+    Long getTotal() {
+        return total;
+    }
+
+    List<String> getErrors() {
+        synchronized (errors) {
+            return List.copyOf(errors);
+        }
+    }
+
+    /**
+     * @return records per second since this run started
+     */
+    double getRate() {
+        double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+        return seconds > 0 ? (offset - startOffset) / seconds : 0;
+    }
+
+    /**
+     * @return estimated seconds until completion, or null while the total or rate is unknown
+     */
+    Long getEtaSeconds() {
+        Long totalRecords = total;
+        double rate = getRate();
+        if (totalRecords == null || rate <= 0) {
+            return null;
+        }
+        return (long) Math.ceil(Math.max(0, totalRecords - offset) / rate);
+    }
+}
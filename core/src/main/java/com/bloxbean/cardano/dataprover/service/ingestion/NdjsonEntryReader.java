@@ -0,0 +1,77 @@
+package com.bloxbean.cardano.dataprover.service.ingestion;
+
+import com.bloxbean.cardano.dataprover.model.KeyValuePair;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HexFormat;
+
+/**
+ * Reads newline-delimited JSON objects of the form {@code {"key":"<hex>","value":"<hex>"}}
+ * with Jackson's streaming parser, one object at a time.
+ */
+class NdjsonEntryReader implements EntryStreamReader {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final InputStream in;
+    private JsonParser parser;
+
+    NdjsonEntryReader(InputStream in) {
+        this.in = in;
+    }
+
+    @Override
+    public KeyValuePair next() throws IOException {
+        if (parser == null) {
+            parser = JSON_FACTORY.createParser(in);
+        }
+
+        JsonToken token = parser.nextToken();
+        if (token == null) {
+            return null;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new IOException("Expected a JSON object at line " + parser.currentLocation().getLineNr());
+        }
+
+        String key = null;
+        String value = null;
+        while ((token = parser.nextToken()) != JsonToken.END_OBJECT) {
+            if (token == null) {
+                throw new IOException("Unexpected end of stream inside a JSON object");
+            }
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("key".equals(field)) {
+                key = parser.getValueAsString();
+            } else if ("value".equals(field)) {
+                value = parser.getValueAsString();
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("Entry at line " + parser.currentLocation().getLineNr()
+                    + " must have hex 'key' and 'value' fields");
+        }
+        return new KeyValuePair(decodeHex(key), decodeHex(value));
+    }
+
+    private static byte[] decodeHex(String hex) {
+        String stripped = hex.startsWith("0x") ? hex.substring(2) : hex;
+        return HEX.parseHex(stripped);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (parser != null) {
+            parser.close();
+        }
+    }
+}
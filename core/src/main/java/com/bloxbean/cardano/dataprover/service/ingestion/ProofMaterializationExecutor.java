@@ -0,0 +1,313 @@
+package com.bloxbean.cardano.dataprover.service.ingestion;
+
+import com.bloxbean.cardano.dataprover.config.DataProverProperties;
+import com.bloxbean.cardano.dataprover.exception.MerkleOperationException;
+import com.bloxbean.cardano.dataprover.model.IngestionJob;
+import com.bloxbean.cardano.dataprover.model.IngestionJobStatus;
+import com.bloxbean.cardano.dataprover.service.merkle.MerkleImplementation;
+import com.bloxbean.cardano.dataprover.service.merkle.MerkleRegistry;
+import com.bloxbean.cardano.dataprover.service.storage.MaterializedProofStore;
+import com.bloxbean.cardano.dataprover.service.storage.MaterializedProofStore.StoredProof;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs proof materialisation jobs on their own thread pool, apart from ingestion jobs.
+ * <p>
+ * A materialisation job is an ingestion job with provider {@link #PROVIDER} whose root hash is the
+ * root the proofs are built for, recorded at submission. The job visits the merkle's entries and
+ * hands batches of leaves to a bounded worker pool that generates and stores their proofs, so only
+ * a few batches of proofs are in memory at a time; the leaves are too, except for MPF, which lists
+ * all of them at once (see {@link MerkleImplementation#forEachEntry}). It fails if the merkle's root is not, or
+ * stops being, the recorded one; a cancelled or interrupted job keeps no proofs and runs again from
+ * the start when resumed.
+ */
+@Component
+public class ProofMaterializationExecutor {
+
+    /**
+     * Provider name marking materialisation jobs among ingestion jobs.
+     */
+    public static final String PROVIDER = "proof-materialization";
+
+    private static final Logger log = LoggerFactory.getLogger(ProofMaterializationExecutor.class);
+    private static final HexFormat HEX = HexFormat.of();
+    private static final int BATCH_SIZE = 1000;
+
+    private final IngestionJobStore jobStore;
+    private final MerkleRegistry merkleRegistry;
+    private final MaterializedProofStore proofStore;
+    private final ExecutorService executor;
+    private final ExecutorService workers;
+    private final Map<String, JobProgress> running = new ConcurrentHashMap<>();
+    private final Set<String> busyMerkles = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean shuttingDown;
+
+    public ProofMaterializationExecutor(DataProverProperties properties,
+                                        IngestionJobStore jobStore,
+                                        MerkleRegistry merkleRegistry,
+                                        MaterializedProofStore proofStore) {
+        this.jobStore = jobStore;
+        this.merkleRegistry = merkleRegistry;
+        this.proofStore = proofStore;
+
+        AtomicInteger jobThreads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(properties.getIngestion().getMaxConcurrentJobs(), r -> {
+            Thread thread = new Thread(r, "proof-materialization-" + jobThreads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // A full queue makes the job thread generate the batch itself, which bounds the leaves in flight
+        int threads = Runtime.getRuntime().availableProcessors();
+        AtomicInteger workerThreads = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads), r -> {
+                    Thread thread = new Thread(r, "proof-worker-" + workerThreads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    public void submit(String jobId) {
+        executor.submit(() -> run(jobId));
+    }
+
+    /**
+     * @return progress of the job if it is currently running on this instance
+     */
+    JobProgress getProgress(String jobId) {
+        return running.get(jobId);
+    }
+
+    /**
+     * @return true while a materialisation of the merkle runs on this instance
+     */
+    public boolean isRunning(String merkleIdentifier) {
+        return busyMerkles.contains(merkleIdentifier);
+    }
+
+    /**
+     * Asks a running job to stop at the next batch. Its partial proofs are dropped.
+     *
+     * @return true if the job was running
+     */
+    public boolean requestCancel(String jobId) {
+        JobProgress progress = running.get(jobId);
+        if (progress == null) {
+            return false;
+        }
+        progress.requestCancel();
+        return true;
+    }
+
+    private void run(String jobId) {
+        IngestionJob job = jobStore.get(jobId);
+        if (job.getStatus() != IngestionJobStatus.QUEUED) {
+            log.debug("Skipping proof materialisation job {} in status {}", jobId, job.getStatus());
+            return;
+        }
+
+        String identifier = job.getMerkleIdentifier();
+        if (!busyMerkles.add(identifier)) {
+            jobStore.finish(jobId, IngestionJobStatus.FAILED,
+                    "Another proof materialisation is running for merkle: " + identifier);
+            return;
+        }
+
+        JobProgress progress = new JobProgress(0, 0, 0);
+        // Registered before the job leaves QUEUED, as for ingestion jobs, so a cancel is never lost
+        running.put(jobId, progress);
+        boolean started = false;
+        try {
+            started = jobStore.markRunning(jobId);
+        } finally {
+            if (!started) {
+                running.remove(jobId);
+                busyMerkles.remove(identifier);
+            }
+        }
+        if (!started) {
+            log.info("Skipping proof materialisation job {}, no longer queued", jobId);
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+        try {
+            IngestionJobStatus result = materialize(job, progress);
+            if (result == IngestionJobStatus.QUEUED) {
+                jobStore.requeue(jobId);
+                log.info("Proof materialisation job {} interrupted by shutdown, will run again on restart", jobId);
+                return;
+            }
+            jobStore.finish(jobId, result, null);
+            log.info("Proof materialisation job {} {}: {} proofs of merkle {} in {}ms",
+                    jobId, result, progress.getProcessed(), identifier, System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            log.error("Proof materialisation job {} failed after {} proofs", jobId, progress.getProcessed(), e);
+            jobStore.finish(jobId, IngestionJobStatus.FAILED, e.getMessage());
+        } finally {
+            running.remove(jobId);
+            busyMerkles.remove(identifier);
+        }
+    }
+
+    private IngestionJobStatus materialize(IngestionJob job, JobProgress progress) throws InterruptedException {
+        String identifier = job.getMerkleIdentifier();
+        byte[] rootHash = HEX.parseHex(job.getRootHash());
+        MerkleImplementation merkle = merkleRegistry.getOrLoadMerkle(identifier);
+        requireRoot(merkle, rootHash, identifier);
+
+        long total = merkle.size();
+        progress.setTotal(total);
+        jobStore.recordTotal(job.getId(), total);
+
+        MaterializedProofStore.Writer writer = proofStore.begin(identifier);
+        Deque<Future<Batch>> pending = new ArrayDeque<>();
+        AtomicLong proofBytes = new AtomicLong();
+        List<MerkleImplementation.Entry> leaves = new ArrayList<>(BATCH_SIZE);
+        try {
+            merkle.forEachEntry(entry -> {
+                if (progress.isCancelRequested() || shuttingDown) {
+                    throw new Stopped();
+                }
+                if (entry.originalKey() == null) {
+                    throw new MerkleOperationException("Leaf without original key, proofs cannot be materialised");
+                }
+                leaves.add(entry);
+                if (leaves.size() == BATCH_SIZE) {
+                    pending.add(submitBatch(merkle, writer, List.copyOf(leaves)));
+                    leaves.clear();
+                    collect(pending, progress, proofBytes, false);
+                }
+            });
+            if (!leaves.isEmpty()) {
+                pending.add(submitBatch(merkle, writer, List.copyOf(leaves)));
+            }
+            collect(pending, progress, proofBytes, true);
+            // Proofs generated while the merkle changed may prove against neither root
+            requireRoot(merkle, rootHash, identifier);
+            proofStore.complete(identifier, rootHash, progress.getProcessed(), proofBytes.get());
+        } catch (Stopped e) {
+            awaitAll(pending);
+            proofStore.drop(identifier);
+            return progress.isCancelRequested() ? IngestionJobStatus.CANCELLED : IngestionJobStatus.QUEUED;
+        } catch (RuntimeException e) {
+            awaitAll(pending);
+            proofStore.drop(identifier);
+            throw e;
+        }
+        jobStore.checkpoint(job.getId(), progress.getOffset(), progress.getProcessed(), 0, job.getRootHash());
+        return IngestionJobStatus.COMPLETED;
+    }
+
+    private Future<Batch> submitBatch(MerkleImplementation merkle, MaterializedProofStore.Writer writer,
+                                      List<MerkleImplementation.Entry> leaves) {
+        return workers.submit(() -> {
+            List<byte[]> keys = new ArrayList<>(leaves.size());
+            List<StoredProof> proofs = new ArrayList<>(leaves.size());
+            long proofBytes = 0;
+            for (MerkleImplementation.Entry leaf : leaves) {
+                byte[] proof = merkle.getProofWire(leaf.originalKey())
+                        .orElseThrow(() -> new MerkleOperationException("Failed to generate proof for a leaf"));
+                keys.add(leaf.originalKey());
+                proofs.add(new StoredProof(leaf.value(), proof));
+                proofBytes += proof.length;
+            }
+            writer.write(keys, proofs);
+            return new Batch(leaves.size(), proofBytes);
+        });
+    }
+
+    /**
+     * Records finished batches in submission order, waiting for all of them when {@code all}.
+     */
+    private void collect(Deque<Future<Batch>> pending, JobProgress progress, AtomicLong proofBytes, boolean all) {
+        while (!pending.isEmpty() && (all || pending.peekFirst().isDone())) {
+            Batch batch;
+            try {
+                batch = pending.removeFirst().get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new MerkleOperationException("Interrupted while materialising proofs", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                throw cause instanceof RuntimeException runtime ? runtime
+                        : new MerkleOperationException("Failed to materialise proofs", cause);
+            }
+            progress.recordProcessed(batch.entries());
+            proofBytes.addAndGet(batch.proofBytes());
+        }
+    }
+
+    /**
+     * Waits for submitted batches before their column family is dropped.
+     */
+    private static void awaitAll(Deque<Future<Batch>> pending) throws InterruptedException {
+        for (Future<Batch> future : pending) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                // Already failing or stopping
+            }
+        }
+        pending.clear();
+    }
+
+    private static void requireRoot(MerkleImplementation merkle, byte[] rootHash, String identifier) {
+        if (!Arrays.equals(rootHash, merkle.getRootHash())) {
+            throw new MerkleOperationException("Merkle " + identifier + " no longer has root "
+                    + HEX.formatHex(rootHash) + " the proofs were requested for");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Running jobs stop at their next entry and are run again on restart
+        shuttingDown = true;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        workers.shutdownNow();
+    }
+
+    private record Batch(long entries, long proofBytes) {}
+
+    /**
+     * Stops the entry traversal of a cancelled or interrupted job; schemes pass their own exception
+     * type through unwrapped.
+     */
+    private static final class Stopped extends MerkleOperationException {
+        private Stopped() {
+            super("Proof materialisation stopped");
+        }
+    }
+}
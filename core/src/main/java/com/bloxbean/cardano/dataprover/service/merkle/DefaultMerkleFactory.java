@@ -2,6 +2,8 @@ package com.bloxbean.cardano.dataprover.service.merkle;
 
 import com.bloxbean.cardano.dataprover.config.DataProverProperties;
 import com.bloxbean.cardano.dataprover.exception.UnsupportedMerkleSchemeException;
+import com.bloxbean.cardano.dataprover.service.merkle.hash.HashFunction;
+import com.bloxbean.cardano.dataprover.service.merkle.hash.HashFunctions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -60,12 +62,29 @@ public class DefaultMerkleFactory implements MerkleFactory {
 
         config.setScheme(actualScheme);
 
+        // Every scheme hashes with Blake2b-256, so refuse any other function instead of ignoring it
+        HashFunction hashFunction = HashFunctions.forName(config.getHashFunction());
+        if (!HashFunctions.DEFAULT.equals(hashFunction.getName())) {
+            throw new IllegalArgumentException("Hash function " + hashFunction.getName()
+                + " is not supported by merkle schemes, which hash with " + HashFunctions.DEFAULT);
+        }
+        config.setHashFunction(hashFunction.getName());
+
         log.debug("Creating merkle with scheme: {} for identifier: {}",
                  actualScheme, config.getIdentifier());
 
         return provider.create(config);
     }
 
+    @Override
+    public MerkleProvider getProvider(String scheme) throws UnsupportedMerkleSchemeException {
+        MerkleProvider provider = providers.get(scheme);
+        if (provider == null) {
+            throw new UnsupportedMerkleSchemeException(scheme);
+        }
+        return provider;
+    }
+
     @Override
     public Set<String> getSupportedSchemes() {
         return new HashSet<>(providers.keySet());
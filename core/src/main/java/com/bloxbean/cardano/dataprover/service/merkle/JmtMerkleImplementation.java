@@ -0,0 +1,203 @@
+package com.bloxbean.cardano.dataprover.service.merkle;
+
+import com.bloxbean.cardano.dataprover.exception.MerkleOperationException;
+import com.bloxbean.cardano.dataprover.model.KeyValuePair;
+import com.bloxbean.cardano.dataprover.service.merkle.jmt.JellyfishMerkleTree;
+import com.bloxbean.cardano.dataprover.service.merkle.jmt.JmtProof;
+import com.bloxbean.cardano.dataprover.service.merkle.jmt.JmtStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * JMT (Jellyfish Merkle Tree) merkle implementation.
+ * Every put or batch of puts commits a new tree version; earlier versions stay provable.
+ */
+public class JmtMerkleImplementation implements VersionedMerkleImplementation {
+
+    private static final Logger log = LoggerFactory.getLogger(JmtMerkleImplementation.class);
+    private static final String SCHEME = "jmt";
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final String identifier;
+    private final JellyfishMerkleTree tree;
+    private final boolean storeOriginalKeys;
+    private final Consumer<List<byte[]>> keyIndexer;
+
+    public JmtMerkleImplementation(String identifier, JmtStore store, String rootHashHex, boolean storeOriginalKeys) {
+        this(identifier, store, rootHashHex, storeOriginalKeys, keys -> {});
+    }
+
+    /**
+     * @param keyIndexer receives the original keys of every successful write, for the membership filter
+     */
+    public JmtMerkleImplementation(String identifier, JmtStore store, String rootHashHex, boolean storeOriginalKeys,
+                                   Consumer<List<byte[]>> keyIndexer) {
+        this.identifier = identifier;
+        this.storeOriginalKeys = storeOriginalKeys;
+        this.keyIndexer = keyIndexer;
+
+        byte[] rootHash = rootHashHex != null && !rootHashHex.isBlank() ? HEX.parseHex(rootHashHex) : null;
+        this.tree = new JellyfishMerkleTree(store, rootHash, storeOriginalKeys);
+        log.debug("Created JMT merkle implementation for: {} at version {} (storeOriginalKeys: {})",
+            identifier, tree.getVersion(), storeOriginalKeys);
+    }
+
+    @Override
+    public String getScheme() {
+        return SCHEME;
+    }
+
+    @Override
+    public void put(byte[] key, byte[] value) throws MerkleOperationException {
+        try {
+            tree.putAll(List.of(key), List.of(value));
+            keyIndexer.accept(List.of(key));
+        } catch (Exception e) {
+            log.error("Failed to put entry in JMT merkle: {}", identifier, e);
+            throw new MerkleOperationException("Failed to put entry in JMT merkle", e);
+        }
+    }
+
+    /**
+     * Commits the whole batch as a single version, writing each modified node once.
+     */
+    @Override
+    public void putAll(List<KeyValuePair> entries) throws MerkleOperationException {
+        List<byte[]> keys = new ArrayList<>(entries.size());
+        List<byte[]> values = new ArrayList<>(entries.size());
+        for (KeyValuePair entry : entries) {
+            keys.add(entry.key());
+            values.add(entry.value());
+        }
+        try {
+            long version = tree.putAll(keys, values);
+            keyIndexer.accept(keys);
+            log.debug("JMT merkle {} committed version {} with {} entries", identifier, version, entries.size());
+        } catch (Exception e) {
+            log.error("Failed to put entries in JMT merkle: {}", identifier, e);
+            throw new MerkleOperationException("Failed to put entries in JMT merkle", e);
+        }
+    }
+
+    @Override
+    public Optional<byte[]> get(byte[] key) throws MerkleOperationException {
+        try {
+            return tree.get(key);
+        } catch (Exception e) {
+            log.error("Failed to get entry from JMT merkle: {}", identifier, e);
+            throw new MerkleOperationException("Failed to get entry from JMT merkle", e);
+        }
+    }
+
+    @Override
+    public Optional<byte[]> get(byte[] key, long version) throws MerkleOperationException {
+        try {
+            return tree.get(key, version);
+        } catch (Exception e) {
+            log.error("Failed to get entry from JMT merkle: {} at version {}", identifier, version, e);
+            throw new MerkleOperationException("Failed to get entry from JMT merkle", e);
+        }
+    }
+
+    @Override
+    public Optional<byte[]> getProofWire(byte[] key) throws MerkleOperationException {
+        try {
+            return Optional.of(tree.getProof(key).encode());
+        } catch (Exception e) {
+            log.error("Failed to generate proof for JMT merkle: {}", identifier, e);
+            throw new MerkleOperationException("Failed to generate proof for JMT merkle", e);
+        }
+    }
+
+    @Override
+    public Optional<byte[]> getProofWire(byte[] key, long version) throws MerkleOperationException {
+        try {
+            return tree.getProof(key, version).map(JmtProof::encode);
+        } catch (Exception e) {
+            log.error("Failed to generate proof for JMT merkle: {} at version {}", identifier, version, e);
+            throw new MerkleOperationException("Failed to generate proof for JMT merkle", e);
+        }
+    }
+
+    @Override
+    public byte[] getRootHash() {
+        return tree.getRootHash();
+    }
+
+    @Override
+    public Optional<byte[]> getRootHash(long version) {
+        return tree.getRootHash(version);
+    }
+
+    @Override
+    public long getVersion() {
+        return tree.getVersion();
+    }
+
+    @Override
+    public boolean verifyProofWire(byte[] rootHash, byte[] key, byte[] value,
+                                   boolean expectedPresence, Optional<byte[]> proof) {
+        return proof.isPresent() && JmtProof.verify(rootHash, key, value, expectedPresence, proof.get());
+    }
+
+    @Override
+    public long size() {
+        return tree.size();
+    }
+
+    @Override
+    public void commit() throws MerkleOperationException {
+        // Every put is committed as its own version
+        log.debug("Committed JMT merkle: {} (version {})", identifier, tree.getVersion());
+    }
+
+    @Override
+    public List<Entry> getEntries(int maxEntries) throws MerkleOperationException {
+        try {
+            return tree.getLeaves(maxEntries).stream()
+                .map(leaf -> new Entry(leaf.key(), leaf.keyHash(), leaf.value()))
+                .toList();
+        } catch (Exception e) {
+            log.error("Failed to get entries for JMT merkle: {}", identifier, e);
+            throw new MerkleOperationException("Failed to get entries", e);
+        }
+    }
+
+    @Override
+    public void forEachEntry(Consumer<Entry> visitor) throws MerkleOperationException {
+        try {
+            tree.forEachLeaf(leaf -> {
+                visitor.accept(new Entry(leaf.key(), leaf.keyHash(), leaf.value()));
+                return true;
+            });
+        } catch (MerkleOperationException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to traverse entries of JMT merkle: {}", identifier, e);
+            throw new MerkleOperationException("Failed to traverse entries", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        log.debug("Closed JMT merkle: {}", identifier);
+    }
+
+    public JellyfishMerkleTree getTree() {
+        return tree;
+    }
+
+    public String getIdentifier() {
+        return identifier;
+    }
+
+    public boolean isStoreOriginalKeys() {
+        return storeOriginalKeys;
+    }
+}
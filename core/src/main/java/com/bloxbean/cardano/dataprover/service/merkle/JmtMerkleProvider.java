@@ -0,0 +1,80 @@
+package com.bloxbean.cardano.dataprover.service.merkle;
+
+import com.bloxbean.cardano.dataprover.service.filter.MembershipFilterService;
+import com.bloxbean.cardano.dataprover.service.merkle.jmt.JmtProof;
+import com.bloxbean.cardano.dataprover.service.merkle.jmt.RocksDbJmtStore;
+import com.bloxbean.cardano.dataprover.service.storage.LeafValueIndex;
+import com.bloxbean.cardano.dataprover.service.storage.OriginalKeyIndex;
+import com.bloxbean.cardano.dataprover.service.storage.RocksDbManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Provider for creating JMT (Jellyfish Merkle Tree) merkle instances.
+ * Nodes are stored version-keyed in the merkle's column family, so every committed version
+ * remains provable.
+ */
+@Component
+public class JmtMerkleProvider implements MerkleProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(JmtMerkleProvider.class);
+    private static final String SCHEME = "jmt";
+
+    private final RocksDbManager rocksDbManager;
+    private final OriginalKeyIndex keyIndex;
+    private final MembershipFilterService membershipFilters;
+    private final LeafValueIndex valueIndex;
+
+    public JmtMerkleProvider(RocksDbManager rocksDbManager, OriginalKeyIndex keyIndex,
+                             MembershipFilterService membershipFilters, LeafValueIndex valueIndex) {
+        this.rocksDbManager = rocksDbManager;
+        this.keyIndex = keyIndex;
+        this.membershipFilters = membershipFilters;
+        this.valueIndex = valueIndex;
+        log.info("JMT merkle provider initialized");
+    }
+
+    @Override
+    public String getScheme() {
+        return SCHEME;
+    }
+
+    @Override
+    public MerkleImplementation create(MerkleConfiguration config) {
+        String identifier = config.getIdentifier();
+        if (identifier == null || identifier.isBlank()) {
+            throw new IllegalArgumentException("Merkle identifier is required");
+        }
+
+        rocksDbManager.getOrCreateColumnFamily(identifier);
+
+        RocksDbJmtStore store = new RocksDbJmtStore(rocksDbManager, keyIndex, valueIndex, identifier);
+
+        String rootHash = config.getRootHash();
+        boolean storeOriginalKeys = config.isStoreOriginalKeys();
+        JmtMerkleImplementation merkle = new JmtMerkleImplementation(identifier, store, rootHash, storeOriginalKeys,
+            membershipFilters.indexer(identifier));
+
+        log.info("Created JMT merkle: {} (rootHash: {}, storeOriginalKeys: {})",
+            identifier, rootHash != null ? "present" : "null", storeOriginalKeys);
+        return merkle;
+    }
+
+    @Override
+    public boolean verifyProofWire(byte[] rootHash, byte[] key, byte[] value,
+                                   boolean expectedPresence, byte[] proof) {
+        // Stateless: the proof carries every hash needed to recompute the root
+        return JmtProof.verify(rootHash, key, value, expectedPresence, proof);
+    }
+
+    @Override
+    public boolean supportsValueIndex() {
+        return true;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Jellyfish Merkle Tree (JMT) with Blake2b-256 hashing - versioned, historical proofs";
+    }
+}
@@ -0,0 +1,257 @@
+package com.bloxbean.cardano.dataprover.service.merkle;
+
+import com.bloxbean.cardano.dataprover.exception.MerkleOperationException;
+import com.bloxbean.cardano.dataprover.model.KeyValuePair;
+import com.bloxbean.cardano.dataprover.service.merkle.log.LogHasher;
+import com.bloxbean.cardano.dataprover.service.merkle.log.LogStore;
+import com.bloxbean.cardano.dataprover.service.merkle.log.MerkleLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Append-only Merkle log implementation (RFC 6962 style).
+ * Every put appends a leaf, even for a key appended before; the version of a log is its size minus
+ * one, so any earlier tree size can serve values, inclusion proofs and consistency proofs.
+ */
+public class LogMerkleImplementation implements VersionedMerkleImplementation {
+
+    private static final Logger log = LoggerFactory.getLogger(LogMerkleImplementation.class);
+    private static final String SCHEME = "log";
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final String identifier;
+    private final MerkleLog merkleLog;
+    private final Consumer<List<byte[]>> keyIndexer;
+
+    public LogMerkleImplementation(String identifier, LogStore store, String rootHashHex) {
+        this(identifier, store, rootHashHex, keys -> {});
+    }
+
+    /**
+     * @param keyIndexer receives the original keys of every successful write, for the membership filter
+     */
+    public LogMerkleImplementation(String identifier, LogStore store, String rootHashHex,
+                                   Consumer<List<byte[]>> keyIndexer) {
+        this.identifier = identifier;
+        this.keyIndexer = keyIndexer;
+        this.merkleLog = new MerkleLog(store);
+
+        byte[] storedRoot = merkleLog.getRootHash();
+        if (rootHashHex != null && !rootHashHex.isBlank()
+                && (storedRoot == null || !Arrays.equals(storedRoot, HEX.parseHex(rootHashHex)))) {
+            log.warn("Log merkle {} stored root differs from metadata root {}, using stored root",
+                identifier, rootHashHex);
+        }
+        log.debug("Created log merkle implementation for: {} with {} entries", identifier, merkleLog.size());
+    }
+
+    @Override
+    public String getScheme() {
+        return SCHEME;
+    }
+
+    @Override
+    public void put(byte[] key, byte[] value) throws MerkleOperationException {
+        try {
+            merkleLog.appendAll(List.of(key), List.of(value));
+            keyIndexer.accept(List.of(key));
+        } catch (Exception e) {
+            log.error("Failed to append entry to log merkle: {}", identifier, e);
+            throw new MerkleOperationException("Failed to append entry to log merkle", e);
+        }
+    }
+
+    /**
+     * Appends the batch in order with a single write.
+     */
+    @Override
+    public void putAll(List<KeyValuePair> entries) throws MerkleOperationException {
+        List<byte[]> keys = new ArrayList<>(entries.size());
+        List<byte[]> values = new ArrayList<>(entries.size());
+        for (KeyValuePair entry : entries) {
+            keys.add(entry.key());
+            values.add(entry.value());
+        }
+        try {
+            merkleLog.appendAll(keys, values);
+            keyIndexer.accept(keys);
+        } catch (Exception e) {
+            log.error("Failed to append entries to log merkle: {}", identifier, e);
+            throw new MerkleOperationException("Failed to append entries to log merkle", e);
+        }
+    }
+
+    @Override
+    public Optional<byte[]> get(byte[] key) throws MerkleOperationException {
+        try {
+            return Optional.ofNullable(merkleLog.get(key));
+        } catch (Exception e) {
+            log.error("Failed to get entry from log merkle: {}", identifier, e);
+            throw new MerkleOperationException("Failed to get entry from log merkle", e);
+        }
+    }
+
+    @Override
+    public Optional<byte[]> get(byte[] key, long version) throws MerkleOperationException {
+        if (!hasVersion(version)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.ofNullable(merkleLog.get(key, version + 1));
+        } catch (Exception e) {
+            log.error("Failed to get entry from log merkle: {} at version {}", identifier, version, e);
+            throw new MerkleOperationException("Failed to get entry from log merkle", e);
+        }
+    }
+
+    /**
+     * @return the inclusion proof of the latest entry of the key, or empty if the key was never
+     *         appended; a log cannot prove absence
+     */
+    @Override
+    public Optional<byte[]> getProofWire(byte[] key) throws MerkleOperationException {
+        try {
+            return Optional.ofNullable(merkleLog.getProof(key, merkleLog.size()));
+        } catch (Exception e) {
+            log.error("Failed to generate proof for log merkle: {}", identifier, e);
+            throw new MerkleOperationException("Failed to generate proof for log merkle", e);
+        }
+    }
+
+    @Override
+    public Optional<byte[]> getProofWire(byte[] key, long version) throws MerkleOperationException {
+        if (!hasVersion(version)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.ofNullable(merkleLog.getProof(key, version + 1));
+        } catch (Exception e) {
+            log.error("Failed to generate proof for log merkle: {} at version {}", identifier, version, e);
+            throw new MerkleOperationException("Failed to generate proof for log merkle", e);
+        }
+    }
+
+    /**
+     * @return the consistency proof between the logs of {@code firstSize} and {@code secondSize} entries
+     */
+    public List<byte[]> getConsistencyProof(long firstSize, long secondSize) throws MerkleOperationException {
+        try {
+            return merkleLog.getConsistencyProof(firstSize, secondSize);
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to generate consistency proof for log merkle: {}", identifier, e);
+            throw new MerkleOperationException("Failed to generate consistency proof for log merkle", e);
+        }
+    }
+
+    @Override
+    public byte[] getRootHash() {
+        return merkleLog.getRootHash();
+    }
+
+    @Override
+    public Optional<byte[]> getRootHash(long version) {
+        if (!hasVersion(version)) {
+            return Optional.empty();
+        }
+        return Optional.of(merkleLog.getRootHash(version + 1));
+    }
+
+    @Override
+    public long getVersion() {
+        return merkleLog.size() - 1;
+    }
+
+    /**
+     * Verifies against this log: the proof must be of the key's latest entry in the tree size it
+     * proves, so a superseded value of the key does not verify.
+     */
+    @Override
+    public boolean verifyProofWire(byte[] rootHash, byte[] key, byte[] value,
+                                   boolean expectedPresence, Optional<byte[]> proof) {
+        if (!expectedPresence || proof.isEmpty()) {
+            return false;
+        }
+        try {
+            return merkleLog.verifyLatest(rootHash, key, value, proof.get());
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return the number of appended entries, counting every append of a repeated key
+     */
+    @Override
+    public long size() {
+        return merkleLog.size();
+    }
+
+    @Override
+    public void commit() throws MerkleOperationException {
+        // Every append is written atomically together with its frontier update
+        log.debug("Committed log merkle: {} ({} entries)", identifier, merkleLog.size());
+    }
+
+    /**
+     * Returns entries in append order; repeated keys appear once per append.
+     */
+    @Override
+    public List<Entry> getEntries(int maxEntries) throws MerkleOperationException {
+        try {
+            long count = Math.min(merkleLog.size(), maxEntries);
+            List<Entry> entries = new ArrayList<>((int) count);
+            for (long index = 0; index < count; index++) {
+                MerkleLog.Entry entry = merkleLog.getEntry(index);
+                entries.add(new Entry(entry.key(), LogHasher.hash(entry.key()), entry.value()));
+            }
+            return entries;
+        } catch (Exception e) {
+            log.error("Failed to get entries for log merkle: {}", identifier, e);
+            throw new MerkleOperationException("Failed to get entries", e);
+        }
+    }
+
+    /**
+     * Visits the latest entry of each key; earlier appends of a repeated key are skipped.
+     */
+    @Override
+    public void forEachEntry(Consumer<Entry> visitor) throws MerkleOperationException {
+        try {
+            merkleLog.forEachLatest(entry -> {
+                visitor.accept(new Entry(entry.key(), LogHasher.hash(entry.key()), entry.value()));
+                return true;
+            });
+        } catch (MerkleOperationException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to traverse entries of log merkle: {}", identifier, e);
+            throw new MerkleOperationException("Failed to traverse entries", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        log.debug("Closed log merkle: {}", identifier);
+    }
+
+    public MerkleLog getMerkleLog() {
+        return merkleLog;
+    }
+
+    public String getIdentifier() {
+        return identifier;
+    }
+
+    private boolean hasVersion(long version) {
+        return version >= 0 && version < merkleLog.size();
+    }
+}
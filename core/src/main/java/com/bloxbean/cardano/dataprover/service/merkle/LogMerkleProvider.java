@@ -0,0 +1,78 @@
+package com.bloxbean.cardano.dataprover.service.merkle;
+
+import com.bloxbean.cardano.dataprover.service.filter.MembershipFilterService;
+import com.bloxbean.cardano.dataprover.service.merkle.log.LogProof;
+import com.bloxbean.cardano.dataprover.service.merkle.log.RocksDbLogStore;
+import com.bloxbean.cardano.dataprover.service.storage.LeafValueIndex;
+import com.bloxbean.cardano.dataprover.service.storage.OriginalKeyIndex;
+import com.bloxbean.cardano.dataprover.service.storage.RocksDbManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Provider for creating append-only Merkle log instances, suited to high-rate event streams where
+ * entries are never updated in place. Original keys are always kept, as they are part of the leaf.
+ */
+@Component
+public class LogMerkleProvider implements MerkleProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(LogMerkleProvider.class);
+    private static final String SCHEME = "log";
+
+    private final RocksDbManager rocksDbManager;
+    private final OriginalKeyIndex keyIndex;
+    private final MembershipFilterService membershipFilters;
+    private final LeafValueIndex valueIndex;
+
+    public LogMerkleProvider(RocksDbManager rocksDbManager, OriginalKeyIndex keyIndex,
+                             MembershipFilterService membershipFilters, LeafValueIndex valueIndex) {
+        this.rocksDbManager = rocksDbManager;
+        this.keyIndex = keyIndex;
+        this.membershipFilters = membershipFilters;
+        this.valueIndex = valueIndex;
+        log.info("Log merkle provider initialized");
+    }
+
+    @Override
+    public String getScheme() {
+        return SCHEME;
+    }
+
+    @Override
+    public MerkleImplementation create(MerkleConfiguration config) {
+        String identifier = config.getIdentifier();
+        if (identifier == null || identifier.isBlank()) {
+            throw new IllegalArgumentException("Merkle identifier is required");
+        }
+
+        rocksDbManager.getOrCreateColumnFamily(identifier);
+
+        RocksDbLogStore store = new RocksDbLogStore(rocksDbManager, keyIndex, valueIndex, identifier);
+
+        String rootHash = config.getRootHash();
+        LogMerkleImplementation merkle = new LogMerkleImplementation(identifier, store, rootHash,
+            membershipFilters.indexer(identifier));
+
+        log.info("Created log merkle: {} (rootHash: {})", identifier, rootHash != null ? "present" : "null");
+        return merkle;
+    }
+
+    @Override
+    public boolean verifyProofWire(byte[] rootHash, byte[] key, byte[] value,
+                                   boolean expectedPresence, byte[] proof) {
+        // The proof carries its leaf index and tree size, which is all the audit path needs. Without
+        // the log, a value the key was appended with before its latest append verifies as well
+        return LogProof.verify(rootHash, key, value, expectedPresence, proof);
+    }
+
+    @Override
+    public boolean supportsValueIndex() {
+        return true;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Append-only Merkle log (RFC 6962 style) with Blake2b-256 hashing - inclusion and consistency proofs";
+    }
+}
@@ -48,6 +48,10 @@ public class MerkleConfiguration {
         this.storagePath = storagePath;
     }
 
+    /**
+     * @return the hash function name; merkles always hash with Blake2b-256, so the factory rejects
+     *         any other
+     */
     public String getHashFunction() {
         return hashFunction;
     }
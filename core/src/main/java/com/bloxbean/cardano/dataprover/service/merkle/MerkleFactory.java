@@ -12,5 +12,7 @@ public interface MerkleFactory {
     MerkleImplementation createMerkle(String scheme, MerkleConfiguration config)
             throws UnsupportedMerkleSchemeException;
 
+    MerkleProvider getProvider(String scheme) throws UnsupportedMerkleSchemeException;
+
     Set<String> getSupportedSchemes();
 }
@@ -1,9 +1,11 @@
 package com.bloxbean.cardano.dataprover.service.merkle;
 
 import com.bloxbean.cardano.dataprover.exception.MerkleOperationException;
+import com.bloxbean.cardano.dataprover.model.KeyValuePair;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Core abstraction for merkle implementations.
@@ -15,6 +17,16 @@ public interface MerkleImplementation extends AutoCloseable {
 
     void put(byte[] key, byte[] value) throws MerkleOperationException;
 
+    /**
+     * Applies a batch of puts in order.
+     * Implementations may group the underlying storage writes; the default applies them one by one.
+     */
+    default void putAll(List<KeyValuePair> entries) throws MerkleOperationException {
+        for (KeyValuePair entry : entries) {
+            put(entry.key(), entry.value());
+        }
+    }
+
     Optional<byte[]> get(byte[] key) throws MerkleOperationException;
 
     Optional<byte[]> getProofWire(byte[] key) throws MerkleOperationException;
@@ -35,6 +47,14 @@ public interface MerkleImplementation extends AutoCloseable {
      */
     List<Entry> getEntries(int maxEntries) throws MerkleOperationException;
 
+    /**
+     * Visits every current entry once, in ascending unsigned order of the hashed key. JMT, SMT and
+     * log merkles traverse their storage; MPF holds all entries in memory while visiting, so exports,
+     * archives and other full scans of an MPF merkle need heap for all of its leaves.
+     * @param visitor receives each entry
+     */
+    void forEachEntry(Consumer<Entry> visitor) throws MerkleOperationException;
+
     /**
      * Represents an entry in the merkle tree.
      */
@@ -9,5 +9,20 @@ public interface MerkleProvider {
 
     MerkleImplementation create(MerkleConfiguration config);
 
+    /**
+     * Verifies a wire proof against a root hash without opening any merkle storage.
+     * Must be thread-safe, as batch verification calls it concurrently.
+     */
+    boolean verifyProofWire(byte[] rootHash, byte[] key, byte[] value,
+                            boolean expectedPresence, byte[] proof);
+
     String getDescription();
+
+    /**
+     * @return true if merkles of this scheme can keep a leaf value index, which their node writes
+     *         must include to stay consistent with the trie
+     */
+    default boolean supportsValueIndex() {
+        return false;
+    }
 }
@@ -1,9 +1,16 @@
 package com.bloxbean.cardano.dataprover.service.merkle;
 
 import com.bloxbean.cardano.dataprover.config.DataProverProperties;
+import com.bloxbean.cardano.dataprover.exception.MerkleArchivedException;
 import com.bloxbean.cardano.dataprover.exception.MerkleNotFoundException;
 import com.bloxbean.cardano.dataprover.model.MerkleMetadata;
+import com.bloxbean.cardano.dataprover.model.MerkleStatus;
 import com.bloxbean.cardano.dataprover.repository.MerkleMetadataRepository;
+import com.bloxbean.cardano.dataprover.service.merkle.hash.HashFunctions;
+import com.bloxbean.cardano.dataprover.service.metrics.DataProverMetrics;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -25,6 +32,7 @@ public class MerkleRegistry {
     private final DataProverProperties properties;
     private final MerkleMetadataRepository metadataRepository;
     private final MerkleFactory merkleFactory;
+    private final DataProverMetrics metrics;
 
     private final Map<String, CachedMerkle> merkleCache;
     private final LinkedHashMap<String, Long> accessOrder;
@@ -36,18 +44,36 @@ public class MerkleRegistry {
 
     public MerkleRegistry(DataProverProperties properties,
                          MerkleMetadataRepository metadataRepository,
-                         MerkleFactory merkleFactory) {
+                         MerkleFactory merkleFactory,
+                         DataProverMetrics metrics) {
         this.properties = properties;
         this.metadataRepository = metadataRepository;
         this.merkleFactory = merkleFactory;
+        this.metrics = metrics;
 
         int maxSize = properties.getCache().getMaxActiveMerkle();
         this.merkleCache = new ConcurrentHashMap<>(maxSize);
         this.accessOrder = new LinkedHashMap<>(maxSize, 0.75f, true);
 
+        registerMeters(metrics.getRegistry());
+
         log.info("MerkleRegistry initialized with max cache size: {}", maxSize);
     }
 
+    private void registerMeters(MeterRegistry registry) {
+        Gauge.builder("dataprover.merkle.cache.size", merkleCache, Map::size)
+            .description("Merkle instances held open by the registry")
+            .register(registry);
+        FunctionCounter.builder("dataprover.merkle.cache.requests", this, r -> r.cacheHits)
+            .description("Registry lookups by result")
+            .tag("result", "hit")
+            .register(registry);
+        FunctionCounter.builder("dataprover.merkle.cache.requests", this, r -> r.cacheMisses)
+            .description("Registry lookups by result")
+            .tag("result", "miss")
+            .register(registry);
+    }
+
     public MerkleImplementation getOrLoadMerkle(String identifier) {
         lock.readLock().lock();
         try {
@@ -74,7 +100,9 @@ public class MerkleRegistry {
             cacheMisses++;
             log.debug("Cache miss for merkle: {}", identifier);
 
+            long loadStart = System.nanoTime();
             MerkleImplementation merkle = loadMerkle(identifier);
+            metrics.recordMerkleLoad(merkle.getScheme(), System.nanoTime() - loadStart);
 
             evictIfNecessary();
 
@@ -92,12 +120,15 @@ public class MerkleRegistry {
     private MerkleImplementation loadMerkle(String identifier) {
         MerkleMetadata metadata = metadataRepository.findByIdentifier(identifier)
             .orElseThrow(() -> new MerkleNotFoundException(identifier));
+        if (metadata.getStatus() == MerkleStatus.ARCHIVED) {
+            throw new MerkleArchivedException(identifier);
+        }
 
         MerkleConfiguration config = MerkleConfiguration.builder()
             .identifier(identifier)
             .scheme(metadata.getScheme())
             .storagePath(properties.getStorage().getRocksdbPath())
-            .hashFunction("blake2b-256")
+            .hashFunction(HashFunctions.DEFAULT)
             .rootHash(metadata.getRootHash())
             .customConfig(metadata.getMetadata() != null ? metadata.getMetadata() : Map.of())
             .storeOriginalKeys(metadata.getStoreOriginalKeys() != null && metadata.getStoreOriginalKeys())
@@ -181,6 +212,7 @@ public class MerkleRegistry {
 
             CachedMerkle cached = merkleCache.remove(lruIdentifier);
             if (cached != null) {
+                metrics.recordEviction();
                 try {
                     cached.getMerkle().close();
                     log.info("Evicted LRU merkle: {}", lruIdentifier);
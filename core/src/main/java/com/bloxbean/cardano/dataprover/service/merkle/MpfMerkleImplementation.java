@@ -1,14 +1,19 @@
 package com.bloxbean.cardano.dataprover.service.merkle;
 
 import com.bloxbean.cardano.dataprover.exception.MerkleOperationException;
+import com.bloxbean.cardano.dataprover.model.KeyValuePair;
 import com.bloxbean.cardano.vds.mpf.MpfTrie;
 import com.bloxbean.cardano.vds.mpf.rocksdb.RocksDbNodeStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HexFormat;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * MPF (Merkle Patricia Forestry) merkle implementation.
@@ -24,6 +29,9 @@ public class MpfMerkleImplementation implements MerkleImplementation {
     private final MpfTrie trie;
     private final RocksDbNodeStore nodeStore;
     private final boolean storeOriginalKeys;
+    private final Consumer<byte[]> rootCommitter;
+    private final Runnable beforeWrite;
+    private final Consumer<List<byte[]>> keyIndexer;
 
     private long operationCount = 0;
 
@@ -32,9 +40,24 @@ public class MpfMerkleImplementation implements MerkleImplementation {
     }
 
     public MpfMerkleImplementation(String identifier, RocksDbNodeStore nodeStore, String rootHashHex, boolean storeOriginalKeys) {
+        this(identifier, nodeStore, rootHashHex, storeOriginalKeys, rootHash -> {}, () -> {}, keys -> {});
+    }
+
+    /**
+     * @param rootCommitter receives the root hash (null for an empty trie) on every {@link #commit()};
+     *                      the node store writes nodes as they are put, so the root is committed after them
+     * @param beforeWrite   runs before every write, ahead of the nodes it stores
+     * @param keyIndexer    receives the original keys of every successful write, for the key index and membership filter
+     */
+    public MpfMerkleImplementation(String identifier, RocksDbNodeStore nodeStore, String rootHashHex,
+                                   boolean storeOriginalKeys, Consumer<byte[]> rootCommitter,
+                                   Runnable beforeWrite, Consumer<List<byte[]>> keyIndexer) {
         this.identifier = identifier;
         this.nodeStore = nodeStore;
         this.storeOriginalKeys = storeOriginalKeys;
+        this.rootCommitter = rootCommitter;
+        this.beforeWrite = beforeWrite;
+        this.keyIndexer = keyIndexer;
 
         if (rootHashHex != null && !rootHashHex.isBlank()) {
             byte[] rootHash = HEX.parseHex(rootHashHex);
@@ -54,8 +77,10 @@ public class MpfMerkleImplementation implements MerkleImplementation {
     @Override
     public void put(byte[] key, byte[] value) throws MerkleOperationException {
         try {
+            beforeWrite.run();
             trie.put(key, value);
             operationCount++;
+            keyIndexer.accept(List.of(key));
 
             if (operationCount % 1000 == 0) {
                 log.debug("MPF merkle {} has processed {} operations", identifier, operationCount);
@@ -66,6 +91,29 @@ public class MpfMerkleImplementation implements MerkleImplementation {
         }
     }
 
+    /**
+     * Puts the entries one by one and indexes their keys in a single write.
+     */
+    @Override
+    public void putAll(List<KeyValuePair> entries) throws MerkleOperationException {
+        List<byte[]> keys = new ArrayList<>(entries.size());
+        try {
+            if (!entries.isEmpty()) {
+                beforeWrite.run();
+            }
+            for (KeyValuePair entry : entries) {
+                trie.put(entry.key(), entry.value());
+                operationCount++;
+                keys.add(entry.key());
+            }
+        } catch (Exception e) {
+            log.error("Failed to put entries in MPF merkle: {}", identifier, e);
+            throw new MerkleOperationException("Failed to put entries in MPF merkle", e);
+        } finally {
+            keyIndexer.accept(keys);
+        }
+    }
+
     @Override
     public Optional<byte[]> get(byte[] key) throws MerkleOperationException {
         try {
@@ -124,6 +172,9 @@ public class MpfMerkleImplementation implements MerkleImplementation {
     @Override
     public void commit() throws MerkleOperationException {
         try {
+            if (operationCount > 0) {
+                rootCommitter.accept(trie.getRootHash());
+            }
             log.debug("Committed MPF merkle: {} ({} operations)", identifier, operationCount);
         } catch (Exception e) {
             log.error("Failed to commit MPF merkle: {}", identifier, e);
@@ -144,6 +195,17 @@ public class MpfMerkleImplementation implements MerkleImplementation {
         }
     }
 
+    /**
+     * The MPF library only lists all entries at once and its node encoding is not exposed for a
+     * traversal here, so this holds every entry in memory, plus a sorted copy, while visiting.
+     */
+    @Override
+    public void forEachEntry(Consumer<Entry> visitor) throws MerkleOperationException {
+        List<Entry> entries = new ArrayList<>(getEntries(Integer.MAX_VALUE));
+        entries.sort(Comparator.comparing(Entry::hashedKey, Arrays::compareUnsigned));
+        entries.forEach(visitor);
+    }
+
     @Override
     public void close() {
         try {
@@ -1,12 +1,19 @@
 package com.bloxbean.cardano.dataprover.service.merkle;
 
+import com.bloxbean.cardano.dataprover.service.filter.MembershipFilterService;
+import com.bloxbean.cardano.dataprover.service.storage.OriginalKeyIndex;
 import com.bloxbean.cardano.dataprover.service.storage.RocksDbManager;
+import com.bloxbean.cardano.vds.mpf.MpfTrie;
 import com.bloxbean.cardano.vds.mpf.rocksdb.RocksDbNodeStore;
 import org.rocksdb.ColumnFamilyHandle;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
 /**
  * Provider for creating MPF (Merkle Patricia Forestry) merkle instances.
  * Uses Cardano Client Library's SecureTrie with Blake2b-256 hashing.
@@ -17,13 +24,29 @@ public class MpfMerkleProvider implements MerkleProvider {
     private static final Logger log = LoggerFactory.getLogger(MpfMerkleProvider.class);
     private static final String SCHEME = "mpf";
 
+    /**
+     * Per-thread verifier for the most recently used root. Batch verification checks many proofs
+     * against one root, so each worker thread builds its verifier trie and hashing state once.
+     */
+    private static final ThreadLocal<Verifier> VERIFIER = new ThreadLocal<>();
+
     private final RocksDbManager rocksDbManager;
+    private final OriginalKeyIndex keyIndex;
+    private final MembershipFilterService membershipFilters;
 
-    public MpfMerkleProvider(RocksDbManager rocksDbManager) {
+    public MpfMerkleProvider(RocksDbManager rocksDbManager, OriginalKeyIndex keyIndex,
+                             MembershipFilterService membershipFilters) {
         this.rocksDbManager = rocksDbManager;
+        this.keyIndex = keyIndex;
+        this.membershipFilters = membershipFilters;
         log.info("MPF merkle provider initialized");
     }
 
+    private Consumer<List<byte[]>> keyIndexer(String identifier, boolean storeOriginalKeys) {
+        Consumer<List<byte[]>> indexer = membershipFilters.indexer(identifier);
+        return storeOriginalKeys ? indexer.andThen(keyIndex.indexer(identifier)) : indexer;
+    }
+
     @Override
     public String getScheme() {
         return SCHEME;
@@ -39,22 +62,56 @@ public class MpfMerkleProvider implements MerkleProvider {
         ColumnFamilyHandle columnFamilyHandle =
             rocksDbManager.getOrCreateColumnFamily(identifier);
 
+        // Each merkle lives in one of possibly several RocksDB instances; the handle only works with that one
         RocksDbNodeStore nodeStore = new RocksDbNodeStore(
-            rocksDbManager.getDb(),
+            rocksDbManager.getDb(identifier),
             columnFamilyHandle
         );
 
         String rootHash = config.getRootHash();
         boolean storeOriginalKeys = config.isStoreOriginalKeys();
-        MpfMerkleImplementation merkle = new MpfMerkleImplementation(identifier, nodeStore, rootHash, storeOriginalKeys);
+        // Nodes are written outside any batch the key index can join, so it is only marked complete
+        // again once the root covering the keys added after them is committed
+        MpfMerkleImplementation merkle = new MpfMerkleImplementation(identifier, nodeStore, rootHash, storeOriginalKeys,
+            root -> {
+                rocksDbManager.commitRootHash(identifier, root);
+                if (storeOriginalKeys) {
+                    keyIndex.sync(identifier);
+                }
+            },
+            storeOriginalKeys ? () -> keyIndex.beforeWrite(identifier) : () -> {},
+            keyIndexer(identifier, storeOriginalKeys));
 
         log.info("Created MPF merkle: {} (rootHash: {}, storeOriginalKeys: {})",
             identifier, rootHash != null ? "present" : "null", storeOriginalKeys);
         return merkle;
     }
 
+    @Override
+    public boolean verifyProofWire(byte[] rootHash, byte[] key, byte[] value,
+                                   boolean expectedPresence, byte[] proof) {
+        try {
+            return verifier(rootHash).trie().verifyProofWire(rootHash, key, value, expectedPresence, proof);
+        } catch (Exception e) {
+            log.debug("MPF proof verification failed: {}", e.getMessage());
+            return false;
+        }
+    }
+
     @Override
     public String getDescription() {
         return "Merkle Patricia Forestry (MPF) with Blake2b-256 hashing - Cardano compatible";
     }
+
+    private static Verifier verifier(byte[] rootHash) {
+        Verifier verifier = VERIFIER.get();
+        if (verifier == null || !Arrays.equals(verifier.rootHash(), rootHash)) {
+            // Verification only walks the proof, so the trie needs no node store
+            verifier = new Verifier(rootHash.clone(), new MpfTrie(null, rootHash));
+            VERIFIER.set(verifier);
+        }
+        return verifier;
+    }
+
+    private record Verifier(byte[] rootHash, MpfTrie trie) {}
 }
@@ -0,0 +1,178 @@
+package com.bloxbean.cardano.dataprover.service.merkle;
+
+import com.bloxbean.cardano.dataprover.exception.MerkleOperationException;
+import com.bloxbean.cardano.dataprover.model.KeyValuePair;
+import com.bloxbean.cardano.dataprover.service.merkle.smt.SmtProof;
+import com.bloxbean.cardano.dataprover.service.merkle.smt.SmtStore;
+import com.bloxbean.cardano.dataprover.service.merkle.smt.SparseMerkleTree;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * SMT (sparse Merkle tree) merkle implementation.
+ * Proofs are fixed-depth (256 levels) and prove non-membership as compactly as membership.
+ */
+public class SmtMerkleImplementation implements MerkleImplementation {
+
+    private static final Logger log = LoggerFactory.getLogger(SmtMerkleImplementation.class);
+    private static final String SCHEME = "smt";
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final String identifier;
+    private final SparseMerkleTree tree;
+    private final boolean storeOriginalKeys;
+    private final Consumer<List<byte[]>> keyIndexer;
+
+    public SmtMerkleImplementation(String identifier, SmtStore store, String rootHashHex, boolean storeOriginalKeys) {
+        this(identifier, store, rootHashHex, storeOriginalKeys, keys -> {});
+    }
+
+    /**
+     * @param keyIndexer receives the original keys of every successful write, for the membership filter
+     */
+    public SmtMerkleImplementation(String identifier, SmtStore store, String rootHashHex, boolean storeOriginalKeys,
+                                   Consumer<List<byte[]>> keyIndexer) {
+        this.identifier = identifier;
+        this.storeOriginalKeys = storeOriginalKeys;
+        this.keyIndexer = keyIndexer;
+        this.tree = new SparseMerkleTree(store, storeOriginalKeys);
+
+        // Nodes are updated in place, so only the latest stored root can be opened
+        byte[] storedRoot = tree.getRootHash();
+        if (rootHashHex != null && !rootHashHex.isBlank()
+                && (storedRoot == null || !Arrays.equals(storedRoot, HEX.parseHex(rootHashHex)))) {
+            log.warn("SMT merkle {} stored root differs from metadata root {}, using stored root",
+                identifier, rootHashHex);
+        }
+        log.debug("Created SMT merkle implementation for: {} (storeOriginalKeys: {})", identifier, storeOriginalKeys);
+    }
+
+    @Override
+    public String getScheme() {
+        return SCHEME;
+    }
+
+    @Override
+    public void put(byte[] key, byte[] value) throws MerkleOperationException {
+        try {
+            tree.putAll(List.of(key), List.of(value));
+            keyIndexer.accept(List.of(key));
+        } catch (Exception e) {
+            log.error("Failed to put entry in SMT merkle: {}", identifier, e);
+            throw new MerkleOperationException("Failed to put entry in SMT merkle", e);
+        }
+    }
+
+    /**
+     * Applies the batch in one pass over the tree, rewriting each affected node once.
+     */
+    @Override
+    public void putAll(List<KeyValuePair> entries) throws MerkleOperationException {
+        List<byte[]> keys = new ArrayList<>(entries.size());
+        List<byte[]> values = new ArrayList<>(entries.size());
+        for (KeyValuePair entry : entries) {
+            keys.add(entry.key());
+            values.add(entry.value());
+        }
+        try {
+            tree.putAll(keys, values);
+            keyIndexer.accept(keys);
+        } catch (Exception e) {
+            log.error("Failed to put entries in SMT merkle: {}", identifier, e);
+            throw new MerkleOperationException("Failed to put entries in SMT merkle", e);
+        }
+    }
+
+    @Override
+    public Optional<byte[]> get(byte[] key) throws MerkleOperationException {
+        try {
+            return Optional.ofNullable(tree.get(key));
+        } catch (Exception e) {
+            log.error("Failed to get entry from SMT merkle: {}", identifier, e);
+            throw new MerkleOperationException("Failed to get entry from SMT merkle", e);
+        }
+    }
+
+    @Override
+    public Optional<byte[]> getProofWire(byte[] key) throws MerkleOperationException {
+        try {
+            return Optional.of(tree.getProof(key).encode());
+        } catch (Exception e) {
+            log.error("Failed to generate proof for SMT merkle: {}", identifier, e);
+            throw new MerkleOperationException("Failed to generate proof for SMT merkle", e);
+        }
+    }
+
+    @Override
+    public byte[] getRootHash() {
+        return tree.getRootHash();
+    }
+
+    @Override
+    public boolean verifyProofWire(byte[] rootHash, byte[] key, byte[] value,
+                                   boolean expectedPresence, Optional<byte[]> proof) {
+        return proof.isPresent() && SmtProof.verify(rootHash, key, value, expectedPresence, proof.get());
+    }
+
+    @Override
+    public long size() {
+        return tree.size();
+    }
+
+    @Override
+    public void commit() throws MerkleOperationException {
+        // Every batch is written atomically when applied
+        log.debug("Committed SMT merkle: {}", identifier);
+    }
+
+    @Override
+    public List<Entry> getEntries(int maxEntries) throws MerkleOperationException {
+        try {
+            return tree.getLeaves(maxEntries).stream()
+                .map(leaf -> new Entry(leaf.key(), leaf.keyHash(), leaf.value()))
+                .toList();
+        } catch (Exception e) {
+            log.error("Failed to get entries for SMT merkle: {}", identifier, e);
+            throw new MerkleOperationException("Failed to get entries", e);
+        }
+    }
+
+    @Override
+    public void forEachEntry(Consumer<Entry> visitor) throws MerkleOperationException {
+        try {
+            tree.forEachLeaf(leaf -> {
+                visitor.accept(new Entry(leaf.key(), leaf.keyHash(), leaf.value()));
+                return true;
+            });
+        } catch (MerkleOperationException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to traverse entries of SMT merkle: {}", identifier, e);
+            throw new MerkleOperationException("Failed to traverse entries", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        log.debug("Closed SMT merkle: {}", identifier);
+    }
+
+    public SparseMerkleTree getTree() {
+        return tree;
+    }
+
+    public String getIdentifier() {
+        return identifier;
+    }
+
+    public boolean isStoreOriginalKeys() {
+        return storeOriginalKeys;
+    }
+}
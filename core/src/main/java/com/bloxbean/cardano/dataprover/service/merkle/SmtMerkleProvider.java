@@ -0,0 +1,80 @@
+package com.bloxbean.cardano.dataprover.service.merkle;
+
+import com.bloxbean.cardano.dataprover.service.filter.MembershipFilterService;
+import com.bloxbean.cardano.dataprover.service.merkle.smt.RocksDbSmtStore;
+import com.bloxbean.cardano.dataprover.service.merkle.smt.SmtProof;
+import com.bloxbean.cardano.dataprover.service.storage.LeafValueIndex;
+import com.bloxbean.cardano.dataprover.service.storage.OriginalKeyIndex;
+import com.bloxbean.cardano.dataprover.service.storage.RocksDbManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Provider for creating SMT (256-level sparse Merkle tree) merkle instances.
+ * Only the non-empty structure is stored in the merkle's column family; empty subtrees use
+ * default hashes.
+ */
+@Component
+public class SmtMerkleProvider implements MerkleProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(SmtMerkleProvider.class);
+    private static final String SCHEME = "smt";
+
+    private final RocksDbManager rocksDbManager;
+    private final OriginalKeyIndex keyIndex;
+    private final MembershipFilterService membershipFilters;
+    private final LeafValueIndex valueIndex;
+
+    public SmtMerkleProvider(RocksDbManager rocksDbManager, OriginalKeyIndex keyIndex,
+                             MembershipFilterService membershipFilters, LeafValueIndex valueIndex) {
+        this.rocksDbManager = rocksDbManager;
+        this.keyIndex = keyIndex;
+        this.membershipFilters = membershipFilters;
+        this.valueIndex = valueIndex;
+        log.info("SMT merkle provider initialized");
+    }
+
+    @Override
+    public String getScheme() {
+        return SCHEME;
+    }
+
+    @Override
+    public MerkleImplementation create(MerkleConfiguration config) {
+        String identifier = config.getIdentifier();
+        if (identifier == null || identifier.isBlank()) {
+            throw new IllegalArgumentException("Merkle identifier is required");
+        }
+
+        rocksDbManager.getOrCreateColumnFamily(identifier);
+
+        RocksDbSmtStore store = new RocksDbSmtStore(rocksDbManager, keyIndex, valueIndex, identifier);
+
+        String rootHash = config.getRootHash();
+        boolean storeOriginalKeys = config.isStoreOriginalKeys();
+        SmtMerkleImplementation merkle = new SmtMerkleImplementation(identifier, store, rootHash, storeOriginalKeys,
+            membershipFilters.indexer(identifier));
+
+        log.info("Created SMT merkle: {} (rootHash: {}, storeOriginalKeys: {})",
+            identifier, rootHash != null ? "present" : "null", storeOriginalKeys);
+        return merkle;
+    }
+
+    @Override
+    public boolean verifyProofWire(byte[] rootHash, byte[] key, byte[] value,
+                                   boolean expectedPresence, byte[] proof) {
+        // Default hashes are precomputed statics, so verification needs no tree state
+        return SmtProof.verify(rootHash, key, value, expectedPresence, proof);
+    }
+
+    @Override
+    public boolean supportsValueIndex() {
+        return true;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Sparse Merkle Tree (SMT) with Blake2b-256 hashing - fixed-depth, compressed non-membership proofs";
+    }
+}
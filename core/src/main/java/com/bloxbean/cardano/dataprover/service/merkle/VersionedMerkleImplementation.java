@@ -0,0 +1,29 @@
+package com.bloxbean.cardano.dataprover.service.merkle;
+
+import com.bloxbean.cardano.dataprover.exception.MerkleOperationException;
+
+import java.util.Optional;
+
+/**
+ * Merkle implementation that keeps every committed version readable, so values and proofs can be
+ * served against historical roots.
+ */
+public interface VersionedMerkleImplementation extends MerkleImplementation {
+
+    /**
+     * @return the version of the current root, -1 for a tree that has never been written
+     */
+    long getVersion();
+
+    /**
+     * @return the root hash of the given version, or empty if the version does not exist
+     */
+    Optional<byte[]> getRootHash(long version);
+
+    Optional<byte[]> get(byte[] key, long version) throws MerkleOperationException;
+
+    /**
+     * @return the wire proof against the given version, or empty if the version does not exist
+     */
+    Optional<byte[]> getProofWire(byte[] key, long version) throws MerkleOperationException;
+}
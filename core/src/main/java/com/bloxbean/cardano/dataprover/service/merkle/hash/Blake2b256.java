@@ -0,0 +1,584 @@
+package com.bloxbean.cardano.dataprover.service.merkle.hash;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Pure-Java Blake2b-256 (RFC 7693, unkeyed, 32-byte digest) tuned for the many short inputs of
+ * tree hashing.
+ * <p>
+ * The compression function works on local variables with the 12 rounds unrolled and reads message
+ * words with a little-endian {@link VarHandle}. Each thread reuses one digest state, so hashing
+ * allocates nothing but the returned digest, and inputs given in parts are absorbed without
+ * concatenating them first.
+ */
+public final class Blake2b256 implements HashFunction {
+
+    public static final String NAME = "blake2b-256";
+    public static final Blake2b256 INSTANCE = new Blake2b256();
+
+    private static final int DIGEST_LENGTH = 32;
+    private static final int BLOCK_LENGTH = 128;
+    private static final VarHandle LONG_LE =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final long IV0 = 0x6a09e667f3bcc908L;
+    private static final long IV1 = 0xbb67ae8584caa73bL;
+    private static final long IV2 = 0x3c6ef372fe94f82bL;
+    private static final long IV3 = 0xa54ff53a5f1d36f1L;
+    private static final long IV4 = 0x510e527fade682d1L;
+    private static final long IV5 = 0x9b05688c2b3e6c1fL;
+    private static final long IV6 = 0x1f83d9abfb41bd6bL;
+    private static final long IV7 = 0x5be0cd19137e2179L;
+
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    private Blake2b256() {
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int getDigestLength() {
+        return DIGEST_LENGTH;
+    }
+
+    @Override
+    public byte[] hash(byte[] data) {
+        State state = STATE.get();
+        state.reset();
+        state.update(data, 0, data.length);
+        return state.digest();
+    }
+
+    @Override
+    public byte[] hash(byte domain, byte[] first, byte[] second) {
+        State state = STATE.get();
+        state.reset();
+        state.update(domain);
+        state.update(first, 0, first.length);
+        state.update(second, 0, second.length);
+        return state.digest();
+    }
+
+    /**
+     * Incremental digest state; not thread-safe, one instance is reused per thread.
+     */
+    private static final class State {
+
+        private final long[] h = new long[8];
+        private final byte[] buffer = new byte[BLOCK_LENGTH];
+        private int bufferLength;
+        private long counter;
+
+        void reset() {
+            // Parameter block: digest length 32, no key, fanout 1, depth 1
+            h[0] = IV0 ^ 0x01010000L ^ DIGEST_LENGTH;
+            h[1] = IV1;
+            h[2] = IV2;
+            h[3] = IV3;
+            h[4] = IV4;
+            h[5] = IV5;
+            h[6] = IV6;
+            h[7] = IV7;
+            bufferLength = 0;
+            counter = 0;
+        }
+
+        void update(byte b) {
+            if (bufferLength == BLOCK_LENGTH) {
+                counter += BLOCK_LENGTH;
+                compress(buffer, 0, false);
+                bufferLength = 0;
+            }
+            buffer[bufferLength++] = b;
+        }
+
+        void update(byte[] data, int offset, int length) {
+            if (length == 0) {
+                return;
+            }
+            // The last block is only compressed by digest(), with the final flag set
+            if (bufferLength > 0) {
+                int fill = BLOCK_LENGTH - bufferLength;
+                if (length <= fill) {
+                    System.arraycopy(data, offset, buffer, bufferLength, length);
+                    bufferLength += length;
+                    return;
+                }
+                System.arraycopy(data, offset, buffer, bufferLength, fill);
+                counter += BLOCK_LENGTH;
+                compress(buffer, 0, false);
+                bufferLength = 0;
+                offset += fill;
+                length -= fill;
+            }
+            while (length > BLOCK_LENGTH) {
+                counter += BLOCK_LENGTH;
+                compress(data, offset, false);
+                offset += BLOCK_LENGTH;
+                length -= BLOCK_LENGTH;
+            }
+            System.arraycopy(data, offset, buffer, bufferLength, length);
+            bufferLength += length;
+        }
+
+        byte[] digest() {
+            counter += bufferLength;
+            Arrays.fill(buffer, bufferLength, BLOCK_LENGTH, (byte) 0);
+            compress(buffer, 0, true);
+            byte[] out = new byte[DIGEST_LENGTH];
+            for (int i = 0; i < DIGEST_LENGTH / 8; i++) {
+                LONG_LE.set(out, i * 8, h[i]);
+            }
+            return out;
+        }
+
+        private void compress(byte[] block, int offset, boolean last) {
+            long m0 = (long) LONG_LE.get(block, offset);
+            long m1 = (long) LONG_LE.get(block, offset + 8);
+            long m2 = (long) LONG_LE.get(block, offset + 16);
+            long m3 = (long) LONG_LE.get(block, offset + 24);
+            long m4 = (long) LONG_LE.get(block, offset + 32);
+            long m5 = (long) LONG_LE.get(block, offset + 40);
+            long m6 = (long) LONG_LE.get(block, offset + 48);
+            long m7 = (long) LONG_LE.get(block, offset + 56);
+            long m8 = (long) LONG_LE.get(block, offset + 64);
+            long m9 = (long) LONG_LE.get(block, offset + 72);
+            long m10 = (long) LONG_LE.get(block, offset + 80);
+            long m11 = (long) LONG_LE.get(block, offset + 88);
+            long m12 = (long) LONG_LE.get(block, offset + 96);
+            long m13 = (long) LONG_LE.get(block, offset + 104);
+            long m14 = (long) LONG_LE.get(block, offset + 112);
+            long m15 = (long) LONG_LE.get(block, offset + 120);
+
+            long v0 = h[0];
+            long v1 = h[1];
+            long v2 = h[2];
+            long v3 = h[3];
+            long v4 = h[4];
+            long v5 = h[5];
+            long v6 = h[6];
+            long v7 = h[7];
+            long v8 = IV0;
+            long v9 = IV1;
+            long v10 = IV2;
+            long v11 = IV3;
+            long v12 = IV4 ^ counter;
+            long v13 = IV5;
+            long v14 = last ? ~IV6 : IV6;
+            long v15 = IV7;
+
+            // Round 0
+            v0 += v4 + m0; v12 = Long.rotateRight(v12 ^ v0, 32);
+            v8 += v12; v4 = Long.rotateRight(v4 ^ v8, 24);
+            v0 += v4 + m1; v12 = Long.rotateRight(v12 ^ v0, 16);
+            v8 += v12; v4 = Long.rotateRight(v4 ^ v8, 63);
+            v1 += v5 + m2; v13 = Long.rotateRight(v13 ^ v1, 32);
+            v9 += v13; v5 = Long.rotateRight(v5 ^ v9, 24);
+            v1 += v5 + m3; v13 = Long.rotateRight(v13 ^ v1, 16);
+            v9 += v13; v5 = Long.rotateRight(v5 ^ v9, 63);
+            v2 += v6 + m4; v14 = Long.rotateRight(v14 ^ v2, 32);
+            v10 += v14; v6 = Long.rotateRight(v6 ^ v10, 24);
+            v2 += v6 + m5; v14 = Long.rotateRight(v14 ^ v2, 16);
+            v10 += v14; v6 = Long.rotateRight(v6 ^ v10, 63);
+            v3 += v7 + m6; v15 = Long.rotateRight(v15 ^ v3, 32);
+            v11 += v15; v7 = Long.rotateRight(v7 ^ v11, 24);
+            v3 += v7 + m7; v15 = Long.rotateRight(v15 ^ v3, 16);
+            v11 += v15; v7 = Long.rotateRight(v7 ^ v11, 63);
+            v0 += v5 + m8; v15 = Long.rotateRight(v15 ^ v0, 32);
+            v10 += v15; v5 = Long.rotateRight(v5 ^ v10, 24);
+            v0 += v5 + m9; v15 = Long.rotateRight(v15 ^ v0, 16);
+            v10 += v15; v5 = Long.rotateRight(v5 ^ v10, 63);
+            v1 += v6 + m10; v12 = Long.rotateRight(v12 ^ v1, 32);
+            v11 += v12; v6 = Long.rotateRight(v6 ^ v11, 24);
+            v1 += v6 + m11; v12 = Long.rotateRight(v12 ^ v1, 16);
+            v11 += v12; v6 = Long.rotateRight(v6 ^ v11, 63);
+            v2 += v7 + m12; v13 = Long.rotateRight(v13 ^ v2, 32);
+            v8 += v13; v7 = Long.rotateRight(v7 ^ v8, 24);
+            v2 += v7 + m13; v13 = Long.rotateRight(v13 ^ v2, 16);
+            v8 += v13; v7 = Long.rotateRight(v7 ^ v8, 63);
+            v3 += v4 + m14; v14 = Long.rotateRight(v14 ^ v3, 32);
+            v9 += v14; v4 = Long.rotateRight(v4 ^ v9, 24);
+            v3 += v4 + m15; v14 = Long.rotateRight(v14 ^ v3, 16);
+            v9 += v14; v4 = Long.rotateRight(v4 ^ v9, 63);
+            // Round 1
+            v0 += v4 + m14; v12 = Long.rotateRight(v12 ^ v0, 32);
+            v8 += v12; v4 = Long.rotateRight(v4 ^ v8, 24);
+            v0 += v4 + m10; v12 = Long.rotateRight(v12 ^ v0, 16);
+            v8 += v12; v4 = Long.rotateRight(v4 ^ v8, 63);
+            v1 += v5 + m4; v13 = Long.rotateRight(v13 ^ v1, 32);
+            v9 += v13; v5 = Long.rotateRight(v5 ^ v9, 24);
+            v1 += v5 + m8; v13 = Long.rotateRight(v13 ^ v1, 16);
+            v9 += v13; v5 = Long.rotateRight(v5 ^ v9, 63);
+            v2 += v6 + m9; v14 = Long.rotateRight(v14 ^ v2, 32);
+            v10 += v14; v6 = Long.rotateRight(v6 ^ v10, 24);
+            v2 += v6 + m15; v14 = Long.rotateRight(v14 ^ v2, 16);
+            v10 += v14; v6 = Long.rotateRight(v6 ^ v10, 63);
+            v3 += v7 + m13; v15 = Long.rotateRight(v15 ^ v3, 32);
+            v11 += v15; v7 = Long.rotateRight(v7 ^ v11, 24);
+            v3 += v7 + m6; v15 = Long.rotateRight(v15 ^ v3, 16);
+            v11 += v15; v7 = Long.rotateRight(v7 ^ v11, 63);
+            v0 += v5 + m1; v15 = Long.rotateRight(v15 ^ v0, 32);
+            v10 += v15; v5 = Long.rotateRight(v5 ^ v10, 24);
+            v0 += v5 + m12; v15 = Long.rotateRight(v15 ^ v0, 16);
+            v10 += v15; v5 = Long.rotateRight(v5 ^ v10, 63);
+            v1 += v6 + m0; v12 = Long.rotateRight(v12 ^ v1, 32);
+            v11 += v12; v6 = Long.rotateRight(v6 ^ v11, 24);
+            v1 += v6 + m2; v12 = Long.rotateRight(v12 ^ v1, 16);
+            v11 += v12; v6 = Long.rotateRight(v6 ^ v11, 63);
+            v2 += v7 + m11; v13 = Long.rotateRight(v13 ^ v2, 32);
+            v8 += v13; v7 = Long.rotateRight(v7 ^ v8, 24);
+            v2 += v7 + m7; v13 = Long.rotateRight(v13 ^ v2, 16);
+            v8 += v13; v7 = Long.rotateRight(v7 ^ v8, 63);
+            v3 += v4 + m5; v14 = Long.rotateRight(v14 ^ v3, 32);
+            v9 += v14; v4 = Long.rotateRight(v4 ^ v9, 24);
+            v3 += v4 + m3; v14 = Long.rotateRight(v14 ^ v3, 16);
+            v9 += v14; v4 = Long.rotateRight(v4 ^ v9, 63);
+            // Round 2
+            v0 += v4 + m11; v12 = Long.rotateRight(v12 ^ v0, 32);
+            v8 += v12; v4 = Long.rotateRight(v4 ^ v8, 24);
+            v0 += v4 + m8; v12 = Long.rotateRight(v12 ^ v0, 16);
+            v8 += v12; v4 = Long.rotateRight(v4 ^ v8, 63);
+            v1 += v5 + m12; v13 = Long.rotateRight(v13 ^ v1, 32);
+            v9 += v13; v5 = Long.rotateRight(v5 ^ v9, 24);
+            v1 += v5 + m0; v13 = Long.rotateRight(v13 ^ v1, 16);
+            v9 += v13; v5 = Long.rotateRight(v5 ^ v9, 63);
+            v2 += v6 + m5; v14 = Long.rotateRight(v14 ^ v2, 32);
+            v10 += v14; v6 = Long.rotateRight(v6 ^ v10, 24);
+            v2 += v6 + m2; v14 = Long.rotateRight(v14 ^ v2, 16);
+            v10 += v14; v6 = Long.rotateRight(v6 ^ v10, 63);
+            v3 += v7 + m15; v15 = Long.rotateRight(v15 ^ v3, 32);
+            v11 += v15; v7 = Long.rotateRight(v7 ^ v11, 24);
+            v3 += v7 + m13; v15 = Long.rotateRight(v15 ^ v3, 16);
+            v11 += v15; v7 = Long.rotateRight(v7 ^ v11, 63);
+            v0 += v5 + m10; v15 = Long.rotateRight(v15 ^ v0, 32);
+            v10 += v15; v5 = Long.rotateRight(v5 ^ v10, 24);
+            v0 += v5 + m14; v15 = Long.rotateRight(v15 ^ v0, 16);
+            v10 += v15; v5 = Long.rotateRight(v5 ^ v10, 63);
+            v1 += v6 + m3; v12 = Long.rotateRight(v12 ^ v1, 32);
+            v11 += v12; v6 = Long.rotateRight(v6 ^ v11, 24);
+            v1 += v6 + m6; v12 = Long.rotateRight(v12 ^ v1, 16);
+            v11 += v12; v6 = Long.rotateRight(v6 ^ v11, 63);
+            v2 += v7 + m7; v13 = Long.rotateRight(v13 ^ v2, 32);
+            v8 += v13; v7 = Long.rotateRight(v7 ^ v8, 24);
+            v2 += v7 + m1; v13 = Long.rotateRight(v13 ^ v2, 16);
+            v8 += v13; v7 = Long.rotateRight(v7 ^ v8, 63);
+            v3 += v4 + m9; v14 = Long.rotateRight(v14 ^ v3, 32);
+            v9 += v14; v4 = Long.rotateRight(v4 ^ v9, 24);
+            v3 += v4 + m4; v14 = Long.rotateRight(v14 ^ v3, 16);
+            v9 += v14; v4 = Long.rotateRight(v4 ^ v9, 63);
+            // Round 3
+            v0 += v4 + m7; v12 = Long.rotateRight(v12 ^ v0, 32);
+            v8 += v12; v4 = Long.rotateRight(v4 ^ v8, 24);
+            v0 += v4 + m9; v12 = Long.rotateRight(v12 ^ v0, 16);
+            v8 += v12; v4 = Long.rotateRight(v4 ^ v8, 63);
+            v1 += v5 + m3; v13 = Long.rotateRight(v13 ^ v1, 32);
+            v9 += v13; v5 = Long.rotateRight(v5 ^ v9, 24);
+            v1 += v5 + m1; v13 = Long.rotateRight(v13 ^ v1, 16);
+            v9 += v13; v5 = Long.rotateRight(v5 ^ v9, 63);
+            v2 += v6 + m13; v14 = Long.rotateRight(v14 ^ v2, 32);
+            v10 += v14; v6 = Long.rotateRight(v6 ^ v10, 24);
+            v2 += v6 + m12; v14 = Long.rotateRight(v14 ^ v2, 16);
+            v10 += v14; v6 = Long.rotateRight(v6 ^ v10, 63);
+            v3 += v7 + m11; v15 = Long.rotateRight(v15 ^ v3, 32);
+            v11 += v15; v7 = Long.rotateRight(v7 ^ v11, 24);
+            v3 += v7 + m14; v15 = Long.rotateRight(v15 ^ v3, 16);
+            v11 += v15; v7 = Long.rotateRight(v7 ^ v11, 63);
+            v0 += v5 + m2; v15 = Long.rotateRight(v15 ^ v0, 32);
+            v10 += v15; v5 = Long.rotateRight(v5 ^ v10, 24);
+            v0 += v5 + m6; v15 = Long.rotateRight(v15 ^ v0, 16);
+            v10 += v15; v5 = Long.rotateRight(v5 ^ v10, 63);
+            v1 += v6 + m5; v12 = Long.rotateRight(v12 ^ v1, 32);
+            v11 += v12; v6 = Long.rotateRight(v6 ^ v11, 24);
+            v1 += v6 + m10; v12 = Long.rotateRight(v12 ^ v1, 16);
+            v11 += v12; v6 = Long.rotateRight(v6 ^ v11, 63);
+            v2 += v7 + m4; v13 = Long.rotateRight(v13 ^ v2, 32);
+            v8 += v13; v7 = Long.rotateRight(v7 ^ v8, 24);
+            v2 += v7 + m0; v13 = Long.rotateRight(v13 ^ v2, 16);
+            v8 += v13; v7 = Long.rotateRight(v7 ^ v8, 63);
+            v3 += v4 + m15; v14 = Long.rotateRight(v14 ^ v3, 32);
+            v9 += v14; v4 = Long.rotateRight(v4 ^ v9, 24);
+            v3 += v4 + m8; v14 = Long.rotateRight(v14 ^ v3, 16);
+            v9 += v14; v4 = Long.rotateRight(v4 ^ v9, 63);
+            // Round 4
+            v0 += v4 + m9; v12 = Long.rotateRight(v12 ^ v0, 32);
+            v8 += v12; v4 = Long.rotateRight(v4 ^ v8, 24);
+            v0 += v4 + m0; v12 = Long.rotateRight(v12 ^ v0, 16);
+            v8 += v12; v4 = Long.rotateRight(v4 ^ v8, 63);
+            v1 += v5 + m5; v13 = Long.rotateRight(v13 ^ v1, 32);
+            v9 += v13; v5 = Long.rotateRight(v5 ^ v9, 24);
+            v1 += v5 + m7; v13 = Long.rotateRight(v13 ^ v1, 16);
+            v9 += v13; v5 = Long.rotateRight(v5 ^ v9, 63);
+            v2 += v6 + m2; v14 = Long.rotateRight(v14 ^ v2, 32);
+            v10 += v14; v6 = Long.rotateRight(v6 ^ v10, 24);
+            v2 += v6 + m4; v14 = Long.rotateRight(v14 ^ v2, 16);
+            v10 += v14; v6 = Long.rotateRight(v6 ^ v10, 63);
+            v3 += v7 + m10; v15 = Long.rotateRight(v15 ^ v3, 32);
+            v11 += v15; v7 = Long.rotateRight(v7 ^ v11, 24);
+            v3 += v7 + m15; v15 = Long.rotateRight(v15 ^ v3, 16);
+            v11 += v15; v7 = Long.rotateRight(v7 ^ v11, 63);
+            v0 += v5 + m14; v15 = Long.rotateRight(v15 ^ v0, 32);
+            v10 += v15; v5 = Long.rotateRight(v5 ^ v10, 24);
+            v0 += v5 + m1; v15 = Long.rotateRight(v15 ^ v0, 16);
+            v10 += v15; v5 = Long.rotateRight(v5 ^ v10, 63);
+            v1 += v6 + m11; v12 = Long.rotateRight(v12 ^ v1, 32);
+            v11 += v12; v6 = Long.rotateRight(v6 ^ v11, 24);
+            v1 += v6 + m12; v12 = Long.rotateRight(v12 ^ v1, 16);
+            v11 += v12; v6 = Long.rotateRight(v6 ^ v11, 63);
+            v2 += v7 + m6; v13 = Long.rotateRight(v13 ^ v2, 32);
+            v8 += v13; v7 = Long.rotateRight(v7 ^ v8, 24);
+            v2 += v7 + m8; v13 = Long.rotateRight(v13 ^ v2, 16);
+            v8 += v13; v7 = Long.rotateRight(v7 ^ v8, 63);
+            v3 += v4 + m3; v14 = Long.rotateRight(v14 ^ v3, 32);
+            v9 += v14; v4 = Long.rotateRight(v4 ^ v9, 24);
+            v3 += v4 + m13; v14 = Long.rotateRight(v14 ^ v3, 16);
+            v9 += v14; v4 = Long.rotateRight(v4 ^ v9, 63);
+            // Round 5
+            v0 += v4 + m2; v12 = Long.rotateRight(v12 ^ v0, 32);
+            v8 += v12; v4 = Long.rotateRight(v4 ^ v8, 24);
+            v0 += v4 + m12; v12 = Long.rotateRight(v12 ^ v0, 16);
+            v8 += v12; v4 = Long.rotateRight(v4 ^ v8, 63);
+            v1 += v5 + m6; v13 = Long.rotateRight(v13 ^ v1, 32);
+            v9 += v13; v5 = Long.rotateRight(v5 ^ v9, 24);
+            v1 += v5 + m10; v13 = Long.rotateRight(v13 ^ v1, 16);
+            v9 += v13; v5 = Long.rotateRight(v5 ^ v9, 63);
+            v2 += v6 + m0; v14 = Long.rotateRight(v14 ^ v2, 32);
+            v10 += v14; v6 = Long.rotateRight(v6 ^ v10, 24);
+            v2 += v6 + m11; v14 = Long.rotateRight(v14 ^ v2, 16);
+            v10 += v14; v6 = Long.rotateRight(v6 ^ v10, 63);
+            v3 += v7 + m8; v15 = Long.rotateRight(v15 ^ v3, 32);
+            v11 += v15; v7 = Long.rotateRight(v7 ^ v11, 24);
+            v3 += v7 + m3; v15 = Long.rotateRight(v15 ^ v3, 16);
+            v11 += v15; v7 = Long.rotateRight(v7 ^ v11, 63);
+            v0 += v5 + m4; v15 = Long.rotateRight(v15 ^ v0, 32);
+            v10 += v15; v5 = Long.rotateRight(v5 ^ v10, 24);
+            v0 += v5 + m13; v15 = Long.rotateRight(v15 ^ v0, 16);
+            v10 += v15; v5 = Long.rotateRight(v5 ^ v10, 63);
+            v1 += v6 + m7; v12 = Long.rotateRight(v12 ^ v1, 32);
+            v11 += v12; v6 = Long.rotateRight(v6 ^ v11, 24);
+            v1 += v6 + m5; v12 = Long.rotateRight(v12 ^ v1, 16);
+            v11 += v12; v6 = Long.rotateRight(v6 ^ v11, 63);
+            v2 += v7 + m15; v13 = Long.rotateRight(v13 ^ v2, 32);
+            v8 += v13; v7 = Long.rotateRight(v7 ^ v8, 24);
+            v2 += v7 + m14; v13 = Long.rotateRight(v13 ^ v2, 16);
+            v8 += v13; v7 = Long.rotateRight(v7 ^ v8, 63);
+            v3 += v4 + m1; v14 = Long.rotateRight(v14 ^ v3, 32);
+            v9 += v14; v4 = Long.rotateRight(v4 ^ v9, 24);
+            v3 += v4 + m9; v14 = Long.rotateRight(v14 ^ v3, 16);
+            v9 += v14; v4 = Long.rotateRight(v4 ^ v9, 63);
+            // Round 6
+            v0 += v4 + m12; v12 = Long.rotateRight(v12 ^ v0, 32);
+            v8 += v12; v4 = Long.rotateRight(v4 ^ v8, 24);
+            v0 += v4 + m5; v12 = Long.rotateRight(v12 ^ v0, 16);
+            v8 += v12; v4 = Long.rotateRight(v4 ^ v8, 63);
+            v1 += v5 + m1; v13 = Long.rotateRight(v13 ^ v1, 32);
+            v9 += v13; v5 = Long.rotateRight(v5 ^ v9, 24);
+            v1 += v5 + m15; v13 = Long.rotateRight(v13 ^ v1, 16);
+            v9 += v13; v5 = Long.rotateRight(v5 ^ v9, 63);
+            v2 += v6 + m14; v14 = Long.rotateRight(v14 ^ v2, 32);
+            v10 += v14; v6 = Long.rotateRight(v6 ^ v10, 24);
+            v2 += v6 + m13; v14 = Long.rotateRight(v14 ^ v2, 16);
+            v10 += v14; v6 = Long.rotateRight(v6 ^ v10, 63);
+            v3 += v7 + m4; v15 = Long.rotateRight(v15 ^ v3, 32);
+            v11 += v15; v7 = Long.rotateRight(v7 ^ v11, 24);
+            v3 += v7 + m10; v15 = Long.rotateRight(v15 ^ v3, 16);
+            v11 += v15; v7 = Long.rotateRight(v7 ^ v11, 63);
+            v0 += v5 + m0; v15 = Long.rotateRight(v15 ^ v0, 32);
+            v10 += v15; v5 = Long.rotateRight(v5 ^ v10, 24);
+            v0 += v5 + m7; v15 = Long.rotateRight(v15 ^ v0, 16);
+            v10 += v15; v5 = Long.rotateRight(v5 ^ v10, 63);
+            v1 += v6 + m6; v12 = Long.rotateRight(v12 ^ v1, 32);
+            v11 += v12; v6 = Long.rotateRight(v6 ^ v11, 24);
+            v1 += v6 + m3; v12 = Long.rotateRight(v12 ^ v1, 16);
+            v11 += v12; v6 = Long.rotateRight(v6 ^ v11, 63);
+            v2 += v7 + m9; v13 = Long.rotateRight(v13 ^ v2, 32);
+            v8 += v13; v7 = Long.rotateRight(v7 ^ v8, 24);
+            v2 += v7 + m2; v13 = Long.rotateRight(v13 ^ v2, 16);
+            v8 += v13; v7 = Long.rotateRight(v7 ^ v8, 63);
+            v3 += v4 + m8; v14 = Long.rotateRight(v14 ^ v3, 32);
+            v9 += v14; v4 = Long.rotateRight(v4 ^ v9, 24);
+            v3 += v4 + m11; v14 = Long.rotateRight(v14 ^ v3, 16);
+            v9 += v14; v4 = Long.rotateRight(v4 ^ v9, 63);
+            // Round 7
+            v0 += v4 + m13; v12 = Long.rotateRight(v12 ^ v0, 32);
+            v8 += v12; v4 = Long.rotateRight(v4 ^ v8, 24);
+            v0 += v4 + m11; v12 = Long.rotateRight(v12 ^ v0, 16);
+            v8 += v12; v4 = Long.rotateRight(v4 ^ v8, 63);
+            v1 += v5 + m7; v13 = Long.rotateRight(v13 ^ v1, 32);
+            v9 += v13; v5 = Long.rotateRight(v5 ^ v9, 24);
+            v1 += v5 + m14; v13 = Long.rotateRight(v13 ^ v1, 16);
+            v9 += v13; v5 = Long.rotateRight(v5 ^ v9, 63);
+            v2 += v6 + m12; v14 = Long.rotateRight(v14 ^ v2, 32);
+            v10 += v14; v6 = Long.rotateRight(v6 ^ v10, 24);
+            v2 += v6 + m1; v14 = Long.rotateRight(v14 ^ v2, 16);
+            v10 += v14; v6 = Long.rotateRight(v6 ^ v10, 63);
+            v3 += v7 + m3; v15 = Long.rotateRight(v15 ^ v3, 32);
+            v11 += v15; v7 = Long.rotateRight(v7 ^ v11, 24);
+            v3 += v7 + m9; v15 = Long.rotateRight(v15 ^ v3, 16);
+            v11 += v15; v7 = Long.rotateRight(v7 ^ v11, 63);
+            v0 += v5 + m5; v15 = Long.rotateRight(v15 ^ v0, 32);
+            v10 += v15; v5 = Long.rotateRight(v5 ^ v10, 24);
+            v0 += v5 + m0; v15 = Long.rotateRight(v15 ^ v0, 16);
+            v10 += v15; v5 = Long.rotateRight(v5 ^ v10, 63);
+            v1 += v6 + m15; v12 = Long.rotateRight(v12 ^ v1, 32);
+            v11 += v12; v6 = Long.rotateRight(v6 ^ v11, 24);
+            v1 += v6 + m4; v12 = Long.rotateRight(v12 ^ v1, 16);
+            v11 += v12; v6 = Long.rotateRight(v6 ^ v11, 63);
+            v2 += v7 + m8; v13 = Long.rotateRight(v13 ^ v2, 32);
+            v8 += v13; v7 = Long.rotateRight(v7 ^ v8, 24);
+            v2 += v7 + m6; v13 = Long.rotateRight(v13 ^ v2, 16);
+            v8 += v13; v7 = Long.rotateRight(v7 ^ v8, 63);
+            v3 += v4 + m2; v14 = Long.rotateRight(v14 ^ v3, 32);
+            v9 += v14; v4 = Long.rotateRight(v4 ^ v9, 24);
+            v3 += v4 + m10; v14 = Long.rotateRight(v14 ^ v3, 16);
+            v9 += v14; v4 = Long.rotateRight(v4 ^ v9, 63);
+            // Round 8
+            v0 += v4 + m6; v12 = Long.rotateRight(v12 ^ v0, 32);
+            v8 += v12; v4 = Long.rotateRight(v4 ^ v8, 24);
+            v0 += v4 + m15; v12 = Long.rotateRight(v12 ^ v0, 16);
+            v8 += v12; v4 = Long.rotateRight(v4 ^ v8, 63);
+            v1 += v5 + m14; v13 = Long.rotateRight(v13 ^ v1, 32);
+            v9 += v13; v5 = Long.rotateRight(v5 ^ v9, 24);
+            v1 += v5 + m9; v13 = Long.rotateRight(v13 ^ v1, 16);
+            v9 += v13; v5 = Long.rotateRight(v5 ^ v9, 63);
+            v2 += v6 + m11; v14 = Long.rotateRight(v14 ^ v2, 32);
+            v10 += v14; v6 = Long.rotateRight(v6 ^ v10, 24);
+            v2 += v6 + m3; v14 = Long.rotateRight(v14 ^ v2, 16);
+            v10 += v14; v6 = Long.rotateRight(v6 ^ v10, 63);
+            v3 += v7 + m0; v15 = Long.rotateRight(v15 ^ v3, 32);
+            v11 += v15; v7 = Long.rotateRight(v7 ^ v11, 24);
+            v3 += v7 + m8; v15 = Long.rotateRight(v15 ^ v3, 16);
+            v11 += v15; v7 = Long.rotateRight(v7 ^ v11, 63);
+            v0 += v5 + m12; v15 = Long.rotateRight(v15 ^ v0, 32);
+            v10 += v15; v5 = Long.rotateRight(v5 ^ v10, 24);
+            v0 += v5 + m2; v15 = Long.rotateRight(v15 ^ v0, 16);
+            v10 += v15; v5 = Long.rotateRight(v5 ^ v10, 63);
+            v1 += v6 + m13; v12 = Long.rotateRight(v12 ^ v1, 32);
+            v11 += v12; v6 = Long.rotateRight(v6 ^ v11, 24);
+            v1 += v6 + m7; v12 = Long.rotateRight(v12 ^ v1, 16);
+            v11 += v12; v6 = Long.rotateRight(v6 ^ v11, 63);
+            v2 += v7 + m1; v13 = Long.rotateRight(v13 ^ v2, 32);
+            v8 += v13; v7 = Long.rotateRight(v7 ^ v8, 24);
+            v2 += v7 + m4; v13 = Long.rotateRight(v13 ^ v2, 16);
+            v8 += v13; v7 = Long.rotateRight(v7 ^ v8, 63);
+            v3 += v4 + m10; v14 = Long.rotateRight(v14 ^ v3, 32);
+            v9 += v14; v4 = Long.rotateRight(v4 ^ v9, 24);
+            v3 += v4 + m5; v14 = Long.rotateRight(v14 ^ v3, 16);
+            v9 += v14; v4 = Long.rotateRight(v4 ^ v9, 63);
+            // Round 9
+            v0 += v4 + m10; v12 = Long.rotateRight(v12 ^ v0, 32);
+            v8 += v12; v4 = Long.rotateRight(v4 ^ v8, 24);
+            v0 += v4 + m2; v12 = Long.rotateRight(v12 ^ v0, 16);
+            v8 += v12; v4 = Long.rotateRight(v4 ^ v8, 63);
+            v1 += v5 + m8; v13 = Long.rotateRight(v13 ^ v1, 32);
+            v9 += v13; v5 = Long.rotateRight(v5 ^ v9, 24);
+            v1 += v5 + m4; v13 = Long.rotateRight(v13 ^ v1, 16);
+            v9 += v13; v5 = Long.rotateRight(v5 ^ v9, 63);
+            v2 += v6 + m7; v14 = Long.rotateRight(v14 ^ v2, 32);
+            v10 += v14; v6 = Long.rotateRight(v6 ^ v10, 24);
+            v2 += v6 + m6; v14 = Long.rotateRight(v14 ^ v2, 16);
+            v10 += v14; v6 = Long.rotateRight(v6 ^ v10, 63);
+            v3 += v7 + m1; v15 = Long.rotateRight(v15 ^ v3, 32);
+            v11 += v15; v7 = Long.rotateRight(v7 ^ v11, 24);
+            v3 += v7 + m5; v15 = Long.rotateRight(v15 ^ v3, 16);
+            v11 += v15; v7 = Long.rotateRight(v7 ^ v11, 63);
+            v0 += v5 + m15; v15 = Long.rotateRight(v15 ^ v0, 32);
+            v10 += v15; v5 = Long.rotateRight(v5 ^ v10, 24);
+            v0 += v5 + m11; v15 = Long.rotateRight(v15 ^ v0, 16);
+            v10 += v15; v5 = Long.rotateRight(v5 ^ v10, 63);
+            v1 += v6 + m9; v12 = Long.rotateRight(v12 ^ v1, 32);
+            v11 += v12; v6 = Long.rotateRight(v6 ^ v11, 24);
+            v1 += v6 + m14; v12 = Long.rotateRight(v12 ^ v1, 16);
+            v11 += v12; v6 = Long.rotateRight(v6 ^ v11, 63);
+            v2 += v7 + m3; v13 = Long.rotateRight(v13 ^ v2, 32);
+            v8 += v13; v7 = Long.rotateRight(v7 ^ v8, 24);
+            v2 += v7 + m12; v13 = Long.rotateRight(v13 ^ v2, 16);
+            v8 += v13; v7 = Long.rotateRight(v7 ^ v8, 63);
+            v3 += v4 + m13; v14 = Long.rotateRight(v14 ^ v3, 32);
+            v9 += v14; v4 = Long.rotateRight(v4 ^ v9, 24);
+            v3 += v4 + m0; v14 = Long.rotateRight(v14 ^ v3, 16);
+            v9 += v14; v4 = Long.rotateRight(v4 ^ v9, 63);
+            // Round 10
+            v0 += v4 + m0; v12 = Long.rotateRight(v12 ^ v0, 32);
+            v8 += v12; v4 = Long.rotateRight(v4 ^ v8, 24);
+            v0 += v4 + m1; v12 = Long.rotateRight(v12 ^ v0, 16);
+            v8 += v12; v4 = Long.rotateRight(v4 ^ v8, 63);
+            v1 += v5 + m2; v13 = Long.rotateRight(v13 ^ v1, 32);
+            v9 += v13; v5 = Long.rotateRight(v5 ^ v9, 24);
+            v1 += v5 + m3; v13 = Long.rotateRight(v13 ^ v1, 16);
+            v9 += v13; v5 = Long.rotateRight(v5 ^ v9, 63);
+            v2 += v6 + m4; v14 = Long.rotateRight(v14 ^ v2, 32);
+            v10 += v14; v6 = Long.rotateRight(v6 ^ v10, 24);
+            v2 += v6 + m5; v14 = Long.rotateRight(v14 ^ v2, 16);
+            v10 += v14; v6 = Long.rotateRight(v6 ^ v10, 63);
+            v3 += v7 + m6; v15 = Long.rotateRight(v15 ^ v3, 32);
+            v11 += v15; v7 = Long.rotateRight(v7 ^ v11, 24);
+            v3 += v7 + m7; v15 = Long.rotateRight(v15 ^ v3, 16);
+            v11 += v15; v7 = Long.rotateRight(v7 ^ v11, 63);
+            v0 += v5 + m8; v15 = Long.rotateRight(v15 ^ v0, 32);
+            v10 += v15; v5 = Long.rotateRight(v5 ^ v10, 24);
+            v0 += v5 + m9; v15 = Long.rotateRight(v15 ^ v0, 16);
+            v10 += v15; v5 = Long.rotateRight(v5 ^ v10, 63);
+            v1 += v6 + m10; v12 = Long.rotateRight(v12 ^ v1, 32);
+            v11 += v12; v6 = Long.rotateRight(v6 ^ v11, 24);
+            v1 += v6 + m11; v12 = Long.rotateRight(v12 ^ v1, 16);
+            v11 += v12; v6 = Long.rotateRight(v6 ^ v11, 63);
+            v2 += v7 + m12; v13 = Long.rotateRight(v13 ^ v2, 32);
+            v8 += v13; v7 = Long.rotateRight(v7 ^ v8, 24);
+            v2 += v7 + m13; v13 = Long.rotateRight(v13 ^ v2, 16);
+            v8 += v13; v7 = Long.rotateRight(v7 ^ v8, 63);
+            v3 += v4 + m14; v14 = Long.rotateRight(v14 ^ v3, 32);
+            v9 += v14; v4 = Long.rotateRight(v4 ^ v9, 24);
+            v3 += v4 + m15; v14 = Long.rotateRight(v14 ^ v3, 16);
+            v9 += v14; v4 = Long.rotateRight(v4 ^ v9, 63);
+            // Round 11
+            v0 += v4 + m14; v12 = Long.rotateRight(v12 ^ v0, 32);
+            v8 += v12; v4 = Long.rotateRight(v4 ^ v8, 24);
+            v0 += v4 + m10; v12 = Long.rotateRight(v12 ^ v0, 16);
+            v8 += v12; v4 = Long.rotateRight(v4 ^ v8, 63);
+            v1 += v5 + m4; v13 = Long.rotateRight(v13 ^ v1, 32);
+            v9 += v13; v5 = Long.rotateRight(v5 ^ v9, 24);
+            v1 += v5 + m8; v13 = Long.rotateRight(v13 ^ v1, 16);
+            v9 += v13; v5 = Long.rotateRight(v5 ^ v9, 63);
+            v2 += v6 + m9; v14 = Long.rotateRight(v14 ^ v2, 32);
+            v10 += v14; v6 = Long.rotateRight(v6 ^ v10, 24);
+            v2 += v6 + m15; v14 = Long.rotateRight(v14 ^ v2, 16);
+            v10 += v14; v6 = Long.rotateRight(v6 ^ v10, 63);
+            v3 += v7 + m13; v15 = Long.rotateRight(v15 ^ v3, 32);
+            v11 += v15; v7 = Long.rotateRight(v7 ^ v11, 24);
+            v3 += v7 + m6; v15 = Long.rotateRight(v15 ^ v3, 16);
+            v11 += v15; v7 = Long.rotateRight(v7 ^ v11, 63);
+            v0 += v5 + m1; v15 = Long.rotateRight(v15 ^ v0, 32);
+            v10 += v15; v5 = Long.rotateRight(v5 ^ v10, 24);
+            v0 += v5 + m12; v15 = Long.rotateRight(v15 ^ v0, 16);
+            v10 += v15; v5 = Long.rotateRight(v5 ^ v10, 63);
+            v1 += v6 + m0; v12 = Long.rotateRight(v12 ^ v1, 32);
+            v11 += v12; v6 = Long.rotateRight(v6 ^ v11, 24);
+            v1 += v6 + m2; v12 = Long.rotateRight(v12 ^ v1, 16);
+            v11 += v12; v6 = Long.rotateRight(v6 ^ v11, 63);
+            v2 += v7 + m11; v13 = Long.rotateRight(v13 ^ v2, 32);
+            v8 += v13; v7 = Long.rotateRight(v7 ^ v8, 24);
+            v2 += v7 + m7; v13 = Long.rotateRight(v13 ^ v2, 16);
+            v8 += v13; v7 = Long.rotateRight(v7 ^ v8, 63);
+            v3 += v4 + m5; v14 = Long.rotateRight(v14 ^ v3, 32);
+            v9 += v14; v4 = Long.rotateRight(v4 ^ v9, 24);
+            v3 += v4 + m3; v14 = Long.rotateRight(v14 ^ v3, 16);
+            v9 += v14; v4 = Long.rotateRight(v4 ^ v9, 63);
+
+            h[0] ^= v0 ^ v8;
+            h[1] ^= v1 ^ v9;
+            h[2] ^= v2 ^ v10;
+            h[3] ^= v3 ^ v11;
+            h[4] ^= v4 ^ v12;
+            h[5] ^= v5 ^ v13;
+            h[6] ^= v6 ^ v14;
+            h[7] ^= v7 ^ v15;
+        }
+    }
+}
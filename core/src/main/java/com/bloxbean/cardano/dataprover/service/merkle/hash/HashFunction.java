@@ -0,0 +1,28 @@
+package com.bloxbean.cardano.dataprover.service.merkle.hash;
+
+/**
+ * Hash function used to build and verify merkle trees. Implementations must be thread-safe.
+ */
+public interface HashFunction {
+
+    /**
+     * @return the name used in {@code MerkleConfiguration#getHashFunction()}, e.g. {@code blake2b-256}
+     */
+    String getName();
+
+    int getDigestLength();
+
+    byte[] hash(byte[] data);
+
+    /**
+     * Hashes {@code domain || first || second}, the shape of every domain-separated node hash.
+     * Implementations may absorb the parts directly instead of building the preimage.
+     */
+    default byte[] hash(byte domain, byte[] first, byte[] second) {
+        byte[] preimage = new byte[1 + first.length + second.length];
+        preimage[0] = domain;
+        System.arraycopy(first, 0, preimage, 1, first.length);
+        System.arraycopy(second, 0, preimage, 1 + first.length, second.length);
+        return hash(preimage);
+    }
+}
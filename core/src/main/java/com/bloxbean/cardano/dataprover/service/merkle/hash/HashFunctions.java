@@ -0,0 +1,52 @@
+package com.bloxbean.cardano.dataprover.service.merkle.hash;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Registry of hash function implementations.
+ * <p>
+ * Blake2b-256 is the only algorithm: MPF proofs are checked on-chain with {@code blake2b_256}, and
+ * the JMT, SMT and log hashers, the stateless proof verification of every scheme and the key hashes
+ * of the auxiliary indexes are fixed to it. {@code MerkleConfiguration#getHashFunction()} is only
+ * validated against it, so registering another algorithm does not change how any merkle hashes.
+ */
+public final class HashFunctions {
+
+    public static final String DEFAULT = Blake2b256.NAME;
+
+    private static final Map<String, HashFunction> FUNCTIONS = Map.of(
+            Blake2b256.NAME, Blake2b256.INSTANCE);
+
+    private HashFunctions() {
+        // Utility class
+    }
+
+    /**
+     * @return the default hash function, used by the schemes implemented in this module
+     */
+    public static HashFunction blake2b256() {
+        return Blake2b256.INSTANCE;
+    }
+
+    /**
+     * @param name hash function name, case-insensitive; null or blank selects {@link #DEFAULT}
+     * @throws IllegalArgumentException if no hash function is registered under the name
+     */
+    public static HashFunction forName(String name) {
+        if (name == null || name.isBlank()) {
+            return FUNCTIONS.get(DEFAULT);
+        }
+        HashFunction function = FUNCTIONS.get(name.trim().toLowerCase(Locale.ROOT));
+        if (function == null) {
+            throw new IllegalArgumentException(
+                    "Unsupported hash function: " + name + " (supported: " + getNames() + ")");
+        }
+        return function;
+    }
+
+    public static Set<String> getNames() {
+        return FUNCTIONS.keySet();
+    }
+}
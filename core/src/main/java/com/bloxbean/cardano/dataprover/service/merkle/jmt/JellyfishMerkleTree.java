@@ -0,0 +1,418 @@
+package com.bloxbean.cardano.dataprover.service.merkle.jmt;
+
+import com.bloxbean.cardano.dataprover.exception.MerkleOperationException;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Versioned Jellyfish Merkle Tree over Blake2b-256 key hashes.
+ * <p>
+ * The tree is a 16-ary radix tree without extension nodes in which each leaf sits at the shortest
+ * unique prefix of its key hash. Every batch of updates produces a new version: the modified nodes
+ * are written once under that version, keyed by version and nibble path, and all unmodified
+ * subtrees are shared with the previous version. Nodes are never overwritten, so every committed
+ * version can still be read and proven against.
+ * <p>
+ * Storage layout:
+ * <ul>
+ *   <li>{@code 'n' | version | depth | packed path} - node</li>
+ *   <li>{@code 'r' | version} - root of a version with its leaf count</li>
+ *   <li>{@code 'h' | root hash} - latest version with that root hash</li>
+ *   <li>{@code 'l'} - latest version</li>
+ * </ul>
+ * Reads work on an immutable root snapshot and may run concurrently with a write.
+ */
+public class JellyfishMerkleTree {
+
+    private static final byte NODE_PREFIX = 'n';
+    private static final byte ROOT_PREFIX = 'r';
+    private static final byte HASH_PREFIX = 'h';
+    private static final byte[] LATEST_KEY = {'l'};
+
+    private static final byte EMPTY_ROOT = 0;
+    private static final byte LEAF_ROOT = 1;
+    private static final byte INTERNAL_ROOT = 2;
+
+    private final JmtStore store;
+    private final boolean storeOriginalKeys;
+
+    private volatile Root current;
+    private long latestVersion;
+
+    /**
+     * Opens the tree at the version whose root hash is given, or empty if the root hash is null.
+     */
+    public JellyfishMerkleTree(JmtStore store, byte[] rootHash, boolean storeOriginalKeys) {
+        this.store = store;
+        this.storeOriginalKeys = storeOriginalKeys;
+
+        byte[] latest = store.get(LATEST_KEY);
+        this.latestVersion = latest != null ? ByteBuffer.wrap(latest).getLong() : -1;
+
+        if (rootHash == null) {
+            this.current = Root.EMPTY;
+        } else {
+            byte[] version = store.get(hashKey(rootHash));
+            if (version == null) {
+                throw new MerkleOperationException("No JMT version found for root hash");
+            }
+            this.current = readRoot(ByteBuffer.wrap(version).getLong())
+                    .orElseThrow(() -> new MerkleOperationException("Missing JMT root record"));
+        }
+    }
+
+    /**
+     * Applies a batch of updates as one new version. For repeated keys the last value wins.
+     *
+     * @return the new version, or the current one if the batch is empty
+     */
+    public synchronized long putAll(List<byte[]> keys, List<byte[]> values) {
+        if (keys.isEmpty()) {
+            return current.version();
+        }
+
+        Map<ByteBuffer, Update> byKeyHash = new LinkedHashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            byte[] keyHash = JmtHasher.hash(keys.get(i));
+            byKeyHash.put(ByteBuffer.wrap(keyHash), new Update(keyHash, keys.get(i), values.get(i), false));
+        }
+        List<Update> updates = new ArrayList<>(byKeyHash.values());
+        updates.sort((a, b) -> Arrays.compareUnsigned(a.keyHash(), b.keyHash()));
+
+        long version = latestVersion + 1;
+        Batch batch = new Batch(version);
+        JmtNode.Child child = insert(current.child(), 0, updates, batch);
+
+        Root root = new Root(version, child, current.leafCount() + batch.added);
+        byte[] versionBytes = ByteBuffer.allocate(8).putLong(version).array();
+        batch.entries.add(new JmtStore.Entry(rootKey(version), root.encode()));
+        batch.entries.add(new JmtStore.Entry(hashKey(child.hash()), versionBytes));
+        batch.entries.add(new JmtStore.Entry(LATEST_KEY, versionBytes));
+        store.write(batch.entries, leaves(updates), keys(updates), root.hash());
+
+        latestVersion = version;
+        current = root;
+        return version;
+    }
+
+    /**
+     * @return the current version, -1 if nothing has been written since the tree was created empty
+     */
+    public long getVersion() {
+        return current.version();
+    }
+
+    public long getLatestVersion() {
+        return latestVersion;
+    }
+
+    /**
+     * @return the current root hash, or null if the tree is empty
+     */
+    public byte[] getRootHash() {
+        return current.hash();
+    }
+
+    public Optional<byte[]> getRootHash(long version) {
+        return readRoot(version).map(Root::hash);
+    }
+
+    public long size() {
+        return current.leafCount();
+    }
+
+    public Optional<byte[]> get(byte[] key) {
+        return Optional.ofNullable(find(current, JmtHasher.hash(key)));
+    }
+
+    public Optional<byte[]> get(byte[] key, long version) {
+        return readRoot(version).map(root -> find(root, JmtHasher.hash(key)));
+    }
+
+    public JmtProof getProof(byte[] key) {
+        return prove(current, JmtHasher.hash(key));
+    }
+
+    /**
+     * @return the proof against the given version, or empty if the version does not exist
+     */
+    public Optional<JmtProof> getProof(byte[] key, long version) {
+        return readRoot(version).map(root -> prove(root, JmtHasher.hash(key)));
+    }
+
+    /**
+     * @return up to {@code maxEntries} leaves of the current version in key hash order
+     */
+    public List<JmtNode.Leaf> getLeaves(int maxEntries) {
+        List<JmtNode.Leaf> leaves = new ArrayList<>();
+        if (maxEntries > 0) {
+            forEachLeaf(leaf -> {
+                leaves.add(leaf);
+                return leaves.size() < maxEntries;
+            });
+        }
+        return leaves;
+    }
+
+    /**
+     * Visits the leaves of the current version in key hash order, loading one node at a time.
+     *
+     * @param visitor returns false to stop the traversal
+     */
+    public void forEachLeaf(Predicate<JmtNode.Leaf> visitor) {
+        // Waits for a write in progress, so the leaves include every version already in the store
+        Root root;
+        synchronized (this) {
+            root = current;
+        }
+        visit(root.child(), new byte[JmtHasher.HASH_LENGTH], 0, visitor);
+    }
+
+    private JmtNode.Child insert(JmtNode.Child existing, int depth, List<Update> updates, Batch batch) {
+        if (existing == null) {
+            return build(depth, updates, batch);
+        }
+
+        byte[] path = updates.get(0).keyHash();
+        JmtNode node = loadNode(existing.version(), path, depth);
+
+        if (node instanceof JmtNode.Leaf leaf) {
+            // Split or replace the leaf by rebuilding this position with the leaf as one more update
+            List<Update> merged = new ArrayList<>(updates.size() + 1);
+            boolean replaced = false;
+            for (Update update : updates) {
+                if (Arrays.equals(update.keyHash(), leaf.keyHash())) {
+                    merged.add(new Update(update.keyHash(), update.key(), update.value(), true));
+                    replaced = true;
+                } else {
+                    merged.add(update);
+                }
+            }
+            if (!replaced) {
+                merged.add(new Update(leaf.keyHash(), leaf.key(), leaf.value(), true));
+                merged.sort((a, b) -> Arrays.compareUnsigned(a.keyHash(), b.keyHash()));
+            }
+            return build(depth, merged, batch);
+        }
+
+        JmtNode.Child[] children = ((JmtNode.Internal) node).children().clone();
+        forEachNibbleGroup(updates, depth, (nibble, group) ->
+                children[nibble] = insert(children[nibble], depth + 1, group, batch));
+        return writeInternal(new JmtNode.Internal(children), path, depth, batch);
+    }
+
+    private JmtNode.Child build(int depth, List<Update> updates, Batch batch) {
+        if (updates.size() == 1) {
+            Update update = updates.get(0);
+            JmtNode.Leaf leaf = new JmtNode.Leaf(update.keyHash(), storeOriginalKeys ? update.key() : null, update.value());
+            batch.entries.add(new JmtStore.Entry(nodeKey(batch.version, update.keyHash(), depth), leaf.encode()));
+            if (!update.existing()) {
+                batch.added++;
+            }
+            return new JmtNode.Child(batch.version, leaf.hash(), true);
+        }
+        if (depth >= 2 * JmtHasher.HASH_LENGTH) {
+            throw new MerkleOperationException("JMT key hash collision");
+        }
+
+        JmtNode.Child[] children = new JmtNode.Child[16];
+        forEachNibbleGroup(updates, depth, (nibble, group) -> children[nibble] = build(depth + 1, group, batch));
+        return writeInternal(new JmtNode.Internal(children), updates.get(0).keyHash(), depth, batch);
+    }
+
+    private JmtNode.Child writeInternal(JmtNode.Internal node, byte[] path, int depth, Batch batch) {
+        batch.entries.add(new JmtStore.Entry(nodeKey(batch.version, path, depth), node.encode()));
+        return new JmtNode.Child(batch.version, node.hash(), false);
+    }
+
+    /**
+     * Calls the consumer for each run of updates sharing the nibble at {@code depth}; updates are sorted.
+     */
+    private static void forEachNibbleGroup(List<Update> updates, int depth, NibbleGroupConsumer consumer) {
+        int start = 0;
+        while (start < updates.size()) {
+            int nibble = JmtHasher.nibble(updates.get(start).keyHash(), depth);
+            int end = start + 1;
+            while (end < updates.size() && JmtHasher.nibble(updates.get(end).keyHash(), depth) == nibble) {
+                end++;
+            }
+            consumer.accept(nibble, updates.subList(start, end));
+            start = end;
+        }
+    }
+
+    private byte[] find(Root root, byte[] keyHash) {
+        JmtNode.Child child = root.child();
+        for (int depth = 0; child != null; depth++) {
+            JmtNode node = loadNode(child.version(), keyHash, depth);
+            if (node instanceof JmtNode.Leaf leaf) {
+                return Arrays.equals(leaf.keyHash(), keyHash) ? leaf.value() : null;
+            }
+            child = ((JmtNode.Internal) node).children()[JmtHasher.nibble(keyHash, depth)];
+        }
+        return null;
+    }
+
+    private JmtProof prove(Root root, byte[] keyHash) {
+        List<byte[]> siblings = new ArrayList<>();
+        JmtNode.Child child = root.child();
+        for (int depth = 0; child != null; depth++) {
+            JmtNode node = loadNode(child.version(), keyHash, depth);
+            if (node instanceof JmtNode.Leaf leaf) {
+                return new JmtProof(siblings, leaf.keyHash(), leaf.valueHash());
+            }
+
+            JmtNode.Internal internal = (JmtNode.Internal) node;
+            byte[][] slots = internal.slots();
+            byte[][][] levels = JmtHasher.internalLevels(slots);
+            int nibble = JmtHasher.nibble(keyHash, depth);
+            siblings.add(levels[2][(nibble >>> 3) ^ 1]);
+            siblings.add(levels[1][(nibble >>> 2) ^ 1]);
+            siblings.add(levels[0][(nibble >>> 1) ^ 1]);
+            siblings.add(slots[nibble ^ 1]);
+
+            child = internal.children()[nibble];
+        }
+        return new JmtProof(siblings, null, null);
+    }
+
+    /**
+     * @return false once the visitor has stopped the traversal
+     */
+    private boolean visit(JmtNode.Child child, byte[] path, int depth, Predicate<JmtNode.Leaf> visitor) {
+        if (child == null) {
+            return true;
+        }
+        JmtNode node = loadNode(child.version(), path, depth);
+        if (node instanceof JmtNode.Leaf leaf) {
+            return visitor.test(leaf);
+        }
+        JmtNode.Child[] children = ((JmtNode.Internal) node).children();
+        for (int nibble = 0; nibble < 16; nibble++) {
+            if (children[nibble] != null) {
+                byte[] childPath = path.clone();
+                int index = depth >>> 1;
+                childPath[index] = (byte) ((depth & 1) == 0
+                        ? (childPath[index] & 0x0f) | (nibble << 4)
+                        : (childPath[index] & 0xf0) | nibble);
+                if (!visit(children[nibble], childPath, depth + 1, visitor)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private JmtNode loadNode(long version, byte[] path, int depth) {
+        byte[] bytes = store.get(nodeKey(version, path, depth));
+        if (bytes == null) {
+            throw new MerkleOperationException("Missing JMT node at version " + version + ", depth " + depth);
+        }
+        return JmtNode.decode(bytes);
+    }
+
+    private Optional<Root> readRoot(long version) {
+        if (version < 0) {
+            return Optional.empty();
+        }
+        byte[] bytes = store.get(rootKey(version));
+        return bytes != null ? Optional.of(Root.decode(version, bytes)) : Optional.empty();
+    }
+
+    static byte[] nodeKey(long version, byte[] path, int depth) {
+        int packed = (depth + 1) / 2;
+        ByteBuffer buffer = ByteBuffer.allocate(10 + packed)
+                .put(NODE_PREFIX)
+                .putLong(version)
+                .put((byte) depth)
+                .put(path, 0, packed);
+        byte[] key = buffer.array();
+        if ((depth & 1) == 1) {
+            key[key.length - 1] &= (byte) 0xf0;
+        }
+        return key;
+    }
+
+    private static byte[] rootKey(long version) {
+        return ByteBuffer.allocate(9).put(ROOT_PREFIX).putLong(version).array();
+    }
+
+    private static byte[] hashKey(byte[] rootHash) {
+        return ByteBuffer.allocate(1 + rootHash.length).put(HASH_PREFIX).put(rootHash).array();
+    }
+
+    private static List<JmtStore.Entry> leaves(List<Update> updates) {
+        List<JmtStore.Entry> leaves = new ArrayList<>(updates.size());
+        for (Update update : updates) {
+            leaves.add(new JmtStore.Entry(update.keyHash(), update.value()));
+        }
+        return leaves;
+    }
+
+    private static List<JmtStore.Entry> keys(List<Update> updates) {
+        List<JmtStore.Entry> keys = new ArrayList<>(updates.size());
+        for (Update update : updates) {
+            keys.add(new JmtStore.Entry(update.key(), update.keyHash()));
+        }
+        return keys;
+    }
+
+    private record Update(byte[] keyHash, byte[] key, byte[] value, boolean existing) {}
+
+    private record Root(long version, JmtNode.Child child, long leafCount) {
+
+        static final Root EMPTY = new Root(-1, null, 0);
+
+        byte[] hash() {
+            return child != null ? child.hash() : null;
+        }
+
+        byte[] encode() {
+            if (child == null) {
+                return ByteBuffer.allocate(9).putLong(leafCount).put(EMPTY_ROOT).array();
+            }
+            return ByteBuffer.allocate(17 + JmtHasher.HASH_LENGTH)
+                    .putLong(leafCount)
+                    .put(child.leaf() ? LEAF_ROOT : INTERNAL_ROOT)
+                    .putLong(child.version())
+                    .put(child.hash())
+                    .array();
+        }
+
+        static Root decode(long version, byte[] bytes) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            long leafCount = buffer.getLong();
+            byte type = buffer.get();
+            if (type == EMPTY_ROOT) {
+                return new Root(version, null, leafCount);
+            }
+            long childVersion = buffer.getLong();
+            byte[] hash = new byte[JmtHasher.HASH_LENGTH];
+            buffer.get(hash);
+            return new Root(version, new JmtNode.Child(childVersion, hash, type == LEAF_ROOT), leafCount);
+        }
+    }
+
+    private static final class Batch {
+
+        private final long version;
+        private final List<JmtStore.Entry> entries = new ArrayList<>();
+        private long added;
+
+        Batch(long version) {
+            this.version = version;
+        }
+    }
+
+    @FunctionalInterface
+    private interface NibbleGroupConsumer {
+        void accept(int nibble, List<Update> group);
+    }
+}
@@ -0,0 +1,83 @@
+package com.bloxbean.cardano.dataprover.service.merkle.jmt;
+
+import com.bloxbean.cardano.dataprover.service.merkle.hash.HashFunction;
+import com.bloxbean.cardano.dataprover.service.merkle.hash.HashFunctions;
+
+/**
+ * Blake2b-256 hashing rules of the Jellyfish Merkle Tree.
+ * <p>
+ * A leaf hashes as {@code H(0x00 || keyHash || H(value))}. The 16 children of an internal node are
+ * folded as a 4-level binary tree whose pairs hash as {@code H(0x01 || left || right)}; a pair of
+ * empty subtrees stays {@link #EMPTY}. Domain separation keeps leaf and pair hashes apart.
+ */
+public final class JmtHasher {
+
+    public static final int HASH_LENGTH = 32;
+    public static final byte[] EMPTY = new byte[HASH_LENGTH];
+
+    private static final byte LEAF_DOMAIN = 0x00;
+    private static final byte PAIR_DOMAIN = 0x01;
+    private static final HashFunction HASH = HashFunctions.blake2b256();
+
+    private JmtHasher() {
+        // Utility class
+    }
+
+    public static byte[] hash(byte[] data) {
+        return HASH.hash(data);
+    }
+
+    public static byte[] leafHash(byte[] keyHash, byte[] valueHash) {
+        return HASH.hash(LEAF_DOMAIN, keyHash, valueHash);
+    }
+
+    public static byte[] pairHash(byte[] left, byte[] right) {
+        if (isEmpty(left) && isEmpty(right)) {
+            return EMPTY;
+        }
+        return HASH.hash(PAIR_DOMAIN, left, right);
+    }
+
+    /**
+     * Folds the 16 child slots of an internal node; empty slots are {@link #EMPTY}.
+     *
+     * @return the 4 binary levels above the slots, {@code levels[3][0]} being the node hash
+     */
+    public static byte[][][] internalLevels(byte[][] slots) {
+        byte[][][] levels = new byte[4][][];
+        byte[][] current = slots;
+        for (int level = 0; level < 4; level++) {
+            byte[][] next = new byte[current.length / 2][];
+            for (int i = 0; i < next.length; i++) {
+                next[i] = pairHash(current[2 * i], current[2 * i + 1]);
+            }
+            levels[level] = next;
+            current = next;
+        }
+        return levels;
+    }
+
+    public static boolean isEmpty(byte[] hash) {
+        for (byte b : hash) {
+            if (b != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the nibble of the key hash at the given depth, most significant first
+     */
+    public static int nibble(byte[] keyHash, int depth) {
+        int b = keyHash[depth >>> 1] & 0xff;
+        return (depth & 1) == 0 ? b >>> 4 : b & 0x0f;
+    }
+
+    /**
+     * @return the bit of the key hash at the given binary depth, most significant first
+     */
+    public static int bit(byte[] keyHash, int index) {
+        return (keyHash[index >>> 3] >>> (7 - (index & 7))) & 1;
+    }
+}
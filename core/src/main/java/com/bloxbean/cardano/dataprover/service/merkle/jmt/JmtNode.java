@@ -0,0 +1,121 @@
+package com.bloxbean.cardano.dataprover.service.merkle.jmt;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Node of a Jellyfish Merkle Tree. Nodes are immutable once written: an update writes new nodes
+ * under the new version and leaves the nodes of earlier versions in place.
+ */
+public sealed interface JmtNode permits JmtNode.Internal, JmtNode.Leaf {
+
+    byte INTERNAL_TYPE = 1;
+    byte LEAF_TYPE = 2;
+
+    byte[] hash();
+
+    byte[] encode();
+
+    static JmtNode decode(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        byte type = buffer.get();
+        if (type == INTERNAL_TYPE) {
+            int bitmap = buffer.getShort() & 0xffff;
+            Child[] children = new Child[16];
+            for (int i = 0; i < 16; i++) {
+                if ((bitmap & (1 << i)) != 0) {
+                    long version = buffer.getLong();
+                    boolean leaf = buffer.get() != 0;
+                    byte[] hash = new byte[JmtHasher.HASH_LENGTH];
+                    buffer.get(hash);
+                    children[i] = new Child(version, hash, leaf);
+                }
+            }
+            return new Internal(children);
+        }
+        if (type == LEAF_TYPE) {
+            byte[] keyHash = new byte[JmtHasher.HASH_LENGTH];
+            buffer.get(keyHash);
+            int keyLength = buffer.getInt();
+            byte[] key = null;
+            if (keyLength >= 0) {
+                key = new byte[keyLength];
+                buffer.get(key);
+            }
+            byte[] value = new byte[buffer.remaining()];
+            buffer.get(value);
+            return new Leaf(keyHash, key, value);
+        }
+        throw new IllegalStateException("Unknown JMT node type: " + type);
+    }
+
+    /**
+     * Reference from an internal node to a child, which lives at the child's path under {@code version}.
+     */
+    record Child(long version, byte[] hash, boolean leaf) {}
+
+    /**
+     * Internal node with up to 16 children indexed by nibble; absent children are null.
+     */
+    record Internal(Child[] children) implements JmtNode {
+
+        public byte[][] slots() {
+            byte[][] slots = new byte[16][];
+            for (int i = 0; i < 16; i++) {
+                slots[i] = children[i] != null ? children[i].hash() : JmtHasher.EMPTY;
+            }
+            return slots;
+        }
+
+        @Override
+        public byte[] hash() {
+            return JmtHasher.internalLevels(slots())[3][0];
+        }
+
+        @Override
+        public byte[] encode() {
+            int bitmap = 0;
+            int count = 0;
+            for (int i = 0; i < 16; i++) {
+                if (children[i] != null) {
+                    bitmap |= 1 << i;
+                    count++;
+                }
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(3 + count * (9 + JmtHasher.HASH_LENGTH));
+            buffer.put(INTERNAL_TYPE).putShort((short) bitmap);
+            for (Child child : children) {
+                if (child != null) {
+                    buffer.putLong(child.version()).put((byte) (child.leaf() ? 1 : 0)).put(child.hash());
+                }
+            }
+            return buffer.array();
+        }
+    }
+
+    /**
+     * Leaf holding a value; the original key is only kept when the merkle stores original keys.
+     */
+    record Leaf(byte[] keyHash, byte[] key, byte[] value) implements JmtNode {
+
+        public byte[] valueHash() {
+            return JmtHasher.hash(value);
+        }
+
+        @Override
+        public byte[] hash() {
+            return JmtHasher.leafHash(keyHash, valueHash());
+        }
+
+        @Override
+        public byte[] encode() {
+            int keyLength = key != null ? key.length : -1;
+            ByteBuffer buffer = ByteBuffer.allocate(1 + JmtHasher.HASH_LENGTH + 4 + Math.max(keyLength, 0) + value.length);
+            buffer.put(LEAF_TYPE).put(keyHash).putInt(keyLength);
+            if (key != null) {
+                buffer.put(key);
+            }
+            buffer.put(value);
+            return buffer.array();
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.bloxbean.cardano.dataprover.service.merkle.jmt;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sparse Merkle proof of a Jellyfish Merkle Tree and its CBOR wire encoding.
+ * <p>
+ * The wire proof is {@code [siblings, leaf]}: {@code siblings} lists the binary sibling hashes
+ * from the root down to the proven position (4 per internal node), an empty byte string standing
+ * for an empty subtree; {@code leaf} is {@code [keyHash, valueHash]} of the leaf found at that
+ * position, or null if the position is empty. A different leaf at the position proves absence.
+ */
+public record JmtProof(List<byte[]> siblings, byte[] leafKeyHash, byte[] leafValueHash) {
+
+    private static final int MAX_SIBLINGS = 8 * JmtHasher.HASH_LENGTH;
+
+    public byte[] encode() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(0x82);
+        writeArrayHeader(out, siblings.size());
+        for (byte[] sibling : siblings) {
+            writeBytes(out, JmtHasher.isEmpty(sibling) ? new byte[0] : sibling);
+        }
+        if (leafKeyHash == null) {
+            out.write(0xf6);
+        } else {
+            out.write(0x82);
+            writeBytes(out, leafKeyHash);
+            writeBytes(out, leafValueHash);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @throws IllegalArgumentException if the bytes are not a JMT wire proof
+     */
+    public static JmtProof decode(byte[] bytes) {
+        Reader reader = new Reader(bytes);
+        reader.expect(0x82);
+        int count = reader.readArrayHeader();
+        if (count > MAX_SIBLINGS) {
+            throw new IllegalArgumentException("Too many siblings in JMT proof: " + count);
+        }
+        List<byte[]> siblings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            byte[] sibling = reader.readBytes();
+            if (sibling.length == 0) {
+                siblings.add(JmtHasher.EMPTY);
+            } else if (sibling.length == JmtHasher.HASH_LENGTH) {
+                siblings.add(sibling);
+            } else {
+                throw new IllegalArgumentException("Invalid sibling hash length: " + sibling.length);
+            }
+        }
+        byte[] keyHash = null;
+        byte[] valueHash = null;
+        if (reader.peek() == 0xf6) {
+            reader.expect(0xf6);
+        } else {
+            reader.expect(0x82);
+            keyHash = reader.readHash();
+            valueHash = reader.readHash();
+        }
+        reader.expectEnd();
+        return new JmtProof(siblings, keyHash, valueHash);
+    }
+
+    /**
+     * Verifies a wire proof against a root hash.
+     *
+     * @param expectedPresence true to prove that {@code key} maps to {@code value}, false to prove
+     *                         that {@code key} is absent
+     */
+    public static boolean verify(byte[] rootHash, byte[] key, byte[] value, boolean expectedPresence, byte[] proof) {
+        if (rootHash == null || key == null || proof == null) {
+            return false;
+        }
+        JmtProof decoded;
+        try {
+            decoded = decode(proof);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        byte[] keyHash = JmtHasher.hash(key);
+
+        if (expectedPresence) {
+            if (value == null || decoded.leafKeyHash() == null
+                    || !Arrays.equals(decoded.leafKeyHash(), keyHash)
+                    || !Arrays.equals(decoded.leafValueHash(), JmtHasher.hash(value))) {
+                return false;
+            }
+        } else if (decoded.leafKeyHash() != null) {
+            // Another leaf proves absence only if it sits on the path of the key
+            if (Arrays.equals(decoded.leafKeyHash(), keyHash)
+                    || !sharesPrefix(decoded.leafKeyHash(), keyHash, decoded.siblings().size())) {
+                return false;
+            }
+        }
+
+        return Arrays.equals(decoded.computeRoot(keyHash), rootHash);
+    }
+
+    /**
+     * Folds the siblings from the proven position up to the root along the path of {@code keyHash}.
+     */
+    public byte[] computeRoot(byte[] keyHash) {
+        byte[] current = leafKeyHash != null ? JmtHasher.leafHash(leafKeyHash, leafValueHash) : JmtHasher.EMPTY;
+        for (int i = siblings.size() - 1; i >= 0; i--) {
+            byte[] sibling = siblings.get(i);
+            current = JmtHasher.bit(keyHash, i) == 0
+                    ? JmtHasher.pairHash(current, sibling)
+                    : JmtHasher.pairHash(sibling, current);
+        }
+        return current;
+    }
+
+    private static boolean sharesPrefix(byte[] a, byte[] b, int bits) {
+        for (int i = 0; i < bits; i++) {
+            if (JmtHasher.bit(a, i) != JmtHasher.bit(b, i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeArrayHeader(ByteArrayOutputStream out, int count) {
+        if (count < 24) {
+            out.write(0x80 | count);
+        } else if (count < 256) {
+            out.write(0x98);
+            out.write(count);
+        } else {
+            out.write(0x99);
+            out.write(count >>> 8);
+            out.write(count & 0xff);
+        }
+    }
+
+    private static void writeBytes(ByteArrayOutputStream out, byte[] bytes) {
+        if (bytes.length < 24) {
+            out.write(0x40 | bytes.length);
+        } else {
+            out.write(0x58);
+            out.write(bytes.length);
+        }
+        out.writeBytes(bytes);
+    }
+
+    private static final class Reader {
+
+        private final byte[] bytes;
+        private int position;
+
+        Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        int peek() {
+            if (position >= bytes.length) {
+                throw new IllegalArgumentException("Truncated JMT proof");
+            }
+            return bytes[position] & 0xff;
+        }
+
+        void expect(int header) {
+            if (peek() != header) {
+                throw new IllegalArgumentException("Unexpected CBOR header in JMT proof");
+            }
+            position++;
+        }
+
+        void expectEnd() {
+            if (position != bytes.length) {
+                throw new IllegalArgumentException("Trailing bytes after JMT proof");
+            }
+        }
+
+        int readArrayHeader() {
+            int header = peek();
+            position++;
+            if (header >= 0x80 && header < 0x98) {
+                return header & 0x1f;
+            }
+            if (header == 0x98) {
+                return readUnsigned(1);
+            }
+            if (header == 0x99) {
+                return readUnsigned(2);
+            }
+            throw new IllegalArgumentException("Expected an array in JMT proof");
+        }
+
+        byte[] readBytes() {
+            int header = peek();
+            position++;
+            int length;
+            if (header >= 0x40 && header < 0x58) {
+                length = header & 0x1f;
+            } else if (header == 0x58) {
+                length = readUnsigned(1);
+            } else {
+                throw new IllegalArgumentException("Expected a byte string in JMT proof");
+            }
+            if (length > bytes.length - position) {
+                throw new IllegalArgumentException("Truncated JMT proof");
+            }
+            byte[] value = Arrays.copyOfRange(bytes, position, position + length);
+            position += length;
+            return value;
+        }
+
+        byte[] readHash() {
+            byte[] hash = readBytes();
+            if (hash.length != JmtHasher.HASH_LENGTH) {
+                throw new IllegalArgumentException("Invalid hash length in JMT proof: " + hash.length);
+            }
+            return hash;
+        }
+
+        private int readUnsigned(int size) {
+            if (size > bytes.length - position) {
+                throw new IllegalArgumentException("Truncated JMT proof");
+            }
+            int value = 0;
+            for (int i = 0; i < size; i++) {
+                value = (value << 8) | (bytes[position++] & 0xff);
+            }
+            return value;
+        }
+    }
+}
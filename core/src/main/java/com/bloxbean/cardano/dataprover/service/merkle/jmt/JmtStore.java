@@ -0,0 +1,25 @@
+package com.bloxbean.cardano.dataprover.service.merkle.jmt;
+
+import java.util.List;
+
+/**
+ * Key-value storage backing a Jellyfish Merkle Tree.
+ */
+public interface JmtStore {
+
+    /**
+     * @return the stored bytes, or null if the key is absent
+     */
+    byte[] get(byte[] key);
+
+    /**
+     * Writes all entries atomically, committing the root hash they produce with them.
+     *
+     * @param leaves   key hashes and values of the leaves written, in write order
+     * @param keys     original keys and key hashes of the leaves written, in write order
+     * @param rootHash the root after the write, or null if the tree is empty
+     */
+    void write(List<Entry> entries, List<Entry> leaves, List<Entry> keys, byte[] rootHash);
+
+    record Entry(byte[] key, byte[] value) {}
+}
@@ -0,0 +1,67 @@
+package com.bloxbean.cardano.dataprover.service.merkle.jmt;
+
+import com.bloxbean.cardano.dataprover.exception.MerkleOperationException;
+import com.bloxbean.cardano.dataprover.service.storage.LeafValueIndex;
+import com.bloxbean.cardano.dataprover.service.storage.OriginalKeyIndex;
+import com.bloxbean.cardano.dataprover.service.storage.RocksDbManager;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.WriteBatch;
+
+import java.util.List;
+
+/**
+ * {@link JmtStore} on a RocksDB column family; every tree version is written in one batch.
+ */
+public class RocksDbJmtStore implements JmtStore {
+
+    private final OriginalKeyIndex keyIndex;
+    private final LeafValueIndex valueIndex;
+    private final String identifier;
+    private final RocksDB db;
+    private final ColumnFamilyHandle handle;
+
+    /**
+     * @param identifier the merkle whose column family holds the nodes; its root, original keys and
+     *                   leaf values are committed in the same batch as the nodes
+     */
+    public RocksDbJmtStore(RocksDbManager rocksDbManager, OriginalKeyIndex keyIndex, LeafValueIndex valueIndex,
+                           String identifier) {
+        this.keyIndex = keyIndex;
+        this.valueIndex = valueIndex;
+        this.identifier = identifier;
+        this.db = rocksDbManager.getDb(identifier);
+        this.handle = rocksDbManager.getColumnFamily(identifier);
+    }
+
+    @Override
+    public byte[] get(byte[] key) {
+        try {
+            return db.get(handle, key);
+        } catch (RocksDBException e) {
+            throw new MerkleOperationException("Failed to read JMT node", e);
+        }
+    }
+
+    @Override
+    public void write(List<Entry> entries, List<Entry> leaves, List<Entry> keys, byte[] rootHash) {
+        try (WriteBatch batch = new WriteBatch()) {
+            for (Entry entry : entries) {
+                batch.put(handle, entry.key(), entry.value());
+            }
+            keyIndex.writeMerkleBatch(identifier, batch, keys(keys),
+                    indexed -> valueIndex.writeMerkleBatch(identifier, indexed, leaves(leaves), rootHash));
+        } catch (RocksDBException e) {
+            throw new MerkleOperationException("Failed to write JMT nodes", e);
+        }
+    }
+
+    private static List<LeafValueIndex.Leaf> leaves(List<Entry> leaves) {
+        return leaves.stream().map(leaf -> new LeafValueIndex.Leaf(leaf.key(), leaf.value())).toList();
+    }
+
+    private static List<OriginalKeyIndex.Key> keys(List<Entry> keys) {
+        return keys.stream().map(key -> new OriginalKeyIndex.Key(key.key(), key.value())).toList();
+    }
+}
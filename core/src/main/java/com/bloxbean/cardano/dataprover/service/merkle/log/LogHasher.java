@@ -0,0 +1,48 @@
+package com.bloxbean.cardano.dataprover.service.merkle.log;
+
+import com.bloxbean.cardano.dataprover.service.merkle.hash.HashFunction;
+import com.bloxbean.cardano.dataprover.service.merkle.hash.HashFunctions;
+
+import java.nio.ByteBuffer;
+
+/**
+ * RFC 6962 tree hashing with Blake2b-256: a leaf hashes as {@code H(0x00 || data)} and an inner
+ * node as {@code H(0x01 || left || right)}. The leaf data of an entry is the big-endian u32 key
+ * length followed by the key and the value.
+ */
+public final class LogHasher {
+
+    public static final int HASH_LENGTH = 32;
+
+    private static final byte LEAF_DOMAIN = 0x00;
+    private static final byte NODE_DOMAIN = 0x01;
+    private static final HashFunction HASH = HashFunctions.blake2b256();
+
+    private LogHasher() {
+        // Utility class
+    }
+
+    public static byte[] hash(byte[] data) {
+        return HASH.hash(data);
+    }
+
+    public static byte[] leafHash(byte[] key, byte[] value) {
+        return hash(ByteBuffer.allocate(5 + key.length + value.length)
+                .put(LEAF_DOMAIN)
+                .putInt(key.length)
+                .put(key)
+                .put(value)
+                .array());
+    }
+
+    public static byte[] nodeHash(byte[] left, byte[] right) {
+        return HASH.hash(NODE_DOMAIN, left, right);
+    }
+
+    /**
+     * @return the largest power of two strictly smaller than {@code n}, for {@code n > 1}
+     */
+    static long splitPoint(long n) {
+        return Long.highestOneBit(n - 1);
+    }
+}
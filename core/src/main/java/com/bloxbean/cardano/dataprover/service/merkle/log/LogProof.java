@@ -0,0 +1,232 @@
+package com.bloxbean.cardano.dataprover.service.merkle.log;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Inclusion and consistency proofs of an RFC 6962 Merkle log.
+ * <p>
+ * The inclusion wire proof is the CBOR array {@code [leafIndex, treeSize, [hashes]]}, hashes listed
+ * from the leaf upwards. Verification follows RFC 9162 sections 2.1.3.2 and 2.1.4.2.
+ */
+public final class LogProof {
+
+    private static final int MAX_PATH = 64;
+
+    private LogProof() {
+        // Utility class
+    }
+
+    public static byte[] encodeInclusion(long leafIndex, long treeSize, List<byte[]> path) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 + path.size() * (2 + LogHasher.HASH_LENGTH));
+        out.write(0x83);
+        writeHeader(out, 0, leafIndex);
+        writeHeader(out, 0, treeSize);
+        writeHeader(out, 4, path.size());
+        for (byte[] hash : path) {
+            writeHeader(out, 2, hash.length);
+            out.writeBytes(hash);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @throws IllegalArgumentException if the bytes are not an inclusion wire proof
+     */
+    public static Inclusion decodeInclusion(byte[] bytes) {
+        Reader reader = new Reader(bytes);
+        if (reader.readHeader(4) != 3) {
+            throw new IllegalArgumentException("Invalid log proof header");
+        }
+        long leafIndex = reader.readHeader(0);
+        long treeSize = reader.readHeader(0);
+        long count = reader.readHeader(4);
+        if (count > MAX_PATH) {
+            throw new IllegalArgumentException("Log proof path too long: " + count);
+        }
+        List<byte[]> path = new ArrayList<>((int) count);
+        for (int i = 0; i < count; i++) {
+            if (reader.readHeader(2) != LogHasher.HASH_LENGTH) {
+                throw new IllegalArgumentException("Invalid hash length in log proof");
+            }
+            path.add(reader.readBytes(LogHasher.HASH_LENGTH));
+        }
+        if (reader.position != bytes.length) {
+            throw new IllegalArgumentException("Trailing bytes after log proof");
+        }
+        return new Inclusion(leafIndex, treeSize, path);
+    }
+
+    /**
+     * Verifies that the entry {@code key -> value} is included in the log with the given root, i.e.
+     * that it was appended; the proof does not show it is the latest value of the key, which only the
+     * log itself can check (see {@link MerkleLog#verifyLatest}). Absence cannot be proven in a log, so
+     * {@code expectedPresence == false} never verifies.
+     */
+    public static boolean verify(byte[] rootHash, byte[] key, byte[] value, boolean expectedPresence, byte[] proof) {
+        if (!expectedPresence || rootHash == null || key == null || value == null || proof == null) {
+            return false;
+        }
+        try {
+            Inclusion inclusion = decodeInclusion(proof);
+            return verifyInclusion(inclusion.leafIndex(), inclusion.treeSize(),
+                    LogHasher.leafHash(key, value), inclusion.path(), rootHash);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    public static boolean verifyInclusion(long leafIndex, long treeSize, byte[] leafHash,
+                                          List<byte[]> path, byte[] rootHash) {
+        if (leafIndex < 0 || leafIndex >= treeSize) {
+            return false;
+        }
+        long fn = leafIndex;
+        long sn = treeSize - 1;
+        byte[] r = leafHash;
+        for (byte[] p : path) {
+            if (sn == 0) {
+                return false;
+            }
+            if ((fn & 1) == 1 || fn == sn) {
+                r = LogHasher.nodeHash(p, r);
+                while ((fn & 1) == 0 && fn != 0) {
+                    fn >>>= 1;
+                    sn >>>= 1;
+                }
+            } else {
+                r = LogHasher.nodeHash(r, p);
+            }
+            fn >>>= 1;
+            sn >>>= 1;
+        }
+        return sn == 0 && Arrays.equals(r, rootHash);
+    }
+
+    /**
+     * Verifies that the log of size {@code secondSize} with root {@code secondRoot} extends the log
+     * of size {@code firstSize} with root {@code firstRoot}.
+     */
+    public static boolean verifyConsistency(long firstSize, long secondSize, byte[] firstRoot, byte[] secondRoot,
+                                            List<byte[]> proof) {
+        if (firstSize <= 0 || firstSize > secondSize) {
+            return false;
+        }
+        if (firstSize == secondSize) {
+            return proof.isEmpty() && Arrays.equals(firstRoot, secondRoot);
+        }
+        List<byte[]> path = new ArrayList<>(proof);
+        if (Long.bitCount(firstSize) == 1) {
+            path.add(0, firstRoot);
+        }
+        if (path.isEmpty()) {
+            return false;
+        }
+
+        long fn = firstSize - 1;
+        long sn = secondSize - 1;
+        while ((fn & 1) == 1) {
+            fn >>>= 1;
+            sn >>>= 1;
+        }
+        byte[] fr = path.get(0);
+        byte[] sr = path.get(0);
+        for (byte[] c : path.subList(1, path.size())) {
+            if (sn == 0) {
+                return false;
+            }
+            if ((fn & 1) == 1 || fn == sn) {
+                fr = LogHasher.nodeHash(c, fr);
+                sr = LogHasher.nodeHash(c, sr);
+                while ((fn & 1) == 0 && fn != 0) {
+                    fn >>>= 1;
+                    sn >>>= 1;
+                }
+            } else {
+                sr = LogHasher.nodeHash(sr, c);
+            }
+            fn >>>= 1;
+            sn >>>= 1;
+        }
+        return sn == 0 && Arrays.equals(fr, firstRoot) && Arrays.equals(sr, secondRoot);
+    }
+
+    public record Inclusion(long leafIndex, long treeSize, List<byte[]> path) {}
+
+    private static void writeHeader(ByteArrayOutputStream out, int majorType, long value) {
+        int type = majorType << 5;
+        if (value < 24) {
+            out.write(type | (int) value);
+        } else if (value < 0x100) {
+            out.write(type | 24);
+            out.write((int) value);
+        } else if (value < 0x10000) {
+            out.write(type | 25);
+            out.write((int) (value >>> 8));
+            out.write((int) value & 0xff);
+        } else if (value < 0x100000000L) {
+            out.write(type | 26);
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                out.write((int) (value >>> shift) & 0xff);
+            }
+        } else {
+            out.write(type | 27);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                out.write((int) (value >>> shift) & 0xff);
+            }
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] bytes;
+        private int position;
+
+        Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        long readHeader(int majorType) {
+            require(1);
+            int initial = bytes[position++] & 0xff;
+            if (initial >>> 5 != majorType) {
+                throw new IllegalArgumentException("Unexpected CBOR type in log proof");
+            }
+            int info = initial & 0x1f;
+            if (info < 24) {
+                return info;
+            }
+            int size = switch (info) {
+                case 24 -> 1;
+                case 25 -> 2;
+                case 26 -> 4;
+                case 27 -> 8;
+                default -> throw new IllegalArgumentException("Unsupported CBOR length in log proof");
+            };
+            require(size);
+            long value = 0;
+            for (int i = 0; i < size; i++) {
+                value = (value << 8) | (bytes[position++] & 0xff);
+            }
+            if (value < 0) {
+                throw new IllegalArgumentException("CBOR value out of range in log proof");
+            }
+            return value;
+        }
+
+        byte[] readBytes(int length) {
+            require(length);
+            byte[] value = Arrays.copyOfRange(bytes, position, position + length);
+            position += length;
+            return value;
+        }
+
+        private void require(int length) {
+            if (length > bytes.length - position) {
+                throw new IllegalArgumentException("Truncated log proof");
+            }
+        }
+    }
+}
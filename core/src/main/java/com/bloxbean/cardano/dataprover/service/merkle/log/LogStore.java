@@ -0,0 +1,33 @@
+package com.bloxbean.cardano.dataprover.service.merkle.log;
+
+import java.util.List;
+import java.util.function.BiPredicate;
+
+/**
+ * Key-value storage backing an append-only Merkle log.
+ */
+public interface LogStore {
+
+    /**
+     * @return the stored bytes, or null if the key is absent
+     */
+    byte[] get(byte[] key);
+
+    /**
+     * Visits the stored entries whose key starts with {@code prefix}, in unsigned key order.
+     *
+     * @param visitor receives each key and value; returns false to stop
+     */
+    void scan(byte[] prefix, BiPredicate<byte[], byte[]> visitor);
+
+    /**
+     * Writes all entries atomically, committing the root hash they produce with them.
+     *
+     * @param leaves   key hashes and values of the leaves written, in write order
+     * @param keys     original keys and key hashes of the leaves written, in write order
+     * @param rootHash the root after the write, or null if the tree is empty
+     */
+    void write(List<Entry> entries, List<Entry> leaves, List<Entry> keys, byte[] rootHash);
+
+    record Entry(byte[] key, byte[] value) {}
+}
@@ -0,0 +1,370 @@
+package com.bloxbean.cardano.dataprover.service.merkle.log;
+
+import com.bloxbean.cardano.dataprover.exception.MerkleOperationException;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * Append-only binary Merkle tree in the style of RFC 6962 (Certificate Transparency).
+ * <p>
+ * Entries are leaves in arrival order and are never rewritten, so an append touches O(log n) nodes
+ * and every earlier tree size keeps a verifiable root. The root hashes of the completed perfect
+ * subtrees (the frontier) are kept in memory, which makes an append a handful of hashes and a
+ * single write batch. Every completed perfect subtree is also stored, so the hash of any range
+ * needed by an inclusion or consistency proof is at most O(log n) reads.
+ * <p>
+ * Storage layout:
+ * <ul>
+ *   <li>{@code 'e' | index} - entry: index of the previous entry with the same key, key, value</li>
+ *   <li>{@code 'n' | level | index} - hash of the perfect subtree of 2^level leaves at that index</li>
+ *   <li>{@code 'k' | H(key)} - index of the latest entry of a key</li>
+ *   <li>{@code 's'} - number of entries</li>
+ * </ul>
+ */
+public class MerkleLog {
+
+    private static final byte ENTRY_PREFIX = 'e';
+    private static final byte NODE_PREFIX = 'n';
+    private static final byte KEY_PREFIX = 'k';
+    private static final byte[] SIZE_KEY = {'s'};
+    private static final long NONE = -1;
+
+    private final LogStore store;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final byte[][] peaks = new byte[Long.SIZE][];
+    private long size;
+
+    public MerkleLog(LogStore store) {
+        this.store = store;
+
+        byte[] stored = store.get(SIZE_KEY);
+        if (stored != null) {
+            this.size = ByteBuffer.wrap(stored).getLong();
+            for (int level = 0; level < Long.SIZE; level++) {
+                if ((size >>> level & 1) == 1) {
+                    peaks[level] = readNode(level, (size >>> level) - 1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Appends entries in order.
+     *
+     * @return the tree size after the append
+     */
+    public long appendAll(List<byte[]> keys, List<byte[]> values) {
+        lock.writeLock().lock();
+        try {
+            if (keys.isEmpty()) {
+                return size;
+            }
+            byte[][] newPeaks = peaks.clone();
+            long newSize = size;
+            List<LogStore.Entry> writes = new ArrayList<>(keys.size() * 4);
+            List<LogStore.Entry> leaves = new ArrayList<>(keys.size());
+            List<LogStore.Entry> indexedKeys = new ArrayList<>(keys.size());
+            Map<ByteBuffer, Long> latest = new HashMap<>();
+
+            for (int i = 0; i < keys.size(); i++) {
+                byte[] key = keys.get(i);
+                byte[] value = values.get(i);
+                byte[] keyHash = LogHasher.hash(key);
+                byte[] keyIndexKey = keyIndexKey(keyHash);
+                long index = newSize;
+
+                Long previous = latest.get(ByteBuffer.wrap(keyIndexKey));
+                long prev = previous != null ? previous : readIndex(keyIndexKey);
+                writes.add(new LogStore.Entry(entryKey(index), encodeEntry(prev, key, value)));
+                writes.add(new LogStore.Entry(keyIndexKey, longBytes(index)));
+                latest.put(ByteBuffer.wrap(keyIndexKey), index);
+                leaves.add(new LogStore.Entry(keyHash, value));
+                indexedKeys.add(new LogStore.Entry(key, keyHash));
+
+                byte[] hash = LogHasher.leafHash(key, value);
+                writes.add(new LogStore.Entry(nodeKey(0, index), hash));
+                int level = 0;
+                while ((newSize >>> level & 1) == 1) {
+                    hash = LogHasher.nodeHash(newPeaks[level], hash);
+                    newPeaks[level] = null;
+                    level++;
+                    writes.add(new LogStore.Entry(nodeKey(level, index >>> level), hash));
+                }
+                newPeaks[level] = hash;
+                newSize++;
+            }
+            writes.add(new LogStore.Entry(SIZE_KEY, longBytes(newSize)));
+            store.write(writes, leaves, indexedKeys, bagPeaks(newPeaks));
+
+            System.arraycopy(newPeaks, 0, peaks, 0, peaks.length);
+            size = newSize;
+            return size;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the current root hash, or null if the log is empty
+     */
+    public byte[] getRootHash() {
+        lock.readLock().lock();
+        try {
+            return bagPeaks(peaks);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static byte[] bagPeaks(byte[][] peaks) {
+        byte[] root = null;
+        for (byte[] peak : peaks) {
+            if (peak != null) {
+                root = root == null ? peak : LogHasher.nodeHash(peak, root);
+            }
+        }
+        return root;
+    }
+
+    /**
+     * @return the root hash of the log when it held {@code treeSize} entries, or null if that size is 0
+     */
+    public byte[] getRootHash(long treeSize) {
+        checkTreeSize(treeSize);
+        return treeSize == 0 ? null : rangeHash(0, treeSize);
+    }
+
+    /**
+     * @return the latest value appended for the key, or null if the key was never appended
+     */
+    public byte[] get(byte[] key) {
+        return get(key, size());
+    }
+
+    /**
+     * @return the latest value appended for the key within the first {@code treeSize} entries
+     */
+    public byte[] get(byte[] key, long treeSize) {
+        checkTreeSize(treeSize);
+        long index = findIndex(key, treeSize);
+        return index == NONE ? null : readEntry(index).value();
+    }
+
+    /**
+     * Visits the latest entry of every key in key hash order, reading one entry at a time.
+     * Appends wait until the traversal ends.
+     *
+     * @param visitor returns false to stop the traversal
+     */
+    public void forEachLatest(Predicate<Entry> visitor) {
+        lock.readLock().lock();
+        try {
+            store.scan(new byte[]{KEY_PREFIX}, (keyIndexKey, index) ->
+                    visitor.test(readEntry(ByteBuffer.wrap(index).getLong())));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Entry getEntry(long index) {
+        checkIndex(index, size());
+        return readEntry(index);
+    }
+
+    /**
+     * Builds the inclusion proof of the latest entry of a key in the tree of {@code treeSize} entries.
+     *
+     * @return the wire proof, or null if the key has no entry within that size
+     */
+    public byte[] getProof(byte[] key, long treeSize) {
+        checkTreeSize(treeSize);
+        long index = findIndex(key, treeSize);
+        if (index == NONE) {
+            return null;
+        }
+        return LogProof.encodeInclusion(index, treeSize, getInclusionPath(index, treeSize));
+    }
+
+    /**
+     * Verifies an inclusion proof and that its leaf is the latest entry of the key in the proven tree
+     * size, so a value the key was appended with before its latest append does not verify. The root
+     * must be the root of this log at the proof's tree size.
+     */
+    public boolean verifyLatest(byte[] rootHash, byte[] key, byte[] value, byte[] proof) {
+        if (!LogProof.verify(rootHash, key, value, true, proof)) {
+            return false;
+        }
+        // Appends never change an earlier tree size, so its root and entries need no lock
+        LogProof.Inclusion inclusion = LogProof.decodeInclusion(proof);
+        return inclusion.treeSize() <= size()
+                && Arrays.equals(rootHash, getRootHash(inclusion.treeSize()))
+                && findIndex(key, inclusion.treeSize()) == inclusion.leafIndex();
+    }
+
+    /**
+     * @return the audit path of leaf {@code index} in the tree of {@code treeSize} entries, leaf upwards
+     */
+    public List<byte[]> getInclusionPath(long index, long treeSize) {
+        checkTreeSize(treeSize);
+        checkIndex(index, treeSize);
+        List<byte[]> path = new ArrayList<>();
+        inclusionPath(index, 0, treeSize, path);
+        return path;
+    }
+
+    /**
+     * @return the RFC 6962 consistency proof between two tree sizes
+     */
+    public List<byte[]> getConsistencyProof(long firstSize, long secondSize) {
+        checkTreeSize(secondSize);
+        if (firstSize <= 0 || firstSize > secondSize) {
+            throw new IllegalArgumentException(
+                    "Invalid tree sizes for consistency proof: " + firstSize + ", " + secondSize);
+        }
+        List<byte[]> proof = new ArrayList<>();
+        subProof(firstSize, 0, secondSize, true, proof);
+        return proof;
+    }
+
+    private void inclusionPath(long m, long start, long n, List<byte[]> path) {
+        if (n == 1) {
+            return;
+        }
+        long k = LogHasher.splitPoint(n);
+        if (m < k) {
+            inclusionPath(m, start, k, path);
+            path.add(rangeHash(start + k, n - k));
+        } else {
+            inclusionPath(m - k, start + k, n - k, path);
+            path.add(rangeHash(start, k));
+        }
+    }
+
+    private void subProof(long m, long start, long n, boolean complete, List<byte[]> proof) {
+        if (m == n) {
+            if (!complete) {
+                proof.add(rangeHash(start, n));
+            }
+            return;
+        }
+        long k = LogHasher.splitPoint(n);
+        if (m <= k) {
+            subProof(m, start, k, complete, proof);
+            proof.add(rangeHash(start + k, n - k));
+        } else {
+            subProof(m - k, start + k, n - k, false, proof);
+            proof.add(rangeHash(start, k));
+        }
+    }
+
+    /**
+     * Hash of the {@code n} leaves from {@code start}. Ranges produced by the RFC 6962 split are
+     * aligned, so a power-of-two range is always a stored perfect subtree.
+     */
+    private byte[] rangeHash(long start, long n) {
+        if (Long.bitCount(n) == 1) {
+            int level = Long.numberOfTrailingZeros(n);
+            return readNode(level, start >>> level);
+        }
+        long k = LogHasher.splitPoint(n);
+        return LogHasher.nodeHash(rangeHash(start, k), rangeHash(start + k, n - k));
+    }
+
+    private long findIndex(byte[] key, long treeSize) {
+        long index = readIndex(keyIndexKey(LogHasher.hash(key)));
+        while (index >= treeSize) {
+            index = readEntry(index).previousIndex();
+        }
+        return index;
+    }
+
+    private void checkTreeSize(long treeSize) {
+        long current = size();
+        if (treeSize < 0 || treeSize > current) {
+            throw new IllegalArgumentException("Tree size " + treeSize + " out of range [0, " + current + "]");
+        }
+    }
+
+    private static void checkIndex(long index, long treeSize) {
+        if (index < 0 || index >= treeSize) {
+            throw new IllegalArgumentException("Leaf index " + index + " out of range for tree size " + treeSize);
+        }
+    }
+
+    private byte[] readNode(int level, long index) {
+        byte[] hash = store.get(nodeKey(level, index));
+        if (hash == null) {
+            throw new MerkleOperationException("Missing log node at level " + level + ", index " + index);
+        }
+        return hash;
+    }
+
+    private long readIndex(byte[] keyIndexKey) {
+        byte[] stored = store.get(keyIndexKey);
+        return stored != null ? ByteBuffer.wrap(stored).getLong() : NONE;
+    }
+
+    private Entry readEntry(long index) {
+        byte[] stored = store.get(entryKey(index));
+        if (stored == null) {
+            throw new MerkleOperationException("Missing log entry " + index);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(stored);
+        long previous = buffer.getLong();
+        byte[] key = new byte[buffer.getInt()];
+        buffer.get(key);
+        byte[] value = new byte[buffer.remaining()];
+        buffer.get(value);
+        return new Entry(index, previous, key, value);
+    }
+
+    private static byte[] encodeEntry(long previous, byte[] key, byte[] value) {
+        return ByteBuffer.allocate(12 + key.length + value.length)
+                .putLong(previous)
+                .putInt(key.length)
+                .put(key)
+                .put(value)
+                .array();
+    }
+
+    private static byte[] entryKey(long index) {
+        return ByteBuffer.allocate(9).put(ENTRY_PREFIX).putLong(index).array();
+    }
+
+    private static byte[] nodeKey(int level, long index) {
+        return ByteBuffer.allocate(10).put(NODE_PREFIX).put((byte) level).putLong(index).array();
+    }
+
+    private static byte[] keyIndexKey(byte[] keyHash) {
+        byte[] storageKey = Arrays.copyOf(new byte[]{KEY_PREFIX}, 1 + keyHash.length);
+        System.arraycopy(keyHash, 0, storageKey, 1, keyHash.length);
+        return storageKey;
+    }
+
+    private static byte[] longBytes(long value) {
+        return ByteBuffer.allocate(8).putLong(value).array();
+    }
+
+    /**
+     * Entry of the log; {@code previousIndex} links to the earlier entry of the same key, or -1.
+     */
+    public record Entry(long index, long previousIndex, byte[] key, byte[] value) {}
+}
@@ -0,0 +1,87 @@
+package com.bloxbean.cardano.dataprover.service.merkle.log;
+
+import com.bloxbean.cardano.dataprover.exception.MerkleOperationException;
+import com.bloxbean.cardano.dataprover.service.storage.LeafValueIndex;
+import com.bloxbean.cardano.dataprover.service.storage.OriginalKeyIndex;
+import com.bloxbean.cardano.dataprover.service.storage.RocksDbManager;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+import org.rocksdb.WriteBatch;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiPredicate;
+
+/**
+ * {@link LogStore} on a RocksDB column family; every batch of appends is written in one write batch.
+ */
+public class RocksDbLogStore implements LogStore {
+
+    private final OriginalKeyIndex keyIndex;
+    private final LeafValueIndex valueIndex;
+    private final String identifier;
+    private final RocksDB db;
+    private final ColumnFamilyHandle handle;
+
+    /**
+     * @param identifier the merkle whose column family holds the nodes; its root, original keys and
+     *                   leaf values are committed in the same batch as the nodes
+     */
+    public RocksDbLogStore(RocksDbManager rocksDbManager, OriginalKeyIndex keyIndex, LeafValueIndex valueIndex,
+                           String identifier) {
+        this.keyIndex = keyIndex;
+        this.valueIndex = valueIndex;
+        this.identifier = identifier;
+        this.db = rocksDbManager.getDb(identifier);
+        this.handle = rocksDbManager.getColumnFamily(identifier);
+    }
+
+    @Override
+    public byte[] get(byte[] key) {
+        try {
+            return db.get(handle, key);
+        } catch (RocksDBException e) {
+            throw new MerkleOperationException("Failed to read Merkle log", e);
+        }
+    }
+
+    @Override
+    public void scan(byte[] prefix, BiPredicate<byte[], byte[]> visitor) {
+        try (RocksIterator iterator = db.newIterator(handle)) {
+            for (iterator.seek(prefix); iterator.isValid(); iterator.next()) {
+                byte[] key = iterator.key();
+                if (key.length < prefix.length
+                        || !Arrays.equals(key, 0, prefix.length, prefix, 0, prefix.length)
+                        || !visitor.test(key, iterator.value())) {
+                    break;
+                }
+            }
+            iterator.status();
+        } catch (RocksDBException e) {
+            throw new MerkleOperationException("Failed to scan Merkle log", e);
+        }
+    }
+
+    @Override
+    public void write(List<Entry> entries, List<Entry> leaves, List<Entry> keys, byte[] rootHash) {
+        try (WriteBatch batch = new WriteBatch()) {
+            for (Entry entry : entries) {
+                batch.put(handle, entry.key(), entry.value());
+            }
+            keyIndex.writeMerkleBatch(identifier, batch, keys(keys),
+                    indexed -> valueIndex.writeMerkleBatch(identifier, indexed, leaves(leaves), rootHash));
+        } catch (RocksDBException e) {
+            throw new MerkleOperationException("Failed to append to Merkle log", e);
+        }
+    }
+
+    private static List<LeafValueIndex.Leaf> leaves(List<Entry> leaves) {
+        return leaves.stream().map(leaf -> new LeafValueIndex.Leaf(leaf.key(), leaf.value())).toList();
+    }
+
+    private static List<OriginalKeyIndex.Key> keys(List<Entry> keys) {
+        return keys.stream().map(key -> new OriginalKeyIndex.Key(key.key(), key.value())).toList();
+    }
+}
@@ -0,0 +1,88 @@
+package com.bloxbean.cardano.dataprover.service.merkle.smt;
+
+import com.bloxbean.cardano.dataprover.service.merkle.hash.HashFunction;
+import com.bloxbean.cardano.dataprover.service.merkle.hash.HashFunctions;
+
+/**
+ * Blake2b-256 hashing rules of the 256-level sparse Merkle tree.
+ * <p>
+ * An empty leaf is 32 zero bytes and a value leaf hashes as {@code H(0x00 || H(value))}. Inner nodes
+ * hash as {@code H(0x01 || left || right)}. The hash of an empty subtree only depends on its depth,
+ * so the {@link #defaultHash(int) default hashes} are computed once.
+ */
+public final class SmtHasher {
+
+    public static final int DEPTH = 256;
+    public static final int HASH_LENGTH = 32;
+
+    private static final byte LEAF_DOMAIN = 0x00;
+    private static final byte NODE_DOMAIN = 0x01;
+    private static final byte[] NO_BYTES = new byte[0];
+    private static final HashFunction HASH = HashFunctions.blake2b256();
+    private static final byte[][] DEFAULTS = new byte[DEPTH + 1][];
+
+    static {
+        DEFAULTS[DEPTH] = new byte[HASH_LENGTH];
+        for (int depth = DEPTH - 1; depth >= 0; depth--) {
+            DEFAULTS[depth] = pairHash(DEFAULTS[depth + 1], DEFAULTS[depth + 1]);
+        }
+    }
+
+    private SmtHasher() {
+        // Utility class
+    }
+
+    public static byte[] hash(byte[] data) {
+        return HASH.hash(data);
+    }
+
+    /**
+     * @return the hash of an empty subtree rooted at the given depth, 256 being a leaf
+     */
+    public static byte[] defaultHash(int depth) {
+        return DEFAULTS[depth];
+    }
+
+    public static byte[] leafHash(byte[] value) {
+        return HASH.hash(LEAF_DOMAIN, hash(value), NO_BYTES);
+    }
+
+    public static byte[] pairHash(byte[] left, byte[] right) {
+        return HASH.hash(NODE_DOMAIN, left, right);
+    }
+
+    /**
+     * Lifts the hash of a subtree at depth {@code from} to its ancestor at depth {@code to}, assuming
+     * every sibling on the way is empty.
+     *
+     * @param path any key hash below the subtree, selecting left or right at each level
+     */
+    public static byte[] lift(byte[] hash, byte[] path, int from, int to) {
+        byte[] current = hash;
+        for (int depth = from - 1; depth >= to; depth--) {
+            current = bit(path, depth) == 0
+                    ? pairHash(current, DEFAULTS[depth + 1])
+                    : pairHash(DEFAULTS[depth + 1], current);
+        }
+        return current;
+    }
+
+    /**
+     * @return the bit of the key hash at the given depth, most significant first
+     */
+    public static int bit(byte[] keyHash, int depth) {
+        return (keyHash[depth >>> 3] >>> (7 - (depth & 7))) & 1;
+    }
+
+    /**
+     * @return the number of leading bits two key hashes share, at most {@code limit}
+     */
+    public static int commonPrefix(byte[] a, byte[] b, int limit) {
+        for (int depth = 0; depth < limit; depth++) {
+            if (bit(a, depth) != bit(b, depth)) {
+                return depth;
+            }
+        }
+        return limit;
+    }
+}
@@ -0,0 +1,102 @@
+package com.bloxbean.cardano.dataprover.service.merkle.smt;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Stored node of a sparse Merkle tree.
+ * <p>
+ * Only the non-empty structure is stored: a branch sits where both of its subtrees hold leaves and a
+ * leaf sits directly below the last branch on its path. The empty levels in between are implied and
+ * hashed with default hashes, so the tree has the hashes of a full 256-level tree.
+ */
+public sealed interface SmtNode permits SmtNode.Branch, SmtNode.Leaf {
+
+    byte BRANCH_TYPE = 1;
+    byte LEAF_TYPE = 2;
+
+    byte[] encode();
+
+    static SmtNode decode(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        byte type = buffer.get();
+        if (type == BRANCH_TYPE) {
+            return new Branch(Ref.read(buffer), Ref.read(buffer));
+        }
+        if (type == LEAF_TYPE) {
+            byte[] keyHash = new byte[SmtHasher.HASH_LENGTH];
+            buffer.get(keyHash);
+            int keyLength = buffer.getInt();
+            byte[] key = null;
+            if (keyLength >= 0) {
+                key = new byte[keyLength];
+                buffer.get(key);
+            }
+            byte[] value = new byte[buffer.remaining()];
+            buffer.get(value);
+            return new Leaf(keyHash, key, value);
+        }
+        throw new IllegalStateException("Unknown SMT node type: " + type);
+    }
+
+    /**
+     * Reference to a stored node.
+     *
+     * @param depth depth of the node, 0 being the root
+     * @param path  a key hash below the node, locating it
+     * @param hash  hash of the subtree rooted at the node's depth
+     */
+    record Ref(int depth, byte[] path, byte[] hash, boolean leaf) {
+
+        static final int ENCODED_LENGTH = 3 + 2 * SmtHasher.HASH_LENGTH;
+
+        /**
+         * @return the hash of this subtree seen from the given ancestor depth
+         */
+        byte[] hashAt(int ancestorDepth) {
+            return SmtHasher.lift(hash, path, depth, ancestorDepth);
+        }
+
+        void write(ByteBuffer buffer) {
+            buffer.putShort((short) depth).put((byte) (leaf ? 1 : 0)).put(path).put(hash);
+        }
+
+        static Ref read(ByteBuffer buffer) {
+            int depth = buffer.getShort() & 0xffff;
+            boolean leaf = buffer.get() != 0;
+            byte[] path = new byte[SmtHasher.HASH_LENGTH];
+            buffer.get(path);
+            byte[] hash = new byte[SmtHasher.HASH_LENGTH];
+            buffer.get(hash);
+            return new Ref(depth, path, hash, leaf);
+        }
+    }
+
+    record Branch(Ref left, Ref right) implements SmtNode {
+
+        @Override
+        public byte[] encode() {
+            ByteBuffer buffer = ByteBuffer.allocate(1 + 2 * Ref.ENCODED_LENGTH).put(BRANCH_TYPE);
+            left.write(buffer);
+            right.write(buffer);
+            return buffer.array();
+        }
+    }
+
+    /**
+     * Leaf holding a value; the original key is only kept when the merkle stores original keys.
+     */
+    record Leaf(byte[] keyHash, byte[] key, byte[] value) implements SmtNode {
+
+        @Override
+        public byte[] encode() {
+            int keyLength = key != null ? key.length : -1;
+            ByteBuffer buffer = ByteBuffer.allocate(1 + SmtHasher.HASH_LENGTH + 4 + Math.max(keyLength, 0) + value.length);
+            buffer.put(LEAF_TYPE).put(keyHash).putInt(keyLength);
+            if (key != null) {
+                buffer.put(key);
+            }
+            buffer.put(value);
+            return buffer.array();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.bloxbean.cardano.dataprover.service.merkle.smt;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+/**
+ * Fixed-depth proof of a 256-level sparse Merkle tree and its compressed CBOR wire encoding.
+ * <p>
+ * A proof always has 256 siblings, from the root's children down to the leaf. On the wire it is
+ * {@code [bitmap, siblings]}: the 32-byte bitmap marks, most significant bit first, which siblings
+ * differ from the default hash of their depth, and only those are listed. Membership and
+ * non-membership proofs have the same shape; the verifier starts from the value's leaf hash or
+ * from the empty leaf respectively.
+ */
+public record SmtProof(byte[][] siblings) {
+
+    private static final int BITMAP_LENGTH = SmtHasher.DEPTH / 8;
+
+    /**
+     * @param siblings the 256 siblings indexed by the depth of their parent; null for a default hash
+     */
+    public SmtProof {
+        if (siblings.length != SmtHasher.DEPTH) {
+            throw new IllegalArgumentException("SMT proof needs " + SmtHasher.DEPTH + " siblings");
+        }
+    }
+
+    public byte[] encode() {
+        byte[] bitmap = new byte[BITMAP_LENGTH];
+        int count = 0;
+        for (int depth = 0; depth < SmtHasher.DEPTH; depth++) {
+            if (siblings[depth] != null) {
+                bitmap[depth >>> 3] |= (byte) (0x80 >>> (depth & 7));
+                count++;
+            }
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(4 + BITMAP_LENGTH + count * (2 + SmtHasher.HASH_LENGTH));
+        out.write(0x82);
+        writeBytes(out, bitmap);
+        if (count < 24) {
+            out.write(0x80 | count);
+        } else if (count < 256) {
+            out.write(0x98);
+            out.write(count);
+        } else {
+            out.write(0x99);
+            out.write(count >>> 8);
+            out.write(count & 0xff);
+        }
+        for (byte[] sibling : siblings) {
+            if (sibling != null) {
+                writeBytes(out, sibling);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @throws IllegalArgumentException if the bytes are not an SMT wire proof
+     */
+    public static SmtProof decode(byte[] bytes) {
+        int position = 0;
+        if (bytes.length < 3 + BITMAP_LENGTH || bytes[position++] != (byte) 0x82
+                || bytes[position++] != 0x58 || bytes[position++] != BITMAP_LENGTH) {
+            throw new IllegalArgumentException("Invalid SMT proof header");
+        }
+        byte[] bitmap = Arrays.copyOfRange(bytes, position, position + BITMAP_LENGTH);
+        position += BITMAP_LENGTH;
+
+        int expected = 0;
+        for (byte b : bitmap) {
+            expected += Integer.bitCount(b & 0xff);
+        }
+        int header = position < bytes.length ? bytes[position++] & 0xff : -1;
+        int count;
+        if (header >= 0x80 && header < 0x98) {
+            count = header & 0x1f;
+        } else if (header == 0x98 && position < bytes.length) {
+            count = bytes[position++] & 0xff;
+        } else if (header == 0x99 && position + 1 < bytes.length) {
+            count = ((bytes[position] & 0xff) << 8) | (bytes[position + 1] & 0xff);
+            position += 2;
+        } else {
+            throw new IllegalArgumentException("Invalid SMT proof sibling list");
+        }
+        if (count != expected || bytes.length - position != count * (2 + SmtHasher.HASH_LENGTH)) {
+            throw new IllegalArgumentException("SMT proof siblings do not match its bitmap");
+        }
+
+        byte[][] siblings = new byte[SmtHasher.DEPTH][];
+        for (int depth = 0; depth < SmtHasher.DEPTH; depth++) {
+            if ((bitmap[depth >>> 3] & (0x80 >>> (depth & 7))) != 0) {
+                if (bytes[position] != 0x58 || bytes[position + 1] != SmtHasher.HASH_LENGTH) {
+                    throw new IllegalArgumentException("Invalid SMT proof sibling");
+                }
+                siblings[depth] = Arrays.copyOfRange(bytes, position + 2, position + 2 + SmtHasher.HASH_LENGTH);
+                position += 2 + SmtHasher.HASH_LENGTH;
+            }
+        }
+        return new SmtProof(siblings);
+    }
+
+    /**
+     * Verifies a wire proof against a root hash.
+     *
+     * @param expectedPresence true to prove that {@code key} maps to {@code value}, false to prove
+     *                         that {@code key} is absent
+     */
+    public static boolean verify(byte[] rootHash, byte[] key, byte[] value, boolean expectedPresence, byte[] proof) {
+        if (rootHash == null || key == null || proof == null || (expectedPresence && value == null)) {
+            return false;
+        }
+        try {
+            byte[] leaf = expectedPresence ? SmtHasher.leafHash(value) : SmtHasher.defaultHash(SmtHasher.DEPTH);
+            return Arrays.equals(decode(proof).computeRoot(SmtHasher.hash(key), leaf), rootHash);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    public byte[] computeRoot(byte[] keyHash, byte[] leafHash) {
+        byte[] current = leafHash;
+        for (int depth = SmtHasher.DEPTH - 1; depth >= 0; depth--) {
+            byte[] sibling = siblings[depth] != null ? siblings[depth] : SmtHasher.defaultHash(depth + 1);
+            current = SmtHasher.bit(keyHash, depth) == 0
+                    ? SmtHasher.pairHash(current, sibling)
+                    : SmtHasher.pairHash(sibling, current);
+        }
+        return current;
+    }
+
+    private static void writeBytes(ByteArrayOutputStream out, byte[] bytes) {
+        out.write(0x58);
+        out.write(bytes.length);
+        out.writeBytes(bytes);
+    }
+}
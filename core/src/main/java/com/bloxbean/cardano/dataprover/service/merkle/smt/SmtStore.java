@@ -0,0 +1,25 @@
+package com.bloxbean.cardano.dataprover.service.merkle.smt;
+
+import java.util.List;
+
+/**
+ * Key-value storage backing a sparse Merkle tree.
+ */
+public interface SmtStore {
+
+    /**
+     * @return the stored bytes, or null if the key is absent
+     */
+    byte[] get(byte[] key);
+
+    /**
+     * Applies all puts and deletes atomically, committing the root hash they produce with them.
+     *
+     * @param leaves   key hashes and values of the leaves written, in write order
+     * @param keys     original keys and key hashes of the leaves written, in write order
+     * @param rootHash the root after the write, or null if the tree is empty
+     */
+    void write(List<Entry> puts, List<byte[]> deletes, List<Entry> leaves, List<Entry> keys, byte[] rootHash);
+
+    record Entry(byte[] key, byte[] value) {}
+}
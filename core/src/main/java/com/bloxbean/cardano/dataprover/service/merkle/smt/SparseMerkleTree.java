@@ -0,0 +1,354 @@
+package com.bloxbean.cardano.dataprover.service.merkle.smt;
+
+import com.bloxbean.cardano.dataprover.exception.MerkleOperationException;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * 256-level sparse Merkle tree over Blake2b-256 key hashes.
+ * <p>
+ * Every key has a fixed position, so proofs always have 256 siblings and prove non-membership the
+ * same way as membership. Empty subtrees are never stored: see {@link SmtNode} for the compressed
+ * layout. Updates are applied in sorted batches, visiting and rewriting each affected node once.
+ * <p>
+ * Storage layout:
+ * <ul>
+ *   <li>{@code 'n' | depth | packed path prefix} - node</li>
+ *   <li>{@code 'r'} - reference to the root node and the leaf count</li>
+ * </ul>
+ */
+public class SparseMerkleTree {
+
+    private static final byte NODE_PREFIX = 'n';
+    private static final byte[] ROOT_KEY = {'r'};
+
+    private final SmtStore store;
+    private final boolean storeOriginalKeys;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private SmtNode.Ref root;
+    private long leafCount;
+
+    public SparseMerkleTree(SmtStore store, boolean storeOriginalKeys) {
+        this.store = store;
+        this.storeOriginalKeys = storeOriginalKeys;
+
+        byte[] stored = store.get(ROOT_KEY);
+        if (stored != null) {
+            ByteBuffer buffer = ByteBuffer.wrap(stored);
+            this.leafCount = buffer.getLong();
+            this.root = buffer.hasRemaining() ? SmtNode.Ref.read(buffer) : null;
+        }
+    }
+
+    /**
+     * Applies a batch of updates. For repeated keys the last value wins.
+     */
+    public void putAll(List<byte[]> keys, List<byte[]> values) {
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        Map<ByteBuffer, Update> byKeyHash = new LinkedHashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            byte[] keyHash = SmtHasher.hash(keys.get(i));
+            byKeyHash.put(ByteBuffer.wrap(keyHash), new Update(keyHash, keys.get(i), values.get(i), false));
+        }
+        List<Update> updates = new ArrayList<>(byKeyHash.values());
+        updates.sort((a, b) -> Arrays.compareUnsigned(a.keyHash(), b.keyHash()));
+
+        lock.writeLock().lock();
+        try {
+            Batch batch = new Batch();
+            SmtNode.Ref newRoot = update(root, 0, updates, batch);
+            long newLeafCount = leafCount + batch.added;
+
+            ByteBuffer rootRecord = ByteBuffer.allocate(8 + SmtNode.Ref.ENCODED_LENGTH).putLong(newLeafCount);
+            newRoot.write(rootRecord);
+            batch.puts.add(new SmtStore.Entry(ROOT_KEY, rootRecord.array()));
+            store.write(batch.puts, batch.deletes, leaves(updates), keys(updates), newRoot.hashAt(0));
+
+            root = newRoot;
+            leafCount = newLeafCount;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the root hash, or null if the tree is empty
+     */
+    public byte[] getRootHash() {
+        lock.readLock().lock();
+        try {
+            return root != null ? root.hashAt(0) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long size() {
+        lock.readLock().lock();
+        try {
+            return leafCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public byte[] get(byte[] key) {
+        byte[] keyHash = SmtHasher.hash(key);
+        lock.readLock().lock();
+        try {
+            SmtNode.Ref ref = root;
+            while (ref != null) {
+                if (SmtHasher.commonPrefix(keyHash, ref.path(), ref.depth()) < ref.depth()) {
+                    return null;
+                }
+                SmtNode node = load(ref);
+                if (node instanceof SmtNode.Leaf leaf) {
+                    return Arrays.equals(leaf.keyHash(), keyHash) ? leaf.value() : null;
+                }
+                SmtNode.Branch branch = (SmtNode.Branch) node;
+                ref = SmtHasher.bit(keyHash, ref.depth()) == 0 ? branch.left() : branch.right();
+            }
+            return null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Builds the membership or non-membership proof of a key.
+     */
+    public SmtProof getProof(byte[] key) {
+        byte[] keyHash = SmtHasher.hash(key);
+        byte[][] siblings = new byte[SmtHasher.DEPTH][];
+        lock.readLock().lock();
+        try {
+            SmtNode.Ref ref = root;
+            while (ref != null) {
+                int shared = SmtHasher.commonPrefix(keyHash, ref.path(), ref.depth());
+                if (shared < ref.depth()) {
+                    // The key's subtree is empty; the node's subtree is its only non-empty sibling
+                    siblings[shared] = ref.hashAt(shared + 1);
+                    break;
+                }
+                SmtNode node = load(ref);
+                if (node instanceof SmtNode.Leaf leaf) {
+                    if (!Arrays.equals(leaf.keyHash(), keyHash)) {
+                        int diverge = SmtHasher.commonPrefix(keyHash, leaf.keyHash(), SmtHasher.DEPTH);
+                        siblings[diverge] = SmtHasher.lift(SmtHasher.leafHash(leaf.value()), leaf.keyHash(),
+                                SmtHasher.DEPTH, diverge + 1);
+                    }
+                    break;
+                }
+                SmtNode.Branch branch = (SmtNode.Branch) node;
+                boolean left = SmtHasher.bit(keyHash, ref.depth()) == 0;
+                siblings[ref.depth()] = (left ? branch.right() : branch.left()).hashAt(ref.depth() + 1);
+                ref = left ? branch.left() : branch.right();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new SmtProof(siblings);
+    }
+
+    /**
+     * @return up to {@code maxEntries} leaves in key hash order
+     */
+    public List<SmtNode.Leaf> getLeaves(int maxEntries) {
+        List<SmtNode.Leaf> leaves = new ArrayList<>();
+        if (maxEntries > 0) {
+            forEachLeaf(leaf -> {
+                leaves.add(leaf);
+                return leaves.size() < maxEntries;
+            });
+        }
+        return leaves;
+    }
+
+    /**
+     * Visits the leaves in key hash order, loading one node at a time. Writes wait until the
+     * traversal ends.
+     *
+     * @param visitor returns false to stop the traversal
+     */
+    public void forEachLeaf(Predicate<SmtNode.Leaf> visitor) {
+        lock.readLock().lock();
+        try {
+            visit(root, visitor);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Applies sorted updates to the subtree in the slot at {@code depth}, all of whose keys share
+     * the first {@code depth} bits.
+     */
+    private SmtNode.Ref update(SmtNode.Ref existing, int depth, List<Update> updates, Batch batch) {
+        if (existing == null) {
+            return build(depth, updates, batch);
+        }
+        if (updates.isEmpty()) {
+            return existing;
+        }
+
+        SmtNode node = load(existing);
+        if (node instanceof SmtNode.Leaf leaf) {
+            // Replace or split the leaf by rebuilding the slot with the leaf as one more update
+            batch.deletes.add(nodeKey(existing.depth(), existing.path()));
+            List<Update> merged = new ArrayList<>(updates.size() + 1);
+            boolean replaced = false;
+            for (Update update : updates) {
+                if (Arrays.equals(update.keyHash(), leaf.keyHash())) {
+                    merged.add(new Update(update.keyHash(), update.key(), update.value(), true));
+                    replaced = true;
+                } else {
+                    merged.add(update);
+                }
+            }
+            if (!replaced) {
+                merged.add(new Update(leaf.keyHash(), leaf.key(), leaf.value(), true));
+                merged.sort((a, b) -> Arrays.compareUnsigned(a.keyHash(), b.keyHash()));
+            }
+            return build(depth, merged, batch);
+        }
+
+        // Find where the updates leave the branch's path, if above the branch
+        int diverge = existing.depth();
+        for (Update update : updates) {
+            diverge = Math.min(diverge, SmtHasher.commonPrefix(update.keyHash(), existing.path(), diverge));
+        }
+        if (diverge < existing.depth()) {
+            int branchSide = SmtHasher.bit(existing.path(), diverge);
+            int split = splitIndex(updates, diverge);
+            List<Update> left = updates.subList(0, split);
+            List<Update> right = updates.subList(split, updates.size());
+            SmtNode.Ref leftRef = branchSide == 0 ? update(existing, diverge + 1, left, batch) : build(diverge + 1, left, batch);
+            SmtNode.Ref rightRef = branchSide == 1 ? update(existing, diverge + 1, right, batch) : build(diverge + 1, right, batch);
+            return writeBranch(diverge, leftRef, rightRef, batch);
+        }
+
+        SmtNode.Branch branch = (SmtNode.Branch) node;
+        int split = splitIndex(updates, existing.depth());
+        SmtNode.Ref leftRef = update(branch.left(), existing.depth() + 1, updates.subList(0, split), batch);
+        SmtNode.Ref rightRef = update(branch.right(), existing.depth() + 1, updates.subList(split, updates.size()), batch);
+        return writeBranch(existing.depth(), leftRef, rightRef, batch);
+    }
+
+    /**
+     * Builds the subtree in an empty slot at {@code depth} from sorted updates.
+     */
+    private SmtNode.Ref build(int depth, List<Update> updates, Batch batch) {
+        if (updates.size() == 1) {
+            Update update = updates.get(0);
+            SmtNode.Leaf leaf = new SmtNode.Leaf(update.keyHash(), storeOriginalKeys ? update.key() : null, update.value());
+            batch.puts.add(new SmtStore.Entry(nodeKey(depth, update.keyHash()), leaf.encode()));
+            if (!update.existing()) {
+                batch.added++;
+            }
+            byte[] hash = SmtHasher.lift(SmtHasher.leafHash(update.value()), update.keyHash(), SmtHasher.DEPTH, depth);
+            return new SmtNode.Ref(depth, update.keyHash(), hash, true);
+        }
+
+        // Skip the levels where all keys go the same way; they hold no branch
+        int splitDepth = SmtHasher.commonPrefix(updates.get(0).keyHash(),
+                updates.get(updates.size() - 1).keyHash(), SmtHasher.DEPTH);
+        if (splitDepth == SmtHasher.DEPTH) {
+            throw new MerkleOperationException("SMT key hash collision");
+        }
+        int split = splitIndex(updates, splitDepth);
+        SmtNode.Ref left = build(splitDepth + 1, updates.subList(0, split), batch);
+        SmtNode.Ref right = build(splitDepth + 1, updates.subList(split, updates.size()), batch);
+        return writeBranch(splitDepth, left, right, batch);
+    }
+
+    private SmtNode.Ref writeBranch(int depth, SmtNode.Ref left, SmtNode.Ref right, Batch batch) {
+        SmtNode.Branch branch = new SmtNode.Branch(left, right);
+        batch.puts.add(new SmtStore.Entry(nodeKey(depth, left.path()), branch.encode()));
+        byte[] hash = SmtHasher.pairHash(left.hashAt(depth + 1), right.hashAt(depth + 1));
+        return new SmtNode.Ref(depth, left.path(), hash, false);
+    }
+
+    /**
+     * @return the index of the first sorted update whose bit at {@code depth} is 1
+     */
+    private static int splitIndex(List<Update> updates, int depth) {
+        int index = 0;
+        while (index < updates.size() && SmtHasher.bit(updates.get(index).keyHash(), depth) == 0) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * @return false once the visitor has stopped the traversal
+     */
+    private boolean visit(SmtNode.Ref ref, Predicate<SmtNode.Leaf> visitor) {
+        if (ref == null) {
+            return true;
+        }
+        SmtNode node = load(ref);
+        if (node instanceof SmtNode.Leaf leaf) {
+            return visitor.test(leaf);
+        }
+        SmtNode.Branch branch = (SmtNode.Branch) node;
+        return visit(branch.left(), visitor) && visit(branch.right(), visitor);
+    }
+
+    private SmtNode load(SmtNode.Ref ref) {
+        byte[] bytes = store.get(nodeKey(ref.depth(), ref.path()));
+        if (bytes == null) {
+            throw new MerkleOperationException("Missing SMT node at depth " + ref.depth());
+        }
+        return SmtNode.decode(bytes);
+    }
+
+    static byte[] nodeKey(int depth, byte[] path) {
+        int packed = (depth + 7) / 8;
+        byte[] key = ByteBuffer.allocate(3 + packed)
+                .put(NODE_PREFIX)
+                .putShort((short) depth)
+                .put(path, 0, packed)
+                .array();
+        if (depth % 8 != 0) {
+            key[key.length - 1] &= (byte) (0xff << (8 - depth % 8));
+        }
+        return key;
+    }
+
+    private static List<SmtStore.Entry> leaves(List<Update> updates) {
+        List<SmtStore.Entry> leaves = new ArrayList<>(updates.size());
+        for (Update update : updates) {
+            leaves.add(new SmtStore.Entry(update.keyHash(), update.value()));
+        }
+        return leaves;
+    }
+
+    private static List<SmtStore.Entry> keys(List<Update> updates) {
+        List<SmtStore.Entry> keys = new ArrayList<>(updates.size());
+        for (Update update : updates) {
+            keys.add(new SmtStore.Entry(update.key(), update.keyHash()));
+        }
+        return keys;
+    }
+
+    private record Update(byte[] keyHash, byte[] key, byte[] value, boolean existing) {}
+
+    private static final class Batch {
+
+        private final List<SmtStore.Entry> puts = new ArrayList<>();
+        private final List<byte[]> deletes = new ArrayList<>();
+        private long added;
+    }
+}
@@ -0,0 +1,92 @@
+package com.bloxbean.cardano.dataprover.service.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer meters of the proof server.
+ * <p>
+ * Meters are registered with the application's {@link MeterRegistry} when one exists (the {@code app}
+ * module exports it in Prometheus format under {@code /actuator/prometheus}), and with the global
+ * registry otherwise, which discards them until a registry is added to it.
+ */
+@Component
+public class DataProverMetrics {
+
+    public static final String PROOF_LATENCY = "dataprover.proof.latency";
+    public static final String ENTRIES_WRITTEN = "dataprover.merkle.entries.written";
+    public static final String INGESTION_DURATION = "dataprover.ingestion.duration";
+    public static final String MERKLE_LOAD = "dataprover.merkle.load";
+    public static final String MERKLE_EVICTIONS = "dataprover.merkle.evictions";
+
+    public static final String TAG_MERKLE = "merkle";
+
+    private final MeterRegistry registry;
+
+    public DataProverMetrics(ObjectProvider<MeterRegistry> registry) {
+        this.registry = registry.getIfAvailable(() -> Metrics.globalRegistry);
+    }
+
+    public MeterRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * @param source where the proof came from: {@code cache}, {@code materialized} or {@code generated}
+     */
+    public void recordProof(String merkleIdentifier, String source, long nanos) {
+        Timer.builder(PROOF_LATENCY)
+                .description("Time to look up or generate a single proof")
+                .tag(TAG_MERKLE, merkleIdentifier)
+                .tag("source", source)
+                .publishPercentiles(0.5, 0.99)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Counter of entries written into a merkle; its rate is the merkle's put rate.
+     * Callers writing entry by entry should keep the counter rather than look it up per entry.
+     */
+    public Counter entriesWritten(String merkleIdentifier) {
+        return Counter.builder(ENTRIES_WRITTEN)
+                .description("Entries written into a merkle")
+                .baseUnit("entries")
+                .tag(TAG_MERKLE, merkleIdentifier)
+                .register(registry);
+    }
+
+    /**
+     * @param mode how the entries arrived: {@code provider}, {@code entries}, {@code stream} or {@code job}
+     */
+    public void recordIngestion(String merkleIdentifier, String mode, long nanos) {
+        Timer.builder(INGESTION_DURATION)
+                .description("Duration of an ingestion request or job")
+                .tag(TAG_MERKLE, merkleIdentifier)
+                .tag("mode", mode)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordMerkleLoad(String scheme, long nanos) {
+        Timer.builder(MERKLE_LOAD)
+                .description("Time to open a merkle that was not in the registry cache")
+                .tag("scheme", scheme)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordEviction() {
+        Counter.builder(MERKLE_EVICTIONS)
+                .description("Merkle instances evicted from the registry cache to make room")
+                .register(registry)
+                .increment();
+    }
+}
@@ -0,0 +1,221 @@
+package com.bloxbean.cardano.dataprover.service.retention;
+
+import com.bloxbean.cardano.dataprover.config.DataProverProperties;
+import com.bloxbean.cardano.dataprover.dto.MerkleArchiveResponse;
+import com.bloxbean.cardano.dataprover.dto.RetentionRunResponse;
+import com.bloxbean.cardano.dataprover.model.MerkleMetadata;
+import com.bloxbean.cardano.dataprover.model.MerkleStatus;
+import com.bloxbean.cardano.dataprover.repository.MerkleMetadataRepository;
+import com.bloxbean.cardano.dataprover.service.archive.MerkleArchiveService;
+import com.bloxbean.cardano.dataprover.service.filter.MembershipFilterService;
+import com.bloxbean.cardano.dataprover.service.storage.LeafValueIndex;
+import com.bloxbean.cardano.dataprover.service.storage.MaterializedProofStore;
+import com.bloxbean.cardano.dataprover.service.storage.OriginalKeyIndex;
+import com.bloxbean.cardano.dataprover.service.storage.RocksDbManager;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reclaims storage according to the retention properties.
+ * <p>
+ * A run first purges deleted merkles whose grace period has passed: their column families are
+ * dropped and the metadata row stays behind as a tombstone carrying the purge time. It then archives
+ * active merkles while their number exceeds {@code autoArchiveThreshold} percent of {@code maxMerkle},
+ * picking them by {@code archivePolicy}: {@code oldest-first} by creation time or
+ * {@code least-recently-updated}; {@code none} turns archiving off. Runs are scheduled every
+ * {@code intervalMinutes} and can be triggered from the admin API.
+ */
+@Service
+public class RetentionService {
+
+    private static final Logger log = LoggerFactory.getLogger(RetentionService.class);
+
+    static final String PURGED_AT_KEY = "purgedAt";
+
+    private final DataProverProperties properties;
+    private final MerkleMetadataRepository metadataRepository;
+    private final RocksDbManager rocksDbManager;
+    private final MaterializedProofStore materializedProofs;
+    private final OriginalKeyIndex keyIndex;
+    private final MembershipFilterService membershipFilters;
+    private final LeafValueIndex valueIndex;
+    private final MerkleArchiveService archiveService;
+    private final ScheduledExecutorService scheduler;
+
+    public RetentionService(DataProverProperties properties,
+                            MerkleMetadataRepository metadataRepository,
+                            RocksDbManager rocksDbManager,
+                            MaterializedProofStore materializedProofs,
+                            OriginalKeyIndex keyIndex,
+                            MembershipFilterService membershipFilters,
+                            LeafValueIndex valueIndex,
+                            MerkleArchiveService archiveService) {
+        this.properties = properties;
+        this.metadataRepository = metadataRepository;
+        this.rocksDbManager = rocksDbManager;
+        this.materializedProofs = materializedProofs;
+        this.keyIndex = keyIndex;
+        this.membershipFilters = membershipFilters;
+        this.valueIndex = valueIndex;
+        this.archiveService = archiveService;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "retention");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleRuns() {
+        int interval = properties.getRetention().getIntervalMinutes();
+        if (interval <= 0) {
+            return;
+        }
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                run();
+            } catch (RuntimeException e) {
+                log.error("Scheduled retention run failed", e);
+            }
+        }, interval, interval, TimeUnit.MINUTES);
+        log.info("Retention runs scheduled every {} minutes", interval);
+    }
+
+    /**
+     * Purges expired deleted merkles, then archives active merkles above the threshold.
+     * A merkle that fails is reported and skipped; the run continues with the next one.
+     */
+    public synchronized RetentionRunResponse run() {
+        long startTime = System.currentTimeMillis();
+        List<String> purged = new ArrayList<>();
+        List<String> archived = new ArrayList<>();
+        List<String> archiveFiles = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+        long reclaimedBytes = 0;
+
+        Instant purgeBefore = Instant.now()
+                .minus(Duration.ofHours(properties.getRetention().getDeletedGracePeriodHours()));
+        for (MerkleMetadata metadata : metadataRepository.findByStatus(MerkleStatus.DELETED)) {
+            if (isPurged(metadata) || metadata.getLastUpdated().isAfter(purgeBefore)) {
+                continue;
+            }
+            try {
+                reclaimedBytes += purge(metadata);
+                purged.add(metadata.getIdentifier());
+            } catch (RuntimeException e) {
+                log.error("Failed to purge deleted merkle {}", metadata.getIdentifier(), e);
+                errors.add(metadata.getIdentifier() + ": " + e.getMessage());
+            }
+        }
+
+        for (MerkleMetadata metadata : archiveCandidates()) {
+            String identifier = metadata.getIdentifier();
+            try {
+                long bytes = storageBytes(identifier);
+                MerkleArchiveResponse response = archiveService.archiveMerkle(identifier);
+                reclaimedBytes += bytes;
+                archived.add(identifier);
+                archiveFiles.add(response.getFile());
+            } catch (RuntimeException e) {
+                log.error("Failed to archive merkle {}", identifier, e);
+                errors.add(identifier + ": " + e.getMessage());
+            }
+        }
+
+        long duration = System.currentTimeMillis() - startTime;
+        if (!purged.isEmpty() || !archived.isEmpty() || !errors.isEmpty()) {
+            log.info("Retention run purged {} and archived {} merkles, reclaiming {} bytes in {}ms ({} errors)",
+                    purged.size(), archived.size(), reclaimedBytes, duration, errors.size());
+        }
+
+        return RetentionRunResponse.builder()
+                .purgedMerkles(purged)
+                .archivedMerkles(archived)
+                .archiveFiles(archiveFiles)
+                .errors(errors.isEmpty() ? null : errors)
+                .reclaimedBytes(reclaimedBytes)
+                .durationMs(duration)
+                .build();
+    }
+
+    /**
+     * Drops every column family of a deleted merkle.
+     *
+     * @return the storage the column families used
+     */
+    private long purge(MerkleMetadata metadata) {
+        String identifier = metadata.getIdentifier();
+        long bytes = storageBytes(identifier);
+
+        materializedProofs.drop(identifier);
+        keyIndex.drop(identifier);
+        membershipFilters.drop(identifier);
+        valueIndex.drop(identifier);
+        for (String columnFamily : rocksDbManager.getMerkleColumnFamilies(identifier)) {
+            rocksDbManager.deleteColumnFamily(columnFamily);
+        }
+
+        Map<String, Object> customMetadata = metadata.getMetadata() != null
+                ? new HashMap<>(metadata.getMetadata()) : new HashMap<>();
+        customMetadata.put(PURGED_AT_KEY, Instant.now().toString());
+        metadata.setMetadata(customMetadata);
+        metadataRepository.save(metadata);
+
+        log.info("Purged deleted merkle {}, reclaiming {} bytes", identifier, bytes);
+        return bytes;
+    }
+
+    private List<MerkleMetadata> archiveCandidates() {
+        DataProverProperties.RetentionProperties retention = properties.getRetention();
+        Comparator<MerkleMetadata> order = switch (retention.getArchivePolicy().toLowerCase()) {
+            case "none" -> null;
+            case "oldest-first" -> Comparator.comparing(MerkleMetadata::getCreatedAt);
+            case "least-recently-updated" -> Comparator.comparing(MerkleMetadata::getLastUpdated);
+            default -> {
+                log.warn("Unknown archive policy: {}, archiving disabled", retention.getArchivePolicy());
+                yield null;
+            }
+        };
+        if (order == null) {
+            return List.of();
+        }
+
+        long limit = (long) retention.getMaxMerkle() * retention.getAutoArchiveThreshold() / 100;
+        List<MerkleMetadata> active = new ArrayList<>(metadataRepository.findByStatus(MerkleStatus.ACTIVE));
+        if (active.size() <= limit) {
+            return List.of();
+        }
+        active.sort(order);
+        return active.subList(0, (int) (active.size() - limit));
+    }
+
+    private long storageBytes(String identifier) {
+        return rocksDbManager.getMerkleColumnFamilies(identifier).stream()
+                .mapToLong(rocksDbManager::getColumnFamilySize)
+                .sum();
+    }
+
+    private static boolean isPurged(MerkleMetadata metadata) {
+        return metadata.getMetadata() != null && metadata.getMetadata().containsKey(PURGED_AT_KEY);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
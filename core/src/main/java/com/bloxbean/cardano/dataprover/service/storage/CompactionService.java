@@ -0,0 +1,210 @@
+package com.bloxbean.cardano.dataprover.service.storage;
+
+import com.bloxbean.cardano.dataprover.config.DataProverProperties;
+import com.bloxbean.cardano.dataprover.exception.MerkleNotFoundException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedules compaction of merkle column families.
+ * <p>
+ * A bulk load flushes many overlapping L0 files, and compacting them while the load runs takes disk
+ * bandwidth from proof reads and rewrites data that is about to be overwritten. During a bulk load
+ * the merkle's column families are therefore not compacted automatically; when the last load ends
+ * they are compacted once, in the background. Compactions run one at a time and, like flushes, are
+ * bounded by the storage rate limiter.
+ * <p>
+ * With {@code ingestion.disable-wal}, trie writes of a bulk load also skip the write-ahead log: a load
+ * can be replayed from its provider, so logging every node write only doubles its I/O. The merkle is
+ * flushed by {@link BulkLoad#flush()} before a root is recorded and when the load ends. Schemes whose
+ * node store is not part of this project (MPF) keep logging their writes and are not flushed.
+ */
+@Component
+public class CompactionService {
+
+    private static final Logger log = LoggerFactory.getLogger(CompactionService.class);
+
+    private final RocksDbManager rocksDbManager;
+    private final DataProverProperties properties;
+    private final ExecutorService executor;
+    private final Map<String, Integer> bulkLoads = new HashMap<>();
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    public CompactionService(RocksDbManager rocksDbManager, DataProverProperties properties) {
+        this.rocksDbManager = rocksDbManager;
+        this.properties = properties;
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "rocksdb-compaction");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts a bulk load into a merkle if {@code entries} reaches the bulk load threshold; smaller
+     * loads are left to automatic compaction. Loads into the same merkle may overlap; compaction
+     * and logging resume when the last one is closed.
+     *
+     * @param entries the number of entries to load, or loaded so far when it is not known upfront
+     */
+    public BulkLoad beginBulkLoad(String identifier, long entries) {
+        if (!isBulkLoad(entries)) {
+            return () -> { };
+        }
+
+        boolean unlogged = isWalDisabled();
+        synchronized (bulkLoads) {
+            if (bulkLoads.merge(identifier, 1, Integer::sum) == 1) {
+                if (properties.getStorage().getDisableCompactionDuringIngest()) {
+                    setAutoCompaction(identifier, false);
+                }
+                if (unlogged) {
+                    rocksDbManager.setWalDisabled(identifier, true);
+                }
+            }
+        }
+        return new BulkLoad() {
+            private boolean closed;
+
+            @Override
+            public void flush() {
+                if (unlogged && !closed) {
+                    rocksDbManager.flushUnloggedWrites(identifier);
+                }
+            }
+
+            @Override
+            public void close() {
+                if (!closed) {
+                    try {
+                        flush();
+                    } finally {
+                        closed = true;
+                        endBulkLoad(identifier);
+                    }
+                }
+            }
+        };
+    }
+
+    public boolean isBulkLoad(long entries) {
+        return (properties.getStorage().getDisableCompactionDuringIngest() || isWalDisabled())
+                && entries >= properties.getStorage().getBulkLoadThreshold();
+    }
+
+    private boolean isWalDisabled() {
+        return Boolean.TRUE.equals(properties.getIngestion().getDisableWal());
+    }
+
+    private void endBulkLoad(String identifier) {
+        synchronized (bulkLoads) {
+            if (bulkLoads.merge(identifier, -1, Integer::sum) > 0) {
+                return;
+            }
+            bulkLoads.remove(identifier);
+            rocksDbManager.setWalDisabled(identifier, false);
+            if (!properties.getStorage().getDisableCompactionDuringIngest()) {
+                return;
+            }
+            setAutoCompaction(identifier, true);
+        }
+        // The merkle may have been deleted while it was loading
+        if (rocksDbManager.getColumnFamily(identifier) != null) {
+            schedule(identifier);
+        }
+    }
+
+    private void setAutoCompaction(String identifier, boolean enabled) {
+        for (String columnFamily : rocksDbManager.getMerkleColumnFamilies(identifier)) {
+            rocksDbManager.setAutoCompaction(columnFamily, enabled);
+        }
+    }
+
+    /**
+     * Queues a compaction of a merkle's column families.
+     *
+     * @return false if a compaction of the merkle is already queued or running
+     * @throws MerkleNotFoundException if the merkle has no column family
+     */
+    public boolean schedule(String identifier) {
+        if (rocksDbManager.getColumnFamily(identifier) == null) {
+            throw new MerkleNotFoundException(identifier);
+        }
+        if (!pending.add(identifier)) {
+            return false;
+        }
+        try {
+            executor.submit(() -> {
+                try {
+                    compact(identifier);
+                } catch (Exception e) {
+                    log.error("Compaction of merkle {} failed", identifier, e);
+                } finally {
+                    pending.remove(identifier);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(identifier);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Compacts a merkle's column families on the calling thread.
+     */
+    public void compact(String identifier) {
+        long start = System.currentTimeMillis();
+        List<String> columnFamilies = rocksDbManager.getMerkleColumnFamilies(identifier);
+        for (String columnFamily : columnFamilies) {
+            rocksDbManager.compactColumnFamily(columnFamily);
+        }
+        log.info("Compacted merkle {} ({} column families) in {}ms",
+                identifier, columnFamilies.size(), System.currentTimeMillis() - start);
+    }
+
+    public boolean isPending(String identifier) {
+        return pending.contains(identifier);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Queued compactions are dropped; RocksDB compacts the column families automatically after restart
+        executor.shutdownNow();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("Compaction still running at shutdown");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * An ongoing bulk load; closing it flushes the merkle if needed and ends the load.
+     */
+    @FunctionalInterface
+    public interface BulkLoad extends AutoCloseable {
+
+        /**
+         * Makes the writes of the load durable so far. Does nothing unless they skip the write-ahead log.
+         */
+        default void flush() {
+        }
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,281 @@
+package com.bloxbean.cardano.dataprover.service.storage;
+
+import com.bloxbean.cardano.dataprover.exception.MerkleOperationException;
+import com.bloxbean.cardano.dataprover.service.merkle.hash.HashFunctions;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Flat index of the leaf values of a merkle in the auxiliary column family {@code <id>__values},
+ * mapping the Blake2b-256 hash of each key to its current value, so a value lookup is one point read
+ * instead of a trie walk.
+ * <p>
+ * Trie stores write through {@link #writeMerkleBatch}, which adds the leaves to the batch of nodes
+ * that holds them, so index and trie never diverge. An index is only served once complete, as
+ * recorded by a marker under the empty key: a new merkle's index is complete from the start, one
+ * built for an existing merkle once its backfill from the trie is done. Leaves written during a
+ * backfill are remembered so the backfill never overwrites them with an older value.
+ */
+@Component
+public class LeafValueIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(LeafValueIndex.class);
+    private static final String SUFFIX = "values";
+    private static final byte[] MARKER_KEY = new byte[0];
+
+    private final RocksDbManager rocksDbManager;
+
+    /**
+     * Completeness per merkle, loaded lazily.
+     */
+    private final Map<String, Boolean> complete = new ConcurrentHashMap<>();
+    /**
+     * Key hashes written to each index being backfilled.
+     */
+    private final Map<String, Set<ByteBuffer>> backfills = new ConcurrentHashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public LeafValueIndex(RocksDbManager rocksDbManager) {
+        this.rocksDbManager = rocksDbManager;
+    }
+
+    public static byte[] hashKey(byte[] key) {
+        return HashFunctions.blake2b256().hash(key);
+    }
+
+    public boolean exists(String identifier) {
+        return rocksDbManager.getColumnFamily(columnFamily(identifier)) != null;
+    }
+
+    public boolean isComplete(String identifier) {
+        return complete.computeIfAbsent(identifier, this::loadComplete);
+    }
+
+    public boolean isBackfilling(String identifier) {
+        return backfills.containsKey(identifier);
+    }
+
+    /**
+     * Creates a complete, empty index for a new merkle.
+     */
+    public void create(String identifier) {
+        String columnFamily = columnFamily(identifier);
+        ColumnFamilyHandle handle = rocksDbManager.getOrCreateColumnFamily(columnFamily);
+        try {
+            rocksDbManager.getDb(columnFamily).put(handle, MARKER_KEY, MARKER_KEY);
+        } catch (RocksDBException e) {
+            throw new MerkleOperationException("Failed to create value index for merkle: " + identifier, e);
+        }
+        complete.put(identifier, true);
+    }
+
+    /**
+     * Looks up a value in the merkle's index.
+     *
+     * @param fallback answers instead while the merkle has no complete index
+     * @return the value, or empty if the key is absent
+     */
+    public Optional<byte[]> get(String identifier, byte[] key, Supplier<Optional<byte[]>> fallback) {
+        if (isComplete(identifier)) {
+            // Dropping closes the handle, so reads hold the lock to never use a closed one
+            lock.readLock().lock();
+            try {
+                String columnFamily = columnFamily(identifier);
+                ColumnFamilyHandle handle = rocksDbManager.getColumnFamily(columnFamily);
+                if (handle != null && isComplete(identifier)) {
+                    return Optional.ofNullable(rocksDbManager.getDb(columnFamily).get(handle, hashKey(key)));
+                }
+            } catch (RocksDBException e) {
+                throw new MerkleOperationException("Failed to read value index of merkle: " + identifier, e);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        return fallback.get();
+    }
+
+    /**
+     * Visits the key hash of every indexed leaf in unsigned order.
+     *
+     * @return the number of key hashes visited
+     */
+    public long forEachKeyHash(String identifier, Consumer<byte[]> visitor) {
+        lock.readLock().lock();
+        try {
+            String columnFamily = columnFamily(identifier);
+            ColumnFamilyHandle handle = rocksDbManager.getColumnFamily(columnFamily);
+            if (handle == null || !isComplete(identifier)) {
+                throw new MerkleOperationException("No complete value index for merkle: " + identifier);
+            }
+            long visited = 0;
+            try (RocksIterator iterator = rocksDbManager.getDb(columnFamily).newIterator(handle)) {
+                // The marker sorts first under the empty key
+                for (iterator.seekToFirst(); iterator.isValid(); iterator.next()) {
+                    byte[] keyHash = iterator.key();
+                    if (keyHash.length > 0) {
+                        visitor.accept(keyHash);
+                        visited++;
+                    }
+                }
+                iterator.status();
+            }
+            return visited;
+        } catch (RocksDBException e) {
+            throw new MerkleOperationException("Failed to scan value index of merkle: " + identifier, e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Writes a batch of trie nodes through {@link RocksDbManager#writeMerkleBatch}, indexing the
+     * values of the leaves it holds in the same batch when the merkle has an index.
+     *
+     * @param leaves key hashes and values of the leaves written, in write order
+     */
+    public void writeMerkleBatch(String identifier, WriteBatch batch, List<Leaf> leaves, byte[] rootHash)
+            throws RocksDBException {
+        lock.readLock().lock();
+        try {
+            ColumnFamilyHandle handle = leaves.isEmpty()
+                    ? null : rocksDbManager.getColumnFamily(columnFamily(identifier));
+            if (handle != null) {
+                for (Leaf leaf : leaves) {
+                    batch.put(handle, leaf.keyHash(), leaf.value());
+                }
+            }
+            rocksDbManager.writeMerkleBatch(identifier, batch, rootHash);
+
+            Set<ByteBuffer> written = handle != null ? backfills.get(identifier) : null;
+            if (written != null) {
+                for (Leaf leaf : leaves) {
+                    written.add(ByteBuffer.wrap(leaf.keyHash()));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Starts building an index for an existing merkle, replacing any earlier one. Leaves written from
+     * now on are indexed as they are written; the rest are added by {@link #backfill}.
+     */
+    public void begin(String identifier) {
+        drop(identifier);
+        lock.writeLock().lock();
+        try {
+            rocksDbManager.getOrCreateColumnFamily(columnFamily(identifier));
+            backfills.put(identifier, ConcurrentHashMap.newKeySet());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes leaves read from the trie after {@link #begin}, except those written since.
+     */
+    public void backfill(String identifier, List<Leaf> leaves) {
+        // Excludes trie writes, so a leaf written concurrently is either recorded already or written after
+        lock.writeLock().lock();
+        try {
+            String columnFamily = columnFamily(identifier);
+            ColumnFamilyHandle handle = rocksDbManager.getColumnFamily(columnFamily);
+            Set<ByteBuffer> written = backfills.get(identifier);
+            if (handle == null || written == null) {
+                throw new MerkleOperationException("Value index is not being built for merkle: " + identifier);
+            }
+            try (WriteBatch batch = new WriteBatch();
+                 WriteOptions options = new WriteOptions()) {
+                for (Leaf leaf : leaves) {
+                    if (!written.contains(ByteBuffer.wrap(leaf.keyHash()))) {
+                        batch.put(handle, leaf.keyHash(), leaf.value());
+                    }
+                }
+                rocksDbManager.getDb(columnFamily).write(options, batch);
+            }
+        } catch (RocksDBException e) {
+            throw new MerkleOperationException("Failed to backfill value index of merkle: " + identifier, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Completes a backfill by writing the marker; the index is served from then on.
+     */
+    public void complete(String identifier) {
+        lock.writeLock().lock();
+        try {
+            String columnFamily = columnFamily(identifier);
+            ColumnFamilyHandle handle = rocksDbManager.getColumnFamily(columnFamily);
+            if (handle == null || backfills.remove(identifier) == null) {
+                throw new MerkleOperationException("Value index is not being built for merkle: " + identifier);
+            }
+            rocksDbManager.getDb(columnFamily).put(handle, MARKER_KEY, MARKER_KEY);
+            complete.put(identifier, true);
+        } catch (RocksDBException e) {
+            throw new MerkleOperationException("Failed to complete value index of merkle: " + identifier, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void drop(String identifier) {
+        lock.writeLock().lock();
+        try {
+            complete.put(identifier, false);
+            backfills.remove(identifier);
+            String columnFamily = columnFamily(identifier);
+            if (rocksDbManager.getColumnFamily(columnFamily) != null) {
+                rocksDbManager.deleteColumnFamily(columnFamily);
+                log.info("Dropped value index of merkle: {}", identifier);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long storageBytes(String identifier) {
+        return rocksDbManager.getColumnFamilySize(columnFamily(identifier));
+    }
+
+    private boolean loadComplete(String identifier) {
+        String columnFamily = columnFamily(identifier);
+        ColumnFamilyHandle handle = rocksDbManager.getColumnFamily(columnFamily);
+        if (handle == null) {
+            return false;
+        }
+        try {
+            return rocksDbManager.getDb(columnFamily).get(handle, MARKER_KEY) != null;
+        } catch (RocksDBException e) {
+            throw new MerkleOperationException("Failed to read value index marker for merkle: " + identifier, e);
+        }
+    }
+
+    private static String columnFamily(String identifier) {
+        return RocksDbManager.auxiliaryColumnFamily(identifier, SUFFIX);
+    }
+
+    /**
+     * A leaf written to the trie: its key hash and current value.
+     */
+    public record Leaf(byte[] keyHash, byte[] value) {}
+}
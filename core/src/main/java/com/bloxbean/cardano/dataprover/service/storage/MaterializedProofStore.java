@@ -0,0 +1,230 @@
+package com.bloxbean.cardano.dataprover.service.storage;
+
+import com.bloxbean.cardano.dataprover.exception.MerkleOperationException;
+import com.bloxbean.cardano.dataprover.service.merkle.hash.HashFunctions;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Stores precomputed wire proofs of a merkle in the auxiliary column family {@code <id>__proofs}.
+ * <p>
+ * Entries are keyed by the Blake2b-256 hash of the original key and hold the value followed by the
+ * proof. A marker under the empty key records the root hash the proofs were generated for and is
+ * written last, so an interrupted materialisation is never served. Proofs are only returned while
+ * the merkle's current root still equals that root.
+ */
+@Component
+public class MaterializedProofStore {
+
+    private static final Logger log = LoggerFactory.getLogger(MaterializedProofStore.class);
+    private static final String SUFFIX = "proofs";
+    private static final byte[] MARKER_KEY = new byte[0];
+    private static final Marker NONE = new Marker(null, 0, 0);
+
+    private final RocksDbManager rocksDbManager;
+
+    /**
+     * Marker per merkle, loaded lazily; {@link #NONE} records that no proofs are materialised.
+     */
+    private final Map<String, Marker> markers = new ConcurrentHashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public MaterializedProofStore(RocksDbManager rocksDbManager) {
+        this.rocksDbManager = rocksDbManager;
+    }
+
+    public static byte[] hashKey(byte[] key) {
+        return HashFunctions.blake2b256().hash(key);
+    }
+
+    /**
+     * Looks up a materialised proof for the given root.
+     *
+     * @return the stored proof, or null if none is materialised for this root and key
+     */
+    public StoredProof get(String identifier, byte[] rootHash, byte[] key) {
+        Marker marker = marker(identifier);
+        if (marker.rootHash() == null || !Arrays.equals(marker.rootHash(), rootHash)) {
+            return null;
+        }
+        // Dropping closes the handle, so reads hold the lock to never use a closed one
+        lock.readLock().lock();
+        try {
+            ColumnFamilyHandle handle = rocksDbManager.getColumnFamily(columnFamily(identifier));
+            if (handle == null) {
+                return null;
+            }
+            byte[] stored = rocksDbManager.getDb(columnFamily(identifier)).get(handle, hashKey(key));
+            return stored != null ? decode(stored) : null;
+        } catch (RocksDBException e) {
+            throw new MerkleOperationException("Failed to read materialised proof for merkle: " + identifier, e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the marker of the materialised proofs, with a null root if there are none
+     */
+    public Marker marker(String identifier) {
+        return markers.computeIfAbsent(identifier, this::loadMarker);
+    }
+
+    /**
+     * Drops any existing proofs and creates an empty column family for a new materialisation.
+     */
+    public Writer begin(String identifier) {
+        drop(identifier);
+        String columnFamily = columnFamily(identifier);
+        return new Writer(rocksDbManager.getOrCreateColumnFamily(columnFamily), rocksDbManager.getDb(columnFamily));
+    }
+
+    /**
+     * Completes a materialisation by writing its marker.
+     */
+    public void complete(String identifier, byte[] rootHash, long entries, long proofBytes) {
+        ColumnFamilyHandle handle = rocksDbManager.getColumnFamily(columnFamily(identifier));
+        if (handle == null) {
+            throw new MerkleOperationException("Materialised proofs not started for merkle: " + identifier);
+        }
+        Marker marker = new Marker(rootHash.clone(), entries, proofBytes);
+        try {
+            rocksDbManager.getDb(columnFamily(identifier)).put(handle, MARKER_KEY, encodeMarker(marker));
+        } catch (RocksDBException e) {
+            throw new MerkleOperationException("Failed to complete materialised proofs for merkle: " + identifier, e);
+        }
+        markers.put(identifier, marker);
+    }
+
+    public void drop(String identifier) {
+        lock.writeLock().lock();
+        try {
+            markers.put(identifier, NONE);
+            String columnFamily = columnFamily(identifier);
+            if (rocksDbManager.getColumnFamily(columnFamily) != null) {
+                rocksDbManager.deleteColumnFamily(columnFamily);
+                log.info("Dropped materialised proofs of merkle: {}", identifier);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long storageBytes(String identifier) {
+        return rocksDbManager.getColumnFamilySize(columnFamily(identifier));
+    }
+
+    private Marker loadMarker(String identifier) {
+        ColumnFamilyHandle handle = rocksDbManager.getColumnFamily(columnFamily(identifier));
+        if (handle == null) {
+            return NONE;
+        }
+        try {
+            byte[] stored = rocksDbManager.getDb(columnFamily(identifier)).get(handle, MARKER_KEY);
+            return stored != null ? decodeMarker(stored) : NONE;
+        } catch (RocksDBException e) {
+            throw new MerkleOperationException("Failed to read materialised proof marker for merkle: " + identifier, e);
+        }
+    }
+
+    private static String columnFamily(String identifier) {
+        return RocksDbManager.auxiliaryColumnFamily(identifier, SUFFIX);
+    }
+
+    private static byte[] encode(byte[] value, byte[] proof) {
+        int valueLength = value != null ? value.length : -1;
+        ByteBuffer buffer = ByteBuffer.allocate(4 + Math.max(valueLength, 0) + proof.length);
+        buffer.putInt(valueLength);
+        if (value != null) {
+            buffer.put(value);
+        }
+        buffer.put(proof);
+        return buffer.array();
+    }
+
+    private static StoredProof decode(byte[] stored) {
+        ByteBuffer buffer = ByteBuffer.wrap(stored);
+        int valueLength = buffer.getInt();
+        byte[] value = null;
+        if (valueLength >= 0) {
+            value = new byte[valueLength];
+            buffer.get(value);
+        }
+        byte[] proof = new byte[buffer.remaining()];
+        buffer.get(proof);
+        return new StoredProof(value, proof);
+    }
+
+    private static byte[] encodeMarker(Marker marker) {
+        return ByteBuffer.allocate(1 + marker.rootHash().length + 16)
+                .put((byte) marker.rootHash().length)
+                .put(marker.rootHash())
+                .putLong(marker.entries())
+                .putLong(marker.proofBytes())
+                .array();
+    }
+
+    private static Marker decodeMarker(byte[] stored) {
+        ByteBuffer buffer = ByteBuffer.wrap(stored);
+        byte[] rootHash = new byte[buffer.get() & 0xff];
+        buffer.get(rootHash);
+        return new Marker(rootHash, buffer.getLong(), buffer.getLong());
+    }
+
+    /**
+     * A materialised proof with the value it proves; {@code value} is null for absent keys.
+     */
+    public record StoredProof(byte[] value, byte[] proof) {}
+
+    /**
+     * Root hash and totals of a completed materialisation.
+     */
+    public record Marker(byte[] rootHash, long entries, long proofBytes) {}
+
+    /**
+     * Batched writer for a materialisation in progress. Safe to share between threads.
+     */
+    public final class Writer {
+
+        private final ColumnFamilyHandle handle;
+        private final RocksDB db;
+
+        private Writer(ColumnFamilyHandle handle, RocksDB db) {
+            this.handle = handle;
+            this.db = db;
+        }
+
+        /**
+         * Writes proofs in one batch.
+         *
+         * @param keys   original keys
+         * @param proofs proofs for the keys at the same positions
+         */
+        public void write(List<byte[]> keys, List<StoredProof> proofs) {
+            try (WriteBatch batch = new WriteBatch();
+                 WriteOptions options = new WriteOptions()) {
+                for (int i = 0; i < keys.size(); i++) {
+                    StoredProof proof = proofs.get(i);
+                    batch.put(handle, hashKey(keys.get(i)), encode(proof.value(), proof.proof()));
+                }
+                db.write(options, batch);
+            } catch (RocksDBException e) {
+                throw new MerkleOperationException("Failed to write materialised proofs", e);
+            }
+        }
+    }
+}
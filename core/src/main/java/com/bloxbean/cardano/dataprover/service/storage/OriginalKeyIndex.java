@@ -0,0 +1,365 @@
+package com.bloxbean.cardano.dataprover.service.storage;
+
+import com.bloxbean.cardano.dataprover.exception.MerkleOperationException;
+import com.bloxbean.cardano.dataprover.service.merkle.hash.HashFunctions;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Sorted index of the original keys of a merkle in the auxiliary column family {@code <id>__keys},
+ * mapping each original key to its hash, the key's path in the trie.
+ * <p>
+ * Keys are stored after a one-byte prefix, so the completion marker under {@code 0x00} can never
+ * collide with a key. An index is only served once complete: a new merkle's index is complete from
+ * the start, one built for an existing merkle once {@link #complete} follows its backfill from the
+ * trie. Trie stores that write in batches add their keys through {@link #writeMerkleBatch}, in the
+ * same batch as the nodes. The others call {@link #beforeWrite} before a write and {@link #add} after
+ * it: the marker is removed until {@link #sync} follows the next committed root, so a crash that
+ * loses keys between a write and its {@code add} leaves the index incomplete, to be rebuilt.
+ */
+@Component
+public class OriginalKeyIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(OriginalKeyIndex.class);
+    private static final String SUFFIX = "keys";
+    private static final byte[] MARKER_KEY = {0x00};
+    private static final byte KEY_PREFIX = 0x01;
+
+    private final RocksDbManager rocksDbManager;
+
+    /**
+     * Completeness per merkle, loaded lazily.
+     */
+    private final Map<String, Boolean> complete = new ConcurrentHashMap<>();
+    /**
+     * Complete indexes whose marker is removed while keys of uncommitted writes are added after them.
+     */
+    private final Set<String> unsynced = ConcurrentHashMap.newKeySet();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public OriginalKeyIndex(RocksDbManager rocksDbManager) {
+        this.rocksDbManager = rocksDbManager;
+    }
+
+    public boolean exists(String identifier) {
+        return rocksDbManager.getColumnFamily(columnFamily(identifier)) != null;
+    }
+
+    public boolean isComplete(String identifier) {
+        return complete.computeIfAbsent(identifier, this::loadComplete);
+    }
+
+    /**
+     * Creates a complete, empty index for a new merkle.
+     */
+    public void create(String identifier) {
+        String columnFamily = columnFamily(identifier);
+        ColumnFamilyHandle handle = rocksDbManager.getOrCreateColumnFamily(columnFamily);
+        try {
+            rocksDbManager.getDb(columnFamily).put(handle, MARKER_KEY, MARKER_KEY);
+        } catch (RocksDBException e) {
+            throw new MerkleOperationException("Failed to create original key index for merkle: " + identifier, e);
+        }
+        complete.put(identifier, true);
+    }
+
+    /**
+     * @return a callback indexing the keys written to a merkle, for its implementation
+     */
+    public Consumer<List<byte[]>> indexer(String identifier) {
+        return keys -> add(identifier, keys);
+    }
+
+    /**
+     * Prepares a complete index for a trie write whose keys are {@link #add added} after it, by removing
+     * the marker until the next {@link #sync}. Writes and commits of one merkle must not run
+     * concurrently, as for the trie itself.
+     */
+    public void beforeWrite(String identifier) {
+        if (unsynced.contains(identifier)) {
+            return;
+        }
+        lock.readLock().lock();
+        try {
+            String columnFamily = columnFamily(identifier);
+            ColumnFamilyHandle handle = rocksDbManager.getColumnFamily(columnFamily);
+            if (handle == null || !isComplete(identifier)) {
+                return;
+            }
+            rocksDbManager.getDb(columnFamily).delete(handle, MARKER_KEY);
+            unsynced.add(identifier);
+        } catch (RocksDBException e) {
+            throw new MerkleOperationException("Failed to prepare original key index of merkle: " + identifier, e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Restores the marker removed by {@link #beforeWrite} once the root covering those writes is
+     * committed, unless adding their keys failed.
+     */
+    public void sync(String identifier) {
+        if (!unsynced.contains(identifier)) {
+            return;
+        }
+        lock.readLock().lock();
+        try {
+            String columnFamily = columnFamily(identifier);
+            ColumnFamilyHandle handle = rocksDbManager.getColumnFamily(columnFamily);
+            if (handle != null && isComplete(identifier)) {
+                rocksDbManager.getDb(columnFamily).put(handle, MARKER_KEY, MARKER_KEY);
+            }
+            unsynced.remove(identifier);
+        } catch (RocksDBException e) {
+            throw new MerkleOperationException("Failed to sync original key index of merkle: " + identifier, e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes original keys after the trie write that inserted them; a no-op while the merkle has no
+     * index. A failure leaves the index incomplete.
+     */
+    public void add(String identifier, List<byte[]> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        lock.readLock().lock();
+        try {
+            String columnFamily = columnFamily(identifier);
+            ColumnFamilyHandle handle = rocksDbManager.getColumnFamily(columnFamily);
+            if (handle == null) {
+                return;
+            }
+            try (WriteBatch batch = new WriteBatch();
+                 WriteOptions options = new WriteOptions()) {
+                for (byte[] key : keys) {
+                    batch.put(handle, indexKey(key), HashFunctions.blake2b256().hash(key));
+                }
+                rocksDbManager.getDb(columnFamily).write(options, batch);
+            }
+        } catch (RocksDBException e) {
+            complete.put(identifier, false);
+            throw new MerkleOperationException("Failed to index original keys of merkle: " + identifier, e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds original keys to a batch of trie nodes when the merkle has an index, then hands the batch
+     * to {@code writer}, so keys and nodes are committed together.
+     *
+     * @param keys original keys written, with their key hashes
+     */
+    public void writeMerkleBatch(String identifier, WriteBatch batch, List<Key> keys, BatchWriter writer)
+            throws RocksDBException {
+        // Held until the batch is written, so a drop never leaves it pointing at a closed handle
+        lock.readLock().lock();
+        try {
+            ColumnFamilyHandle handle = keys.isEmpty()
+                    ? null : rocksDbManager.getColumnFamily(columnFamily(identifier));
+            if (handle != null) {
+                for (Key key : keys) {
+                    batch.put(handle, indexKey(key.originalKey()), key.keyHash());
+                }
+            }
+            writer.write(batch);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Starts building an index for an existing merkle, replacing any earlier one. Keys written from
+     * now on are indexed as they are written; the rest are added by {@link #backfill}.
+     */
+    public void begin(String identifier) {
+        drop(identifier);
+        lock.writeLock().lock();
+        try {
+            rocksDbManager.getOrCreateColumnFamily(columnFamily(identifier));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes keys read from the trie after {@link #begin}. A key maps to the same hash whenever it
+     * is written, so a backfill never needs to yield to a concurrent write.
+     */
+    public void backfill(String identifier, List<Key> keys) {
+        lock.readLock().lock();
+        try {
+            String columnFamily = columnFamily(identifier);
+            ColumnFamilyHandle handle = rocksDbManager.getColumnFamily(columnFamily);
+            if (handle == null || isComplete(identifier)) {
+                throw new MerkleOperationException("Original key index is not being built for merkle: " + identifier);
+            }
+            try (WriteBatch batch = new WriteBatch();
+                 WriteOptions options = new WriteOptions()) {
+                for (Key key : keys) {
+                    batch.put(handle, indexKey(key.originalKey()), key.keyHash());
+                }
+                rocksDbManager.getDb(columnFamily).write(options, batch);
+            }
+        } catch (RocksDBException e) {
+            throw new MerkleOperationException("Failed to backfill original key index of merkle: " + identifier, e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Completes a backfill by writing the marker; the index is served from then on.
+     */
+    public void complete(String identifier) {
+        lock.writeLock().lock();
+        try {
+            String columnFamily = columnFamily(identifier);
+            ColumnFamilyHandle handle = rocksDbManager.getColumnFamily(columnFamily);
+            if (handle == null) {
+                throw new MerkleOperationException("Original key index is not being built for merkle: " + identifier);
+            }
+            rocksDbManager.getDb(columnFamily).put(handle, MARKER_KEY, MARKER_KEY);
+            complete.put(identifier, true);
+            unsynced.remove(identifier);
+        } catch (RocksDBException e) {
+            throw new MerkleOperationException("Failed to complete original key index of merkle: " + identifier, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Visits the indexed keys in unsigned lexicographic order. The scan holds the index lock, so the
+     * visitor must not block, e.g. on a client; page with {@code limit} instead.
+     *
+     * @param from  first key to visit, inclusive; null to start at the first key
+     * @param to    key to stop at, exclusive; null to run to the last key
+     * @param limit maximum number of keys to visit; 0 for no limit
+     * @return the number of keys visited
+     */
+    public long scan(String identifier, byte[] from, byte[] to, long limit, KeyVisitor visitor) throws IOException {
+        // Dropping closes the handle, so scans hold the lock to never iterate a closed one
+        lock.readLock().lock();
+        try {
+            String columnFamily = columnFamily(identifier);
+            ColumnFamilyHandle handle = rocksDbManager.getColumnFamily(columnFamily);
+            if (handle == null || !isComplete(identifier)) {
+                throw new MerkleOperationException("No complete original key index for merkle: " + identifier);
+            }
+            long visited = 0;
+            try (RocksIterator iterator = rocksDbManager.getDb(columnFamily).newIterator(handle)) {
+                iterator.seek(indexKey(from != null ? from : new byte[0]));
+                for (; iterator.isValid() && (limit <= 0 || visited < limit); iterator.next()) {
+                    byte[] indexKey = iterator.key();
+                    if (indexKey.length == 0 || indexKey[0] != KEY_PREFIX) {
+                        break;
+                    }
+                    byte[] key = Arrays.copyOfRange(indexKey, 1, indexKey.length);
+                    if (to != null && Arrays.compareUnsigned(key, to) >= 0) {
+                        break;
+                    }
+                    visitor.visit(key, iterator.value());
+                    visited++;
+                }
+                iterator.status();
+            }
+            return visited;
+        } catch (RocksDBException e) {
+            throw new MerkleOperationException("Failed to scan original keys of merkle: " + identifier, e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void drop(String identifier) {
+        lock.writeLock().lock();
+        try {
+            complete.put(identifier, false);
+            unsynced.remove(identifier);
+            String columnFamily = columnFamily(identifier);
+            if (rocksDbManager.getColumnFamily(columnFamily) != null) {
+                rocksDbManager.deleteColumnFamily(columnFamily);
+                log.info("Dropped original key index of merkle: {}", identifier);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the smallest key greater than every key starting with the prefix, or null if there is none
+     */
+    public static byte[] prefixEnd(byte[] prefix) {
+        for (int i = prefix.length - 1; i >= 0; i--) {
+            if (prefix[i] != (byte) 0xff) {
+                byte[] end = Arrays.copyOf(prefix, i + 1);
+                end[i]++;
+                return end;
+            }
+        }
+        return null;
+    }
+
+    private boolean loadComplete(String identifier) {
+        String columnFamily = columnFamily(identifier);
+        ColumnFamilyHandle handle = rocksDbManager.getColumnFamily(columnFamily);
+        if (handle == null) {
+            return false;
+        }
+        try {
+            return rocksDbManager.getDb(columnFamily).get(handle, MARKER_KEY) != null;
+        } catch (RocksDBException e) {
+            throw new MerkleOperationException("Failed to read original key index marker for merkle: " + identifier, e);
+        }
+    }
+
+    private static byte[] indexKey(byte[] key) {
+        byte[] indexKey = new byte[key.length + 1];
+        indexKey[0] = KEY_PREFIX;
+        System.arraycopy(key, 0, indexKey, 1, key.length);
+        return indexKey;
+    }
+
+    private static String columnFamily(String identifier) {
+        return RocksDbManager.auxiliaryColumnFamily(identifier, SUFFIX);
+    }
+
+    @FunctionalInterface
+    public interface KeyVisitor {
+        void visit(byte[] originalKey, byte[] hashedKey) throws IOException;
+    }
+
+    /**
+     * Commits a batch of trie nodes, see {@link #writeMerkleBatch}.
+     */
+    @FunctionalInterface
+    public interface BatchWriter {
+        void write(WriteBatch batch) throws RocksDBException;
+    }
+
+    /**
+     * An original key written to the trie and its hash.
+     */
+    public record Key(byte[] originalKey, byte[] keyHash) {}
+}
@@ -0,0 +1,99 @@
+package com.bloxbean.cardano.dataprover.service.storage;
+
+import com.bloxbean.cardano.dataprover.config.DataProverProperties;
+import org.rocksdb.PerfContext;
+import org.rocksdb.PerfLevel;
+import org.rocksdb.RocksDB;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples the RocksDB perf context around individual requests.
+ * <p>
+ * The perf context counts the reads made by the calling thread, so a sample must be started and
+ * closed on the thread serving the request. Counting is switched on only for sampled requests;
+ * the fraction is {@code dataprover.storage.perf-sample-rate}.
+ */
+@Component
+public class ReadProfiler {
+
+    private final RocksDbManager rocksDbManager;
+    private final DataProverProperties properties;
+
+    public ReadProfiler(RocksDbManager rocksDbManager, DataProverProperties properties) {
+        this.rocksDbManager = rocksDbManager;
+        this.properties = properties;
+    }
+
+    /**
+     * @return a sample counting the reads of the calling thread until closed, or null if this
+     *         request is not sampled
+     */
+    public Sample start() {
+        Double rate = properties.getStorage().getPerfSampleRate();
+        if (rate == null || rate <= 0 || ThreadLocalRandom.current().nextDouble() >= rate) {
+            return null;
+        }
+        RocksDB db = rocksDbManager.getDb();
+        if (db == null) {
+            return null;
+        }
+        db.setPerfLevel(PerfLevel.ENABLE_COUNT);
+        PerfContext context = db.getPerfContext();
+        context.reset();
+        return new Sample(db, context);
+    }
+
+    public boolean isSlow(long nanos) {
+        return nanos >= TimeUnit.MILLISECONDS.toNanos(properties.getStorage().getSlowProofThresholdMs());
+    }
+
+    /**
+     * Perf counters of the calling thread since {@link #start()}.
+     */
+    public final class Sample implements AutoCloseable {
+
+        private final RocksDB db;
+        private final PerfContext context;
+
+        private Sample(RocksDB db, PerfContext context) {
+            this.db = db;
+            this.context = context;
+        }
+
+        /**
+         * @param identifier the column family read, for its level-0 file count
+         */
+        public ReadStats stats(String identifier) {
+            return new ReadStats(
+                    context.getBlockReadCount(),
+                    context.getBlockReadByte(),
+                    context.getBlockCacheHitCount(),
+                    context.getBloomSstHitCount(),
+                    context.getBloomSstMissCount(),
+                    rocksDbManager.getLongProperty(identifier, "rocksdb.num-files-at-level0"));
+        }
+
+        @Override
+        public void close() {
+            db.setPerfLevel(PerfLevel.DISABLE);
+        }
+    }
+
+    /**
+     * Reads made by one request. Block reads are cache misses served from SST files; a bloom miss
+     * is an SST file the filter ruled out, a bloom hit one it could not, which then had to be searched.
+     */
+    public record ReadStats(long blockReads, long blockReadBytes, long blockCacheHits,
+                            long bloomHits, long bloomMisses, long level0Files) {
+
+        @Override
+        public String toString() {
+            return blockReads + " block reads (" + blockReadBytes + " bytes), "
+                    + blockCacheHits + " block cache hits, bloom filter " + bloomHits + " hits / "
+                    + bloomMisses + " misses, " + level0Files + " L0 files";
+        }
+    }
+}
@@ -9,69 +9,105 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
 
 /**
  * Manages RocksDB lifecycle and column family operations.
+ * <p>
+ * Storage can span several RocksDB instances, each in its own directory (and write-ahead log), so
+ * merkles can be spread over disks. A merkle's column family and its auxiliary column families
+ * always live in the same instance, chosen by the placement policy when the merkle's first column
+ * family is created. Column family names are unique across instances, and every method taking a
+ * column family name routes to the instance holding it. The block cache, statistics and rate
+ * limiter are shared by all instances.
  */
 @Component
 public class RocksDbManager {
 
     private static final Logger log = LoggerFactory.getLogger(RocksDbManager.class);
 
+    public static final String PRIMARY_INSTANCE = "primary";
+
     private static final String ROOTS_CF_NAME = "roots";
     private static final String DEFAULT_CF_NAME = "default";
 
     private final DataProverProperties properties;
     private final Map<String, ColumnFamilyHandle> columnFamilyHandles;
+    private final Map<String, StorageInstance> columnFamilyInstances;
+    private final Map<String, AtomicReference<byte[]>> unloggedMerkles = new ConcurrentHashMap<>();
 
-    private RocksDB db;
-    private ColumnFamilyHandle rootsHandle;
-    private ColumnFamilyHandle defaultHandle;
+    private volatile List<StorageInstance> instances = List.of();
     private DBOptions dbOptions;
     private ColumnFamilyOptions cfOptions;
+    private Statistics statistics;
+    private RateLimiter rateLimiter;
 
     public RocksDbManager(DataProverProperties properties) {
         this.properties = properties;
         this.columnFamilyHandles = new ConcurrentHashMap<>();
+        this.columnFamilyInstances = new ConcurrentHashMap<>();
     }
 
     @PostConstruct
     public void initialize() {
         try {
-            log.info("Initializing RocksDB at path: {}", properties.getStorage().getRocksdbPath());
             RocksDB.loadLibrary();
 
-            Path dbPath = Paths.get(properties.getStorage().getRocksdbPath());
-            if (!Files.exists(dbPath)) {
-                Files.createDirectories(dbPath);
-                log.info("Created RocksDB directory: {}", dbPath);
-            }
+            this.dbOptions = createDbOptions();
+            this.cfOptions = createColumnFamilyOptions();
 
-            this.db = openDatabase();
-            this.rootsHandle = getOrCreateColumnFamily(ROOTS_CF_NAME);
+            List<StorageInstance> opened = new ArrayList<>();
+            for (Map.Entry<String, Path> location : instanceLocations().entrySet()) {
+                log.info("Initializing RocksDB instance {} at path: {}", location.getKey(), location.getValue());
+                opened.add(openInstance(location.getKey(), location.getValue()));
+            }
+            this.instances = List.copyOf(opened);
 
-            log.info("RocksDB initialized successfully with {} existing column families",
-                     columnFamilyHandles.size());
+            log.info("RocksDB initialized successfully with {} instance(s) and {} existing column families",
+                     instances.size(), columnFamilyHandles.size());
         } catch (Exception e) {
             log.error("Failed to initialize RocksDB", e);
             throw new MerkleOperationException("Failed to initialize RocksDB", e);
         }
     }
 
-    private RocksDB openDatabase() throws RocksDBException {
-        String dbPath = properties.getStorage().getRocksdbPath();
+    private Map<String, Path> instanceLocations() {
+        DataProverProperties.StorageProperties storage = properties.getStorage();
 
-        this.dbOptions = createDbOptions();
-        this.cfOptions = createColumnFamilyOptions();
+        Map<String, Path> locations = new LinkedHashMap<>();
+        locations.put(PRIMARY_INSTANCE, Paths.get(storage.getRocksdbPath()).toAbsolutePath().normalize());
+        for (DataProverProperties.StorageInstanceProperties instance : storage.getInstances()) {
+            if (instance.getName() == null || instance.getName().isBlank() || instance.getPath() == null) {
+                throw new MerkleOperationException("Storage instances need a name and a path");
+            }
+            Path path = Paths.get(instance.getPath()).toAbsolutePath().normalize();
+            if (locations.containsKey(instance.getName()) || locations.containsValue(path)) {
+                throw new MerkleOperationException("Duplicate storage instance: " + instance.getName());
+            }
+            locations.put(instance.getName(), path);
+        }
+        return locations;
+    }
+
+    private StorageInstance openInstance(String name, Path dbPath) throws IOException, RocksDBException {
+        if (!Files.exists(dbPath)) {
+            Files.createDirectories(dbPath);
+            log.info("Created RocksDB directory: {}", dbPath);
+        }
 
         List<byte[]> existingCfNames;
-        try {
-            existingCfNames = RocksDB.listColumnFamilies(new Options(), dbPath);
+        try (Options options = new Options()) {
+            existingCfNames = RocksDB.listColumnFamilies(options, dbPath.toString());
             if (existingCfNames.isEmpty()) {
                 existingCfNames = List.of(DEFAULT_CF_NAME.getBytes());
             }
@@ -85,31 +121,61 @@ public class RocksDbManager {
         }
 
         List<ColumnFamilyHandle> handles = new ArrayList<>();
-        RocksDB db = RocksDB.open(dbOptions, dbPath, cfDescriptors, handles);
+        RocksDB db = RocksDB.open(dbOptions, dbPath.toString(), cfDescriptors, handles);
+        StorageInstance instance = new StorageInstance(name, dbPath, db);
 
         for (int i = 0; i < cfDescriptors.size(); i++) {
             String cfName = new String(cfDescriptors.get(i).getName());
             ColumnFamilyHandle handle = handles.get(i);
 
             if (DEFAULT_CF_NAME.equals(cfName)) {
-                this.defaultHandle = handle;
+                instance.defaultHandle = handle;
+            } else if (ROOTS_CF_NAME.equals(cfName)) {
+                instance.rootsHandle = handle;
+            } else if (columnFamilyInstances.containsKey(cfName)) {
+                throw new MerkleOperationException("Column family " + cfName + " exists in instances "
+                    + columnFamilyInstances.get(cfName).name + " and " + name);
             } else {
                 columnFamilyHandles.put(cfName, handle);
+                columnFamilyInstances.put(cfName, instance);
             }
 
-            log.debug("Loaded column family: {}", cfName);
+            log.debug("Loaded column family: {} ({})", cfName, name);
         }
 
-        return db;
+        if (instance.rootsHandle == null) {
+            instance.rootsHandle = db.createColumnFamily(
+                new ColumnFamilyDescriptor(ROOTS_CF_NAME.getBytes(), cfOptions));
+        }
+        return instance;
     }
 
     private DBOptions createDbOptions() {
-        return new DBOptions()
-            .setCreateIfMissing(properties.getStorage().getCreateIfMissing())
+        DataProverProperties.StorageProperties storage = properties.getStorage();
+
+        DBOptions options = new DBOptions()
+            .setCreateIfMissing(storage.getCreateIfMissing())
             .setCreateMissingColumnFamilies(true)
-            .setMaxOpenFiles(properties.getStorage().getMaxOpenFiles())
+            .setMaxOpenFiles(storage.getMaxOpenFiles())
+            .setMaxBackgroundJobs(storage.getMaxBackgroundJobs())
+            .setMaxSubcompactions(storage.getMaxSubcompactions())
             .setStatsDumpPeriodSec(300)
             .setKeepLogFileNum(10);
+
+        if (storage.getRateLimitMbPerSec() > 0) {
+            // Auto-tuned: the limit is a ceiling, lowered while there is little background I/O to do
+            this.rateLimiter = new RateLimiter(storage.getRateLimitMbPerSec() * 1024L * 1024L,
+                100_000, 10, RateLimiterMode.WRITES_ONLY, true);
+            options.setRateLimiter(rateLimiter);
+        }
+
+        if (storage.getStatisticsEnabled()) {
+            // Detailed timers cost a clock read per operation; counters and histograms are cheap
+            this.statistics = new Statistics();
+            statistics.setStatsLevel(StatsLevel.EXCEPT_DETAILED_TIMERS);
+            options.setStatistics(statistics);
+        }
+        return options;
     }
 
     private ColumnFamilyOptions createColumnFamilyOptions() {
@@ -158,14 +224,16 @@ public class RocksDbManager {
             return existing;
         }
 
+        StorageInstance instance = placeColumnFamily(identifier);
         try {
             ColumnFamilyDescriptor cfDescriptor =
                 new ColumnFamilyDescriptor(identifier.getBytes(), cfOptions);
 
-            ColumnFamilyHandle handle = db.createColumnFamily(cfDescriptor);
+            ColumnFamilyHandle handle = instance.db.createColumnFamily(cfDescriptor);
             columnFamilyHandles.put(identifier, handle);
+            columnFamilyInstances.put(identifier, instance);
 
-            log.info("Created column family for trie: {}", identifier);
+            log.info("Created column family for trie: {} (instance: {})", identifier, instance.name);
             return handle;
 
         } catch (RocksDBException e) {
@@ -175,15 +243,84 @@ public class RocksDbManager {
         }
     }
 
+    /**
+     * Chooses the instance for a new column family: the instance already holding the merkle it
+     * belongs to, otherwise the explicit placement or the placement policy.
+     */
+    private StorageInstance placeColumnFamily(String identifier) {
+        String merkle = owningMerkle(identifier);
+        for (Map.Entry<String, StorageInstance> entry : columnFamilyInstances.entrySet()) {
+            if (owningMerkle(entry.getKey()).equals(merkle)) {
+                return entry.getValue();
+            }
+        }
+
+        List<StorageInstance> current = openInstances();
+        if (current.size() == 1) {
+            return current.get(0);
+        }
+
+        DataProverProperties.StorageProperties storage = properties.getStorage();
+        String explicit = storage.getPlacements().get(merkle);
+        if (explicit != null) {
+            return current.stream()
+                .filter(instance -> instance.name.equals(explicit))
+                .findFirst()
+                .orElseThrow(() -> new MerkleOperationException(
+                    "Unknown storage instance " + explicit + " for merkle " + merkle));
+        }
+
+        String policy = storage.getPlacementPolicy() != null ? storage.getPlacementPolicy() : "hash";
+        return switch (policy.toLowerCase()) {
+            case "explicit" -> throw new MerkleOperationException(
+                "No storage instance placement for merkle " + merkle + " under the explicit placement policy");
+            case "size" -> current.stream()
+                .min(Comparator.comparingLong(RocksDbManager::instanceSize))
+                .orElseThrow();
+            case "hash" -> current.get(hashPlacement(merkle, current.size()));
+            default -> {
+                log.warn("Unknown placement policy: {}, defaulting to hash", policy);
+                yield current.get(hashPlacement(merkle, current.size()));
+            }
+        };
+    }
+
+    private static String owningMerkle(String columnFamily) {
+        int separator = columnFamily.indexOf("__");
+        return separator < 0 ? columnFamily : columnFamily.substring(0, separator);
+    }
+
+    private static int hashPlacement(String merkle, int buckets) {
+        CRC32 crc = new CRC32();
+        crc.update(merkle.getBytes(StandardCharsets.UTF_8));
+        return (int) (crc.getValue() % buckets);
+    }
+
+    private static long instanceSize(StorageInstance instance) {
+        try {
+            return instance.db.getAggregatedLongProperty("rocksdb.total-sst-files-size")
+                + instance.db.getAggregatedLongProperty("rocksdb.cur-size-all-mem-tables");
+        } catch (RocksDBException e) {
+            log.debug("Failed to read size of instance {}: {}", instance.name, e.getMessage());
+            return Long.MAX_VALUE;
+        }
+    }
+
     public synchronized void deleteColumnFamily(String identifier) {
         ColumnFamilyHandle handle = columnFamilyHandles.remove(identifier);
-        if (handle == null) {
+        StorageInstance instance = columnFamilyInstances.remove(identifier);
+        if (handle == null || instance == null) {
             log.warn("Attempted to delete non-existent column family: {}", identifier);
             return;
         }
 
         try {
-            db.dropColumnFamily(handle);
+            if (owningMerkle(identifier).equals(identifier)) {
+                // A root without its nodes would be taken as committed by the next reconciliation
+                unloggedMerkles.remove(identifier);
+                instance.db.delete(instance.rootsHandle, identifier.getBytes());
+            }
+            instance.db.dropColumnFamily(handle);
             handle.close();
             log.info("Deleted column family for trie: {}", identifier);
         } catch (RocksDBException e) {
@@ -193,9 +330,16 @@ public class RocksDbManager {
         }
     }
 
+    /**
+     * Writes the committed root of a merkle to the roots column family on its own. Only safe once the
+     * nodes it references are durable; node stores commit roots with {@link #writeMerkleBatch}.
+     *
+     * @param rootHash the root hash, or null for an empty tree
+     */
     public void persistRootHash(String identifier, byte[] rootHash) {
+        StorageInstance instance = rootsInstance(identifier);
         try {
-            db.put(rootsHandle, identifier.getBytes(), rootHash);
+            instance.db.put(instance.rootsHandle, identifier.getBytes(), encodeRoot(rootHash));
             log.debug("Persisted root hash for trie: {}", identifier);
         } catch (RocksDBException e) {
             log.error("Failed to persist root hash for trie: {}", identifier, e);
@@ -204,9 +348,14 @@ public class RocksDbManager {
         }
     }
 
+    /**
+     * @return the committed root of a merkle: an empty array for an empty tree, or empty if no root
+     *         was ever committed
+     */
     public Optional<byte[]> loadRootHash(String identifier) {
+        StorageInstance instance = rootsInstance(identifier);
         try {
-            byte[] rootHash = db.get(rootsHandle, identifier.getBytes());
+            byte[] rootHash = instance.db.get(instance.rootsHandle, identifier.getBytes());
             return Optional.ofNullable(rootHash);
         } catch (RocksDBException e) {
             log.error("Failed to load root hash for trie: {}", identifier, e);
@@ -215,12 +364,559 @@ public class RocksDbManager {
         }
     }
 
+    /**
+     * Commits the root of a merkle whose nodes were written outside {@link #writeMerkleBatch}, after
+     * those writes. Logged writes reach the write-ahead log in order, so the root is never recovered
+     * without its nodes.
+     *
+     * @param rootHash the root hash, or null for an empty tree
+     */
+    public void commitRootHash(String identifier, byte[] rootHash) {
+        if (!columnFamilyHandles.containsKey(identifier)) {
+            // Merkles are closed after being dropped; their root must not outlive them
+            return;
+        }
+        AtomicReference<byte[]> pendingRoot = unloggedMerkles.get(identifier);
+        if (pendingRoot != null) {
+            pendingRoot.set(encodeRoot(rootHash));
+        } else {
+            persistRootHash(identifier, rootHash);
+        }
+    }
+
+    /**
+     * Writes a batch of node writes of a merkle and, in the same batch, the root hash they produce into
+     * the roots column family, so the root is committed atomically with the nodes it references.
+     * While the merkle skips the write-ahead log, the batch is written unlogged and the root is held
+     * back until {@link #flushUnloggedWrites} has made the nodes durable.
+     *
+     * @param rootHash the root after the batch, or null for an empty tree
+     */
+    public void writeMerkleBatch(String identifier, WriteBatch batch, byte[] rootHash) throws RocksDBException {
+        StorageInstance instance = columnFamilyInstances.get(identifier);
+        if (instance == null) {
+            throw new MerkleOperationException("Column family not found: " + identifier);
+        }
+
+        AtomicReference<byte[]> pendingRoot = unloggedMerkles.get(identifier);
+        if (pendingRoot == null) {
+            batch.put(instance.rootsHandle, identifier.getBytes(), encodeRoot(rootHash));
+            try (WriteOptions options = new WriteOptions()) {
+                instance.db.write(options, batch);
+            }
+        } else {
+            try (WriteOptions options = new WriteOptions().setDisableWAL(true)) {
+                instance.db.write(options, batch);
+            }
+            pendingRoot.set(encodeRoot(rootHash));
+        }
+    }
+
+    private static byte[] encodeRoot(byte[] rootHash) {
+        return rootHash != null ? rootHash : new byte[0];
+    }
+
+    /**
+     * Root hashes are kept next to the merkle's nodes, in the roots column family of its instance.
+     */
+    private StorageInstance rootsInstance(String identifier) {
+        StorageInstance instance = columnFamilyInstances.get(identifier);
+        return instance != null ? instance : primary();
+    }
+
+    /**
+     * Creates a hard-linked checkpoint of the whole database.
+     * The target directory must not exist yet; unchanged SST files are linked, not copied.
+     * With several instances, each one is checkpointed into a subdirectory named after it.
+     *
+     * @param checkpointDir directory to create the checkpoint in
+     */
+    public void createCheckpoint(Path checkpointDir) {
+        List<StorageInstance> current = openInstances();
+        try {
+            if (current.size() > 1) {
+                Files.createDirectories(checkpointDir);
+            }
+            for (StorageInstance instance : current) {
+                Path target = current.size() == 1 ? checkpointDir : checkpointDir.resolve(instance.name);
+                try (Checkpoint checkpoint = Checkpoint.create(instance.db)) {
+                    checkpoint.createCheckpoint(target.toString());
+                }
+                log.info("Created RocksDB checkpoint of instance {} at: {}", instance.name, target);
+            }
+        } catch (RocksDBException | IOException e) {
+            log.error("Failed to create RocksDB checkpoint at: {}", checkpointDir, e);
+            throw new MerkleOperationException("Failed to create RocksDB checkpoint", e);
+        }
+    }
+
+    /**
+     * Exports a consistent snapshot of a column family into a single SST file.
+     *
+     * @param identifier the column family name
+     * @param sstFile    the SST file to write
+     * @return number of entries written (no file is created for an empty column family)
+     */
+    public long exportColumnFamily(String identifier, Path sstFile) {
+        ColumnFamilyHandle handle = columnFamilyHandles.get(identifier);
+        if (handle == null) {
+            throw new MerkleOperationException("Column family not found: " + identifier);
+        }
+
+        RocksDB db = columnFamilyInstances.get(identifier).db;
+        Snapshot snapshot = db.getSnapshot();
+        try (ReadOptions readOptions = new ReadOptions().setSnapshot(snapshot)) {
+            long entries = writeSstFile(db, handle, readOptions, sstFile);
+            log.info("Exported column family {} to {} ({} entries)", identifier, sstFile, entries);
+            return entries;
+        } catch (RocksDBException e) {
+            log.error("Failed to export column family: {}", identifier, e);
+            throw new MerkleOperationException("Failed to export column family: " + identifier, e);
+        } finally {
+            db.releaseSnapshot(snapshot);
+        }
+    }
+
+    /**
+     * Exports the column family of a merkle and its auxiliary column families from one snapshot, so
+     * the exported indexes match the exported nodes. A merkle's column families share an instance.
+     *
+     * @param identifier the merkle identifier
+     * @param sstFile    the SST file to write for each column family name
+     * @return number of entries written per column family, in {@link #getMerkleColumnFamilies} order
+     */
+    public Map<String, Long> exportMerkleColumnFamilies(String identifier, Function<String, Path> sstFile) {
+        StorageInstance instance = columnFamilyInstances.get(identifier);
+        if (instance == null) {
+            throw new MerkleOperationException("Column family not found: " + identifier);
+        }
+
+        Map<String, Long> entries = new LinkedHashMap<>();
+        Snapshot snapshot = instance.db.getSnapshot();
+        try (ReadOptions readOptions = new ReadOptions().setSnapshot(snapshot)) {
+            for (String name : getMerkleColumnFamilies(identifier)) {
+                ColumnFamilyHandle handle = columnFamilyHandles.get(name);
+                if (handle != null) {
+                    entries.put(name, writeSstFile(instance.db, handle, readOptions, sstFile.apply(name)));
+                }
+            }
+            log.info("Exported column families of {}: {}", identifier, entries);
+            return entries;
+        } catch (RocksDBException e) {
+            log.error("Failed to export column families of: {}", identifier, e);
+            throw new MerkleOperationException("Failed to export column families of: " + identifier, e);
+        } finally {
+            instance.db.releaseSnapshot(snapshot);
+        }
+    }
+
+    /**
+     * @return the column family of a merkle in a checkpoint followed by its auxiliary column families
+     */
+    public List<String> getCheckpointMerkleColumnFamilies(Path checkpointDir, String identifier) {
+        Path instanceDir = findCheckpointInstance(checkpointDir, identifier);
+        String prefix = auxiliaryColumnFamily(identifier, "");
+        try (Options options = new Options()) {
+            List<String> names = new ArrayList<>();
+            names.add(identifier);
+            RocksDB.listColumnFamilies(options, instanceDir.toString()).stream()
+                .map(name -> new String(name, StandardCharsets.UTF_8))
+                .filter(name -> name.startsWith(prefix))
+                .sorted()
+                .forEach(names::add);
+            return names;
+        } catch (RocksDBException e) {
+            throw new MerkleOperationException("Failed to read checkpoint: " + checkpointDir, e);
+        }
+    }
+
+    /**
+     * Exports a column family from a checkpoint directory into a single SST file.
+     * The checkpoint is opened read-only with only the requested column family.
+     *
+     * @param checkpointDir the checkpoint directory
+     * @param identifier    the column family name inside the checkpoint
+     * @param sstFile       the SST file to write
+     * @return number of entries written
+     */
+    public long exportColumnFamilyFromCheckpoint(Path checkpointDir, String identifier, Path sstFile) {
+        Path instanceDir = findCheckpointInstance(checkpointDir, identifier);
+        List<ColumnFamilyDescriptor> descriptors = List.of(
+            new ColumnFamilyDescriptor(DEFAULT_CF_NAME.getBytes(), cfOptions),
+            new ColumnFamilyDescriptor(identifier.getBytes(), cfOptions));
+        List<ColumnFamilyHandle> handles = new ArrayList<>();
+
+        try (RocksDB checkpointDb = RocksDB.openReadOnly(dbOptions, instanceDir.toString(), descriptors, handles);
+             ReadOptions readOptions = new ReadOptions()) {
+            try {
+                return writeSstFile(checkpointDb, handles.get(1), readOptions, sstFile);
+            } finally {
+                handles.forEach(ColumnFamilyHandle::close);
+            }
+        } catch (RocksDBException e) {
+            log.error("Failed to export column family {} from checkpoint {}", identifier, checkpointDir, e);
+            throw new MerkleOperationException(
+                "Failed to export column family " + identifier + " from checkpoint", e);
+        }
+    }
+
+    /**
+     * Locates the database holding a column family in a checkpoint: the checkpoint itself for a
+     * single instance, or one of its per-instance subdirectories.
+     */
+    private Path findCheckpointInstance(Path checkpointDir, String identifier) {
+        if (Files.exists(checkpointDir.resolve("CURRENT"))) {
+            return checkpointDir;
+        }
+        try (Stream<Path> dirs = Files.list(checkpointDir); Options options = new Options()) {
+            for (Path dir : dirs.filter(Files::isDirectory).sorted().toList()) {
+                for (byte[] name : RocksDB.listColumnFamilies(options, dir.toString())) {
+                    if (identifier.equals(new String(name))) {
+                        return dir;
+                    }
+                }
+            }
+        } catch (IOException | RocksDBException e) {
+            throw new MerkleOperationException("Failed to read checkpoint: " + checkpointDir, e);
+        }
+        throw new MerkleOperationException("Column family " + identifier + " not found in checkpoint");
+    }
+
+    /**
+     * Imports an SST file produced by {@link #exportColumnFamily} into a new column family.
+     * The file is copied, so the backup stays intact.
+     *
+     * @param identifier the column family to create; must not exist yet
+     * @param sstFile    the SST file to ingest, or null to create an empty column family
+     */
+    public synchronized void importColumnFamily(String identifier, Path sstFile) {
+        if (columnFamilyHandles.containsKey(identifier)) {
+            throw new MerkleOperationException("Column family already exists: " + identifier);
+        }
+
+        ColumnFamilyHandle handle = getOrCreateColumnFamily(identifier);
+        if (sstFile == null) {
+            return;
+        }
+
+        try (IngestExternalFileOptions ingestOptions = new IngestExternalFileOptions().setMoveFiles(false)) {
+            columnFamilyInstances.get(identifier).db.ingestExternalFile(
+                handle, List.of(sstFile.toString()), ingestOptions);
+            log.info("Imported {} into column family: {}", sstFile, identifier);
+        } catch (RocksDBException e) {
+            log.error("Failed to import column family: {}", identifier, e);
+            deleteColumnFamily(identifier);
+            throw new MerkleOperationException("Failed to import column family: " + identifier, e);
+        }
+    }
+
+    /**
+     * Visits every entry of a column family from a consistent snapshot, in key order.
+     *
+     * @param identifier the column family name
+     * @param visitor    receives each key/value pair
+     * @return number of entries visited
+     */
+    public long forEachEntry(String identifier, EntryVisitor visitor) throws IOException {
+        ColumnFamilyHandle handle = columnFamilyHandles.get(identifier);
+        if (handle == null) {
+            throw new MerkleOperationException("Column family not found: " + identifier);
+        }
+
+        RocksDB db = columnFamilyInstances.get(identifier).db;
+        Snapshot snapshot = db.getSnapshot();
+        try (ReadOptions readOptions = new ReadOptions().setSnapshot(snapshot);
+             RocksIterator iterator = db.newIterator(handle, readOptions)) {
+            long entries = 0;
+            for (iterator.seekToFirst(); iterator.isValid(); iterator.next()) {
+                visitor.visit(iterator.key(), iterator.value());
+                entries++;
+            }
+            iterator.status();
+            return entries;
+        } catch (RocksDBException e) {
+            log.error("Failed to iterate column family: {}", identifier, e);
+            throw new MerkleOperationException("Failed to iterate column family: " + identifier, e);
+        } finally {
+            db.releaseSnapshot(snapshot);
+        }
+    }
+
+    /**
+     * Opens a writer that builds an SST file from entries supplied in ascending key order.
+     * The resulting file can be passed to {@link #importColumnFamily}.
+     *
+     * @param sstFile the SST file to write
+     */
+    public SstBulkWriter openSstWriter(Path sstFile) {
+        return new SstBulkWriter(new Options(dbOptions, cfOptions), sstFile);
+    }
+
+    private long writeSstFile(RocksDB source, ColumnFamilyHandle handle, ReadOptions readOptions,
+                              Path sstFile) throws RocksDBException {
+        long entries = 0;
+        try (EnvOptions envOptions = new EnvOptions();
+             Options options = new Options(dbOptions, cfOptions);
+             SstFileWriter writer = new SstFileWriter(envOptions, options);
+             RocksIterator iterator = source.newIterator(handle, readOptions)) {
+
+            iterator.seekToFirst();
+            if (!iterator.isValid()) {
+                iterator.status();
+                return 0;
+            }
+
+            writer.open(sstFile.toString());
+            for (; iterator.isValid(); iterator.next()) {
+                writer.put(iterator.key(), iterator.value());
+                entries++;
+            }
+            iterator.status();
+            writer.finish();
+        }
+        return entries;
+    }
+
+    /**
+     * @return the column family of a merkle followed by its auxiliary column families
+     */
+    public List<String> getMerkleColumnFamilies(String identifier) {
+        String prefix = auxiliaryColumnFamily(identifier, "");
+        List<String> names = new ArrayList<>();
+        if (columnFamilyHandles.containsKey(identifier)) {
+            names.add(identifier);
+        }
+        columnFamilyHandles.keySet().stream()
+            .filter(name -> name.startsWith(prefix))
+            .sorted()
+            .forEach(names::add);
+        return names;
+    }
+
+    /**
+     * Makes {@link #writeMerkleBatch} skip the write-ahead log for a merkle, or log its writes again.
+     * Unlogged writes are only durable once {@link #flushUnloggedWrites flushed}; re-enabling the log
+     * flushes them first.
+     */
+    public void setWalDisabled(String identifier, boolean disabled) {
+        if (disabled) {
+            unloggedMerkles.putIfAbsent(identifier, new AtomicReference<>());
+        } else {
+            flushUnloggedWrites(identifier);
+            unloggedMerkles.remove(identifier);
+        }
+        log.debug("Write-ahead log of merkle {} {}", identifier, disabled ? "disabled" : "enabled");
+    }
+
+    /**
+     * If a merkle wrote without the write-ahead log since the last flush, flushes it and then commits
+     * the root of its last write.
+     */
+    public void flushUnloggedWrites(String identifier) {
+        AtomicReference<byte[]> pendingRoot = unloggedMerkles.get(identifier);
+        byte[] rootHash = pendingRoot != null ? pendingRoot.getAndSet(null) : null;
+        if (rootHash == null) {
+            return;
+        }
+        flushMerkle(identifier);
+        persistRootHash(identifier, rootHash);
+    }
+
+    /**
+     * Flushes the memtables of a merkle's column families to SST files and waits for the flush.
+     */
+    public void flushMerkle(String identifier) {
+        List<String> names = getMerkleColumnFamilies(identifier);
+        if (names.isEmpty()) {
+            return;
+        }
+        List<ColumnFamilyHandle> handles = new ArrayList<>();
+        for (String name : names) {
+            ColumnFamilyHandle handle = columnFamilyHandles.get(name);
+            if (handle != null) {
+                handles.add(handle);
+            }
+        }
+        try (FlushOptions flushOptions = new FlushOptions().setWaitForFlush(true)) {
+            getDb(names.get(0)).flush(flushOptions, handles);
+            log.debug("Flushed merkle {} ({} column families)", identifier, handles.size());
+        } catch (RocksDBException e) {
+            log.error("Failed to flush merkle: {}", identifier, e);
+            throw new MerkleOperationException("Failed to flush merkle: " + identifier, e);
+        }
+    }
+
+    /**
+     * Turns automatic compaction of a column family on or off. The setting is not persisted:
+     * a reopened database compacts every column family automatically.
+     */
+    public void setAutoCompaction(String identifier, boolean enabled) {
+        ColumnFamilyHandle handle = columnFamilyHandles.get(identifier);
+        if (handle == null) {
+            return;
+        }
+        try {
+            columnFamilyInstances.get(identifier).db.setOptions(handle, MutableColumnFamilyOptions.builder()
+                .setDisableAutoCompactions(!enabled)
+                .build());
+            log.debug("Auto compaction of {} {}", identifier, enabled ? "enabled" : "disabled");
+        } catch (RocksDBException e) {
+            log.error("Failed to change auto compaction of column family: {}", identifier, e);
+            throw new MerkleOperationException("Failed to change auto compaction of column family: " + identifier, e);
+        }
+    }
+
+    /**
+     * Compacts the whole key range of a column family down to the bottommost level, without
+     * blocking automatic compactions of other column families.
+     */
+    public void compactColumnFamily(String identifier) {
+        ColumnFamilyHandle handle = columnFamilyHandles.get(identifier);
+        if (handle == null) {
+            throw new MerkleOperationException("Column family not found: " + identifier);
+        }
+        try (CompactRangeOptions options = new CompactRangeOptions().setExclusiveManualCompaction(false)) {
+            columnFamilyInstances.get(identifier).db.compactRange(handle, null, null, options);
+        } catch (RocksDBException e) {
+            log.error("Failed to compact column family: {}", identifier, e);
+            throw new MerkleOperationException("Failed to compact column family: " + identifier, e);
+        }
+    }
+
+    /**
+     * Name of an auxiliary column family kept alongside a merkle's node column family.
+     * Merkle identifiers cannot contain underscores, so these names never collide with a merkle.
+     */
+    public static String auxiliaryColumnFamily(String identifier, String suffix) {
+        return identifier + "__" + suffix;
+    }
+
+    /**
+     * @return the handle of an existing column family, or null if it does not exist
+     */
+    public ColumnFamilyHandle getColumnFamily(String identifier) {
+        return columnFamilyHandles.get(identifier);
+    }
+
+    /**
+     * Estimates the storage used by a column family: live SST files plus memtables.
+     *
+     * @return size in bytes, or 0 if the column family does not exist
+     */
+    public long getColumnFamilySize(String identifier) {
+        ColumnFamilyHandle handle = columnFamilyHandles.get(identifier);
+        if (handle == null) {
+            return 0;
+        }
+        RocksDB db = columnFamilyInstances.get(identifier).db;
+        try {
+            return db.getLongProperty(handle, "rocksdb.total-sst-files-size")
+                    + db.getLongProperty(handle, "rocksdb.cur-size-all-mem-tables");
+        } catch (RocksDBException e) {
+            log.error("Failed to read size of column family: {}", identifier, e);
+            throw new MerkleOperationException("Failed to read size of column family: " + identifier, e);
+        }
+    }
+
+    /**
+     * Reads an integer property such as {@code rocksdb.cur-size-all-mem-tables}.
+     *
+     * @param aggregated true to sum the property over all column families of all instances, false to
+     *                   read it from the primary instance (for properties of shared resources such as
+     *                   the block cache)
+     * @return the value, or -1 if the database is closed or does not know the property
+     */
+    public long getLongProperty(String property, boolean aggregated) {
+        List<StorageInstance> current = instances;
+        if (current.isEmpty()) {
+            return -1;
+        }
+        try {
+            if (!aggregated) {
+                return current.get(0).db.getLongProperty(property);
+            }
+            long total = 0;
+            for (StorageInstance instance : current) {
+                total += instance.db.getAggregatedLongProperty(property);
+            }
+            return total;
+        } catch (RocksDBException e) {
+            log.debug("Failed to read RocksDB property {}: {}", property, e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Reads an integer property of a single column family, such as {@code rocksdb.num-files-at-level0}.
+     *
+     * @return the value, or -1 if the column family does not exist or the database is closed
+     */
+    public long getLongProperty(String identifier, String property) {
+        ColumnFamilyHandle handle = columnFamilyHandles.get(identifier);
+        StorageInstance instance = columnFamilyInstances.get(identifier);
+        if (instances.isEmpty() || handle == null || instance == null) {
+            return -1;
+        }
+        try {
+            return instance.db.getLongProperty(handle, property);
+        } catch (RocksDBException e) {
+            log.debug("Failed to read RocksDB property {} of {}: {}", property, identifier, e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * @return the database statistics, shared by all instances, or null if statistics are disabled
+     */
+    public Statistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * @return the primary instance, or null once closed
+     */
     public RocksDB getDb() {
-        return db;
+        List<StorageInstance> current = instances;
+        return current.isEmpty() ? null : current.get(0).db;
+    }
+
+    /**
+     * @return the instance holding a column family; handles from {@link #getOrCreateColumnFamily}
+     *         must only be used with the instance returned here
+     */
+    public RocksDB getDb(String identifier) {
+        StorageInstance instance = columnFamilyInstances.get(identifier);
+        if (instance == null) {
+            throw new MerkleOperationException("Column family not found: " + identifier);
+        }
+        return instance.db;
+    }
+
+    /**
+     * @return name of the instance holding a column family, or null if it does not exist
+     */
+    public String getInstanceName(String identifier) {
+        StorageInstance instance = columnFamilyInstances.get(identifier);
+        return instance != null ? instance.name : null;
+    }
+
+    /**
+     * @return name, path, column family count and estimated size of every instance
+     */
+    public List<InstanceInfo> getInstances() {
+        List<InstanceInfo> infos = new ArrayList<>();
+        for (StorageInstance instance : instances) {
+            int columnFamilies = (int) columnFamilyInstances.values().stream()
+                .filter(owner -> owner == instance)
+                .count();
+            infos.add(new InstanceInfo(instance.name, instance.path.toString(), columnFamilies,
+                instanceSize(instance)));
+        }
+        return infos;
     }
 
     public ColumnFamilyHandle getRootsHandle() {
-        return rootsHandle;
+        return primary().rootsHandle;
     }
 
     public Set<String> getActiveColumnFamilies() {
@@ -228,9 +924,10 @@ public class RocksDbManager {
     }
 
     public void flush() {
-        try {
-            FlushOptions flushOptions = new FlushOptions().setWaitForFlush(true);
-            db.flush(flushOptions);
+        try (FlushOptions flushOptions = new FlushOptions().setWaitForFlush(true)) {
+            for (StorageInstance instance : openInstances()) {
+                instance.db.flush(flushOptions);
+            }
             log.debug("Flushed RocksDB to disk");
         } catch (RocksDBException e) {
             log.error("Failed to flush RocksDB", e);
@@ -238,10 +935,25 @@ public class RocksDbManager {
         }
     }
 
+    private List<StorageInstance> openInstances() {
+        List<StorageInstance> current = instances;
+        if (current.isEmpty()) {
+            throw new MerkleOperationException("RocksDB is not open");
+        }
+        return current;
+    }
+
+    private StorageInstance primary() {
+        return openInstances().get(0);
+    }
+
     @PreDestroy
     public void close() {
         log.info("Closing RocksDB...");
 
+        List<StorageInstance> closing = instances;
+        instances = List.of();
+
         for (Map.Entry<String, ColumnFamilyHandle> entry : columnFamilyHandles.entrySet()) {
             try {
                 entry.getValue().close();
@@ -250,12 +962,17 @@ public class RocksDbManager {
                 log.error("Error closing column family: {}", entry.getKey(), e);
             }
         }
+        columnFamilyHandles.clear();
+        columnFamilyInstances.clear();
 
-        if (rootsHandle != null) {
-            rootsHandle.close();
-        }
-        if (defaultHandle != null) {
-            defaultHandle.close();
+        for (StorageInstance instance : closing) {
+            if (instance.rootsHandle != null) {
+                instance.rootsHandle.close();
+            }
+            if (instance.defaultHandle != null) {
+                instance.defaultHandle.close();
+            }
+            instance.db.close();
         }
 
         if (cfOptions != null) {
@@ -264,11 +981,42 @@ public class RocksDbManager {
         if (dbOptions != null) {
             dbOptions.close();
         }
-
-        if (db != null) {
-            db.close();
+        if (statistics != null) {
+            statistics.close();
+            statistics = null;
+        }
+        if (rateLimiter != null) {
+            rateLimiter.close();
+            rateLimiter = null;
         }
 
         log.info("RocksDB closed successfully");
     }
+
+    /**
+     * Receives column family entries from {@link #forEachEntry}.
+     */
+    @FunctionalInterface
+    public interface EntryVisitor {
+        void visit(byte[] key, byte[] value) throws IOException;
+    }
+
+    /**
+     * Summary of a RocksDB instance for monitoring.
+     */
+    public record InstanceInfo(String name, String path, int columnFamilyCount, long sizeBytes) {}
+
+    private static final class StorageInstance {
+        private final String name;
+        private final Path path;
+        private final RocksDB db;
+        private ColumnFamilyHandle defaultHandle;
+        private ColumnFamilyHandle rootsHandle;
+
+        private StorageInstance(String name, Path path, RocksDB db) {
+            this.name = name;
+            this.path = path;
+            this.db = db;
+        }
+    }
 }
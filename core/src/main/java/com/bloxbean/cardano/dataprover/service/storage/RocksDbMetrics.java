@@ -0,0 +1,83 @@
+package com.bloxbean.cardano.dataprover.service.storage;
+
+import com.bloxbean.cardano.dataprover.service.metrics.DataProverMetrics;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.rocksdb.Statistics;
+import org.rocksdb.TickerType;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Exposes RocksDB internals as gauges. Values are read from the database properties on each
+ * scrape; size properties are summed over all column families, while the block cache is shared and
+ * reported once. Selected tickers of the database {@link Statistics} are exported as counters.
+ */
+@Component
+public class RocksDbMetrics {
+
+    private static final List<TickerType> EXPORTED_TICKERS = List.of(
+            TickerType.BLOCK_CACHE_HIT,
+            TickerType.BLOCK_CACHE_MISS,
+            TickerType.BLOOM_FILTER_USEFUL,
+            TickerType.BLOOM_FILTER_FULL_POSITIVE,
+            TickerType.BLOOM_FILTER_FULL_TRUE_POSITIVE,
+            TickerType.MEMTABLE_HIT,
+            TickerType.MEMTABLE_MISS,
+            TickerType.GET_HIT_L0,
+            TickerType.GET_HIT_L1,
+            TickerType.GET_HIT_L2_AND_UP,
+            TickerType.BYTES_READ,
+            TickerType.BYTES_WRITTEN,
+            TickerType.COMPACT_READ_BYTES,
+            TickerType.COMPACT_WRITE_BYTES,
+            TickerType.STALL_MICROS);
+
+    private final RocksDbManager rocksDbManager;
+
+    public RocksDbMetrics(RocksDbManager rocksDbManager, DataProverMetrics metrics) {
+        this.rocksDbManager = rocksDbManager;
+
+        MeterRegistry registry = metrics.getRegistry();
+        register(registry, "dataprover.rocksdb.memtable.size", "rocksdb.cur-size-all-mem-tables", true,
+                "bytes", "Size of active and unflushed immutable memtables");
+        register(registry, "dataprover.rocksdb.compaction.pending", "rocksdb.estimate-pending-compaction-bytes", true,
+                "bytes", "Estimated bytes compaction needs to rewrite to bring all levels under target size");
+        register(registry, "dataprover.rocksdb.compaction.running", "rocksdb.num-running-compactions", false,
+                null, "Compactions currently running");
+        register(registry, "dataprover.rocksdb.flush.running", "rocksdb.num-running-flushes", false,
+                null, "Memtable flushes currently running");
+        register(registry, "dataprover.rocksdb.block.cache.usage", "rocksdb.block-cache-usage", false,
+                "bytes", "Memory used by entries in the block cache");
+        register(registry, "dataprover.rocksdb.block.cache.pinned", "rocksdb.block-cache-pinned-usage", false,
+                "bytes", "Memory used by pinned entries in the block cache");
+        register(registry, "dataprover.rocksdb.sst.size", "rocksdb.live-sst-files-size", true,
+                "bytes", "Size of the SST files belonging to the current version");
+        register(registry, "dataprover.rocksdb.keys", "rocksdb.estimate-num-keys", true,
+                "keys", "Estimated number of keys in all column families");
+
+        for (TickerType ticker : EXPORTED_TICKERS) {
+            FunctionCounter.builder("dataprover.rocksdb.ticks", rocksDbManager, manager -> {
+                        Statistics statistics = manager.getStatistics();
+                        return statistics != null ? statistics.getTickerCount(ticker) : Double.NaN;
+                    })
+                    .description("RocksDB statistics tickers")
+                    .tag("ticker", ticker.name().toLowerCase(Locale.ROOT))
+                    .register(registry);
+        }
+    }
+
+    private void register(MeterRegistry registry, String name, String property, boolean aggregated,
+                          String baseUnit, String description) {
+        Gauge.builder(name, rocksDbManager, manager -> {
+                    long value = manager.getLongProperty(property, aggregated);
+                    return value >= 0 ? value : Double.NaN;
+                })
+                .description(description)
+                .baseUnit(baseUnit)
+                .register(registry);
+    }
+}
@@ -0,0 +1,85 @@
+package com.bloxbean.cardano.dataprover.service.storage;
+
+import com.bloxbean.cardano.dataprover.model.MerkleMetadata;
+import com.bloxbean.cardano.dataprover.model.MerkleStatus;
+import com.bloxbean.cardano.dataprover.repository.MerkleMetadataRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Brings merkle_metadata root hashes in line with the roots committed in RocksDB.
+ * <p>
+ * Roots are committed in RocksDB together with the nodes they reference, while the metadata row is
+ * updated in a separate transaction afterwards; a crash between the two leaves the row behind. At
+ * startup, before interrupted ingestion jobs resume, the RocksDB root wins for every merkle that has
+ * one. Merkles without a committed root (written before roots were committed with their nodes) are
+ * seeded from their metadata row.
+ */
+@Service
+public class RootReconciliationService {
+
+    private static final Logger log = LoggerFactory.getLogger(RootReconciliationService.class);
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final RocksDbManager rocksDbManager;
+    private final MerkleMetadataRepository metadataRepository;
+
+    public RootReconciliationService(RocksDbManager rocksDbManager, MerkleMetadataRepository metadataRepository) {
+        this.rocksDbManager = rocksDbManager;
+        this.metadataRepository = metadataRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void reconcileOnStartup() {
+        reconcile();
+    }
+
+    /**
+     * @return the number of metadata rows whose root hash was corrected
+     */
+    public int reconcile() {
+        Set<String> columnFamilies = rocksDbManager.getActiveColumnFamilies();
+        int seeded = 0;
+        int corrected = 0;
+
+        for (MerkleMetadata metadata : metadataRepository.findAll()) {
+            String identifier = metadata.getIdentifier();
+            if (metadata.getStatus() == MerkleStatus.DELETED || !columnFamilies.contains(identifier)) {
+                continue;
+            }
+
+            Optional<byte[]> committed = rocksDbManager.loadRootHash(identifier);
+            if (committed.isEmpty()) {
+                String rootHash = metadata.getRootHash();
+                rocksDbManager.persistRootHash(identifier, rootHash != null ? HEX.parseHex(rootHash) : null);
+                seeded++;
+                continue;
+            }
+
+            String committedHex = committed.get().length > 0 ? HEX.formatHex(committed.get()) : null;
+            String recordedHex = metadata.getRootHash();
+            boolean matches = committedHex == null ? recordedHex == null : committedHex.equalsIgnoreCase(recordedHex);
+            if (!matches) {
+                log.warn("Root hash of merkle {} in metadata ({}) differs from the root committed in RocksDB ({}); "
+                        + "using the committed root", identifier, recordedHex, committedHex);
+                metadata.setRootHash(committedHex);
+                metadata.touch();
+                metadataRepository.save(metadata);
+                corrected++;
+            }
+        }
+
+        log.info("Root reconciliation complete: {} corrected, {} seeded from metadata", corrected, seeded);
+        return corrected;
+    }
+}
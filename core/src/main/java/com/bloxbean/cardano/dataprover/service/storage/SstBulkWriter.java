@@ -0,0 +1,69 @@
+package com.bloxbean.cardano.dataprover.service.storage;
+
+import com.bloxbean.cardano.dataprover.exception.MerkleOperationException;
+import org.rocksdb.EnvOptions;
+import org.rocksdb.Options;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.SstFileWriter;
+
+import java.nio.file.Path;
+
+/**
+ * Builds an SST file from entries supplied in ascending key order.
+ * The file is only created once the first entry arrives, so an empty writer leaves nothing behind.
+ */
+public class SstBulkWriter implements AutoCloseable {
+
+    private final EnvOptions envOptions;
+    private final Options options;
+    private final SstFileWriter writer;
+    private final Path sstFile;
+    private long entries;
+
+    SstBulkWriter(Options options, Path sstFile) {
+        this.envOptions = new EnvOptions();
+        this.options = options;
+        this.writer = new SstFileWriter(envOptions, options);
+        this.sstFile = sstFile;
+    }
+
+    public void put(byte[] key, byte[] value) {
+        try {
+            if (entries == 0) {
+                writer.open(sstFile.toString());
+            }
+            writer.put(key, value);
+            entries++;
+        } catch (RocksDBException e) {
+            throw new MerkleOperationException("Failed to write SST file: " + sstFile, e);
+        }
+    }
+
+    /**
+     * Completes the SST file.
+     *
+     * @return the file to ingest, or null when no entries were written
+     */
+    public Path finish() {
+        if (entries == 0) {
+            return null;
+        }
+        try {
+            writer.finish();
+            return sstFile;
+        } catch (RocksDBException e) {
+            throw new MerkleOperationException("Failed to finish SST file: " + sstFile, e);
+        }
+    }
+
+    public long getEntries() {
+        return entries;
+    }
+
+    @Override
+    public void close() {
+        writer.close();
+        options.close();
+        envOptions.close();
+    }
+}
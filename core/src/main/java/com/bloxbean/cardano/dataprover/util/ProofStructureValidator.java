@@ -0,0 +1,219 @@
+package com.bloxbean.cardano.dataprover.util;
+
+/**
+ * Structural validator for MPF wire proofs.
+ * <p>
+ * Walks the CBOR item headers in place without decoding or formatting anything. The proof must be
+ * exactly one list of proof steps, each the Plutus data encoding of an on-chain MPF proof step:
+ * <ul>
+ *   <li>{@code 121([skip, neighbors])} - branch, the four neighbour hashes in 128 bytes</li>
+ *   <li>{@code 122([skip, 121([nibble, prefix, root])])} - fork, a nibble below 16 and a 32 byte root</li>
+ *   <li>{@code 123([skip, key, value])} - leaf, 32 byte key and value hashes</li>
+ * </ul>
+ * Skips and nibbles are unsigned integers. Lists and constructor fields may have definite or
+ * indefinite length, and byte strings may be chunked, as Plutus data encoders produce both.
+ */
+public final class ProofStructureValidator {
+
+    private static final int BREAK = 0xff;
+    private static final int MAJOR_UNSIGNED = 0;
+    private static final int MAJOR_BYTES = 2;
+    private static final int MAJOR_ARRAY = 4;
+    private static final int MAJOR_TAG = 6;
+
+    private static final long BRANCH = 121;
+    private static final long FORK = 122;
+    private static final long LEAF = 123;
+    private static final long NEIGHBOR = 121;
+
+    private static final int HASH_LENGTH = 32;
+    private static final int NEIGHBORS_LENGTH = 4 * HASH_LENGTH;
+    private static final int NIBBLES = 16;
+
+    /** Header results besides a definite argument. */
+    private static final long INVALID = -1;
+    private static final long INDEFINITE = -2;
+
+    private ProofStructureValidator() {
+        // Utility class
+    }
+
+    public static boolean isWellFormed(byte[] proof) {
+        if (proof == null || proof.length == 0) {
+            return false;
+        }
+        Cursor cursor = new Cursor(proof);
+        long steps = cursor.readHeader(MAJOR_ARRAY, true);
+        if (steps == INDEFINITE) {
+            while (!cursor.readBreak()) {
+                if (!isStep(cursor)) {
+                    return false;
+                }
+            }
+        } else {
+            // Every step takes several bytes, which bounds the loop for hostile counts
+            if (steps == INVALID || steps > cursor.remaining()) {
+                return false;
+            }
+            for (long i = 0; i < steps; i++) {
+                if (!isStep(cursor)) {
+                    return false;
+                }
+            }
+        }
+        return !cursor.hasRemaining();
+    }
+
+    private static boolean isStep(Cursor cursor) {
+        long tag = cursor.readHeader(MAJOR_TAG, false);
+        if (tag == BRANCH) {
+            long fields = cursor.readFields(2);
+            return fields != INVALID
+                    && cursor.readHeader(MAJOR_UNSIGNED, false) != INVALID
+                    && cursor.readByteString() == NEIGHBORS_LENGTH
+                    && cursor.endFields(fields);
+        }
+        if (tag == FORK) {
+            long fields = cursor.readFields(2);
+            return fields != INVALID
+                    && cursor.readHeader(MAJOR_UNSIGNED, false) != INVALID
+                    && isNeighbor(cursor)
+                    && cursor.endFields(fields);
+        }
+        if (tag == LEAF) {
+            long fields = cursor.readFields(3);
+            return fields != INVALID
+                    && cursor.readHeader(MAJOR_UNSIGNED, false) != INVALID
+                    && cursor.readByteString() == HASH_LENGTH
+                    && cursor.readByteString() == HASH_LENGTH
+                    && cursor.endFields(fields);
+        }
+        return false;
+    }
+
+    private static boolean isNeighbor(Cursor cursor) {
+        if (cursor.readHeader(MAJOR_TAG, false) != NEIGHBOR) {
+            return false;
+        }
+        long fields = cursor.readFields(3);
+        if (fields == INVALID) {
+            return false;
+        }
+        long nibble = cursor.readHeader(MAJOR_UNSIGNED, false);
+        return nibble != INVALID && nibble < NIBBLES
+                && cursor.readByteString() != INVALID
+                && cursor.readByteString() == HASH_LENGTH
+                && cursor.endFields(fields);
+    }
+
+    private static final class Cursor {
+
+        private final byte[] bytes;
+        private int position;
+
+        Cursor(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        boolean hasRemaining() {
+            return position < bytes.length;
+        }
+
+        int remaining() {
+            return bytes.length - position;
+        }
+
+        /**
+         * Reads the header of a constructor's field array, which must hold {@code arity} fields.
+         *
+         * @return {@link #INDEFINITE} if the fields end with a break, the arity if they do not, or
+         *         {@link #INVALID}
+         */
+        long readFields(int arity) {
+            long count = readHeader(MAJOR_ARRAY, true);
+            return count == INDEFINITE || count == arity ? count : INVALID;
+        }
+
+        /**
+         * @param fields the result of {@link #readFields}
+         * @return true if nothing but the break of indefinite fields follows the last field
+         */
+        boolean endFields(long fields) {
+            return fields != INDEFINITE || readBreak();
+        }
+
+        boolean readBreak() {
+            if (hasRemaining() && (bytes[position] & 0xff) == BREAK) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Skips a definite or chunked byte string.
+         *
+         * @return its length, or {@link #INVALID}
+         */
+        long readByteString() {
+            long length = readHeader(MAJOR_BYTES, true);
+            if (length != INDEFINITE) {
+                return skip(length) ? length : INVALID;
+            }
+            // Chunks of an indefinite string must be definite byte strings
+            long total = 0;
+            while (!readBreak()) {
+                long chunk = readHeader(MAJOR_BYTES, false);
+                if (!skip(chunk)) {
+                    return INVALID;
+                }
+                total += chunk;
+            }
+            return total;
+        }
+
+        private boolean skip(long length) {
+            if (length < 0 || length > remaining()) {
+                return false;
+            }
+            position += (int) length;
+            return true;
+        }
+
+        /**
+         * Reads an item header of the given major type and advances past it.
+         *
+         * @return the argument as an unsigned value, {@link #INDEFINITE} for an indefinite length if
+         *         {@code indefinite} is allowed, or {@link #INVALID} if the header is of another type,
+         *         malformed or truncated
+         */
+        long readHeader(int majorType, boolean indefinite) {
+            if (!hasRemaining() || (bytes[position] & 0xff) >>> 5 != majorType) {
+                return INVALID;
+            }
+            int info = bytes[position++] & 0x1f;
+            if (info < 24) {
+                return info;
+            }
+            if (info == 31) {
+                return indefinite ? INDEFINITE : INVALID;
+            }
+            int size = switch (info) {
+                case 24 -> 1;
+                case 25 -> 2;
+                case 26 -> 4;
+                case 27 -> 8;
+                default -> -1;
+            };
+            if (size < 0 || size > remaining()) {
+                return INVALID;
+            }
+            long value = 0;
+            for (int i = 0; i < size; i++) {
+                value = (value << 8) | (bytes[position++] & 0xff);
+            }
+            // No length or tag of a proof comes near 2^63
+            return value < 0 ? Long.MAX_VALUE : value;
+        }
+    }
+}
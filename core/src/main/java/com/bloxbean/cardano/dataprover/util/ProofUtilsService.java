@@ -34,17 +34,10 @@ public class ProofUtilsService {
         }
     }
 
+    /**
+     * Checks the proof structure without formatting it; see {@link ProofStructureValidator}.
+     */
     public boolean isWellFormed(byte[] proofWire) {
-        if (proofWire == null || proofWire.length == 0) {
-            return false;
-        }
-
-        try {
-            ProofFormatter.toAiken(proofWire);
-            return true;
-        } catch (Exception e) {
-            log.debug("Proof is not well-formed: {}", e.getMessage());
-            return false;
-        }
+        return ProofStructureValidator.isWellFormed(proofWire);
     }
 }
@@ -0,0 +1,180 @@
+package com.bloxbean.cardano.dataprover.util;
+
+import co.nstant.in.cbor.CborEncoder;
+import co.nstant.in.cbor.CborException;
+import co.nstant.in.cbor.model.Array;
+import co.nstant.in.cbor.model.ByteString;
+import co.nstant.in.cbor.model.DataItem;
+import co.nstant.in.cbor.model.SimpleValue;
+import co.nstant.in.cbor.model.UnicodeString;
+import com.bloxbean.cardano.dataprover.model.RawProof;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Encodes proofs, values and root hashes as raw bytes for binary API responses.
+ * <p>
+ * Two wire formats are supported:
+ * <ul>
+ *   <li>{@code application/cbor}: a proof is a map {@code {"value", "proof", "rootHash"}} of byte
+ *       strings, a batch is an array of such maps. Absent values and failed proofs are CBOR null.</li>
+ *   <li>{@code application/octet-stream}: every field is a frame of a big-endian u32 length followed
+ *       by that many bytes; length {@code 0xFFFFFFFF} marks an absent field. A proof is the frames
+ *       value, proof, rootHash. A batch starts with a u32 entry count followed by the entries.</li>
+ * </ul>
+ * Batch entries are returned in request order, so keys are not repeated in the response.
+ */
+public final class ProofWireCodec {
+
+    public static final int ABSENT = 0xFFFFFFFF;
+
+    private ProofWireCodec() {
+        // Utility class
+    }
+
+    /**
+     * Picks the binary format for an Accept header. The first of the two binary types listed wins;
+     * wildcards fall back to octet-stream.
+     */
+    public static MediaType negotiate(String accept) {
+        if (accept != null) {
+            for (MediaType mediaType : MediaType.parseMediaTypes(accept)) {
+                if (mediaType.equalsTypeAndSubtype(MediaType.APPLICATION_CBOR)) {
+                    return MediaType.APPLICATION_CBOR;
+                }
+                if (mediaType.equalsTypeAndSubtype(MediaType.APPLICATION_OCTET_STREAM)) {
+                    return MediaType.APPLICATION_OCTET_STREAM;
+                }
+            }
+        }
+        return MediaType.APPLICATION_OCTET_STREAM;
+    }
+
+    public static byte[] encodeProof(RawProof proof, MediaType mediaType) {
+        if (isCbor(mediaType)) {
+            return encodeCbor(toCbor(proof));
+        }
+        Frames frames = new Frames();
+        frames.proof(proof);
+        return frames.toByteArray();
+    }
+
+    public static byte[] encodeProofs(List<RawProof> proofs, MediaType mediaType) {
+        if (isCbor(mediaType)) {
+            Array array = new Array();
+            for (RawProof proof : proofs) {
+                array.add(toCbor(proof));
+            }
+            return encodeCbor(array);
+        }
+        Frames frames = new Frames();
+        frames.count(proofs.size());
+        for (RawProof proof : proofs) {
+            frames.proof(proof);
+        }
+        return frames.toByteArray();
+    }
+
+    /**
+     * Encodes a single byte field, e.g. a value or root hash. Octet-stream returns the bytes as-is.
+     */
+    public static byte[] encodeBytes(byte[] bytes, MediaType mediaType) {
+        if (isCbor(mediaType)) {
+            return encodeCbor(bytesOrNull(bytes));
+        }
+        return bytes != null ? bytes : new byte[0];
+    }
+
+    public static byte[] encodeBytesList(List<byte[]> values, MediaType mediaType) {
+        if (isCbor(mediaType)) {
+            Array array = new Array();
+            for (byte[] value : values) {
+                array.add(bytesOrNull(value));
+            }
+            return encodeCbor(array);
+        }
+        Frames frames = new Frames();
+        frames.count(values.size());
+        for (byte[] value : values) {
+            frames.field(value);
+        }
+        return frames.toByteArray();
+    }
+
+    private static boolean isCbor(MediaType mediaType) {
+        return MediaType.APPLICATION_CBOR.equalsTypeAndSubtype(mediaType);
+    }
+
+    private static DataItem toCbor(RawProof proof) {
+        if (proof == null) {
+            return SimpleValue.NULL;
+        }
+        co.nstant.in.cbor.model.Map map = new co.nstant.in.cbor.model.Map();
+        map.put(new UnicodeString("value"), bytesOrNull(proof.value()));
+        map.put(new UnicodeString("proof"), bytesOrNull(proof.proof()));
+        map.put(new UnicodeString("rootHash"), bytesOrNull(proof.rootHash()));
+        return map;
+    }
+
+    private static DataItem bytesOrNull(byte[] bytes) {
+        return bytes != null ? new ByteString(bytes) : SimpleValue.NULL;
+    }
+
+    private static byte[] encodeCbor(DataItem item) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            new CborEncoder(out).encode(item);
+        } catch (CborException e) {
+            throw new IllegalStateException("Failed to encode CBOR response", e);
+        }
+        return out.toByteArray();
+    }
+
+    private static final class Frames {
+
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(buffer);
+
+        void count(int count) {
+            try {
+                out.writeInt(count);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void proof(RawProof proof) {
+            if (proof == null) {
+                field(null);
+                field(null);
+                field(null);
+                return;
+            }
+            field(proof.value());
+            field(proof.proof());
+            field(proof.rootHash());
+        }
+
+        void field(byte[] bytes) {
+            try {
+                if (bytes == null) {
+                    out.writeInt(ABSENT);
+                } else {
+                    out.writeInt(bytes.length);
+                    out.write(bytes);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        byte[] toByteArray() {
+            return buffer.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+-- V3: Create ingestion_job table
+-- Tracks asynchronous ingestion jobs and their last committed checkpoint
+
+CREATE TABLE ingestion_job (
+    id VARCHAR(36) PRIMARY KEY,
+    merkle_identifier VARCHAR(64) NOT NULL,
+    provider VARCHAR(64) NOT NULL,
+    config TEXT,
+    status VARCHAR(20) NOT NULL DEFAULT 'QUEUED',
+    total_records BIGINT,
+    records_processed BIGINT NOT NULL DEFAULT 0,
+    records_skipped BIGINT NOT NULL DEFAULT 0,
+    committed_offset BIGINT NOT NULL DEFAULT 0,
+    root_hash VARCHAR(128),
+    error_message TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    started_at TIMESTAMP,
+    finished_at TIMESTAMP,
+    last_checkpoint_at TIMESTAMP,
+    version BIGINT DEFAULT 0
+);
+
+CREATE INDEX idx_ingestion_job_merkle ON ingestion_job(merkle_identifier);
+CREATE INDEX idx_ingestion_job_status ON ingestion_job(status);
+CREATE INDEX idx_ingestion_job_created_at ON ingestion_job(created_at DESC);
+
+ALTER TABLE ingestion_job
+ADD CONSTRAINT chk_ingestion_job_status
+CHECK (status IN ('QUEUED', 'RUNNING', 'COMPLETED', 'FAILED', 'CANCELLED'));
+
+COMMENT ON TABLE ingestion_job IS 'Asynchronous ingestion jobs with resumable checkpoints';
+COMMENT ON COLUMN ingestion_job.config IS 'Provider fetch configuration as JSON';
+COMMENT ON COLUMN ingestion_job.committed_offset IS 'Number of source records covered by the checkpointed root hash';
+COMMENT ON COLUMN ingestion_job.root_hash IS 'Merkle root hash at the last checkpoint in hex format';
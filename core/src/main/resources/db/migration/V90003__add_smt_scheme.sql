@@ -0,0 +1,7 @@
+-- V4: Allow the sparse Merkle tree scheme
+
+ALTER TABLE merkle_metadata DROP CONSTRAINT chk_merkle_scheme;
+
+ALTER TABLE merkle_metadata
+ADD CONSTRAINT chk_merkle_scheme
+CHECK (scheme IN ('mpf', 'jmt', 'smt'));
@@ -0,0 +1,7 @@
+-- V5: Allow the append-only Merkle log scheme
+
+ALTER TABLE merkle_metadata DROP CONSTRAINT chk_merkle_scheme;
+
+ALTER TABLE merkle_metadata
+ADD CONSTRAINT chk_merkle_scheme
+CHECK (scheme IN ('mpf', 'jmt', 'smt', 'log'));
@@ -0,0 +1,122 @@
+package com.bloxbean.cardano.dataprover.service.archive;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Round-trip tests for the portable merkle archive format.
+ */
+class MerkleArchiveFormatTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void roundTripLeavesAndNodes() throws IOException {
+        Path file = tempDir.resolve("test.dpmx");
+        List<byte[]> keys = sortedRandomKeys(20_000);
+        byte[] root = new byte[32];
+        Arrays.fill(root, (byte) 0x5a);
+
+        try (MerkleArchiveWriter writer = new MerkleArchiveWriter(file, "mpf", "test-merkle", true)) {
+            for (int i = 0; i < keys.size(); i++) {
+                writer.writeLeaf(keys.get(i), ("key-" + i).getBytes(), ("value-" + i).getBytes());
+            }
+            writer.beginNodes();
+            writer.writeNode(new byte[]{0x01}, new byte[300_000]);
+            writer.writeNode(new byte[]{0x02}, new byte[]{0x03});
+            MerkleArchiveWriter.Summary summary = writer.finish(root);
+            assertThat(summary.leafCount()).isEqualTo(keys.size());
+            assertThat(summary.nodeCount()).isEqualTo(2);
+            assertThat(summary.sizeBytes()).isEqualTo(Files.size(file));
+        }
+
+        try (MerkleArchiveReader reader = MerkleArchiveReader.open(file)) {
+            assertThat(reader.getScheme()).isEqualTo("mpf");
+            assertThat(reader.getIdentifier()).isEqualTo("test-merkle");
+            assertThat(reader.hasOriginalKeys()).isTrue();
+            assertThat(reader.hasNodes()).isTrue();
+            assertThat(reader.getRootHash()).isEqualTo(root);
+
+            List<byte[]> readKeys = new ArrayList<>();
+            reader.forEachLeaf((hashedKey, originalKey, value) -> {
+                int index = readKeys.size();
+                assertThat(originalKey).isEqualTo(("key-" + index).getBytes());
+                assertThat(value).isEqualTo(("value-" + index).getBytes());
+                readKeys.add(hashedKey);
+            });
+            assertThat(readKeys).containsExactlyElementsOf(keys);
+
+            List<byte[]> nodeValues = new ArrayList<>();
+            reader.forEachNode((key, value) -> nodeValues.add(value));
+            assertThat(nodeValues).hasSize(2);
+            assertThat(nodeValues.get(0)).hasSize(300_000);
+        }
+    }
+
+    @Test
+    void emptyArchiveWithoutNodes() throws IOException {
+        Path file = tempDir.resolve("empty.dpmx");
+        try (MerkleArchiveWriter writer = new MerkleArchiveWriter(file, "mpf", "empty", false)) {
+            writer.finish(null);
+        }
+
+        try (MerkleArchiveReader reader = MerkleArchiveReader.open(file)) {
+            assertThat(reader.getLeafCount()).isZero();
+            assertThat(reader.hasNodes()).isFalse();
+            assertThat(reader.getRootHash()).isNull();
+        }
+    }
+
+    @Test
+    void rejectsUnsortedLeaves() throws IOException {
+        Path file = tempDir.resolve("unsorted.dpmx");
+        try (MerkleArchiveWriter writer = new MerkleArchiveWriter(file, "mpf", "unsorted", false)) {
+            writer.writeLeaf(new byte[]{0x02}, null, new byte[]{0x01});
+            assertThatThrownBy(() -> writer.writeLeaf(new byte[]{0x01}, null, new byte[]{0x01}))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    void detectsCorruption() throws IOException {
+        Path file = tempDir.resolve("corrupt.dpmx");
+        try (MerkleArchiveWriter writer = new MerkleArchiveWriter(file, "mpf", "corrupt", false)) {
+            for (byte[] key : sortedRandomKeys(100)) {
+                writer.writeLeaf(key, null, key);
+            }
+            writer.finish(new byte[32]);
+        }
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 0x01;
+        Files.write(file, bytes);
+
+        assertThatThrownBy(() -> MerkleArchiveReader.open(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("checksum");
+    }
+
+    private static List<byte[]> sortedRandomKeys(int count) {
+        Random random = new Random(42);
+        List<byte[]> keys = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            byte[] key = new byte[32];
+            random.nextBytes(key);
+            keys.add(key);
+        }
+        keys.sort(Arrays::compareUnsigned);
+        return keys;
+    }
+}
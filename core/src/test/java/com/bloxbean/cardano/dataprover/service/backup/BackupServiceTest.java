@@ -0,0 +1,289 @@
+package com.bloxbean.cardano.dataprover.service.backup;
+
+import com.bloxbean.cardano.dataprover.dto.AddEntriesRequest;
+import com.bloxbean.cardano.dataprover.dto.BackupResponse;
+import com.bloxbean.cardano.dataprover.dto.CreateMerkleRequest;
+import com.bloxbean.cardano.dataprover.dto.EntryItem;
+import com.bloxbean.cardano.dataprover.dto.RestoreBackupRequest;
+import com.bloxbean.cardano.dataprover.dto.RestoreBackupResponse;
+import com.bloxbean.cardano.dataprover.exception.DuplicateMerkleException;
+import com.bloxbean.cardano.dataprover.model.MerkleMetadata;
+import com.bloxbean.cardano.dataprover.model.MerkleStatus;
+import com.bloxbean.cardano.dataprover.repository.MerkleMetadataRepository;
+import com.bloxbean.cardano.dataprover.service.IngestionService;
+import com.bloxbean.cardano.dataprover.service.MerkleManagementService;
+import com.bloxbean.cardano.dataprover.service.merkle.MerkleImplementation;
+import com.bloxbean.cardano.dataprover.service.merkle.MerkleRegistry;
+import com.bloxbean.cardano.dataprover.service.storage.OriginalKeyIndex;
+import com.bloxbean.cardano.dataprover.service.storage.RocksDbManager;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Backups restored under a new identifier: the restored merkle has the source's root, committed root,
+ * entries and original key index, restores never overwrite an existing merkle, and a failed restore
+ * leaves no column families behind.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:backups;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "dataprover.storage.rocksdb-path=${java.io.tmpdir}/dataprover-test/backups/rocksdb",
+        "dataprover.storage.backup-path=${java.io.tmpdir}/dataprover-test/backups/backups"
+})
+class BackupServiceTest {
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    @Autowired
+    private BackupService backupService;
+
+    @Autowired
+    private MerkleManagementService managementService;
+
+    @Autowired
+    private IngestionService ingestionService;
+
+    @Autowired
+    private MerkleRegistry merkleRegistry;
+
+    @Autowired
+    private MerkleMetadataRepository metadataRepository;
+
+    @Autowired
+    private RocksDbManager rocksDbManager;
+
+    @Autowired
+    private OriginalKeyIndex keyIndex;
+
+    @AfterEach
+    void tearDown() {
+        merkleRegistry.clearCache();
+    }
+
+    @Test
+    void exportedMerkleRestoresUnderNewIdentifier() {
+        String source = createMerkleWithEntries(5);
+        String target = newIdentifier();
+
+        BackupResponse backup = backupService.exportMerkle(source);
+        RestoreBackupResponse restore = backupService.restore(backup.getBackupId(), request(source, target));
+
+        assertThat(restore.getRestoredMerkles()).containsExactly(target);
+        assertThat(restore.getEntriesImported()).isPositive();
+        assertRestored(source, target, backup.getBackupId());
+    }
+
+    @Test
+    void checkpointRestoresOneMerkleUnderNewIdentifier() {
+        String source = createMerkleWithEntries(5);
+        String other = createMerkleWithEntries(2);
+        String target = newIdentifier();
+
+        BackupResponse backup = backupService.createCheckpointBackup();
+        assertThat(backup.getMerkles()).contains(source, other);
+        RestoreBackupResponse restore = backupService.restore(backup.getBackupId(), request(source, target));
+
+        assertThat(restore.getRestoredMerkles()).containsExactly(target);
+        assertRestored(source, target, backup.getBackupId());
+    }
+
+    @Test
+    void exportedMerkleRestoresItsOriginalKeys() throws IOException {
+        String source = createMerkleWithEntries(5, true);
+        String target = newIdentifier();
+
+        BackupResponse backup = backupService.exportMerkle(source);
+        backupService.restore(backup.getBackupId(), request(source, target));
+
+        assertRestored(source, target, backup.getBackupId());
+        assertThat(metadataRepository.findByIdentifier(target).orElseThrow().getStoreOriginalKeys()).isTrue();
+        assertThat(keyIndex.isComplete(target)).isTrue();
+        assertThat(originalKeys(target)).hasSize(5).containsExactlyElementsOf(originalKeys(source));
+    }
+
+    @Test
+    void checkpointRestoresOriginalKeys() throws IOException {
+        String source = createMerkleWithEntries(5, true);
+        String target = newIdentifier();
+
+        BackupResponse backup = backupService.createCheckpointBackup();
+        backupService.restore(backup.getBackupId(), request(source, target));
+
+        assertRestored(source, target, backup.getBackupId());
+        assertThat(keyIndex.isComplete(target)).isTrue();
+        assertThat(originalKeys(target)).hasSize(5).containsExactlyElementsOf(originalKeys(source));
+    }
+
+    @Test
+    void failedRestoreDropsImportedColumnFamilies() throws IOException {
+        String source = createMerkleWithEntries(5, true);
+        String target = newIdentifier();
+        BackupResponse backup = backupService.exportMerkle(source);
+
+        // The merkle's own column family imports, its key index does not
+        Files.write(Path.of(backup.getPath()).resolve(RocksDbManager.auxiliaryColumnFamily(source, "keys") + ".sst"),
+                new byte[]{1, 2, 3});
+
+        assertThatThrownBy(() -> backupService.restore(backup.getBackupId(), request(source, target)))
+                .isInstanceOf(RuntimeException.class);
+
+        assertThat(rocksDbManager.getActiveColumnFamilies())
+                .noneMatch(columnFamily -> columnFamily.equals(target) || columnFamily.startsWith(target + "__"));
+        assertThat(rocksDbManager.loadRootHash(target)).isEmpty();
+        assertThat(metadataRepository.findByIdentifier(target)).isEmpty();
+    }
+
+    @Test
+    void restoredMerkleIsIndependentOfItsSource() {
+        String source = createMerkleWithEntries(3);
+        String sourceRoot = rootHash(source);
+        String target = newIdentifier();
+        backupService.restore(backupService.exportMerkle(source).getBackupId(), request(source, target));
+
+        addEntries(target, List.of(new EntryItem("ff01", "ee01")));
+
+        assertThat(rootHash(target)).isNotEqualTo(sourceRoot);
+        assertThat(rootHash(source)).isEqualTo(sourceRoot);
+        assertThat(entries(target)).hasSize(4);
+        assertThat(entries(source)).hasSize(3);
+    }
+
+    @Test
+    void emptyMerkleRestoresWithEmptyCommittedRoot() {
+        String source = createMerkle();
+        String target = newIdentifier();
+
+        BackupResponse backup = backupService.exportMerkle(source);
+        RestoreBackupResponse restore = backupService.restore(backup.getBackupId(), request(source, target));
+
+        assertThat(restore.getEntriesImported()).isZero();
+        assertThat(metadataRepository.findByIdentifier(target)).isPresent();
+        assertThat(rocksDbManager.loadRootHash(target)).hasValueSatisfying(root -> assertThat(root).isEmpty());
+        assertThat(entries(target)).isEmpty();
+    }
+
+    @Test
+    void restoreNeverOverwritesExistingMerkle() {
+        String source = createMerkleWithEntries(3);
+        String existing = createMerkleWithEntries(1);
+        String existingRoot = rootHash(existing);
+        String backupId = backupService.exportMerkle(source).getBackupId();
+
+        // Restoring under the source's own identifier collides with the source
+        assertThatThrownBy(() -> backupService.restore(backupId, request(source, null)))
+                .isInstanceOf(DuplicateMerkleException.class);
+        assertThatThrownBy(() -> backupService.restore(backupId, request(source, existing)))
+                .isInstanceOf(DuplicateMerkleException.class);
+
+        assertThat(rootHash(existing)).isEqualTo(existingRoot);
+        assertThat(entries(existing)).hasSize(1);
+        assertThat(rocksDbManager.loadRootHash(existing))
+                .hasValueSatisfying(root -> assertThat(HEX.formatHex(root)).isEqualTo(existingRoot));
+    }
+
+    @Test
+    void targetIdentifierRequiresOneMerkle() {
+        createMerkleWithEntries(1);
+        createMerkleWithEntries(1);
+        String backupId = backupService.createCheckpointBackup().getBackupId();
+
+        assertThatThrownBy(() -> backupService.restore(backupId, request(null, newIdentifier())))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void assertRestored(String source, String target, String backupId) {
+        MerkleMetadata sourceMetadata = metadataRepository.findByIdentifier(source).orElseThrow();
+        MerkleMetadata targetMetadata = metadataRepository.findByIdentifier(target).orElseThrow();
+        assertThat(targetMetadata.getRootHash()).isNotBlank().isEqualTo(sourceMetadata.getRootHash());
+        assertThat(targetMetadata.getScheme()).isEqualTo(sourceMetadata.getScheme());
+        assertThat(targetMetadata.getStatus()).isEqualTo(MerkleStatus.ACTIVE);
+        assertThat(targetMetadata.getMetadata()).containsEntry("restoredFrom", backupId);
+
+        // The committed root is what a reopened merkle starts from
+        assertThat(rocksDbManager.loadRootHash(target)).hasValueSatisfying(root ->
+                assertThat(HEX.formatHex(root)).isEqualTo(sourceMetadata.getRootHash()));
+
+        MerkleImplementation restored = merkleRegistry.getOrLoadMerkle(target);
+        assertThat(HEX.formatHex(restored.getRootHash())).isEqualTo(sourceMetadata.getRootHash());
+        assertThat(entries(target)).containsExactlyElementsOf(entries(source));
+    }
+
+    private String createMerkle() {
+        return createMerkle(false);
+    }
+
+    private String createMerkle(boolean storeOriginalKeys) {
+        CreateMerkleRequest request = new CreateMerkleRequest();
+        request.setIdentifier(newIdentifier());
+        request.setScheme("mpf");
+        request.setStoreOriginalKeys(storeOriginalKeys);
+        return managementService.createMerkle(request).getIdentifier();
+    }
+
+    private String createMerkleWithEntries(int count) {
+        return createMerkleWithEntries(count, false);
+    }
+
+    private String createMerkleWithEntries(int count, boolean storeOriginalKeys) {
+        String identifier = createMerkle(storeOriginalKeys);
+        List<EntryItem> items = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            items.add(new EntryItem(String.format("0a%02x", i), String.format("0b%02x", i)));
+        }
+        addEntries(identifier, items);
+        return identifier;
+    }
+
+    private void addEntries(String identifier, List<EntryItem> items) {
+        ingestionService.addEntries(identifier, new AddEntriesRequest(items));
+    }
+
+    private String rootHash(String identifier) {
+        return metadataRepository.findByIdentifier(identifier).orElseThrow().getRootHash();
+    }
+
+    /**
+     * @return the merkle's entries as hashed key and value hex, in hashed key order
+     */
+    private List<String> entries(String identifier) {
+        return merkleRegistry.getOrLoadMerkle(identifier).getEntries(Integer.MAX_VALUE).stream()
+                .map(entry -> HEX.formatHex(entry.hashedKey()) + ":" + HEX.formatHex(entry.value()))
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * @return the merkle's original keys as hex, from its key index
+     */
+    private List<String> originalKeys(String identifier) throws IOException {
+        List<String> keys = new ArrayList<>();
+        keyIndex.scan(identifier, null, null, 0, (key, hashedKey) -> keys.add(HEX.formatHex(key)));
+        return keys;
+    }
+
+    private static RestoreBackupRequest request(String merkleIdentifier, String targetIdentifier) {
+        RestoreBackupRequest request = new RestoreBackupRequest();
+        request.setMerkleIdentifier(merkleIdentifier);
+        request.setTargetIdentifier(targetIdentifier);
+        return request;
+    }
+
+    private static String newIdentifier() {
+        return "backup-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,56 @@
+package com.bloxbean.cardano.dataprover.service.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * No false negatives, and a false positive rate near the configured bits per key.
+ */
+class BlockedBloomFilterTest {
+
+    private static final int KEYS = 100_000;
+
+    @Test
+    void reportsEveryAddedKey() {
+        BlockedBloomFilter filter = new BlockedBloomFilter(KEYS, 10);
+        for (int i = 0; i < KEYS; i++) {
+            filter.put(hash(i));
+        }
+
+        for (int i = 0; i < KEYS; i++) {
+            assertThat(filter.mightContain(hash(i))).isTrue();
+        }
+        assertThat(filter.insertions()).isEqualTo(KEYS);
+    }
+
+    @Test
+    void rejectsMostAbsentKeys() {
+        BlockedBloomFilter filter = new BlockedBloomFilter(KEYS, 10);
+        for (int i = 0; i < KEYS; i++) {
+            filter.put(hash(i));
+        }
+
+        int falsePositives = 0;
+        for (int i = KEYS; i < 2 * KEYS; i++) {
+            if (filter.mightContain(hash(i))) {
+                falsePositives++;
+            }
+        }
+        assertThat((double) falsePositives / KEYS).isLessThan(0.03);
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BlockedBloomFilter filter = new BlockedBloomFilter(1, 10);
+
+        assertThat(filter.mightContain(hash(1))).isFalse();
+        assertThat(filter.sizeBytes()).isEqualTo(64);
+    }
+
+    private static byte[] hash(int key) {
+        return MembershipFilterService.hashKey(ByteBuffer.allocate(Integer.BYTES).putInt(key).array());
+    }
+}
@@ -0,0 +1,231 @@
+package com.bloxbean.cardano.dataprover.service.ingestion;
+
+import co.nstant.in.cbor.CborBuilder;
+import co.nstant.in.cbor.CborEncoder;
+import co.nstant.in.cbor.CborException;
+import co.nstant.in.cbor.model.DataItem;
+import com.bloxbean.cardano.dataprover.model.KeyValuePair;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Framing of the NDJSON, CBOR sequence and length-prefixed binary entry streams: well-formed input,
+ * empty streams, truncated frames and entries rejected one at a time.
+ */
+class EntryStreamReaderTest {
+
+    private static final KeyValuePair FIRST = new KeyValuePair(new byte[]{0x01, 0x02}, new byte[]{0x0a});
+    private static final KeyValuePair SECOND = new KeyValuePair(new byte[]{(byte) 0xff}, new byte[0]);
+
+    @Test
+    void selectsReaderByContentType() {
+        InputStream empty = new ByteArrayInputStream(new byte[0]);
+
+        assertThat(EntryStreamReader.forContentType("application/x-ndjson; charset=utf-8", empty))
+                .isInstanceOf(NdjsonEntryReader.class);
+        assertThat(EntryStreamReader.forContentType("Application/CBOR", empty))
+                .isInstanceOf(CborEntryReader.class);
+        assertThat(EntryStreamReader.forContentType("application/octet-stream", empty))
+                .isInstanceOf(BinaryEntryReader.class);
+        assertThatThrownBy(() -> EntryStreamReader.forContentType("application/json", empty))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> EntryStreamReader.forContentType(null, empty))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // NDJSON
+
+    @Test
+    void ndjsonReadsEntries() throws IOException {
+        String body = "{\"key\":\"0102\",\"value\":\"0a\",\"note\":{\"ignored\":[1,2]}}\n"
+                + "{\"value\":\"\",\"key\":\"0xff\"}\n";
+
+        assertThat(readAll(ndjson(body))).containsExactly(FIRST, SECOND);
+    }
+
+    @Test
+    void ndjsonEmptyStreamHasNoEntries() throws IOException {
+        assertThat(readAll(ndjson(""))).isEmpty();
+        assertThat(readAll(ndjson("\n\n"))).isEmpty();
+    }
+
+    @Test
+    void ndjsonRejectsBadHexAndContinues() throws IOException {
+        String body = "{\"key\":\"zz\",\"value\":\"0a\"}\n"
+                + "{\"key\":\"0102\",\"value\":\"0a\"}\n";
+
+        try (EntryStreamReader reader = ndjson(body)) {
+            assertThatThrownBy(reader::next).isInstanceOf(IllegalArgumentException.class);
+            assertThat(reader.next()).isEqualTo(FIRST);
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void ndjsonRejectsEntryWithoutValueAndContinues() throws IOException {
+        String body = "{\"key\":\"0102\"}\n{\"key\":\"0102\",\"value\":\"0a\"}\n";
+
+        try (EntryStreamReader reader = ndjson(body)) {
+            assertThatThrownBy(reader::next).isInstanceOf(IllegalArgumentException.class);
+            assertThat(reader.next()).isEqualTo(FIRST);
+        }
+    }
+
+    @Test
+    void ndjsonFailsOnTruncatedObject() throws IOException {
+        String body = "{\"key\":\"0102\",\"value\":\"0a\"}\n{\"key\":\"0102\",";
+
+        try (EntryStreamReader reader = ndjson(body)) {
+            assertThat(reader.next()).isEqualTo(FIRST);
+            assertThatThrownBy(reader::next).isInstanceOf(IOException.class);
+        }
+    }
+
+    @Test
+    void ndjsonFailsOnNonObject() throws IOException {
+        try (EntryStreamReader reader = ndjson("[1,2]\n")) {
+            assertThatThrownBy(reader::next).isInstanceOf(IOException.class);
+        }
+    }
+
+    // CBOR
+
+    @Test
+    void cborReadsEntries() throws Exception {
+        byte[] body = cbor(new CborBuilder()
+                .addArray().add(FIRST.key()).add(FIRST.value()).end()
+                .addArray().add(SECOND.key()).add(SECOND.value()).end()
+                .build());
+
+        assertThat(readAll(new CborEntryReader(new ByteArrayInputStream(body)))).containsExactly(FIRST, SECOND);
+    }
+
+    @Test
+    void cborEmptyStreamHasNoEntries() throws IOException {
+        assertThat(readAll(new CborEntryReader(new ByteArrayInputStream(new byte[0])))).isEmpty();
+    }
+
+    @Test
+    void cborRejectsMalformedEntryAndContinues() throws Exception {
+        byte[] body = cbor(new CborBuilder()
+                .addArray().add("not bytes").add(FIRST.value()).end()
+                .addArray().add(FIRST.key()).end()
+                .addArray().add(FIRST.key()).add(FIRST.value()).end()
+                .build());
+
+        try (EntryStreamReader reader = new CborEntryReader(new ByteArrayInputStream(body))) {
+            assertThatThrownBy(reader::next).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(reader::next).isInstanceOf(IllegalArgumentException.class);
+            assertThat(reader.next()).isEqualTo(FIRST);
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void cborFailsOnTruncatedItem() throws Exception {
+        byte[] full = cbor(new CborBuilder()
+                .addArray().add(FIRST.key()).add(FIRST.value()).end()
+                .addArray().add(new byte[32]).add(new byte[32]).end()
+                .build());
+        byte[] body = Arrays.copyOf(full, full.length - 10);
+
+        try (EntryStreamReader reader = new CborEntryReader(new ByteArrayInputStream(body))) {
+            assertThat(reader.next()).isEqualTo(FIRST);
+            assertThatThrownBy(reader::next).isInstanceOf(IOException.class);
+        }
+    }
+
+    // Binary
+
+    @Test
+    void binaryReadsEntries() throws IOException {
+        byte[] body = binary(FIRST, SECOND);
+
+        assertThat(readAll(new BinaryEntryReader(new ByteArrayInputStream(body)))).containsExactly(FIRST, SECOND);
+    }
+
+    @Test
+    void binaryEmptyStreamHasNoEntries() throws IOException {
+        assertThat(readAll(new BinaryEntryReader(new ByteArrayInputStream(new byte[0])))).isEmpty();
+    }
+
+    @Test
+    void binaryFailsOnTruncatedLengthPrefix() throws IOException {
+        byte[] full = binary(FIRST);
+        byte[] body = Arrays.copyOf(full, 2);
+
+        try (EntryStreamReader reader = new BinaryEntryReader(new ByteArrayInputStream(body))) {
+            assertThatThrownBy(reader::next).isInstanceOf(IOException.class);
+        }
+    }
+
+    @Test
+    void binaryFailsOnTruncatedValue() throws IOException {
+        byte[] full = binary(FIRST, FIRST);
+        byte[] body = Arrays.copyOf(full, full.length - 1);
+
+        try (EntryStreamReader reader = new BinaryEntryReader(new ByteArrayInputStream(body))) {
+            assertThat(reader.next()).isEqualTo(FIRST);
+            assertThatThrownBy(reader::next)
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("value");
+        }
+    }
+
+    @Test
+    void binaryFailsOnOversizedKeyLength() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new DataOutputStream(out).writeInt(BinaryEntryReader.MAX_KEY_LENGTH + 1);
+
+        try (EntryStreamReader reader = new BinaryEntryReader(new ByteArrayInputStream(out.toByteArray()))) {
+            assertThatThrownBy(reader::next)
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("key length");
+        }
+    }
+
+    private static EntryStreamReader ndjson(String body) {
+        return new NdjsonEntryReader(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static byte[] cbor(List<DataItem> items) throws CborException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new CborEncoder(out).encode(items);
+        return out.toByteArray();
+    }
+
+    private static byte[] binary(KeyValuePair... entries) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (KeyValuePair entry : entries) {
+            out.writeInt(entry.key().length);
+            out.write(entry.key());
+            out.writeInt(entry.value().length);
+            out.write(entry.value());
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<KeyValuePair> readAll(EntryStreamReader reader) throws IOException {
+        List<KeyValuePair> entries = new ArrayList<>();
+        try (reader) {
+            KeyValuePair entry;
+            while ((entry = reader.next()) != null) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,419 @@
+package com.bloxbean.cardano.dataprover.service.ingestion;
+
+import com.bloxbean.cardano.dataprover.config.DataProverProperties;
+import com.bloxbean.cardano.dataprover.dto.CreateMerkleRequest;
+import com.bloxbean.cardano.dataprover.dto.IngestRequest;
+import com.bloxbean.cardano.dataprover.dto.IngestionJobResponse;
+import com.bloxbean.cardano.dataprover.exception.IngestionJobConflictException;
+import com.bloxbean.cardano.dataprover.exception.MerkleNotFoundException;
+import com.bloxbean.cardano.dataprover.model.IngestionJob;
+import com.bloxbean.cardano.dataprover.model.IngestionJobStatus;
+import com.bloxbean.cardano.dataprover.repository.IngestionJobRepository;
+import com.bloxbean.cardano.dataprover.repository.MerkleMetadataRepository;
+import com.bloxbean.cardano.dataprover.service.MerkleManagementService;
+import com.bloxbean.cardano.dataprover.service.merkle.MerkleRegistry;
+import com.bloxbean.cardano.dataprover.service.metrics.DataProverMetrics;
+import com.bloxbean.cardano.dataprover.service.provider.DataProviderRegistry;
+import com.bloxbean.cardano.dataprover.service.storage.CompactionService;
+import com.bloxbean.cardano.dataprover.test.TestDataItem;
+import com.bloxbean.cardano.dataprover.test.TestDataProvider;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Ingestion jobs run against {@link TestDataProvider} with a checkpoint every two records: checkpoints,
+ * cancel and resume, cancel racing the job start, shutdown and requeue, the per-merkle guard and the
+ * transactional checkpoint.
+ * Jobs are paused at a chosen record through the provider's validation listener.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ingestionjobs;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "dataprover.storage.rocksdb-path=${java.io.tmpdir}/dataprover-test/ingestion-jobs/rocksdb",
+        "dataprover.ingestion.checkpoint-interval=2"
+})
+class IngestionJobServiceTest {
+
+    private static final int RECORDS = 10;
+    private static final long TIMEOUT_SECONDS = 30;
+
+    @Autowired
+    private IngestionJobService jobService;
+
+    @Autowired
+    private IngestionJobExecutor jobExecutor;
+
+    @Autowired
+    private IngestionJobStore jobStore;
+
+    @Autowired
+    private IngestionJobRepository jobRepository;
+
+    @Autowired
+    private MerkleMetadataRepository metadataRepository;
+
+    @Autowired
+    private MerkleManagementService managementService;
+
+    @Autowired
+    private MerkleRegistry merkleRegistry;
+
+    @Autowired
+    private DataProviderRegistry providerRegistry;
+
+    @Autowired
+    private DataProverMetrics metrics;
+
+    @Autowired
+    private CompactionService compactionService;
+
+    @Autowired
+    private DataProverProperties properties;
+
+    @Autowired
+    private TestDataProvider testDataProvider;
+
+    @BeforeEach
+    void setUp() {
+        testDataProvider.clearTestData();
+        testDataProvider.setTestData(items());
+    }
+
+    @AfterEach
+    void tearDown() {
+        testDataProvider.clearTestData();
+        // Jobs saved but never run must not be picked up by a later resumeInterruptedJobs
+        for (IngestionJob job : jobRepository.findByStatusIn(List.of(IngestionJobStatus.QUEUED))) {
+            jobStore.finish(job.getId(), IngestionJobStatus.CANCELLED, null);
+        }
+        merkleRegistry.clearCache();
+    }
+
+    @Test
+    void completedJobCommitsEveryRecordAndTheMerkleRoot() throws Exception {
+        String merkle = createMerkle();
+
+        IngestionJob job = awaitStatus(submit(merkle), IngestionJobStatus.COMPLETED);
+
+        assertThat(job.getCommittedOffset()).isEqualTo(RECORDS);
+        assertThat(job.getRecordsProcessed()).isEqualTo(RECORDS);
+        assertThat(job.getRecordsSkipped()).isZero();
+        assertThat(job.getTotalRecords()).isEqualTo(RECORDS);
+        assertThat(job.getRootHash()).isNotBlank().isEqualTo(merkleRoot(merkle));
+    }
+
+    @Test
+    void cancelledJobResumesFromItsCheckpointToTheSameRoot() throws Exception {
+        String expectedRoot = awaitStatus(submit(createMerkle()), IngestionJobStatus.COMPLETED).getRootHash();
+        String merkle = createMerkle();
+        Pause pause = pauseAt(5);
+
+        String jobId = submit(merkle);
+        pause.awaitReached();
+
+        // Records 0-4 are written and checkpointed at offsets 2 and 4
+        IngestionJob checkpointed = jobStore.get(jobId);
+        assertThat(checkpointed.getStatus()).isEqualTo(IngestionJobStatus.RUNNING);
+        assertThat(checkpointed.getCommittedOffset()).isEqualTo(4);
+        assertThat(checkpointed.getRootHash()).isEqualTo(merkleRoot(merkle));
+
+        IngestionJobResponse cancelling = jobService.cancel(jobId);
+        assertThat(cancelling.getCancelRequested()).isTrue();
+        pause.release();
+
+        IngestionJob cancelled = awaitStatus(jobId, IngestionJobStatus.CANCELLED);
+        assertThat(cancelled.getCommittedOffset()).isEqualTo(6);
+        assertThat(cancelled.getRecordsProcessed()).isEqualTo(6);
+        assertThat(cancelled.getRootHash()).isEqualTo(merkleRoot(merkle)).isNotEqualTo(expectedRoot);
+        assertThatThrownBy(() -> jobService.cancel(jobId)).isInstanceOf(IngestionJobConflictException.class);
+
+        jobService.resume(jobId);
+        IngestionJob resumed = awaitStatus(jobId, IngestionJobStatus.COMPLETED);
+
+        assertThat(resumed.getCommittedOffset()).isEqualTo(RECORDS);
+        assertThat(resumed.getRecordsProcessed()).isEqualTo(RECORDS);
+        assertThat(resumed.getRootHash()).isEqualTo(expectedRoot).isEqualTo(merkleRoot(merkle));
+        assertThatThrownBy(() -> jobService.resume(jobId)).isInstanceOf(IngestionJobConflictException.class);
+    }
+
+    @Test
+    void queuedJobIsCancelledImmediately() throws Exception {
+        String jobId = saveJob(createMerkle(), 0);
+
+        assertThat(jobService.cancel(jobId).getStatus()).isEqualTo(IngestionJobStatus.CANCELLED.name());
+
+        IngestionJob resumed = resumeAndAwait(jobId);
+        assertThat(resumed.getCommittedOffset()).isEqualTo(RECORDS);
+    }
+
+    @Test
+    void shutdownCheckpointsAndRequeuesRunningJob() throws Exception {
+        String expectedRoot = awaitStatus(submit(createMerkle()), IngestionJobStatus.COMPLETED).getRootHash();
+        String merkle = createMerkle();
+        String jobId = saveJob(merkle, 0);
+        IngestionJobExecutor stoppingExecutor = new IngestionJobExecutor(properties, jobStore, merkleRegistry,
+                providerRegistry, metrics, compactionService);
+        Pause pause = pauseAt(3);
+
+        stoppingExecutor.submit(jobId);
+        pause.awaitReached();
+        Thread shutdown = new Thread(stoppingExecutor::shutdown, "ingestion-shutdown");
+        shutdown.start();
+        // Waiting for the job to terminate means the shutdown flag is already set
+        awaitState(shutdown, Thread.State.TIMED_WAITING);
+        pause.release();
+        shutdown.join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+
+        IngestionJob requeued = jobStore.get(jobId);
+        assertThat(requeued.getStatus()).isEqualTo(IngestionJobStatus.QUEUED);
+        assertThat(requeued.getCommittedOffset()).isEqualTo(4);
+        assertThat(requeued.getFinishedAt()).isNull();
+        assertThat(requeued.getRootHash()).isEqualTo(merkleRoot(merkle));
+
+        jobService.resumeInterruptedJobs();
+        IngestionJob resumed = awaitStatus(jobId, IngestionJobStatus.COMPLETED);
+
+        assertThat(resumed.getCommittedOffset()).isEqualTo(RECORDS);
+        assertThat(resumed.getRootHash()).isEqualTo(expectedRoot);
+    }
+
+    @Test
+    void cancelAfterDequeueIsNotLost() throws Exception {
+        // Holds the executor between reading the queued job and starting it
+        assertCancelledBeforeStart(pause -> new IngestionJobStore(jobRepository, metadataRepository) {
+            private final AtomicBoolean dequeued = new AtomicBoolean();
+
+            @Override
+            public IngestionJob get(String jobId) {
+                IngestionJob job = super.get(jobId);
+                if (dequeued.compareAndSet(false, true)) {
+                    pause.hold();
+                }
+                return job;
+            }
+        });
+    }
+
+    @Test
+    void cancelBeforeMarkRunningIsNotLost() throws Exception {
+        assertCancelledBeforeStart(pause -> new IngestionJobStore(jobRepository, metadataRepository) {
+            @Override
+            public boolean markRunning(String jobId) {
+                pause.hold();
+                return super.markRunning(jobId);
+            }
+        });
+    }
+
+    @Test
+    void secondJobForBusyMerkleFails() throws Exception {
+        String merkle = createMerkle();
+        Pause pause = pauseAt(1);
+        String running = submit(merkle);
+        pause.awaitReached();
+
+        assertThatThrownBy(() -> submit(merkle)).isInstanceOf(IngestionJobConflictException.class);
+
+        // A racing submission that passed the service check is stopped by the executor
+        String racing = saveJob(merkle, 0);
+        jobExecutor.submit(racing);
+        IngestionJob failed = awaitStatus(racing, IngestionJobStatus.FAILED);
+        assertThat(failed.getErrorMessage()).contains("Another ingestion job is running");
+        assertThat(failed.getCommittedOffset()).isZero();
+
+        pause.release();
+        assertThat(awaitStatus(running, IngestionJobStatus.COMPLETED).getCommittedOffset()).isEqualTo(RECORDS);
+    }
+
+    @Test
+    void offsetBeyondProviderDataFailsWithoutWriting() throws Exception {
+        String merkle = createMerkle();
+        String jobId = saveJob(merkle, RECORDS + 5);
+
+        jobExecutor.submit(jobId);
+        IngestionJob failed = awaitStatus(jobId, IngestionJobStatus.FAILED);
+
+        assertThat(failed.getErrorMessage()).contains("fewer than the committed offset " + (RECORDS + 5));
+        assertThat(failed.getCommittedOffset()).isEqualTo(RECORDS + 5);
+        assertThat(merkleRoot(merkle)).isNull();
+    }
+
+    @Test
+    void checkpointUpdatesMerkleRootWithTheOffset() {
+        String merkle = createMerkle();
+        String jobId = saveJob(merkle, 0);
+        String rootHash = "ab".repeat(32);
+
+        jobStore.checkpoint(jobId, 3, 2, 1, rootHash);
+
+        IngestionJob job = jobStore.get(jobId);
+        assertThat(job.getCommittedOffset()).isEqualTo(3);
+        assertThat(job.getRecordsProcessed()).isEqualTo(2);
+        assertThat(job.getRecordsSkipped()).isEqualTo(1);
+        assertThat(job.getLastCheckpointAt()).isNotNull();
+        assertThat(job.getRootHash()).isEqualTo(rootHash);
+        assertThat(merkleRoot(merkle)).isEqualTo(rootHash);
+
+        // A checkpoint without a root leaves the merkle's root alone
+        jobStore.checkpoint(jobId, 4, 3, 1, null);
+        assertThat(jobStore.get(jobId).getCommittedOffset()).isEqualTo(4);
+        assertThat(merkleRoot(merkle)).isEqualTo(rootHash);
+    }
+
+    @Test
+    void checkpointRollsBackWhenMerkleIsMissing() {
+        String jobId = saveJob("missing-" + UUID.randomUUID().toString().substring(0, 8), 0);
+
+        assertThatThrownBy(() -> jobStore.checkpoint(jobId, 3, 3, 0, "cd".repeat(32)))
+                .isInstanceOf(MerkleNotFoundException.class);
+
+        IngestionJob job = jobStore.get(jobId);
+        assertThat(job.getCommittedOffset()).isZero();
+        assertThat(job.getRecordsProcessed()).isZero();
+        assertThat(job.getRootHash()).isNull();
+        assertThat(job.getLastCheckpointAt()).isNull();
+    }
+
+    /**
+     * Runs a job on an executor whose store pauses it before it starts, cancels it during the pause
+     * and checks that it never runs.
+     */
+    private void assertCancelledBeforeStart(Function<Pause, IngestionJobStore> pausingStore) throws Exception {
+        String merkle = createMerkle();
+        String jobId = saveJob(merkle, 0);
+        Pause pause = new Pause();
+        IngestionJobExecutor executor = new IngestionJobExecutor(properties, pausingStore.apply(pause),
+                merkleRegistry, providerRegistry, metrics, compactionService);
+
+        executor.submit(jobId);
+        pause.awaitReached();
+        assertThat(jobService.cancel(jobId).getStatus()).isEqualTo(IngestionJobStatus.CANCELLED.name());
+        pause.release();
+        // Waits for the job to be skipped
+        executor.shutdown();
+
+        IngestionJob job = jobStore.get(jobId);
+        assertThat(job.getStatus()).isEqualTo(IngestionJobStatus.CANCELLED);
+        assertThat(job.getStartedAt()).isNull();
+        assertThat(job.getFinishedAt()).isNotNull();
+        assertThat(job.getCommittedOffset()).isZero();
+        assertThat(merkleRoot(merkle)).isNull();
+    }
+
+    private static List<TestDataItem> items() {
+        List<TestDataItem> items = new ArrayList<>();
+        for (int i = 0; i < RECORDS; i++) {
+            items.add(item(i));
+        }
+        return items;
+    }
+
+    private static TestDataItem item(int index) {
+        return TestDataItem.of(new byte[]{0x10, (byte) index}, new byte[]{0x20, (byte) index});
+    }
+
+    private String createMerkle() {
+        CreateMerkleRequest request = new CreateMerkleRequest();
+        request.setIdentifier("job-" + UUID.randomUUID().toString().substring(0, 8));
+        request.setScheme("mpf");
+        return managementService.createMerkle(request).getIdentifier();
+    }
+
+    private String submit(String merkle) {
+        IngestRequest request = new IngestRequest();
+        request.setProvider(TestDataProvider.PROVIDER_NAME);
+        return jobService.submit(merkle, request).getJobId();
+    }
+
+    /**
+     * Persists a QUEUED job without submitting it, as a racing submission or a previous process would.
+     */
+    private String saveJob(String merkle, long committedOffset) {
+        IngestionJob job = new IngestionJob();
+        job.setId(UUID.randomUUID().toString());
+        job.setMerkleIdentifier(merkle);
+        job.setProvider(TestDataProvider.PROVIDER_NAME);
+        job.setCommittedOffset(committedOffset);
+        return jobRepository.save(job).getId();
+    }
+
+    private IngestionJob resumeAndAwait(String jobId) throws InterruptedException {
+        jobService.resume(jobId);
+        return awaitStatus(jobId, IngestionJobStatus.COMPLETED);
+    }
+
+    private String merkleRoot(String merkle) {
+        return metadataRepository.findByIdentifier(merkle).orElseThrow().getRootHash();
+    }
+
+    private IngestionJob awaitStatus(String jobId, IngestionJobStatus status) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        IngestionJob job = jobStore.get(jobId);
+        while (job.getStatus() != status) {
+            assertThat(System.nanoTime()).as("job %s to reach %s, is %s", jobId, status, job.getStatus())
+                    .isLessThan(deadline);
+            Thread.sleep(20);
+            job = jobStore.get(jobId);
+        }
+        return job;
+    }
+
+    private static void awaitState(Thread thread, Thread.State state) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (thread.getState() != state) {
+            assertThat(System.nanoTime()).as("thread to reach %s", state).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Holds a job before it validates the record at {@code index} until released.
+     */
+    private Pause pauseAt(int index) {
+        Pause pause = new Pause();
+        TestDataItem target = item(index);
+        testDataProvider.setValidationListener(item -> {
+            if (target.equals(item)) {
+                pause.hold();
+            }
+        });
+        return pause;
+    }
+
+    private static final class Pause {
+        private final CountDownLatch reached = new CountDownLatch(1);
+        private final CountDownLatch released = new CountDownLatch(1);
+
+        private void hold() {
+            reached.countDown();
+            try {
+                released.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        void awaitReached() throws InterruptedException {
+            assertThat(reached.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).as("job to reach the paused record").isTrue();
+        }
+
+        void release() {
+            released.countDown();
+        }
+    }
+}
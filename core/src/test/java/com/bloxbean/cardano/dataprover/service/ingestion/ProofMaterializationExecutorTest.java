@@ -0,0 +1,181 @@
+package com.bloxbean.cardano.dataprover.service.ingestion;
+
+import com.bloxbean.cardano.dataprover.dto.AddEntriesRequest;
+import com.bloxbean.cardano.dataprover.dto.CreateMerkleRequest;
+import com.bloxbean.cardano.dataprover.dto.EntryItem;
+import com.bloxbean.cardano.dataprover.dto.ProofMaterializationResponse;
+import com.bloxbean.cardano.dataprover.model.IngestionJob;
+import com.bloxbean.cardano.dataprover.model.IngestionJobStatus;
+import com.bloxbean.cardano.dataprover.repository.IngestionJobRepository;
+import com.bloxbean.cardano.dataprover.service.IngestionService;
+import com.bloxbean.cardano.dataprover.service.MerkleManagementService;
+import com.bloxbean.cardano.dataprover.service.ProofMaterializationService;
+import com.bloxbean.cardano.dataprover.service.merkle.MerkleImplementation;
+import com.bloxbean.cardano.dataprover.service.merkle.MerkleRegistry;
+import com.bloxbean.cardano.dataprover.service.storage.MaterializedProofStore;
+import com.bloxbean.cardano.dataprover.service.storage.MaterializedProofStore.StoredProof;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Proof materialisation jobs: the stored proofs equal the proofs generated on demand, and proofs are
+ * only stored and served for the root the job was submitted for.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:materialization;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "dataprover.storage.rocksdb-path=${java.io.tmpdir}/dataprover-test/materialization/rocksdb"
+})
+class ProofMaterializationExecutorTest {
+
+    private static final HexFormat HEX = HexFormat.of();
+    // More than one batch of proofs
+    private static final int ENTRIES = 2500;
+    private static final long TIMEOUT_SECONDS = 60;
+
+    @Autowired
+    private ProofMaterializationService materializationService;
+
+    @Autowired
+    private ProofMaterializationExecutor materializationExecutor;
+
+    @Autowired
+    private IngestionJobStore jobStore;
+
+    @Autowired
+    private IngestionJobRepository jobRepository;
+
+    @Autowired
+    private MerkleManagementService managementService;
+
+    @Autowired
+    private IngestionService ingestionService;
+
+    @Autowired
+    private MerkleRegistry merkleRegistry;
+
+    @Autowired
+    private MaterializedProofStore proofStore;
+
+    @AfterEach
+    void tearDown() {
+        merkleRegistry.clearCache();
+    }
+
+    @Test
+    void materializedProofsMatchOnDemandProofs() throws Exception {
+        String merkle = createMerkle();
+        List<byte[]> keys = addEntries(merkle, 0, ENTRIES);
+        byte[] rootHash = rootHash(merkle);
+
+        IngestionJob job = awaitStatus(materializationService.materialize(merkle).getJobId(), IngestionJobStatus.COMPLETED);
+
+        assertThat(job.getProvider()).isEqualTo(ProofMaterializationExecutor.PROVIDER);
+        assertThat(job.getRootHash()).isEqualTo(HEX.formatHex(rootHash));
+        assertThat(job.getRecordsProcessed()).isEqualTo(ENTRIES);
+
+        ProofMaterializationResponse status = materializationService.getStatus(merkle);
+        assertThat(status.getStatus()).isEqualTo("MATERIALIZED");
+        assertThat(status.getRootHash()).isEqualTo(HEX.formatHex(rootHash));
+        assertThat(status.getEntries()).isEqualTo(ENTRIES);
+
+        MerkleImplementation implementation = merkleRegistry.getOrLoadMerkle(merkle);
+        for (byte[] key : keys) {
+            StoredProof stored = proofStore.get(merkle, rootHash, key);
+            assertThat(stored).as("proof of %s", HEX.formatHex(key)).isNotNull();
+            assertThat(stored.proof()).isEqualTo(implementation.getProofWire(key).orElseThrow());
+            assertThat(stored.value()).isEqualTo(implementation.get(key).orElseThrow());
+        }
+    }
+
+    @Test
+    void writesMakeMaterializedProofsStale() throws Exception {
+        String merkle = createMerkle();
+        List<byte[]> keys = addEntries(merkle, 0, 10);
+        awaitStatus(materializationService.materialize(merkle).getJobId(), IngestionJobStatus.COMPLETED);
+
+        addEntries(merkle, 10, 1);
+
+        assertThat(materializationService.getStatus(merkle).getStatus()).isEqualTo("STALE");
+        assertThat(proofStore.get(merkle, rootHash(merkle), keys.get(0))).isNull();
+    }
+
+    @Test
+    void jobForAStaleRootIsRejected() throws Exception {
+        String merkle = createMerkle();
+        addEntries(merkle, 0, 10);
+        String staleRoot = HEX.formatHex(rootHash(merkle));
+        List<byte[]> keys = addEntries(merkle, 10, 5);
+        byte[] currentRoot = rootHash(merkle);
+        awaitStatus(materializationService.materialize(merkle).getJobId(), IngestionJobStatus.COMPLETED);
+
+        // A job submitted before the last write, e.g. resumed after it
+        IngestionJob stale = new IngestionJob();
+        stale.setId(UUID.randomUUID().toString());
+        stale.setMerkleIdentifier(merkle);
+        stale.setProvider(ProofMaterializationExecutor.PROVIDER);
+        stale.setRootHash(staleRoot);
+        jobRepository.save(stale);
+        materializationExecutor.submit(stale.getId());
+
+        IngestionJob failed = awaitStatus(stale.getId(), IngestionJobStatus.FAILED);
+        assertThat(failed.getErrorMessage()).contains("no longer has root " + staleRoot);
+
+        // The proofs of the current root are kept
+        ProofMaterializationResponse status = materializationService.getStatus(merkle);
+        assertThat(status.getStatus()).isEqualTo("MATERIALIZED");
+        assertThat(status.getRootHash()).isEqualTo(HEX.formatHex(currentRoot));
+        assertThat(proofStore.get(merkle, currentRoot, keys.get(0))).isNotNull();
+    }
+
+    private String createMerkle() {
+        CreateMerkleRequest request = new CreateMerkleRequest();
+        request.setIdentifier("proofs-" + UUID.randomUUID().toString().substring(0, 8));
+        request.setScheme("mpf");
+        request.setStoreOriginalKeys(true);
+        return managementService.createMerkle(request).getIdentifier();
+    }
+
+    /**
+     * @return the original keys added
+     */
+    private List<byte[]> addEntries(String merkle, int from, int count) {
+        List<EntryItem> items = new ArrayList<>();
+        List<byte[]> keys = new ArrayList<>();
+        for (int i = from; i < from + count; i++) {
+            String key = String.format("0a%06x", i);
+            items.add(new EntryItem(key, String.format("0b%06x", i)));
+            keys.add(HEX.parseHex(key));
+        }
+        ingestionService.addEntries(merkle, new AddEntriesRequest(items));
+        return keys;
+    }
+
+    private byte[] rootHash(String merkle) {
+        return merkleRegistry.getOrLoadMerkle(merkle).getRootHash();
+    }
+
+    private IngestionJob awaitStatus(String jobId, IngestionJobStatus status) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        IngestionJob job = jobStore.get(jobId);
+        while (job.getStatus() != status) {
+            assertThat(System.nanoTime()).as("job %s to reach %s, is %s: %s", jobId, status, job.getStatus(),
+                    job.getErrorMessage()).isLessThan(deadline);
+            Thread.sleep(20);
+            job = jobStore.get(jobId);
+        }
+        return job;
+    }
+}
@@ -0,0 +1,61 @@
+package com.bloxbean.cardano.dataprover.service.merkle.hash;
+
+import com.bloxbean.cardano.client.crypto.Blake2bUtil;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests that the optimised Blake2b-256 matches the library digest it replaces.
+ */
+class Blake2b256Test {
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    @Test
+    void matchesKnownDigests() {
+        assertThat(HEX.formatHex(Blake2b256.INSTANCE.hash(new byte[0])))
+                .isEqualTo("0e5751c026e543b2e8ab2eb06099daa1d1e5df47778f7787faab45cdf12fe3a8");
+        assertThat(HEX.formatHex(Blake2b256.INSTANCE.hash("abc".getBytes(StandardCharsets.US_ASCII))))
+                .isEqualTo("bddd813c634239723171ef3fee98579b94964e3bb1cb3e427262c8c068d52319");
+    }
+
+    @Test
+    void matchesLibraryDigestAcrossBlockBoundaries() {
+        Random random = new Random(7);
+        for (int length = 0; length <= 300; length++) {
+            byte[] data = new byte[length];
+            random.nextBytes(data);
+            assertThat(Blake2b256.INSTANCE.hash(data)).isEqualTo(Blake2bUtil.blake2bHash256(data));
+        }
+    }
+
+    @Test
+    void hashesPartsLikeTheirConcatenation() {
+        Random random = new Random(11);
+        for (int length = 0; length <= 200; length += 9) {
+            byte[] first = new byte[length];
+            byte[] second = new byte[200 - length];
+            random.nextBytes(first);
+            random.nextBytes(second);
+
+            byte[] preimage = new byte[1 + first.length + second.length];
+            preimage[0] = 0x01;
+            System.arraycopy(first, 0, preimage, 1, first.length);
+            System.arraycopy(second, 0, preimage, 1 + first.length, second.length);
+
+            assertThat(Blake2b256.INSTANCE.hash((byte) 0x01, first, second))
+                    .isEqualTo(Blake2bUtil.blake2bHash256(preimage));
+        }
+    }
+
+    @Test
+    void resolvesConfiguredNames() {
+        assertThat(HashFunctions.forName(null)).isEqualTo(Blake2b256.INSTANCE);
+        assertThat(HashFunctions.forName("BLAKE2B-256")).isEqualTo(Blake2b256.INSTANCE);
+    }
+}
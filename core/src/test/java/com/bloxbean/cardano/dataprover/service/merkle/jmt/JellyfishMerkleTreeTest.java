@@ -0,0 +1,148 @@
+package com.bloxbean.cardano.dataprover.service.merkle.jmt;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the versioned Jellyfish Merkle Tree and its proofs.
+ */
+class JellyfishMerkleTreeTest {
+
+    private InMemoryStore store;
+    private JellyfishMerkleTree tree;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryStore();
+        tree = new JellyfishMerkleTree(store, null, true);
+    }
+
+    @Test
+    void provesInclusionAndAbsence() {
+        putRange(0, 200);
+
+        assertThat(tree.size()).isEqualTo(200);
+        byte[] root = tree.getRootHash();
+        for (int i = 0; i < 200; i++) {
+            byte[] proof = tree.getProof(key(i)).encode();
+            assertThat(JmtProof.verify(root, key(i), value(i, 0), true, proof)).isTrue();
+            assertThat(JmtProof.verify(root, key(i), value(i, 1), true, proof)).isFalse();
+            assertThat(JmtProof.verify(root, key(i), null, false, proof)).isFalse();
+        }
+        for (int i = 200; i < 260; i++) {
+            byte[] proof = tree.getProof(key(i)).encode();
+            assertThat(tree.get(key(i))).isEmpty();
+            assertThat(JmtProof.verify(root, key(i), null, false, proof)).isTrue();
+            assertThat(JmtProof.verify(root, key(i), value(i, 0), true, proof)).isFalse();
+        }
+    }
+
+    @Test
+    void rootDoesNotDependOnBatching() {
+        putRange(0, 100);
+
+        JellyfishMerkleTree oneByOne = new JellyfishMerkleTree(new InMemoryStore(), null, false);
+        for (int i = 99; i >= 0; i--) {
+            oneByOne.putAll(List.of(key(i)), List.of(value(i, 0)));
+        }
+
+        assertThat(oneByOne.getRootHash()).isEqualTo(tree.getRootHash());
+        assertThat(oneByOne.getVersion()).isEqualTo(99);
+        assertThat(tree.getVersion()).isZero();
+    }
+
+    @Test
+    void keepsHistoricalVersionsProvable() {
+        putRange(0, 50);
+        long first = tree.getVersion();
+        byte[] firstRoot = tree.getRootHash();
+
+        tree.putAll(List.of(key(7), key(60)), List.of(value(7, 1), value(60, 0)));
+        assertThat(tree.size()).isEqualTo(51);
+        assertThat(tree.get(key(7))).contains(value(7, 1));
+        assertThat(tree.get(key(7), first)).contains(value(7, 0));
+        assertThat(tree.getRootHash(first)).contains(firstRoot);
+
+        byte[] oldProof = tree.getProof(key(7), first).orElseThrow().encode();
+        assertThat(JmtProof.verify(firstRoot, key(7), value(7, 0), true, oldProof)).isTrue();
+        byte[] absent = tree.getProof(key(60), first).orElseThrow().encode();
+        assertThat(JmtProof.verify(firstRoot, key(60), null, false, absent)).isTrue();
+
+        assertThat(tree.getProof(key(7), 42)).isEmpty();
+    }
+
+    @Test
+    void reopensAtStoredRoot() {
+        putRange(0, 30);
+        byte[] root = tree.getRootHash();
+        tree.putAll(List.of(key(99)), List.of(value(99, 0)));
+
+        JellyfishMerkleTree reopened = new JellyfishMerkleTree(store, root, true);
+        assertThat(reopened.getRootHash()).isEqualTo(root);
+        assertThat(reopened.size()).isEqualTo(30);
+        assertThat(reopened.get(key(99))).isEmpty();
+
+        // New versions continue after the latest one, never overwriting history
+        long version = reopened.putAll(List.of(key(5)), List.of(value(5, 2)));
+        assertThat(version).isEqualTo(2);
+        assertThat(reopened.getLeaves(Integer.MAX_VALUE)).hasSize(30);
+    }
+
+    @Test
+    void rejectsMalformedProofs() {
+        putRange(0, 10);
+        byte[] root = tree.getRootHash();
+        byte[] proof = tree.getProof(key(3)).encode();
+
+        assertThat(JmtProof.verify(root, key(3), value(3, 0), true, new byte[]{(byte) 0x80})).isFalse();
+        byte[] truncated = java.util.Arrays.copyOf(proof, proof.length - 1);
+        assertThat(JmtProof.verify(root, key(3), value(3, 0), true, truncated)).isFalse();
+        byte[] otherRoot = root.clone();
+        otherRoot[0] ^= 1;
+        assertThat(JmtProof.verify(otherRoot, key(3), value(3, 0), true, proof)).isFalse();
+    }
+
+    private void putRange(int from, int to) {
+        List<byte[]> keys = new ArrayList<>();
+        List<byte[]> values = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            keys.add(key(i));
+            values.add(value(i, 0));
+        }
+        tree.putAll(keys, values);
+    }
+
+    private static byte[] key(int i) {
+        return ("key-" + i).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] value(int i, int revision) {
+        return ("value-" + i + "-" + revision).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static final class InMemoryStore implements JmtStore {
+
+        private final Map<ByteBuffer, byte[]> data = new HashMap<>();
+
+        @Override
+        public byte[] get(byte[] key) {
+            return data.get(ByteBuffer.wrap(key));
+        }
+
+        @Override
+        public void write(List<Entry> entries, List<Entry> leaves, List<Entry> keys, byte[] rootHash) {
+            for (Entry entry : entries) {
+                data.put(ByteBuffer.wrap(entry.key()), entry.value());
+            }
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.bloxbean.cardano.dataprover.service.merkle.log;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.BiPredicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the append-only Merkle log and its inclusion and consistency proofs, including which
+ * proofs show a value is the latest of its key.
+ */
+class MerkleLogTest {
+
+    private static final int ENTRIES = 37;
+
+    private InMemoryStore store;
+    private MerkleLog merkleLog;
+    private final List<byte[]> leafHashes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryStore();
+        merkleLog = new MerkleLog(store);
+        leafHashes.clear();
+    }
+
+    @Test
+    void matchesRfc6962TreeHashAtEverySize() {
+        assertThat(merkleLog.getRootHash()).isNull();
+        for (int i = 0; i < ENTRIES; i++) {
+            append(i, 0);
+            assertThat(merkleLog.getRootHash()).isEqualTo(referenceHash(0, i + 1));
+        }
+        for (int size = 1; size <= ENTRIES; size++) {
+            assertThat(merkleLog.getRootHash(size)).isEqualTo(referenceHash(0, size));
+        }
+    }
+
+    @Test
+    void provesInclusionAtEverySize() {
+        for (int i = 0; i < ENTRIES; i++) {
+            append(i, 0);
+        }
+
+        for (long size = 1; size <= ENTRIES; size++) {
+            byte[] root = merkleLog.getRootHash(size);
+            for (long index = 0; index < size; index++) {
+                List<byte[]> path = merkleLog.getInclusionPath(index, size);
+                assertThat(LogProof.verifyInclusion(index, size, leafHashes.get((int) index), path, root)).isTrue();
+                if (index + 1 < size) {
+                    assertThat(LogProof.verifyInclusion(index + 1, size, leafHashes.get((int) index), path, root))
+                            .isFalse();
+                }
+            }
+        }
+
+        byte[] proof = merkleLog.getProof(key(5), ENTRIES);
+        byte[] root = merkleLog.getRootHash();
+        assertThat(LogProof.verify(root, key(5), value(5, 0), true, proof)).isTrue();
+        assertThat(LogProof.verify(root, key(5), value(5, 1), true, proof)).isFalse();
+        assertThat(LogProof.verify(root, key(5), value(5, 0), false, proof)).isFalse();
+        assertThat(merkleLog.getProof(key(ENTRIES), ENTRIES)).isNull();
+    }
+
+    @Test
+    void provesConsistencyBetweenEverySizePair() {
+        for (int i = 0; i < ENTRIES; i++) {
+            append(i, 0);
+        }
+
+        for (long second = 1; second <= ENTRIES; second++) {
+            byte[] secondRoot = merkleLog.getRootHash(second);
+            for (long first = 1; first <= second; first++) {
+                byte[] firstRoot = merkleLog.getRootHash(first);
+                List<byte[]> proof = merkleLog.getConsistencyProof(first, second);
+                assertThat(LogProof.verifyConsistency(first, second, firstRoot, secondRoot, proof)).isTrue();
+                if (first < second) {
+                    assertThat(LogProof.verifyConsistency(first, second, secondRoot, secondRoot, proof)).isFalse();
+                }
+            }
+        }
+    }
+
+    @Test
+    void servesHistoricalValuesOfRepeatedKeys() {
+        append(1, 0);
+        append(2, 0);
+        append(1, 1);
+        append(3, 0);
+        append(1, 2);
+
+        assertThat(merkleLog.size()).isEqualTo(5L);
+        assertThat(merkleLog.get(key(1))).isEqualTo(value(1, 2));
+        assertThat(merkleLog.get(key(1), 4)).isEqualTo(value(1, 1));
+        assertThat(merkleLog.get(key(1), 2)).isEqualTo(value(1, 0));
+        assertThat(merkleLog.get(key(3), 3)).isNull();
+
+        byte[] proof = merkleLog.getProof(key(1), 3);
+        assertThat(LogProof.verify(merkleLog.getRootHash(3), key(1), value(1, 1), true, proof)).isTrue();
+        assertThat(LogProof.verify(merkleLog.getRootHash(), key(1), value(1, 1), true, proof)).isFalse();
+    }
+
+    @Test
+    void supersededValueOnlyProvesItWasAppended() {
+        append(1, 0);
+        byte[] staleProof = merkleLog.getProof(key(1), 1);
+        append(2, 0);
+        append(1, 1);
+
+        // The proof of the first append, at the current size
+        byte[] root = merkleLog.getRootHash();
+        byte[] superseded = LogProof.encodeInclusion(0, 3, merkleLog.getInclusionPath(0, 3));
+        assertThat(LogProof.verify(root, key(1), value(1, 0), true, superseded)).isTrue();
+        assertThat(merkleLog.verifyLatest(root, key(1), value(1, 0), superseded)).isFalse();
+
+        byte[] latest = merkleLog.getProof(key(1), 3);
+        assertThat(merkleLog.verifyLatest(root, key(1), value(1, 1), latest)).isTrue();
+        assertThat(merkleLog.verifyLatest(root, key(1), value(1, 0), latest)).isFalse();
+
+        // At the size it was generated for, the first value was the latest
+        assertThat(merkleLog.verifyLatest(merkleLog.getRootHash(1), key(1), value(1, 0), staleProof)).isTrue();
+    }
+
+    @Test
+    void visitsLatestEntryOfEveryKeyInKeyHashOrder() {
+        append(1, 0);
+        append(2, 0);
+        append(1, 1);
+        append(3, 0);
+
+        List<MerkleLog.Entry> latest = new ArrayList<>();
+        merkleLog.forEachLatest(latest::add);
+
+        assertThat(latest).hasSize(3);
+        for (int i = 1; i < latest.size(); i++) {
+            assertThat(Arrays.compareUnsigned(LogHasher.hash(latest.get(i - 1).key()),
+                    LogHasher.hash(latest.get(i).key()))).isNegative();
+        }
+        assertThat(latest.stream().filter(entry -> Arrays.equals(entry.key(), key(1))).findFirst())
+                .hasValueSatisfying(entry -> assertThat(entry.value()).isEqualTo(value(1, 1)));
+
+        List<MerkleLog.Entry> first = new ArrayList<>();
+        merkleLog.forEachLatest(entry -> {
+            first.add(entry);
+            return false;
+        });
+        assertThat(first).containsExactly(latest.get(0));
+    }
+
+    @Test
+    void batchAppendAndReopenKeepTheSameLog() {
+        List<byte[]> keys = new ArrayList<>();
+        List<byte[]> values = new ArrayList<>();
+        for (int i = 0; i < ENTRIES; i++) {
+            append(i, 0);
+            keys.add(key(i));
+            values.add(value(i, 0));
+        }
+
+        MerkleLog batched = new MerkleLog(new InMemoryStore());
+        assertThat(batched.appendAll(keys, values)).isEqualTo((long) ENTRIES);
+        assertThat(batched.getRootHash()).isEqualTo(merkleLog.getRootHash());
+
+        MerkleLog reopened = new MerkleLog(store);
+        assertThat(reopened.size()).isEqualTo((long) ENTRIES);
+        assertThat(reopened.getRootHash()).isEqualTo(merkleLog.getRootHash());
+
+        reopened.appendAll(List.of(key(ENTRIES)), List.of(value(ENTRIES, 0)));
+        batched.appendAll(List.of(key(ENTRIES)), List.of(value(ENTRIES, 0)));
+        assertThat(reopened.getRootHash()).isEqualTo(batched.getRootHash());
+    }
+
+    private void append(int i, int revision) {
+        merkleLog.appendAll(List.of(key(i)), List.of(value(i, revision)));
+        leafHashes.add(LogHasher.leafHash(key(i), value(i, revision)));
+    }
+
+    /**
+     * Merkle tree hash of RFC 6962 section 2.1, computed directly from the leaf hashes.
+     */
+    private byte[] referenceHash(int start, int n) {
+        if (n == 1) {
+            return leafHashes.get(start);
+        }
+        int k = Integer.highestOneBit(n - 1);
+        return LogHasher.nodeHash(referenceHash(start, k), referenceHash(start + k, n - k));
+    }
+
+    private static byte[] key(int i) {
+        return ("key-" + i).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] value(int i, int revision) {
+        return ("value-" + i + "-" + revision).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static final class InMemoryStore implements LogStore {
+
+        private final NavigableMap<byte[], byte[]> data = new TreeMap<>(Arrays::compareUnsigned);
+
+        @Override
+        public byte[] get(byte[] key) {
+            return data.get(key);
+        }
+
+        @Override
+        public void scan(byte[] prefix, BiPredicate<byte[], byte[]> visitor) {
+            for (Map.Entry<byte[], byte[]> entry : data.tailMap(prefix, true).entrySet()) {
+                byte[] key = entry.getKey();
+                if (key.length < prefix.length || !Arrays.equals(key, 0, prefix.length, prefix, 0, prefix.length)
+                        || !visitor.test(key, entry.getValue())) {
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public void write(List<Entry> entries, List<Entry> leaves, List<Entry> keys, byte[] rootHash) {
+            for (Entry entry : entries) {
+                data.put(entry.key(), entry.value());
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.bloxbean.cardano.dataprover.service.merkle.smt;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the 256-level sparse Merkle tree and its compressed proofs.
+ */
+class SparseMerkleTreeTest {
+
+    private InMemoryStore store;
+    private SparseMerkleTree tree;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryStore();
+        tree = new SparseMerkleTree(store, true);
+    }
+
+    @Test
+    void matchesFullDepthTreeHash() {
+        putRange(0, 40);
+
+        List<byte[]> keyHashes = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            keyHashes.add(SmtHasher.hash(key(i)));
+        }
+        keyHashes.sort(Arrays::compareUnsigned);
+        Map<ByteBuffer, byte[]> leaves = new HashMap<>();
+        for (int i = 0; i < 40; i++) {
+            leaves.put(ByteBuffer.wrap(SmtHasher.hash(key(i))), SmtHasher.leafHash(value(i, 0)));
+        }
+
+        assertThat(tree.getRootHash()).isEqualTo(fullTreeHash(0, keyHashes, leaves));
+    }
+
+    @Test
+    void provesMembershipAndNonMembership() {
+        putRange(0, 150);
+
+        byte[] root = tree.getRootHash();
+        for (int i = 0; i < 150; i++) {
+            byte[] proof = tree.getProof(key(i)).encode();
+            assertThat(tree.get(key(i))).isEqualTo(value(i, 0));
+            assertThat(SmtProof.verify(root, key(i), value(i, 0), true, proof)).isTrue();
+            assertThat(SmtProof.verify(root, key(i), value(i, 1), true, proof)).isFalse();
+            assertThat(SmtProof.verify(root, key(i), null, false, proof)).isFalse();
+        }
+        for (int i = 150; i < 200; i++) {
+            byte[] proof = tree.getProof(key(i)).encode();
+            assertThat(tree.get(key(i))).isNull();
+            assertThat(SmtProof.verify(root, key(i), null, false, proof)).isTrue();
+            assertThat(SmtProof.verify(root, key(i), value(i, 0), true, proof)).isFalse();
+        }
+    }
+
+    @Test
+    void rootDoesNotDependOnBatching() {
+        putRange(0, 100);
+        tree.putAll(List.of(key(3)), List.of(value(3, 1)));
+
+        SparseMerkleTree oneByOne = new SparseMerkleTree(new InMemoryStore(), false);
+        for (int i = 99; i >= 0; i--) {
+            oneByOne.putAll(List.of(key(i)), List.of(value(i, i == 3 ? 1 : 0)));
+        }
+
+        assertThat(oneByOne.getRootHash()).isEqualTo(tree.getRootHash());
+        assertThat(oneByOne.size()).isEqualTo(100);
+        assertThat(tree.size()).isEqualTo(100);
+    }
+
+    @Test
+    void reopensFromStore() {
+        putRange(0, 60);
+        byte[] root = tree.getRootHash();
+
+        SparseMerkleTree reopened = new SparseMerkleTree(store, true);
+        assertThat(reopened.getRootHash()).isEqualTo(root);
+        assertThat(reopened.size()).isEqualTo(60);
+        assertThat(reopened.getLeaves(Integer.MAX_VALUE)).hasSize(60);
+        // Replaced and split leaves leave no stale nodes behind
+        assertThat(store.nodeCount()).isEqualTo(2 * 60 - 1);
+    }
+
+    @Test
+    void rejectsMalformedProofs() {
+        putRange(0, 10);
+        byte[] root = tree.getRootHash();
+        byte[] proof = tree.getProof(key(3)).encode();
+
+        assertThat(SmtProof.verify(root, key(3), value(3, 0), true, Arrays.copyOf(proof, proof.length - 1))).isFalse();
+        byte[] flipped = proof.clone();
+        flipped[3] ^= (byte) 0x80;
+        assertThat(SmtProof.verify(root, key(3), value(3, 0), true, flipped)).isFalse();
+        assertThat(SmtProof.verify(root, key(3), value(3, 0), true, new byte[]{(byte) 0x80})).isFalse();
+    }
+
+    private static byte[] fullTreeHash(int depth, List<byte[]> keyHashes, Map<ByteBuffer, byte[]> leaves) {
+        if (keyHashes.isEmpty()) {
+            return SmtHasher.defaultHash(depth);
+        }
+        if (depth == SmtHasher.DEPTH) {
+            return leaves.get(ByteBuffer.wrap(keyHashes.get(0)));
+        }
+        List<byte[]> left = new ArrayList<>();
+        List<byte[]> right = new ArrayList<>();
+        for (byte[] keyHash : keyHashes) {
+            (SmtHasher.bit(keyHash, depth) == 0 ? left : right).add(keyHash);
+        }
+        return SmtHasher.pairHash(fullTreeHash(depth + 1, left, leaves), fullTreeHash(depth + 1, right, leaves));
+    }
+
+    private void putRange(int from, int to) {
+        List<byte[]> keys = new ArrayList<>();
+        List<byte[]> values = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            keys.add(key(i));
+            values.add(value(i, 0));
+        }
+        tree.putAll(keys, values);
+    }
+
+    private static byte[] key(int i) {
+        return ("key-" + i).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] value(int i, int revision) {
+        return ("value-" + i + "-" + revision).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static final class InMemoryStore implements SmtStore {
+
+        private final Map<ByteBuffer, byte[]> data = new HashMap<>();
+
+        @Override
+        public byte[] get(byte[] key) {
+            return data.get(ByteBuffer.wrap(key));
+        }
+
+        @Override
+        public void write(List<Entry> puts, List<byte[]> deletes, List<Entry> leaves, List<Entry> keys, byte[] rootHash) {
+            for (byte[] key : deletes) {
+                data.remove(ByteBuffer.wrap(key));
+            }
+            for (Entry entry : puts) {
+                data.put(ByteBuffer.wrap(entry.key()), entry.value());
+            }
+        }
+
+        long nodeCount() {
+            return data.keySet().stream().filter(key -> key.get(0) == 'n').count();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.bloxbean.cardano.dataprover.service.storage;
+
+import com.bloxbean.cardano.dataprover.config.DataProverProperties;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.rocksdb.WriteBatch;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Leaf values written with trie batches, backfills and fallback to the trie.
+ */
+class LeafValueIndexTest {
+
+    private static final Optional<byte[]> TRIE = Optional.of(bytes("trie"));
+
+    @TempDir
+    Path tempDir;
+
+    private RocksDbManager manager;
+    private LeafValueIndex index;
+
+    @BeforeEach
+    void setUp() {
+        DataProverProperties properties = new DataProverProperties();
+        properties.getStorage().setRocksdbPath(tempDir.toString());
+        properties.getStorage().setCacheSizeMb(8);
+        manager = new RocksDbManager(properties);
+        manager.initialize();
+        manager.getOrCreateColumnFamily("alpha");
+        index = new LeafValueIndex(manager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        manager.close();
+    }
+
+    @Test
+    void leavesAreIndexedWithTheirBatchOnceTheIndexExists() throws Exception {
+        write(leaf("a", "1"));
+        assertThat(index.get("alpha", bytes("a"), () -> TRIE)).isSameAs(TRIE);
+
+        index.create("alpha");
+        write(leaf("b", "2"), leaf("b", "3"));
+
+        assertThat(index.get("alpha", bytes("b"), () -> TRIE)).contains(bytes("3"));
+        assertThat(index.get("alpha", bytes("c"), () -> TRIE)).isEmpty();
+    }
+
+    @Test
+    void backfillKeepsValuesWrittenSinceTheBuildBegan() throws Exception {
+        index.begin("alpha");
+        write(leaf("a", "new"));
+        assertThat(index.get("alpha", bytes("a"), () -> TRIE)).isSameAs(TRIE);
+
+        index.backfill("alpha", List.of(leaf("a", "old"), leaf("b", "1")));
+        index.complete("alpha");
+
+        assertThat(index.get("alpha", bytes("a"), () -> TRIE)).contains(bytes("new"));
+        assertThat(index.get("alpha", bytes("b"), () -> TRIE)).contains(bytes("1"));
+
+        index.drop("alpha");
+        assertThat(index.exists("alpha")).isFalse();
+        assertThat(index.get("alpha", bytes("b"), () -> TRIE)).isSameAs(TRIE);
+    }
+
+    private void write(LeafValueIndex.Leaf... leaves) throws Exception {
+        try (WriteBatch batch = new WriteBatch()) {
+            index.writeMerkleBatch("alpha", batch, List.of(leaves), null);
+        }
+    }
+
+    private static LeafValueIndex.Leaf leaf(String key, String value) {
+        return new LeafValueIndex.Leaf(LeafValueIndex.hashKey(bytes(key)), bytes(value));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
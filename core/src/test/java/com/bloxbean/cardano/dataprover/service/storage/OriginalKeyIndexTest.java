@@ -0,0 +1,153 @@
+package com.bloxbean.cardano.dataprover.service.storage;
+
+import com.bloxbean.cardano.dataprover.config.DataProverProperties;
+import com.bloxbean.cardano.dataprover.exception.MerkleOperationException;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.rocksdb.WriteBatch;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Range and prefix scans over the sorted original key index, its completion marker, which is withheld
+ * until writes are synced, and writes batched with the trie nodes.
+ */
+class OriginalKeyIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    private RocksDbManager manager;
+    private OriginalKeyIndex index;
+
+    @BeforeEach
+    void setUp() {
+        DataProverProperties properties = new DataProverProperties();
+        properties.getStorage().setRocksdbPath(tempDir.toString());
+        properties.getStorage().setCacheSizeMb(8);
+        manager = new RocksDbManager(properties);
+        manager.initialize();
+        index = new OriginalKeyIndex(manager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        manager.close();
+    }
+
+    @Test
+    void keysAreOnlyIndexedOnceTheIndexExists() throws Exception {
+        index.add("alpha", List.of(bytes(1)));
+        assertThat(index.exists("alpha")).isFalse();
+
+        index.create("alpha");
+        index.add("alpha", List.of(bytes(2)));
+
+        assertThat(scan(null, null, 0)).containsExactly("02");
+    }
+
+    @Test
+    void scansRangesAndPrefixesInUnsignedOrder() throws Exception {
+        index.create("alpha");
+        index.add("alpha", List.of(bytes(0xff), bytes(0x01, 0x02), bytes(0x01), bytes(0x01, 0xff), bytes(0x02)));
+
+        assertThat(scan(null, null, 0)).containsExactly("01", "0102", "01ff", "02", "ff");
+        assertThat(scan(bytes(0x01, 0x02), bytes(0x02), 0)).containsExactly("0102", "01ff");
+        assertThat(scan(bytes(0x01), OriginalKeyIndex.prefixEnd(bytes(0x01)), 0)).containsExactly("01", "0102", "01ff");
+        assertThat(scan(bytes(0x01), null, 2)).containsExactly("01", "0102");
+
+        assertThat(OriginalKeyIndex.prefixEnd(bytes(0x01, 0xff))).isEqualTo(bytes(0x02));
+        assertThat(OriginalKeyIndex.prefixEnd(bytes(0xff, 0xff))).isNull();
+    }
+
+    @Test
+    void emptyKeyDoesNotCollideWithTheMarker() throws Exception {
+        index.begin("alpha");
+        index.backfill("alpha", List.of(new OriginalKeyIndex.Key(new byte[0], bytes(0xaa))));
+        assertThat(index.isComplete("alpha")).isFalse();
+
+        index.complete("alpha");
+        assertThat(scan(null, null, 0)).containsExactly("");
+    }
+
+    @Test
+    void incompleteIndexIsNotServedUntilCompleted() throws Exception {
+        index.begin("alpha");
+        index.backfill("alpha", List.of(new OriginalKeyIndex.Key(bytes(0x01), bytes(0xaa))));
+
+        assertThat(index.exists("alpha")).isTrue();
+        assertThat(index.isComplete("alpha")).isFalse();
+        assertThatThrownBy(() -> scan(null, null, 0)).isInstanceOf(MerkleOperationException.class);
+
+        index.complete("alpha");
+        assertThat(scan(null, null, 0)).containsExactly("01");
+
+        // A rebuild replaces the complete index with an empty, incomplete one
+        index.begin("alpha");
+        assertThat(index.isComplete("alpha")).isFalse();
+        assertThat(new OriginalKeyIndex(manager).isComplete("alpha")).isFalse();
+    }
+
+    @Test
+    void completionSurvivesReopen() {
+        index.create("alpha");
+        index.begin("beta");
+
+        OriginalKeyIndex reopened = new OriginalKeyIndex(manager);
+        assertThat(reopened.isComplete("alpha")).isTrue();
+        assertThat(reopened.isComplete("beta")).isFalse();
+    }
+
+    @Test
+    void indexIsOnlyDurablyCompleteOnceWritesAreSynced() throws Exception {
+        index.create("alpha");
+
+        index.beforeWrite("alpha");
+        index.add("alpha", List.of(bytes(0x01)));
+        // A crash here, before the root is committed, reopens to an index to be rebuilt
+        assertThat(index.isComplete("alpha")).isTrue();
+        assertThat(new OriginalKeyIndex(manager).isComplete("alpha")).isFalse();
+
+        index.sync("alpha");
+        assertThat(new OriginalKeyIndex(manager).isComplete("alpha")).isTrue();
+        assertThat(scan(null, null, 0)).containsExactly("01");
+    }
+
+    @Test
+    void keysJoinTheBatchOfTrieNodes() throws Exception {
+        manager.getOrCreateColumnFamily("alpha");
+        index.create("alpha");
+
+        try (WriteBatch batch = new WriteBatch()) {
+            batch.put(manager.getColumnFamily("alpha"), bytes(0x10), bytes(0x20));
+            index.writeMerkleBatch("alpha", batch, List.of(new OriginalKeyIndex.Key(bytes(0x01), bytes(0xaa))),
+                    written -> {
+                        assertThat(written.count()).isEqualTo(2);
+                        manager.writeMerkleBatch("alpha", written, bytes(0x30));
+                    });
+        }
+
+        assertThat(scan(null, null, 0)).containsExactly("01");
+        assertThat(manager.loadRootHash("alpha")).hasValueSatisfying(root -> assertThat(root).isEqualTo(bytes(0x30)));
+    }
+
+    private List<String> scan(byte[] from, byte[] to, long limit) throws Exception {
+        List<String> keys = new ArrayList<>();
+        index.scan("alpha", from, to, limit, (key, hashedKey) -> keys.add(HexFormat.of().formatHex(key)));
+        return keys;
+    }
+
+    private static byte[] bytes(int... values) {
+        byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte) values[i];
+        }
+        return bytes;
+    }
+}
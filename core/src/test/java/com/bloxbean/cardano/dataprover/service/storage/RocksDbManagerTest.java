@@ -0,0 +1,152 @@
+package com.bloxbean.cardano.dataprover.service.storage;
+
+import com.bloxbean.cardano.dataprover.config.DataProverProperties;
+import com.bloxbean.cardano.dataprover.exception.MerkleOperationException;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.rocksdb.WriteBatch;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Placement and routing of column families across several RocksDB instances.
+ */
+class RocksDbManagerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private RocksDbManager manager;
+
+    @AfterEach
+    void tearDown() {
+        if (manager != null) {
+            manager.close();
+        }
+    }
+
+    @Test
+    void explicitPlacementKeepsAuxiliaryColumnFamiliesTogether() throws Exception {
+        manager = open("explicit", Map.of("alpha", RocksDbManager.PRIMARY_INSTANCE, "beta", "disk2"));
+
+        manager.getOrCreateColumnFamily("alpha");
+        manager.getOrCreateColumnFamily("beta");
+        manager.getOrCreateColumnFamily(RocksDbManager.auxiliaryColumnFamily("beta", "proofs"));
+
+        assertThat(manager.getInstanceName("alpha")).isEqualTo(RocksDbManager.PRIMARY_INSTANCE);
+        assertThat(manager.getInstanceName("beta")).isEqualTo("disk2");
+        assertThat(manager.getInstanceName("beta__proofs")).isEqualTo("disk2");
+
+        manager.getDb("beta").put(manager.getColumnFamily("beta"), "k".getBytes(), "v".getBytes());
+        manager.persistRootHash("beta", new byte[]{1, 2, 3});
+
+        manager.close();
+        manager = open("explicit", Map.of());
+
+        assertThat(manager.getInstanceName("beta")).isEqualTo("disk2");
+        assertThat(manager.getDb("beta").get(manager.getColumnFamily("beta"), "k".getBytes()))
+                .isEqualTo("v".getBytes());
+        assertThat(manager.loadRootHash("beta")).get().isEqualTo(new byte[]{1, 2, 3});
+    }
+
+    @Test
+    void explicitPlacementRejectsUnlistedMerkles() {
+        manager = open("explicit", Map.of("beta", "disk2"));
+
+        assertThatThrownBy(() -> manager.getOrCreateColumnFamily("alpha"))
+                .isInstanceOf(MerkleOperationException.class)
+                .hasMessageContaining("alpha");
+        assertThat(manager.getColumnFamily("alpha")).isNull();
+    }
+
+    @Test
+    void hashPlacementUsesEveryInstance() {
+        manager = open("hash", Map.of());
+
+        for (int i = 0; i < 32; i++) {
+            manager.getOrCreateColumnFamily("merkle-" + i);
+        }
+
+        assertThat(manager.getInstances())
+                .extracting(RocksDbManager.InstanceInfo::columnFamilyCount)
+                .allSatisfy(count -> assertThat(count).isPositive());
+    }
+
+    @Test
+    void checkpointRestoresFromInstanceSubdirectory() throws Exception {
+        manager = open("explicit", Map.of("beta", "disk2"));
+        manager.getOrCreateColumnFamily("beta");
+        manager.getDb("beta").put(manager.getColumnFamily("beta"), "k".getBytes(), "v".getBytes());
+
+        Path checkpoint = tempDir.resolve("checkpoint");
+        manager.createCheckpoint(checkpoint);
+        assertThat(checkpoint.resolve("disk2")).isDirectory();
+
+        Path sst = tempDir.resolve("beta.sst");
+        assertThat(manager.exportColumnFamilyFromCheckpoint(checkpoint, "beta", sst)).isEqualTo(1);
+    }
+
+    @Test
+    void unloggedWritesSurviveReopenOnceFlushed() throws Exception {
+        manager = open("hash", Map.of());
+        manager.getOrCreateColumnFamily("gamma");
+        manager.setWalDisabled("gamma", true);
+
+        writeNode("gamma", "k", new byte[]{7});
+        assertThat(manager.loadRootHash("gamma")).isEmpty();
+
+        manager.flushUnloggedWrites("gamma");
+        manager.setWalDisabled("gamma", false);
+
+        manager.close();
+        manager = open("hash", Map.of());
+
+        assertThat(manager.getDb("gamma").get(manager.getColumnFamily("gamma"), "k".getBytes()))
+                .isEqualTo("v".getBytes());
+        assertThat(manager.loadRootHash("gamma")).get().isEqualTo(new byte[]{7});
+    }
+
+    @Test
+    void rootIsCommittedWithNodesAndDroppedWithMerkle() throws Exception {
+        manager = open("explicit", Map.of("delta", "disk2"));
+        manager.getOrCreateColumnFamily("delta");
+
+        writeNode("delta", "k", null);
+        assertThat(manager.loadRootHash("delta")).get().isEqualTo(new byte[0]);
+
+        writeNode("delta", "k", new byte[]{1, 2});
+        assertThat(manager.loadRootHash("delta")).get().isEqualTo(new byte[]{1, 2});
+
+        manager.deleteColumnFamily("delta");
+        assertThat(manager.loadRootHash("delta")).isEmpty();
+    }
+
+    private void writeNode(String identifier, String key, byte[] rootHash) throws Exception {
+        try (WriteBatch batch = new WriteBatch()) {
+            batch.put(manager.getColumnFamily(identifier), key.getBytes(), "v".getBytes());
+            manager.writeMerkleBatch(identifier, batch, rootHash);
+        }
+    }
+
+    private RocksDbManager open(String policy, Map<String, String> placements) {
+        DataProverProperties.StorageInstanceProperties second = new DataProverProperties.StorageInstanceProperties();
+        second.setName("disk2");
+        second.setPath(tempDir.resolve("disk2").toString());
+
+        DataProverProperties properties = new DataProverProperties();
+        properties.getStorage().setRocksdbPath(tempDir.resolve("disk1").toString());
+        properties.getStorage().setCacheSizeMb(8);
+        properties.getStorage().setInstances(List.of(second));
+        properties.getStorage().setPlacementPolicy(policy);
+        properties.getStorage().setPlacements(placements);
+
+        RocksDbManager rocksDbManager = new RocksDbManager(properties);
+        rocksDbManager.initialize();
+        return rocksDbManager;
+    }
+}
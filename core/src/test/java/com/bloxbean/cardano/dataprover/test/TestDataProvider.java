@@ -6,6 +6,7 @@ import com.bloxbean.cardano.dataprover.service.provider.ValidationResult;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * A simple test data provider for integration tests.
@@ -16,6 +17,7 @@ public class TestDataProvider implements DataProvider<TestDataItem> {
     public static final String PROVIDER_NAME = "test-provider";
 
     private List<TestDataItem> testData = new ArrayList<>();
+    private volatile Consumer<TestDataItem> validationListener = item -> {};
 
     @Override
     public String getName() {
@@ -49,6 +51,7 @@ public class TestDataProvider implements DataProvider<TestDataItem> {
 
     @Override
     public ValidationResult validate(TestDataItem data) {
+        validationListener.accept(data);
         if (data == null) {
             return ValidationResult.failure("Data item is null");
         }
@@ -81,10 +84,18 @@ public class TestDataProvider implements DataProvider<TestDataItem> {
     }
 
     /**
-     * Clears all test data.
+     * Sets a callback run before each item is validated, e.g. to pause a running ingestion job.
+     */
+    public void setValidationListener(Consumer<TestDataItem> listener) {
+        this.validationListener = listener != null ? listener : item -> {};
+    }
+
+    /**
+     * Clears all test data and the validation listener.
      */
     public void clearTestData() {
         this.testData.clear();
+        this.validationListener = item -> {};
     }
 
     /**
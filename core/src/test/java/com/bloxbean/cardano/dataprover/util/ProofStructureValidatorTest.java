@@ -0,0 +1,94 @@
+package com.bloxbean.cardano.dataprover.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HexFormat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the structural MPF wire proof validator.
+ */
+class ProofStructureValidatorTest {
+
+    private static final HexFormat HEX = HexFormat.of();
+    private static final String HASH = bytes(32);
+
+    @Test
+    void acceptsProofSteps() {
+        assertThat(valid("80")).isTrue();
+        assertThat(valid("9f ff")).isTrue();
+        // [123([0, key, value])]
+        assertThat(valid("81" + leaf(HASH, HASH))).isTrue();
+        // [_ 121([_ 1, neighbors in two chunks]), 122([2, 121([10, h'010203', root])]) ]
+        assertThat(valid("9f"
+                + "d879 9f 01 5f" + bytes(64) + bytes(64) + "ff ff"
+                + "d87a 82 02 d879 83 0a 43010203" + HASH
+                + "ff")).isTrue();
+        // A branch with its neighbours in one byte string
+        assertThat(valid("81 d879 82 00" + bytes(128))).isTrue();
+    }
+
+    @Test
+    void rejectsOtherCbor() {
+        assertThat(ProofStructureValidator.isWellFormed(null)).isFalse();
+        assertThat(ProofStructureValidator.isWellFormed(new byte[0])).isFalse();
+        // [1, 2, 3]
+        assertThat(valid("83 01 02 03")).isFalse();
+        // Not a list
+        assertThat(valid("42 0102")).isFalse();
+        // A tagged list
+        assertThat(valid("d879 80")).isFalse();
+        // A list of untagged steps
+        assertThat(valid("81 83 00" + HASH + HASH)).isFalse();
+    }
+
+    @Test
+    void rejectsMalformedSteps() {
+        // Unknown constructor
+        assertThat(valid("81 d87c 83 00" + HASH + HASH)).isFalse();
+        // Leaf with two fields, and with four
+        assertThat(valid("81 d87b 82 00" + HASH)).isFalse();
+        assertThat(valid("81 d87b 84 00" + HASH + HASH + HASH)).isFalse();
+        // Leaf with a 31 byte key
+        assertThat(valid("81" + leaf(bytes(31), HASH))).isFalse();
+        // Branch with three neighbour hashes
+        assertThat(valid("81 d879 82 00" + bytes(96))).isFalse();
+        // Negative skip
+        assertThat(valid("81 d87b 83 20" + HASH + HASH)).isFalse();
+        // Fork with nibble 16, and with an untagged neighbour
+        assertThat(valid("81 d87a 82 00 d879 83 10 40" + HASH)).isFalse();
+        assertThat(valid("81 d87a 82 00 83 01 40" + HASH)).isFalse();
+        // Indefinite fields without their break
+        assertThat(valid("81 d87b 9f 00" + HASH + HASH)).isFalse();
+    }
+
+    @Test
+    void rejectsTruncatedOrTrailingBytes() {
+        String proof = "81" + leaf(HASH, HASH);
+        assertThat(valid(proof.substring(0, proof.length() - 2))).isFalse();
+        assertThat(valid(proof + "00")).isFalse();
+        // Missing break after the steps
+        assertThat(valid("9f" + leaf(HASH, HASH))).isFalse();
+        // Step count far beyond the input
+        assertThat(valid("9b 7fffffffffffffff" + leaf(HASH, HASH))).isFalse();
+        // Reserved additional information
+        assertThat(valid("81 d87b 83 1c" + HASH + HASH)).isFalse();
+    }
+
+    private static String leaf(String key, String value) {
+        return "d87b 83 00" + key + value;
+    }
+
+    /**
+     * @return a definite byte string of {@code length} bytes, as hex
+     */
+    private static String bytes(int length) {
+        String header = length < 24 ? String.format("%02x", 0x40 + length) : String.format("58%02x", length);
+        return header + "ab".repeat(length);
+    }
+
+    private static boolean valid(String hex) {
+        return ProofStructureValidator.isWellFormed(HEX.parseHex(hex.replace(" ", "")));
+    }
+}
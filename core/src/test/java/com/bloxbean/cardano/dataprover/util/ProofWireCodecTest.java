@@ -0,0 +1,76 @@
+package com.bloxbean.cardano.dataprover.util;
+
+import co.nstant.in.cbor.CborDecoder;
+import co.nstant.in.cbor.model.Array;
+import co.nstant.in.cbor.model.ByteString;
+import co.nstant.in.cbor.model.DataItem;
+import co.nstant.in.cbor.model.SimpleValue;
+import co.nstant.in.cbor.model.UnicodeString;
+import com.bloxbean.cardano.dataprover.model.RawProof;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the binary proof response encodings.
+ */
+class ProofWireCodecTest {
+
+    private static final RawProof PROOF = new RawProof(
+            new byte[]{0x0a, 0x0b}, new byte[]{0x01, 0x02, 0x03}, new byte[32], "wire");
+
+    @Test
+    void negotiatesFirstBinaryType() {
+        assertThat(ProofWireCodec.negotiate("application/cbor, application/octet-stream"))
+                .isEqualTo(MediaType.APPLICATION_CBOR);
+        assertThat(ProofWireCodec.negotiate("application/octet-stream, application/cbor"))
+                .isEqualTo(MediaType.APPLICATION_OCTET_STREAM);
+        assertThat(ProofWireCodec.negotiate("*/*")).isEqualTo(MediaType.APPLICATION_OCTET_STREAM);
+    }
+
+    @Test
+    void framesBatchOfProofs() {
+        byte[] encoded = ProofWireCodec.encodeProofs(Arrays.asList(PROOF, null),
+                MediaType.APPLICATION_OCTET_STREAM);
+
+        ByteBuffer buffer = ByteBuffer.wrap(encoded);
+        assertThat(buffer.getInt()).isEqualTo(2);
+        assertThat(readFrame(buffer)).isEqualTo(PROOF.value());
+        assertThat(readFrame(buffer)).isEqualTo(PROOF.proof());
+        assertThat(readFrame(buffer)).isEqualTo(PROOF.rootHash());
+        for (int i = 0; i < 3; i++) {
+            assertThat(buffer.getInt()).isEqualTo(ProofWireCodec.ABSENT);
+        }
+        assertThat(buffer.hasRemaining()).isFalse();
+    }
+
+    @Test
+    void encodesProofAsCborMap() throws Exception {
+        byte[] encoded = ProofWireCodec.encodeProof(PROOF, MediaType.APPLICATION_CBOR);
+
+        co.nstant.in.cbor.model.Map map = (co.nstant.in.cbor.model.Map) CborDecoder.decode(encoded).get(0);
+        assertThat(((ByteString) map.get(new UnicodeString("proof"))).getBytes()).isEqualTo(PROOF.proof());
+        assertThat(((ByteString) map.get(new UnicodeString("rootHash"))).getBytes()).isEqualTo(PROOF.rootHash());
+    }
+
+    @Test
+    void encodesMissingValuesAsCborNull() throws Exception {
+        byte[] encoded = ProofWireCodec.encodeBytesList(Arrays.asList(new byte[]{0x01}, null),
+                MediaType.APPLICATION_CBOR);
+
+        List<DataItem> items = ((Array) CborDecoder.decode(encoded).get(0)).getDataItems();
+        assertThat(((ByteString) items.get(0)).getBytes()).containsExactly(0x01);
+        assertThat(items.get(1)).isEqualTo(SimpleValue.NULL);
+    }
+
+    private static byte[] readFrame(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return bytes;
+    }
+}